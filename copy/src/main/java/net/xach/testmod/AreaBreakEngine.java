@@ -0,0 +1,211 @@
+package net.xach.testmod;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.LevelEvent;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.gameevent.GameEvent;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Пакетное разрушение блоков для навыков шахтёра (широкое копание, жилокопатель).
+ * Цели собираются заранее; внутри области блоки ломаются без обновлений соседей, а блоки вокруг
+ * области получают по одному обновлению после партии. Одинаковый дроп складывается в стаки и выдается
+ * после завершения задачи. Большие области ломаются за несколько тиков в пределах бюджета.
+ */
+@Mod.EventBusSubscriber(modid = TestMod.MOD_ID)
+public final class AreaBreakEngine {
+
+    // Бюджет проверенных блоков за тик на все задачи
+    private static final int BLOCKS_PER_TICK = 128;
+
+    // Без обновлений соседей и форм: они выполняются один раз для границы партии
+    private static final int BATCH_FLAGS = Block.UPDATE_CLIENTS | Block.UPDATE_KNOWN_SHAPE;
+
+    private static final Deque<Job> pendingJobs = new ArrayDeque<>();
+    private static int budgetLeft = BLOCKS_PER_TICK;
+
+    public enum DropDelivery {
+        // В инвентарь игрока, остаток - одним предметом на земле
+        INVENTORY,
+        // Одним предметом на стак в точке дропа
+        WORLD
+    }
+
+    private AreaBreakEngine() {
+    }
+
+    /**
+     * Ломает блоки targets, которые на момент разрушения подходят под filter.
+     * Часть в пределах бюджета текущего тика ломается сразу, остальное - в следующих тиках
+     */
+    public static void submit(ServerPlayer player, List<BlockPos> targets, Predicate<BlockState> filter,
+                              DropDelivery delivery, boolean dropExperience, BlockPos dropPos) {
+        if (targets.isEmpty()) return;
+
+        Job job = new Job(player, player.serverLevel(), targets, filter, delivery, dropExperience, dropPos);
+        if (pendingJobs.isEmpty() && budgetLeft > 0) {
+            budgetLeft -= process(job, budgetLeft);
+            if (job.isDone()) {
+                deliverDrops(job);
+                return;
+            }
+        }
+        pendingJobs.addLast(job);
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.START) return;
+
+        budgetLeft = BLOCKS_PER_TICK;
+        while (budgetLeft > 0 && !pendingJobs.isEmpty()) {
+            Job job = pendingJobs.peekFirst();
+            budgetLeft -= process(job, budgetLeft);
+            if (job.isDone()) {
+                pendingJobs.pollFirst();
+                deliverDrops(job);
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopping(ServerStoppingEvent event) {
+        // Доламываем оставшееся, чтобы не потерять уже собранный дроп
+        while (!pendingJobs.isEmpty()) {
+            Job job = pendingJobs.pollFirst();
+            process(job, Integer.MAX_VALUE);
+            deliverDrops(job);
+        }
+    }
+
+    /**
+     * Ломает до budget целей задачи, возвращает количество проверенных позиций
+     */
+    private static int process(Job job, int budget) {
+        ServerLevel level = job.level;
+        ItemStack tool = job.player.getMainHandItem();
+        LongSet broken = new LongOpenHashSet();
+        List<BlockPos> brokenList = new ArrayList<>();
+        int used = 0;
+
+        while (!job.isDone() && used < budget) {
+            BlockPos pos = job.targets.get(job.next++);
+            used++;
+            if (!level.isLoaded(pos)) continue;
+
+            // Блок мог измениться с момента сбора целей
+            BlockState state = level.getBlockState(pos);
+            if (state.isAir() || !job.filter.test(state)) continue;
+
+            BlockEntity blockEntity = state.hasBlockEntity() ? level.getBlockEntity(pos) : null;
+            for (ItemStack drop : Block.getDrops(state, level, pos, blockEntity, job.player, tool)) {
+                mergeDrop(job.drops, drop);
+            }
+            if (job.dropExperience) {
+                state.spawnAfterBreak(level, pos, tool, true);
+            }
+
+            level.levelEvent(LevelEvent.PARTICLES_DESTROY_BLOCK, pos, Block.getId(state));
+            level.setBlock(pos, level.getFluidState(pos).createLegacyBlock(), BATCH_FLAGS);
+            level.gameEvent(GameEvent.BLOCK_DESTROY, pos, GameEvent.Context.of(job.player, state));
+
+            broken.add(pos.asLong());
+            brokenList.add(pos);
+        }
+
+        updateBoundary(level, brokenList, broken);
+        // BreakEvent здесь не вызывается, поэтому подсветку сломанной руды убираем сами
+        MinerSkillHandler.removeHighlightedOres(level, brokenList);
+        return used;
+    }
+
+    /**
+     * Обновляет формы и оповещает только соседей снаружи сломанной партии
+     */
+    private static void updateBoundary(ServerLevel level, List<BlockPos> brokenList, LongSet broken) {
+        for (BlockPos pos : brokenList) {
+            BlockState newState = level.getBlockState(pos);
+            for (Direction direction : Direction.values()) {
+                BlockPos neighbor = pos.relative(direction);
+                if (broken.contains(neighbor.asLong())) continue;
+
+                BlockState neighborState = level.getBlockState(neighbor);
+                BlockState updated = neighborState.updateShape(direction.getOpposite(), newState, level, neighbor, pos);
+                Block.updateOrDestroy(neighborState, updated, level, neighbor, Block.UPDATE_ALL);
+                level.neighborChanged(neighbor, newState.getBlock(), pos);
+            }
+        }
+    }
+
+    private static void mergeDrop(List<ItemStack> drops, ItemStack drop) {
+        for (ItemStack existing : drops) {
+            if (existing.getCount() < existing.getMaxStackSize() && ItemStack.isSameItemSameTags(existing, drop)) {
+                int moved = Math.min(drop.getCount(), existing.getMaxStackSize() - existing.getCount());
+                existing.grow(moved);
+                drop.shrink(moved);
+                if (drop.isEmpty()) return;
+            }
+        }
+        drops.add(drop);
+    }
+
+    private static void deliverDrops(Job job) {
+        for (ItemStack stack : job.drops) {
+            if (job.delivery == DropDelivery.INVENTORY && !job.player.hasDisconnected()) {
+                job.player.getInventory().add(stack);
+            }
+            if (!stack.isEmpty()) {
+                // Если инвентарь полон, дропаем на землю
+                ItemEntity itemEntity = new ItemEntity(job.level,
+                        job.dropPos.getX() + 0.5, job.dropPos.getY() + 0.5, job.dropPos.getZ() + 0.5, stack);
+                job.level.addFreshEntity(itemEntity);
+            }
+        }
+        job.drops.clear();
+    }
+
+    private static final class Job {
+        private final ServerPlayer player;
+        private final ServerLevel level;
+        private final List<BlockPos> targets;
+        private final Predicate<BlockState> filter;
+        private final DropDelivery delivery;
+        private final boolean dropExperience;
+        private final BlockPos dropPos;
+        private final List<ItemStack> drops = new ArrayList<>();
+        private int next = 0;
+
+        private Job(ServerPlayer player, ServerLevel level, List<BlockPos> targets, Predicate<BlockState> filter,
+                    DropDelivery delivery, boolean dropExperience, BlockPos dropPos) {
+            this.player = player;
+            this.level = level;
+            this.targets = targets;
+            this.filter = filter;
+            this.delivery = delivery;
+            this.dropExperience = dropExperience;
+            this.dropPos = dropPos;
+        }
+
+        private boolean isDone() {
+            return next >= targets.size();
+        }
+    }
+}
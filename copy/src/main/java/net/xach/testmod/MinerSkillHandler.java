@@ -1,8 +1,13 @@
 package net.xach.testmod;
 
 import net.minecraft.client.Minecraft;
+import it.unimi.dsi.fastutil.bytes.ByteArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.effect.MobEffectInstance;
 import net.minecraft.world.effect.MobEffects;
@@ -17,11 +22,13 @@ import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.AABB;
 import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.level.BlockEvent;
+import net.minecraftforge.event.level.ExplosionEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.network.PacketDistributor;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 @Mod.EventBusSubscriber(modid = TestMod.MOD_ID)
 public class MinerSkillHandler {
@@ -31,27 +38,15 @@ public class MinerSkillHandler {
     private static final Map<UUID, Long> veinMinerCooldowns = new HashMap<>();
     private static final Map<UUID, Long> nightVisionCooldowns = new HashMap<>();
 
-    // Карта для отслеживания подсвеченных блоков
-    private static final Map<UUID, Set<BlockPos>> highlightedOres = new HashMap<>();
+    // Карта для отслеживания подсвеченных блоков (BlockPos.asLong)
+    private static final Map<UUID, LongSet> highlightedOres = new HashMap<>();
     private static final Map<UUID, Long> highlightEndTimes = new HashMap<>();
+    private static final Map<UUID, BlockPos> highlightOrigins = new HashMap<>();
+    private static final Map<UUID, OreScanner.Scan> oreScans = new HashMap<>();
 
     // Карта для отслеживания состояния широкого копания
     private static final Map<UUID, Boolean> areaMiningEnabled = new HashMap<>();
 
-    // Список блоков руды
-    private static final Set<Block> ORE_BLOCKS = Set.of(
-            Blocks.COAL_ORE, Blocks.DEEPSLATE_COAL_ORE,
-            Blocks.IRON_ORE, Blocks.DEEPSLATE_IRON_ORE,
-            Blocks.GOLD_ORE, Blocks.DEEPSLATE_GOLD_ORE,
-            Blocks.DIAMOND_ORE, Blocks.DEEPSLATE_DIAMOND_ORE,
-            Blocks.EMERALD_ORE, Blocks.DEEPSLATE_EMERALD_ORE,
-            Blocks.LAPIS_ORE, Blocks.DEEPSLATE_LAPIS_ORE,
-            Blocks.REDSTONE_ORE, Blocks.DEEPSLATE_REDSTONE_ORE,
-            Blocks.COPPER_ORE, Blocks.DEEPSLATE_COPPER_ORE,
-            Blocks.NETHER_GOLD_ORE, Blocks.NETHER_QUARTZ_ORE,
-            Blocks.ANCIENT_DEBRIS
-    );
-
     // Список случайных предметов для навыка "Случайная находка"
     private static final List<ItemStack> RANDOM_FINDS = Arrays.asList(
             new ItemStack(Items.DIAMOND),
@@ -92,8 +87,7 @@ public class MinerSkillHandler {
                 long currentTime = System.currentTimeMillis();
                 if (currentTime > highlightEndTimes.get(playerId)) {
                     // Убираем подсветку
-                    highlightedOres.remove(playerId);
-                    highlightEndTimes.remove(playerId);
+                    clearOreHighlight(playerId);
                 }
             }
 
@@ -107,6 +101,11 @@ public class MinerSkillHandler {
 
     @SubscribeEvent
     public static void onBlockBreak(BlockEvent.BreakEvent event) {
+        // Сломанная подсвеченная руда убирается из подсветки у всех, кто ее видит
+        if (!highlightedOres.isEmpty() && event.getLevel() instanceof ServerLevel serverLevel) {
+            removeHighlightedOre(serverLevel, event.getPos());
+        }
+
         if (event.getPlayer() instanceof ServerPlayer player) {
             player.getCapability(TestMod.PlayerClassCapability.CAPABILITY).ifPresent(cap -> {
                 if (!cap.getPlayerClass().equals("miner")) return;
@@ -129,7 +128,7 @@ public class MinerSkillHandler {
 
                 // Удвоение руды
                 int doubleOreLevel = cap.getSkillLevel("ore_double");
-                if (doubleOreLevel > 0 && ORE_BLOCKS.contains(brokenBlock.getBlock())) {
+                if (doubleOreLevel > 0 && OreScanner.getOreKind(brokenBlock.getBlock()) >= 0) {
                     applyOreDoubling(player, pos, brokenBlock, doubleOreLevel);
                 }
 
@@ -182,17 +181,12 @@ public class MinerSkillHandler {
             Long lastUse = oreHighlightCooldowns.get(playerId);
 
             if (lastUse == null || currentTime - lastUse >= 60000) { // 60 секунд перезарядка
-                Set<BlockPos> orePositions = highlightOresAroundPlayer(player);
                 cap.useSurgeEnergy(30);
                 cap.sync((ServerPlayer) player);
                 oreHighlightCooldowns.put(playerId, currentTime);
-                highlightEndTimes.put(playerId, currentTime + 30000); // 30 секунд действия
 
-                // Отправляем пакет на клиент для подсветки
-                TestMod.NETWORK.send(PacketDistributor.PLAYER.with(() -> (ServerPlayer) player),
-                        new OreHighlightPacket(orePositions, 30000));
-
-                player.sendSystemMessage(Component.literal("Руда подсвечена на 30 секунд! Найдено: " + orePositions.size()));
+                highlightOresAroundPlayer((ServerPlayer) player, 30000);
+                highlightEndTimes.put(playerId, currentTime + 30000); // 30 секунд действия
             } else {
                 long remainingCooldown = 60000 - (currentTime - lastUse);
                 player.sendSystemMessage(Component.literal("Перезарядка: " + (remainingCooldown / 1000) + " сек"));
@@ -253,26 +247,32 @@ public class MinerSkillHandler {
         int size = level; // Размер области
         int offset = (size - 1) / 2; // Смещение от центра
 
+        // Ломаем только блоки того же типа или камень/булыжник
+        Block originalType = originalBlock.getBlock();
+        Predicate<BlockState> canBreak = state -> state.getBlock() == originalType ||
+                state.getBlock() == Blocks.STONE ||
+                state.getBlock() == Blocks.COBBLESTONE ||
+                state.getBlock() == Blocks.DEEPSLATE ||
+                state.getBlock() == Blocks.COBBLED_DEEPSLATE;
+
+        List<BlockPos> targets = new ArrayList<>();
+        BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
         for (int x = -offset; x <= offset; x++) {
             for (int y = -offset; y <= offset; y++) {
                 for (int z = -offset; z <= offset; z++) {
                     if (x == 0 && y == 0 && z == 0) continue; // Пропускаем центральный блок
 
-                    BlockPos pos = centerPos.offset(x, y, z);
-                    BlockState state = world.getBlockState(pos);
-
-                    // Ломаем только блоки того же типа или камень/булыжник
-                    if (state.getBlock() == originalBlock.getBlock() ||
-                            state.getBlock() == Blocks.STONE ||
-                            state.getBlock() == Blocks.COBBLESTONE ||
-                            state.getBlock() == Blocks.DEEPSLATE ||
-                            state.getBlock() == Blocks.COBBLED_DEEPSLATE) {
-
-                        world.destroyBlock(pos, true, player);
+                    cursor.setWithOffset(centerPos, x, y, z);
+                    if (canBreak.test(world.getBlockState(cursor))) {
+                        targets.add(cursor.immutable());
                     }
                 }
             }
         }
+
+        // Дроп всей области выпадает стаками на месте сломанного блока
+        AreaBreakEngine.submit((ServerPlayer) player, targets, canBreak,
+                AreaBreakEngine.DropDelivery.WORLD, true, centerPos);
     }
 
     private static void applyRandomFind(Player player, BlockPos pos, int level) {
@@ -315,60 +315,123 @@ public class MinerSkillHandler {
         // Это будет обрабатываться в событии получения урона
     }
 
-    private static Set<BlockPos> highlightOresAroundPlayer(Player player) {
-        Level level = player.level();
-        BlockPos playerPos = player.blockPosition();
-        Set<BlockPos> orePositions = new HashSet<>();
+    private static void highlightOresAroundPlayer(ServerPlayer player, long durationMs) {
+        UUID playerId = player.getUUID();
+        BlockPos origin = player.blockPosition();
+        LongSet orePositions = new LongOpenHashSet();
+
+        clearOreHighlight(playerId);
+        highlightedOres.put(playerId, orePositions);
+        highlightOrigins.put(playerId, origin);
+
+        // Клиент очищает прошлую подсветку и получает руду партиями по мере поиска
+        TestMod.NETWORK.send(PacketDistributor.PLAYER.with(() -> player), OreHighlightPacket.reset(origin, durationMs));
 
         // Ищем руду в радиусе 50 блоков
-        for (int x = -50; x <= 50; x++) {
-            for (int y = -50; y <= 50; y++) {
-                for (int z = -50; z <= 50; z++) {
-                    BlockPos pos = playerPos.offset(x, y, z);
-                    BlockState state = level.getBlockState(pos);
-                    if (ORE_BLOCKS.contains(state.getBlock())) {
-                        orePositions.add(pos);
-                    }
+        OreScanner.Scan scan = OreScanner.start(player.serverLevel(), origin, 50, batch -> {
+            // Подсветка уже закончилась или запущена заново
+            if (highlightedOres.get(playerId) != orePositions || player.hasDisconnected()) return;
+
+            // Руда, сломанная после снимка палитр, в подсветку не попадает
+            ServerLevel level = player.serverLevel();
+            LongArrayList positions = new LongArrayList(batch.positions().length);
+            ByteArrayList kinds = new ByteArrayList(batch.kinds().length);
+            BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+            for (int i = 0; i < batch.positions().length; i++) {
+                long pos = batch.positions()[i];
+                cursor.set(pos);
+                if (!level.isLoaded(cursor) || OreScanner.getOreKind(level.getBlockState(cursor).getBlock()) != batch.kinds()[i]) continue;
+
+                orePositions.add(pos);
+                positions.add(pos);
+                kinds.add(batch.kinds()[i]);
+            }
+            if (!positions.isEmpty()) {
+                TestMod.NETWORK.send(PacketDistributor.PLAYER.with(() -> player),
+                        OreHighlightPacket.added(origin, positions.toLongArray(), kinds.toByteArray()));
+            }
+            if (batch.last()) {
+                oreScans.remove(playerId);
+                player.sendSystemMessage(Component.literal("Руда подсвечена на " + (durationMs / 1000) + " секунд! Найдено: " + orePositions.size()));
+            }
+        });
+        oreScans.put(playerId, scan);
+    }
+
+    private static void clearOreHighlight(UUID playerId) {
+        OreScanner.Scan scan = oreScans.remove(playerId);
+        if (scan != null) {
+            scan.cancel();
+        }
+        highlightedOres.remove(playerId);
+        highlightEndTimes.remove(playerId);
+        highlightOrigins.remove(playerId);
+    }
+
+    private static void removeHighlightedOre(ServerLevel level, BlockPos pos) {
+        long packed = pos.asLong();
+        for (Map.Entry<UUID, LongSet> entry : highlightedOres.entrySet()) {
+            ServerPlayer owner = level.getServer().getPlayerList().getPlayer(entry.getKey());
+            if (owner == null || owner.level() != level || !entry.getValue().remove(packed)) continue;
+
+            TestMod.NETWORK.send(PacketDistributor.PLAYER.with(() -> owner),
+                    OreHighlightPacket.removed(highlightOrigins.get(entry.getKey()), new long[]{packed}));
+        }
+    }
+
+    /**
+     * Убирает из подсветки блоки, сломанные в обход BreakEvent (пакетное разрушение, взрывы).
+     * Каждому игроку уходит один пакет на всю партию
+     */
+    static void removeHighlightedOres(ServerLevel level, List<BlockPos> positions) {
+        if (highlightedOres.isEmpty() || positions.isEmpty()) return;
+
+        for (Map.Entry<UUID, LongSet> entry : highlightedOres.entrySet()) {
+            ServerPlayer owner = level.getServer().getPlayerList().getPlayer(entry.getKey());
+            if (owner == null || owner.level() != level) continue;
+
+            LongArrayList removed = new LongArrayList();
+            for (BlockPos pos : positions) {
+                if (entry.getValue().remove(pos.asLong())) {
+                    removed.add(pos.asLong());
                 }
             }
+            if (!removed.isEmpty()) {
+                TestMod.NETWORK.send(PacketDistributor.PLAYER.with(() -> owner),
+                        OreHighlightPacket.removed(highlightOrigins.get(entry.getKey()), removed.toLongArray()));
+            }
         }
+    }
 
-        return orePositions;
+    @SubscribeEvent
+    public static void onExplosionDetonate(ExplosionEvent.Detonate event) {
+        if (!highlightedOres.isEmpty() && event.getLevel() instanceof ServerLevel serverLevel) {
+            removeHighlightedOres(serverLevel, event.getAffectedBlocks());
+        }
     }
 
     private static int mineAllOresInRadius(Player player, int radius) {
         Level level = player.level();
         BlockPos playerPos = player.blockPosition();
-        int minedCount = 0;
+        Predicate<BlockState> isOre = state -> OreScanner.getOreKind(state.getBlock()) >= 0;
 
-        // Ищем и ломаем все руды в радиусе
+        // Ищем все руды в радиусе
+        List<BlockPos> targets = new ArrayList<>();
+        BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
         for (int x = -radius; x <= radius; x++) {
             for (int y = -radius; y <= radius; y++) {
                 for (int z = -radius; z <= radius; z++) {
-                    BlockPos pos = playerPos.offset(x, y, z);
-                    BlockState state = level.getBlockState(pos);
-
-                    if (ORE_BLOCKS.contains(state.getBlock())) {
-                        // Получаем дроп от блока
-                        List<ItemStack> drops = Block.getDrops(state, (net.minecraft.server.level.ServerLevel) level, pos, null, player, player.getMainHandItem());
-
-                        // Добавляем дроп в инвентарь игрока
-                        for (ItemStack drop : drops) {
-                            if (!player.getInventory().add(drop)) {
-                                // Если инвентарь полон, дропаем на землю
-                                ItemEntity itemEntity = new ItemEntity(level, pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5, drop);
-                                level.addFreshEntity(itemEntity);
-                            }
-                        }
-
-                        // Ломаем блок без дропа (так как мы уже добавили дроп в инвентарь)
-                        level.destroyBlock(pos, false, player);
-                        minedCount++;
+                    cursor.setWithOffset(playerPos, x, y, z);
+                    if (isOre.test(level.getBlockState(cursor))) {
+                        targets.add(cursor.immutable());
                     }
                 }
             }
         }
 
-        return minedCount;
+        // Дроп добавляется в инвентарь игрока одним разом, когда вся руда сломана
+        AreaBreakEngine.submit((ServerPlayer) player, targets, isOre,
+                AreaBreakEngine.DropDelivery.INVENTORY, false, playerPos);
+        return targets.size();
     }
 }
@@ -4,35 +4,103 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraftforge.network.NetworkEvent;
 
-import java.util.HashSet;
-import java.util.Set;
-import java.util.UUID;
 import java.util.function.Supplier;
 
+/**
+ * Изменения подсветки руды: сброс с новой длительностью, добавленные и убранные блоки.
+ * Позиции передаются смещением от точки поиска (по 7 бит на ось, смещение не больше 63 блоков)
+ * вместе с типом руды в одном varint.
+ */
 public class OreHighlightPacket {
-    private final Set<BlockPos> orePositions;
+    private static final int AXIS_BITS = 7;
+    private static final int AXIS_MASK = (1 << AXIS_BITS) - 1;
+    private static final int AXIS_BIAS = 1 << (AXIS_BITS - 1);
+    private static final long[] NO_POSITIONS = new long[0];
+    private static final byte[] NO_KINDS = new byte[0];
+
+    private final BlockPos origin;
+    private final boolean reset;
     private final long duration;
+    // Позиции в формате BlockPos.asLong()
+    private final long[] added;
+    private final byte[] addedKinds;
+    private final long[] removed;
 
-    public OreHighlightPacket(Set<BlockPos> orePositions, long duration) {
-        this.orePositions = orePositions;
+    private OreHighlightPacket(BlockPos origin, boolean reset, long duration, long[] added, byte[] addedKinds, long[] removed) {
+        this.origin = origin;
+        this.reset = reset;
         this.duration = duration;
+        this.added = added;
+        this.addedKinds = addedKinds;
+        this.removed = removed;
+    }
+
+    /**
+     * Новая подсветка: клиент очищает старую и запускает таймер
+     */
+    public static OreHighlightPacket reset(BlockPos origin, long duration) {
+        return new OreHighlightPacket(origin, true, duration, NO_POSITIONS, NO_KINDS, NO_POSITIONS);
+    }
+
+    public static OreHighlightPacket added(BlockPos origin, long[] positions, byte[] kinds) {
+        return new OreHighlightPacket(origin, false, 0, positions, kinds, NO_POSITIONS);
+    }
+
+    public static OreHighlightPacket removed(BlockPos origin, long[] positions) {
+        return new OreHighlightPacket(origin, false, 0, NO_POSITIONS, NO_KINDS, positions);
     }
 
     public OreHighlightPacket(FriendlyByteBuf buf) {
-        int size = buf.readInt();
-        this.orePositions = new HashSet<>();
-        for (int i = 0; i < size; i++) {
-            this.orePositions.add(buf.readBlockPos());
+        this.origin = buf.readBlockPos();
+        this.reset = buf.readBoolean();
+        this.duration = reset ? buf.readVarLong() : 0;
+
+        int addedCount = buf.readVarInt();
+        this.added = new long[addedCount];
+        this.addedKinds = new byte[addedCount];
+        for (int i = 0; i < addedCount; i++) {
+            int packed = buf.readVarInt();
+            this.added[i] = unpackOffset(packed);
+            this.addedKinds[i] = (byte) (packed >>> (AXIS_BITS * 3));
+        }
+
+        int removedCount = buf.readVarInt();
+        this.removed = new long[removedCount];
+        for (int i = 0; i < removedCount; i++) {
+            this.removed[i] = unpackOffset(buf.readVarInt());
         }
-        this.duration = buf.readLong();
     }
 
     public void toBytes(FriendlyByteBuf buf) {
-        buf.writeInt(orePositions.size());
-        for (BlockPos pos : orePositions) {
-            buf.writeBlockPos(pos);
+        buf.writeBlockPos(origin);
+        buf.writeBoolean(reset);
+        if (reset) {
+            buf.writeVarLong(duration);
+        }
+
+        buf.writeVarInt(added.length);
+        for (int i = 0; i < added.length; i++) {
+            buf.writeVarInt(packOffset(added[i]) | (addedKinds[i] << (AXIS_BITS * 3)));
+        }
+
+        buf.writeVarInt(removed.length);
+        for (long pos : removed) {
+            buf.writeVarInt(packOffset(pos));
         }
-        buf.writeLong(duration);
+    }
+
+    private int packOffset(long pos) {
+        int dx = BlockPos.getX(pos) - origin.getX() + AXIS_BIAS;
+        int dy = BlockPos.getY(pos) - origin.getY() + AXIS_BIAS;
+        int dz = BlockPos.getZ(pos) - origin.getZ() + AXIS_BIAS;
+        return (dx & AXIS_MASK) << (AXIS_BITS * 2) | (dy & AXIS_MASK) << AXIS_BITS | (dz & AXIS_MASK);
+    }
+
+    private long unpackOffset(int packed) {
+        int dx = (packed >>> (AXIS_BITS * 2) & AXIS_MASK) - AXIS_BIAS;
+        int dy = (packed >>> AXIS_BITS & AXIS_MASK) - AXIS_BIAS;
+        int dz = (packed & AXIS_MASK) - AXIS_BIAS;
+        return BlockPos.asLong(origin.getX() + dx, origin.getY() + dy, origin.getZ() + dz);
     }
 
     public boolean handle(Supplier<NetworkEvent.Context> supplier) {
@@ -40,10 +108,7 @@ public class OreHighlightPacket {
         context.enqueueWork(() -> {
             // Это выполняется на клиенте
             if (context.getDirection().getReceptionSide().isClient()) {
-                net.minecraft.client.Minecraft mc = net.minecraft.client.Minecraft.getInstance();
-                if (mc.player != null) {
-                    OreHighlightRenderer.setHighlightedOres(mc.player.getUUID(), orePositions, duration);
-                }
+                OreHighlightRenderer.applyDelta(origin, reset, duration, added, addedKinds, removed);
             }
         });
         return true;
@@ -2,47 +2,46 @@ package net.xach.testmod;
 
 import com.mojang.blaze3d.systems.RenderSystem;
 import com.mojang.blaze3d.vertex.*;
+import it.unimi.dsi.fastutil.longs.Long2ByteMap;
+import it.unimi.dsi.fastutil.longs.Long2ByteOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.GameRenderer;
 import net.minecraft.core.BlockPos;
-import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.Blocks;
-import net.minecraft.world.level.block.state.BlockState;
-import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
 import net.minecraftforge.client.event.RenderLevelStageEvent;
+import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
-import org.joml.Matrix4f;
-
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
-import java.util.UUID;
 
 @Mod.EventBusSubscriber(modid = TestMod.MOD_ID, value = Dist.CLIENT)
 public class OreHighlightRenderer {
 
-    // Карта подсвеченных руд для каждого игрока
-    private static final Map<UUID, Set<BlockPos>> highlightedOres = new HashMap<>();
-    private static final Map<UUID, Long> highlightEndTimes = new HashMap<>();
-
-    // Список блоков руды
-    private static final Set<Block> ORE_BLOCKS = Set.of(
-            Blocks.COAL_ORE, Blocks.DEEPSLATE_COAL_ORE,
-            Blocks.IRON_ORE, Blocks.DEEPSLATE_IRON_ORE,
-            Blocks.GOLD_ORE, Blocks.DEEPSLATE_GOLD_ORE,
-            Blocks.DIAMOND_ORE, Blocks.DEEPSLATE_DIAMOND_ORE,
-            Blocks.EMERALD_ORE, Blocks.DEEPSLATE_EMERALD_ORE,
-            Blocks.LAPIS_ORE, Blocks.DEEPSLATE_LAPIS_ORE,
-            Blocks.REDSTONE_ORE, Blocks.DEEPSLATE_REDSTONE_ORE,
-            Blocks.COPPER_ORE, Blocks.DEEPSLATE_COPPER_ORE,
-            Blocks.NETHER_GOLD_ORE, Blocks.NETHER_QUARTZ_ORE,
-            Blocks.ANCIENT_DEBRIS
-    );
+    // Подсвеченная руда: позиция (BlockPos.asLong) -> тип руды (индекс в OreScanner.ORE_BLOCKS)
+    private static final Long2ByteOpenHashMap highlightedOres = new Long2ByteOpenHashMap();
+    private static long highlightEndTime = 0;
+
+    // Все контуры лежат в одном буфере, он пересобирается только при изменении набора руды.
+    // Вершины задаются относительно точки поиска, чтобы не терять точность float вдали от 0
+    private static VertexBuffer outlineBuffer;
+    private static boolean outlineBufferDirty = false;
+    private static BlockPos anchor = BlockPos.ZERO;
+
+    // Раз в секунду подсветка сверяется с миром: руду могли сдвинуть поршни или убрать другие моды
+    private static final int VALIDATE_INTERVAL_TICKS = 20;
+    private static int ticksUntilValidate = VALIDATE_INTERVAL_TICKS;
+
+    private static final float[][] ORE_COLORS = new float[OreScanner.ORE_BLOCKS.size()][];
+
+    static {
+        for (int i = 0; i < ORE_COLORS.length; i++) {
+            ORE_COLORS[i] = getOreColor(OreScanner.ORE_BLOCKS.get(i));
+        }
+    }
 
     @OnlyIn(Dist.CLIENT)
     @SubscribeEvent
@@ -51,19 +50,19 @@ public class OreHighlightRenderer {
 
         Minecraft mc = Minecraft.getInstance();
         if (mc.player == null || mc.level == null) return;
+        if (highlightedOres.isEmpty()) return;
 
-        UUID playerId = mc.player.getUUID();
         long currentTime = System.currentTimeMillis();
 
         // Проверяем, активна ли подсветка
-        if (!highlightEndTimes.containsKey(playerId) || currentTime > highlightEndTimes.get(playerId)) {
-            highlightedOres.remove(playerId);
-            highlightEndTimes.remove(playerId);
+        if (currentTime > highlightEndTime) {
+            clearHighlight();
             return;
         }
 
-        Set<BlockPos> orePositions = highlightedOres.get(playerId);
-        if (orePositions == null || orePositions.isEmpty()) return;
+        if (outlineBufferDirty) {
+            rebuildOutlineBuffer();
+        }
 
         // Настройка рендеринга
         PoseStack poseStack = event.getPoseStack();
@@ -72,79 +71,112 @@ public class OreHighlightRenderer {
         RenderSystem.enableBlend();
         RenderSystem.defaultBlendFunc();
         RenderSystem.disableDepthTest();
-        RenderSystem.setShader(GameRenderer::getPositionColorShader);
-
-        Tesselator tesselator = Tesselator.getInstance();
-        BufferBuilder buffer = tesselator.getBuilder();
 
         poseStack.pushPose();
-        poseStack.translate(-cameraPos.x, -cameraPos.y, -cameraPos.z);
-
-        buffer.begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_COLOR);
-
-        for (BlockPos pos : orePositions) {
-            BlockState state = mc.level.getBlockState(pos);
-            if (!ORE_BLOCKS.contains(state.getBlock())) continue;
+        poseStack.translate(anchor.getX() - cameraPos.x, anchor.getY() - cameraPos.y, anchor.getZ() - cameraPos.z);
 
-            // Определяем цвет в зависимости от типа руды
-            float[] color = getOreColor(state.getBlock());
-            float alpha = 0.3f + 0.2f * (float) Math.sin(currentTime * 0.005); // Пульсирующий эффект
+        // Пульсирующий эффект через множитель цвета шейдера, буфер не меняется
+        float alpha = 0.3f + 0.2f * (float) Math.sin(currentTime * 0.005);
+        RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, alpha);
 
-            // Рендерим контур блока
-            renderBlockOutline(buffer, poseStack.last().pose(), pos, color[0], color[1], color[2], alpha);
-        }
+        outlineBuffer.bind();
+        outlineBuffer.drawWithShader(poseStack.last().pose(), event.getProjectionMatrix(), GameRenderer.getPositionColorShader());
+        VertexBuffer.unbind();
 
-        tesselator.end();
+        RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, 1.0f);
         poseStack.popPose();
 
         RenderSystem.enableDepthTest();
         RenderSystem.disableBlend();
     }
 
-    private static void renderBlockOutline(BufferBuilder buffer, Matrix4f matrix, BlockPos pos, float r, float g, float b, float a) {
-        float x1 = pos.getX();
-        float y1 = pos.getY();
-        float z1 = pos.getZ();
+    @OnlyIn(Dist.CLIENT)
+    @SubscribeEvent
+    public static void onClientTick(TickEvent.ClientTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || highlightedOres.isEmpty()) return;
+        if (--ticksUntilValidate > 0) return;
+        ticksUntilValidate = VALIDATE_INTERVAL_TICKS;
+
+        Minecraft mc = Minecraft.getInstance();
+        if (mc.level == null) return;
+
+        BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+        ObjectIterator<Long2ByteMap.Entry> iterator = highlightedOres.long2ByteEntrySet().fastIterator();
+        while (iterator.hasNext()) {
+            Long2ByteMap.Entry entry = iterator.next();
+            cursor.set(entry.getLongKey());
+            // Незагруженные чанки не проверяем, чтобы не терять руду на краю дальности прорисовки
+            if (!mc.level.isLoaded(cursor)) continue;
+
+            if (OreScanner.getOreKind(mc.level.getBlockState(cursor).getBlock()) != entry.getByteValue()) {
+                iterator.remove();
+                outlineBufferDirty = true;
+            }
+        }
+    }
+
+    private static void rebuildOutlineBuffer() {
+        BufferBuilder buffer = Tesselator.getInstance().getBuilder();
+        buffer.begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_COLOR);
+
+        for (Long2ByteMap.Entry entry : highlightedOres.long2ByteEntrySet()) {
+            long pos = entry.getLongKey();
+            float[] color = ORE_COLORS[entry.getByteValue()];
+            renderBlockOutline(buffer,
+                    BlockPos.getX(pos) - anchor.getX(), BlockPos.getY(pos) - anchor.getY(), BlockPos.getZ(pos) - anchor.getZ(),
+                    color[0], color[1], color[2], 1.0f);
+        }
+
+        if (outlineBuffer == null) {
+            outlineBuffer = new VertexBuffer(VertexBuffer.Usage.STATIC);
+        }
+        outlineBuffer.bind();
+        outlineBuffer.upload(buffer.end());
+        VertexBuffer.unbind();
+        outlineBufferDirty = false;
+    }
+
+    private static void renderBlockOutline(BufferBuilder buffer, float x1, float y1, float z1, float r, float g, float b, float a) {
         float x2 = x1 + 1.0f;
         float y2 = y1 + 1.0f;
         float z2 = z1 + 1.0f;
 
         // Рендерим все 6 граней куба с прозрачностью
         // Нижняя грань
-        buffer.vertex(matrix, x1, y1, z1).color(r, g, b, a).endVertex();
-        buffer.vertex(matrix, x2, y1, z1).color(r, g, b, a).endVertex();
-        buffer.vertex(matrix, x2, y1, z2).color(r, g, b, a).endVertex();
-        buffer.vertex(matrix, x1, y1, z2).color(r, g, b, a).endVertex();
+        buffer.vertex(x1, y1, z1).color(r, g, b, a).endVertex();
+        buffer.vertex(x2, y1, z1).color(r, g, b, a).endVertex();
+        buffer.vertex(x2, y1, z2).color(r, g, b, a).endVertex();
+        buffer.vertex(x1, y1, z2).color(r, g, b, a).endVertex();
 
         // Верхняя грань
-        buffer.vertex(matrix, x1, y2, z1).color(r, g, b, a).endVertex();
-        buffer.vertex(matrix, x1, y2, z2).color(r, g, b, a).endVertex();
-        buffer.vertex(matrix, x2, y2, z2).color(r, g, b, a).endVertex();
-        buffer.vertex(matrix, x2, y2, z1).color(r, g, b, a).endVertex();
+        buffer.vertex(x1, y2, z1).color(r, g, b, a).endVertex();
+        buffer.vertex(x1, y2, z2).color(r, g, b, a).endVertex();
+        buffer.vertex(x2, y2, z2).color(r, g, b, a).endVertex();
+        buffer.vertex(x2, y2, z1).color(r, g, b, a).endVertex();
 
         // Северная грань
-        buffer.vertex(matrix, x1, y1, z1).color(r, g, b, a).endVertex();
-        buffer.vertex(matrix, x1, y2, z1).color(r, g, b, a).endVertex();
-        buffer.vertex(matrix, x2, y2, z1).color(r, g, b, a).endVertex();
-        buffer.vertex(matrix, x2, y1, z1).color(r, g, b, a).endVertex();
+        buffer.vertex(x1, y1, z1).color(r, g, b, a).endVertex();
+        buffer.vertex(x1, y2, z1).color(r, g, b, a).endVertex();
+        buffer.vertex(x2, y2, z1).color(r, g, b, a).endVertex();
+        buffer.vertex(x2, y1, z1).color(r, g, b, a).endVertex();
 
         // Южная грань
-        buffer.vertex(matrix, x1, y1, z2).color(r, g, b, a).endVertex();
-        buffer.vertex(matrix, x2, y1, z2).color(r, g, b, a).endVertex();
-        buffer.vertex(matrix, x2, y2, z2).color(r, g, b, a).endVertex();
-        buffer.vertex(matrix, x1, y2, z2).color(r, g, b, a).endVertex();
+        buffer.vertex(x1, y1, z2).color(r, g, b, a).endVertex();
+        buffer.vertex(x2, y1, z2).color(r, g, b, a).endVertex();
+        buffer.vertex(x2, y2, z2).color(r, g, b, a).endVertex();
+        buffer.vertex(x1, y2, z2).color(r, g, b, a).endVertex();
 
         // Западная грань
-        buffer.vertex(matrix, x1, y1, z1).color(r, g, b, a).endVertex();
-        buffer.vertex(matrix, x1, y1, z2).color(r, g, b, a).endVertex();
-        buffer.vertex(matrix, x1, y2, z2).color(r, g, b, a).endVertex();
-        buffer.vertex(matrix, x1, y2, z1).color(r, g, b, a).endVertex();
+        buffer.vertex(x1, y1, z1).color(r, g, b, a).endVertex();
+        buffer.vertex(x1, y1, z2).color(r, g, b, a).endVertex();
+        buffer.vertex(x1, y2, z2).color(r, g, b, a).endVertex();
+        buffer.vertex(x1, y2, z1).color(r, g, b, a).endVertex();
 
         // Восточная грань
-        buffer.vertex(matrix, x2, y1, z1).color(r, g, b, a).endVertex();
-        buffer.vertex(matrix, x2, y2, z1).color(r, g, b, a).endVertex();
-        buffer.vertex(matrix, x2, y2, z2).color(r, g, b, a).endVertex();
-        buffer.vertex(matrix, x2, y1, z2).color(r, g, b, a).endVertex();
+        buffer.vertex(x2, y1, z1).color(r, g, b, a).endVertex();
+        buffer.vertex(x2, y2, z1).color(r, g, b, a).endVertex();
+        buffer.vertex(x2, y2, z2).color(r, g, b, a).endVertex();
+        buffer.vertex(x2, y1, z2).color(r, g, b, a).endVertex();
     }
 
     private static float[] getOreColor(Block block) {
@@ -170,13 +202,27 @@ public class OreHighlightRenderer {
     }
 
     // Методы для управления подсветкой
-    public static void setHighlightedOres(UUID playerId, Set<BlockPos> orePositions, long durationMs) {
-        highlightedOres.put(playerId, orePositions);
-        highlightEndTimes.put(playerId, System.currentTimeMillis() + durationMs);
+    public static void applyDelta(BlockPos origin, boolean reset, long durationMs, long[] added, byte[] addedKinds, long[] removed) {
+        if (reset) {
+            highlightedOres.clear();
+            anchor = origin;
+            highlightEndTime = System.currentTimeMillis() + durationMs;
+        }
+        for (int i = 0; i < added.length; i++) {
+            highlightedOres.put(added[i], addedKinds[i]);
+        }
+        for (long pos : removed) {
+            highlightedOres.remove(pos);
+        }
+        outlineBufferDirty = true;
     }
 
-    public static void clearHighlight(UUID playerId) {
-        highlightedOres.remove(playerId);
-        highlightEndTimes.remove(playerId);
+    public static void clearHighlight() {
+        highlightedOres.clear();
+        highlightEndTime = 0;
+        if (outlineBuffer != null) {
+            outlineBuffer.close();
+            outlineBuffer = null;
+        }
     }
 }
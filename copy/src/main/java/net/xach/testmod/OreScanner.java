@@ -0,0 +1,210 @@
+package net.xach.testmod;
+
+import it.unimi.dsi.fastutil.bytes.ByteArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.objects.Object2ByteOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Поиск руды вокруг игрока по секциям чанков.
+ * На серверном потоке снимаются копии палитр загруженных секций (секции, в палитре которых нет руды,
+ * пропускаются целиком), перебор блоков идет в фоновом потоке, найденная руда отдается партиями
+ * обратно на серверный поток.
+ */
+public final class OreScanner {
+
+    // Единый список руды для подсветки и навыков шахтёра. Порядок важен: индекс в списке - тип руды в пакете подсветки
+    public static final List<Block> ORE_BLOCKS = List.of(
+            Blocks.COAL_ORE, Blocks.DEEPSLATE_COAL_ORE,
+            Blocks.IRON_ORE, Blocks.DEEPSLATE_IRON_ORE,
+            Blocks.GOLD_ORE, Blocks.DEEPSLATE_GOLD_ORE,
+            Blocks.DIAMOND_ORE, Blocks.DEEPSLATE_DIAMOND_ORE,
+            Blocks.EMERALD_ORE, Blocks.DEEPSLATE_EMERALD_ORE,
+            Blocks.LAPIS_ORE, Blocks.DEEPSLATE_LAPIS_ORE,
+            Blocks.REDSTONE_ORE, Blocks.DEEPSLATE_REDSTONE_ORE,
+            Blocks.COPPER_ORE, Blocks.DEEPSLATE_COPPER_ORE,
+            Blocks.NETHER_GOLD_ORE, Blocks.NETHER_QUARTZ_ORE,
+            Blocks.ANCIENT_DEBRIS
+    );
+
+    private static final Object2ByteOpenHashMap<Block> ORE_KINDS = new Object2ByteOpenHashMap<>();
+
+    static {
+        ORE_KINDS.defaultReturnValue((byte) -1);
+        for (int i = 0; i < ORE_BLOCKS.size(); i++) {
+            ORE_KINDS.put(ORE_BLOCKS.get(i), (byte) i);
+        }
+    }
+
+    // Количество секций в одной партии результатов
+    private static final int SECTIONS_PER_BATCH = 16;
+
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "TestMod Ore Scanner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private OreScanner() {
+    }
+
+    /**
+     * Тип руды (индекс в {@link #ORE_BLOCKS}) или -1, если блок не руда
+     */
+    public static byte getOreKind(Block block) {
+        return ORE_KINDS.getByte(block);
+    }
+
+    /**
+     * Запускает поиск руды в кубе с ребром 2 * radius + 1 вокруг center.
+     * Обработчик партий вызывается на серверном потоке; последняя партия помечена {@link Batch#last()}
+     */
+    public static Scan start(ServerLevel level, BlockPos center, int radius, Consumer<Batch> onBatch) {
+        Scan scan = new Scan(center.offset(-radius, -radius, -radius), center.offset(radius, radius, radius));
+        List<SectionSnapshot> snapshots = snapshotSections(level, center, scan);
+
+        EXECUTOR.execute(() -> {
+            try {
+                scanSections(level, snapshots, scan, onBatch);
+            } catch (Exception e) {
+                SafeLogger.error("Ошибка поиска руды: " + e.getMessage());
+                level.getServer().execute(() -> onBatch.accept(new Batch(new long[0], new byte[0], true)));
+            }
+        });
+        return scan;
+    }
+
+    /**
+     * Копирует палитры загруженных секций, которые могут содержать руду (только серверный поток)
+     */
+    private static List<SectionSnapshot> snapshotSections(ServerLevel level, BlockPos center, Scan scan) {
+        int minY = Math.max(scan.min.getY(), level.getMinBuildHeight());
+        int maxY = Math.min(scan.max.getY(), level.getMaxBuildHeight() - 1);
+        List<SectionSnapshot> snapshots = new ArrayList<>();
+
+        for (int chunkX = SectionPos.blockToSectionCoord(scan.min.getX()); chunkX <= SectionPos.blockToSectionCoord(scan.max.getX()); chunkX++) {
+            for (int chunkZ = SectionPos.blockToSectionCoord(scan.min.getZ()); chunkZ <= SectionPos.blockToSectionCoord(scan.max.getZ()); chunkZ++) {
+                // Незагруженные чанки не подгружаем
+                LevelChunk chunk = level.getChunkSource().getChunkNow(chunkX, chunkZ);
+                if (chunk == null) continue;
+
+                for (int sectionY = SectionPos.blockToSectionCoord(minY); sectionY <= SectionPos.blockToSectionCoord(maxY); sectionY++) {
+                    LevelChunkSection section = chunk.getSection(chunk.getSectionIndexFromSectionY(sectionY));
+                    if (section.hasOnlyAir()) continue;
+
+                    PalettedContainer<BlockState> states = section.getStates();
+                    if (!states.maybeHas(state -> ORE_KINDS.containsKey(state.getBlock()))) continue;
+
+                    snapshots.add(new SectionSnapshot(chunkX, sectionY, chunkZ, states.copy()));
+                }
+            }
+        }
+
+        // Ближние секции первыми, чтобы руда рядом с игроком подсветилась раньше
+        int centerX = SectionPos.blockToSectionCoord(center.getX());
+        int centerY = SectionPos.blockToSectionCoord(center.getY());
+        int centerZ = SectionPos.blockToSectionCoord(center.getZ());
+        snapshots.sort(Comparator.comparingInt(snapshot -> snapshot.distanceSquared(centerX, centerY, centerZ)));
+        return snapshots;
+    }
+
+    private static void scanSections(ServerLevel level, List<SectionSnapshot> snapshots, Scan scan, Consumer<Batch> onBatch) {
+        LongArrayList positions = new LongArrayList();
+        ByteArrayList kinds = new ByteArrayList();
+        int sectionsInBatch = 0;
+
+        for (SectionSnapshot snapshot : snapshots) {
+            if (scan.cancelled) return;
+
+            int baseX = SectionPos.sectionToBlockCoord(snapshot.x);
+            int baseY = SectionPos.sectionToBlockCoord(snapshot.y);
+            int baseZ = SectionPos.sectionToBlockCoord(snapshot.z);
+
+            // Границы куба внутри секции
+            int fromX = Math.max(0, scan.min.getX() - baseX), toX = Math.min(15, scan.max.getX() - baseX);
+            int fromY = Math.max(0, scan.min.getY() - baseY), toY = Math.min(15, scan.max.getY() - baseY);
+            int fromZ = Math.max(0, scan.min.getZ() - baseZ), toZ = Math.min(15, scan.max.getZ() - baseZ);
+
+            for (int y = fromY; y <= toY; y++) {
+                for (int z = fromZ; z <= toZ; z++) {
+                    for (int x = fromX; x <= toX; x++) {
+                        byte kind = ORE_KINDS.getByte(snapshot.states.get(x, y, z).getBlock());
+                        if (kind >= 0) {
+                            positions.add(BlockPos.asLong(baseX + x, baseY + y, baseZ + z));
+                            kinds.add(kind);
+                        }
+                    }
+                }
+            }
+
+            if (++sectionsInBatch >= SECTIONS_PER_BATCH && !positions.isEmpty()) {
+                deliver(level, scan, onBatch, positions, kinds, false);
+                sectionsInBatch = 0;
+            }
+        }
+
+        deliver(level, scan, onBatch, positions, kinds, true);
+    }
+
+    private static void deliver(ServerLevel level, Scan scan, Consumer<Batch> onBatch,
+                                LongArrayList positions, ByteArrayList kinds, boolean last) {
+        Batch batch = new Batch(positions.toLongArray(), kinds.toByteArray(), last);
+        positions.clear();
+        kinds.clear();
+
+        level.getServer().execute(() -> {
+            if (!scan.cancelled) {
+                onBatch.accept(batch);
+            }
+        });
+    }
+
+    /**
+     * Партия найденной руды: позиции в формате {@link BlockPos#asLong()} и типы руды
+     */
+    public record Batch(long[] positions, byte[] kinds, boolean last) {
+    }
+
+    /**
+     * Запущенный поиск; после {@link #cancel()} партии больше не отдаются
+     */
+    public static final class Scan {
+        private final BlockPos min;
+        private final BlockPos max;
+        private volatile boolean cancelled;
+
+        private Scan(BlockPos min, BlockPos max) {
+            this.min = min;
+            this.max = max;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    /**
+     * Неизменяемая копия состояний блоков секции для чтения из фонового потока
+     */
+    private record SectionSnapshot(int x, int y, int z, PalettedContainer<BlockState> states) {
+        int distanceSquared(int sectionX, int sectionY, int sectionZ) {
+            int dx = x - sectionX, dy = y - sectionY, dz = z - sectionZ;
+            return dx * dx + dy * dy + dz * dz;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package net.levelz.data;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Compares the old ArrayList based locked lists with LockedIdTable + BitSet.
+// The mining lists are filled the same way LevelLoader fills them: sorted levels, each with its list of raw block ids.
+// Run with the jmh gradle plugin (src/jmh/java), e.g. ./gradlew jmh
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LockedIdTableBenchmark {
+
+    // Total ids spread over all levels, a large modpack has several thousand gated blocks
+    @Param({ "2000", "20000" })
+    public int idCount;
+
+    // Number of level entries in the mining datapack
+    @Param({ "30" })
+    public int levels;
+
+    private static final int LOOKUPS = 1024;
+
+    private int[] lookupIds;
+    private int skillLevel;
+
+    private List<Integer> legacyLocked;
+    private final BitSet locked = new BitSet();
+    private LockedIdTable table;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        int idSpace = idCount * 2;
+
+        LevelLists.miningLevelList.clear();
+        LevelLists.miningBlockList.clear();
+        for (int i = 0; i < levels; i++) {
+            List<Integer> ids = new ArrayList<>();
+            for (int u = 0; u < idCount / levels; u++) {
+                ids.add(random.nextInt(idSpace));
+            }
+            LevelLists.miningLevelList.add(i + 1);
+            LevelLists.miningBlockList.add(ids);
+        }
+        LevelLists.markChanged();
+
+        this.skillLevel = levels / 3;
+        this.lookupIds = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            this.lookupIds[i] = random.nextInt(idSpace);
+        }
+
+        this.legacyLocked = legacyRebuild(this.skillLevel);
+        this.table = LockedIdTable.mining();
+        this.table.fill(this.locked, this.skillLevel);
+    }
+
+    // Old PlayerStatsServerPacket.syncLockedBlockList: contains before every add
+    private static List<Integer> legacyRebuild(int skillLevel) {
+        List<Integer> lockedIds = new ArrayList<Integer>();
+        for (int i = 0; i < LevelLists.miningLevelList.size(); i++) {
+            if (LevelLists.miningLevelList.get(i) > skillLevel) {
+                for (int u = 0; u < LevelLists.miningBlockList.get(i).size(); u++) {
+                    if (!lockedIds.contains(LevelLists.miningBlockList.get(i).get(u)))
+                        lockedIds.add(LevelLists.miningBlockList.get(i).get(u));
+                }
+            }
+        }
+        return lockedIds;
+    }
+
+    @Benchmark
+    public void lookupArrayList(Blackhole blackhole) {
+        for (int id : this.lookupIds) {
+            blackhole.consume(this.legacyLocked.contains(id));
+        }
+    }
+
+    @Benchmark
+    public void lookupBitSet(Blackhole blackhole) {
+        for (int id : this.lookupIds) {
+            blackhole.consume(this.locked.get(id));
+        }
+    }
+
+    @Benchmark
+    public List<Integer> rebuildArrayList() {
+        return legacyRebuild(this.skillLevel);
+    }
+
+    @Benchmark
+    public LockedIdTable compileTable() {
+        return LockedIdTable.compile(LevelLists.miningLevelList, LevelLists.miningBlockList);
+    }
+
+    @Benchmark
+    public BitSet rebuildBitSet() {
+        BitSet bitSet = new BitSet();
+        this.table.fill(bitSet, this.skillLevel);
+        return bitSet;
+    }
+
+    // A single level up followed by a reset, the common case when spending a skill point
+    @Benchmark
+    public BitSet levelUpBitSet() {
+        this.table.update(this.locked, this.skillLevel, this.skillLevel + 1);
+        this.table.update(this.locked, this.skillLevel + 1, this.skillLevel);
+        return this.locked;
+    }
+}
@@ -80,6 +80,17 @@ public class LevelLists {
     public static final ArrayList<Object> customItemList = new ArrayList<Object>();
     public static final ArrayList<Object> customEntityList = new ArrayList<Object>();
 
+    // Bumped whenever the lists get cleared or refilled so compiled views like LockedIdTable can rebuild
+    private static int revision = 0;
+
+    public static void markChanged() {
+        revision++;
+    }
+
+    public static int getRevision() {
+        return revision;
+    }
+
     public static ArrayList<Object> getList(String string) {
         switch (string) {
         // Item
@@ -510,6 +510,8 @@ public class LevelLoader implements SimpleSynchronousResourceReloadListener {
         LevelLists.listOfAllLists.add(LevelLists.customBlockList);
         LevelLists.listOfAllLists.add(LevelLists.customItemList);
         LevelLists.listOfAllLists.add(LevelLists.customEntityList);
+        LevelLists.markChanged();
+        LevelRequirements.compile();
     }
 
     public static void clearEveryList() {
@@ -577,6 +579,7 @@ public class LevelLoader implements SimpleSynchronousResourceReloadListener {
         LevelLists.craftingItemList.clear();
         LevelLists.craftingLevelList.clear();
         LevelLists.craftingSkillList.clear();
+        LevelLists.markChanged();
         // Potion list isn't filled via levelz datapacks
         // LevelLists.potionList.clear();
     }
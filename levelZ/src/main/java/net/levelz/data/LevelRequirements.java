@@ -0,0 +1,191 @@
+package net.levelz.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.levelz.stats.Skill;
+
+// Typed, read-only views of the LevelLists requirement lists, compiled once per datapack (re)load.
+// Lookups no longer need indexOf on the Object lists or casts on every interaction.
+public class LevelRequirements {
+
+    private static volatile int compiledRevision = -1;
+    private static volatile Map<List<Object>, RequirementTable> tables = new IdentityHashMap<>();
+
+    // Raw id -> unlock level of the first level entry containing it, -1 if not gated
+    private static volatile int[] miningUnlockLevels = new int[0];
+    private static volatile int[] brewingUnlockLevels = new int[0];
+    private static volatile int[] smithingUnlockLevels = new int[0];
+    private static volatile int[] craftingUnlockLevels = new int[0];
+    private static volatile Skill[] craftingUnlockSkills = new Skill[0];
+
+    // Called by the LevelLoader and the client list packet once the lists are filled
+    public static synchronized void compile() {
+        int revision = LevelLists.getRevision();
+        if (compiledRevision == revision) {
+            return;
+        }
+        Map<List<Object>, RequirementTable> compiledTables = new IdentityHashMap<>();
+        for (String listName : LevelLists.getListNames()) {
+            ArrayList<Object> list = LevelLists.getList(listName);
+            compiledTables.put(list, new RequirementTable(list));
+        }
+        tables = compiledTables;
+
+        miningUnlockLevels = compileUnlockLevels(LevelLists.miningLevelList, LevelLists.miningBlockList);
+        brewingUnlockLevels = compileUnlockLevels(LevelLists.brewingLevelList, LevelLists.brewingItemList);
+        smithingUnlockLevels = compileUnlockLevels(LevelLists.smithingLevelList, LevelLists.smithingItemList);
+
+        int[] craftingLevels = compileUnlockLevels(LevelLists.craftingLevelList, LevelLists.craftingItemList);
+        Skill[] craftingSkills = new Skill[craftingLevels.length];
+        for (int i = LevelLists.craftingItemList.size() - 1; i >= 0; i--) {
+            Skill skill = parseSkill(LevelLists.craftingSkillList.get(i));
+            for (int id : LevelLists.craftingItemList.get(i)) {
+                if (id >= 0) {
+                    craftingSkills[id] = skill;
+                }
+            }
+        }
+        craftingUnlockSkills = craftingSkills;
+        craftingUnlockLevels = craftingLevels;
+
+        compiledRevision = revision;
+    }
+
+    // Returns the compiled table of one of the LevelLists lists or null for other lists
+    public static RequirementTable getTable(List<Object> list) {
+        if (compiledRevision != LevelLists.getRevision()) {
+            compile();
+        }
+        RequirementTable table = tables.get(list);
+        // Lists changed without a reload fall back to the list itself
+        if (table == null || table.size != list.size()) {
+            return null;
+        }
+        return table;
+    }
+
+    // 1:mining; 2:brewing; 3:smithing; 4:crafting
+    public static int getUnlockLevel(int id, int reference) {
+        if (compiledRevision != LevelLists.getRevision()) {
+            compile();
+        }
+        int[] unlockLevels;
+        switch (reference) {
+        case 1 -> unlockLevels = miningUnlockLevels;
+        case 2 -> unlockLevels = brewingUnlockLevels;
+        case 3 -> unlockLevels = smithingUnlockLevels;
+        case 4 -> unlockLevels = craftingUnlockLevels;
+        default -> {
+            return 0;
+        }
+        }
+        if (id < 0 || id >= unlockLevels.length || unlockLevels[id] < 0) {
+            return 0;
+        }
+        return unlockLevels[id];
+    }
+
+    // Skill of the crafting requirement used by getUnlockLevel(id, 4), null if the item isn't gated
+    public static Skill getCraftingSkill(int id) {
+        if (compiledRevision != LevelLists.getRevision()) {
+            compile();
+        }
+        Skill[] skills = craftingUnlockSkills;
+        return id >= 0 && id < skills.length ? skills[id] : null;
+    }
+
+    // Level lists are sorted ascending so the first entry containing an id is kept, like the old scan did
+    private static int[] compileUnlockLevels(List<Integer> levelList, List<List<Integer>> idList) {
+        int maxId = -1;
+        for (List<Integer> ids : idList) {
+            for (int id : ids) {
+                maxId = Math.max(maxId, id);
+            }
+        }
+        int[] unlockLevels = new int[maxId + 1];
+        Arrays.fill(unlockLevels, -1);
+        for (int i = idList.size() - 1; i >= 0; i--) {
+            int level = levelList.get(i);
+            for (int id : idList.get(i)) {
+                if (id >= 0) {
+                    unlockLevels[id] = level;
+                }
+            }
+        }
+        return unlockLevels;
+    }
+
+    private static Skill parseSkill(String string) {
+        try {
+            return Skill.valueOf(string.toUpperCase());
+        } catch (IllegalArgumentException exception) {
+            return null;
+        }
+    }
+
+    // Compiled form of one requirement list. Lists are either [skill, level, object, replace, ...] for a single
+    // requirement or repeated [key, skill, level, object, replace] entries looked up by key (material or identifier)
+    public static class RequirementTable {
+
+        private final int size;
+        private final Object2IntOpenHashMap<String> keyIndex = new Object2IntOpenHashMap<>();
+        private final int defaultIndex;
+        // Parallel arrays, skill is null for pseudo skills like "level" which keep their name
+        private final Skill[] skills;
+        private final String[] skillNames;
+        private final int[] levels;
+
+        private RequirementTable(List<Object> list) {
+            this.size = list.size();
+            this.keyIndex.defaultReturnValue(-1);
+            this.skills = new Skill[list.size() + 1];
+            this.skillNames = new String[list.size() + 1];
+            this.levels = new int[list.size() + 1];
+
+            int count = 0;
+            // Single requirement lists, the same as list.get(0) and list.get(1)
+            if (list.size() > 1 && list.get(1) instanceof Integer level) {
+                add(count, list.get(0).toString(), level);
+                this.defaultIndex = count++;
+            } else {
+                this.defaultIndex = -1;
+            }
+            // Keyed entries, the first occurrence wins like list.indexOf did
+            for (int i = 0; i + 2 < list.size(); i++) {
+                if (list.get(i) instanceof String key && list.get(i + 1) instanceof String skill && list.get(i + 2) instanceof Integer level
+                        && !this.keyIndex.containsKey(key)) {
+                    add(count, skill, level);
+                    this.keyIndex.put(key, count++);
+                }
+            }
+        }
+
+        private void add(int index, String skillName, int level) {
+            this.skills[index] = parseSkill(skillName);
+            this.skillNames[index] = skillName;
+            this.levels[index] = level;
+        }
+
+        // Index of the requirement for the key, null selects the single requirement; -1 if there is none
+        public int indexOf(String key) {
+            return key == null ? this.defaultIndex : this.keyIndex.getInt(key);
+        }
+
+        public Skill getSkill(int index) {
+            return this.skills[index];
+        }
+
+        public String getSkillName(int index) {
+            return this.skillNames[index];
+        }
+
+        public int getLevel(int index) {
+            return this.levels[index];
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package net.levelz.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import net.levelz.stats.Skill;
+
+// Compiled view of a level list: every raw id with the level that unlocks it, sorted by that level.
+// A player's locked set is then the suffix of ids above their skill level and a level change only touches
+// the ids between the old and new level.
+public class LockedIdTable {
+
+    private static final LockedIdTable EMPTY = new LockedIdTable(new int[0], new int[0]);
+
+    private static int compiledRevision = -1;
+    private static LockedIdTable mining = EMPTY;
+    private static LockedIdTable brewing = EMPTY;
+    private static LockedIdTable smithing = EMPTY;
+    private static Map<Skill, LockedIdTable> crafting = new EnumMap<>(Skill.class);
+
+    // Raw ids sorted by unlock level
+    private final int[] ids;
+    // Unlock level for each entry of ids
+    private final int[] levels;
+
+    private LockedIdTable(int[] ids, int[] levels) {
+        this.ids = ids;
+        this.levels = levels;
+    }
+
+    // Builds a table from the level and id lists of LevelLists. An id listed on several levels uses the highest one,
+    // matching the old "locked if any higher level contains it" check
+    public static LockedIdTable compile(List<Integer> levelList, List<List<Integer>> idList) {
+        int maxId = -1;
+        for (int i = 0; i < idList.size(); i++) {
+            for (int u = 0; u < idList.get(i).size(); u++) {
+                maxId = Math.max(maxId, idList.get(i).get(u));
+            }
+        }
+        if (maxId < 0) {
+            return EMPTY;
+        }
+
+        int[] unlockLevel = new int[maxId + 1];
+        Arrays.fill(unlockLevel, Integer.MIN_VALUE);
+        int count = 0;
+        for (int i = 0; i < levelList.size() && i < idList.size(); i++) {
+            int level = levelList.get(i);
+            List<Integer> ids = idList.get(i);
+            for (int u = 0; u < ids.size(); u++) {
+                int id = ids.get(u);
+                if (id < 0) {
+                    continue;
+                }
+                if (unlockLevel[id] == Integer.MIN_VALUE) {
+                    count++;
+                }
+                unlockLevel[id] = Math.max(unlockLevel[id], level);
+            }
+        }
+
+        // Sort (level, id) pairs packed into longs so no boxing is needed
+        long[] packed = new long[count];
+        int index = 0;
+        for (int id = 0; id < unlockLevel.length; id++) {
+            if (unlockLevel[id] != Integer.MIN_VALUE) {
+                packed[index++] = ((long) unlockLevel[id] << 32) | (id & 0xFFFFFFFFL);
+            }
+        }
+        Arrays.sort(packed);
+
+        int[] ids = new int[count];
+        int[] levels = new int[count];
+        for (int i = 0; i < count; i++) {
+            levels[i] = (int) (packed[i] >> 32);
+            ids[i] = (int) packed[i];
+        }
+        return new LockedIdTable(ids, levels);
+    }
+
+    // Sets exactly the ids that are still locked at the given skill level
+    public void fill(BitSet locked, int skillLevel) {
+        locked.clear();
+        for (int i = firstAbove(skillLevel); i < ids.length; i++) {
+            locked.set(ids[i]);
+        }
+    }
+
+    // Updates a set filled for oldLevel to match newLevel, touching only the ids unlocked in between
+    public void update(BitSet locked, int oldLevel, int newLevel) {
+        if (oldLevel == newLevel) {
+            return;
+        }
+        boolean lock = newLevel < oldLevel;
+        int from = firstAbove(Math.min(oldLevel, newLevel));
+        int to = firstAbove(Math.max(oldLevel, newLevel));
+        for (int i = from; i < to; i++) {
+            locked.set(ids[i], lock);
+        }
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    // Index of the first entry with a level strictly greater than skillLevel
+    private int firstAbove(int skillLevel) {
+        int low = 0;
+        int high = levels.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (levels[mid] <= skillLevel) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public static LockedIdTable mining() {
+        compileIfChanged();
+        return mining;
+    }
+
+    public static LockedIdTable brewing() {
+        compileIfChanged();
+        return brewing;
+    }
+
+    public static LockedIdTable smithing() {
+        compileIfChanged();
+        return smithing;
+    }
+
+    // Crafting requirements are split by the skill they depend on
+    public static Map<Skill, LockedIdTable> crafting() {
+        compileIfChanged();
+        return crafting;
+    }
+
+    public static int getCompiledRevision() {
+        compileIfChanged();
+        return compiledRevision;
+    }
+
+    private static void compileIfChanged() {
+        if (compiledRevision == LevelLists.getRevision()) {
+            return;
+        }
+        mining = compile(LevelLists.miningLevelList, LevelLists.miningBlockList);
+        brewing = compile(LevelLists.brewingLevelList, LevelLists.brewingItemList);
+        smithing = compile(LevelLists.smithingLevelList, LevelLists.smithingItemList);
+
+        Map<Skill, List<Integer>> craftingLevels = new EnumMap<>(Skill.class);
+        Map<Skill, List<List<Integer>>> craftingIds = new EnumMap<>(Skill.class);
+        for (int i = 0; i < LevelLists.craftingLevelList.size(); i++) {
+            Skill skill = Skill.valueOf(LevelLists.craftingSkillList.get(i).toUpperCase());
+            craftingLevels.computeIfAbsent(skill, s -> new ArrayList<>()).add(LevelLists.craftingLevelList.get(i));
+            craftingIds.computeIfAbsent(skill, s -> new ArrayList<>()).add(LevelLists.craftingItemList.get(i));
+        }
+        Map<Skill, LockedIdTable> craftingTables = new EnumMap<>(Skill.class);
+        for (Map.Entry<Skill, List<Integer>> entry : craftingLevels.entrySet()) {
+            craftingTables.put(entry.getKey(), compile(entry.getValue(), craftingIds.get(entry.getKey())));
+        }
+        crafting = craftingTables;
+        compiledRevision = LevelLists.getRevision();
+    }
+}
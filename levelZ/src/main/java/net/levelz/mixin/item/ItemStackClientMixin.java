@@ -16,6 +16,7 @@ import org.spongepowered.asm.mixin.injection.callback.LocalCapture;
 
 import net.fabricmc.api.Environment;
 import net.levelz.data.LevelLists;
+import net.levelz.data.LevelRequirements;
 import net.levelz.init.ConfigInit;
 import net.levelz.stats.PlayerStatsManager;
 import net.fabricmc.api.EnvType;
@@ -308,14 +309,9 @@ public class ItemStackClientMixin {
             if (PlayerStatsManager.listContainsItemOrBlock(player, itemId, 3))
                 list.add(Text.translatable("item.levelz.smithing_restriction.tooltip", PlayerStatsManager.getUnlockLevel(itemId, 3)).formatted(Formatting.RED));
         }
-        if (PlayerStatsManager.listContainsItemOrBlock(player, itemId, 4))
-            for (int i = 0; i < LevelLists.craftingItemList.size(); i++) {
-                if (LevelLists.craftingItemList.get(i).contains(itemId)) {
-                    list.add(Text.translatable("item.levelz.crafting_restriction.tooltip", StringUtils.capitalize(LevelLists.craftingSkillList.get(i)), PlayerStatsManager.getUnlockLevel(itemId, 4))
-                            .formatted(Formatting.RED));
-                    break;
-                }
-            }
+        if (PlayerStatsManager.listContainsItemOrBlock(player, itemId, 4) && LevelRequirements.getCraftingSkill(itemId) != null)
+            list.add(Text.translatable("item.levelz.crafting_restriction.tooltip", StringUtils.capitalize(LevelRequirements.getCraftingSkill(itemId).name().toLowerCase()),
+                    PlayerStatsManager.getUnlockLevel(itemId, 4)).formatted(Formatting.RED));
 
         return list;
     }
@@ -1,6 +1,7 @@
 package net.levelz.network;
 
 import java.util.ArrayList;
+import java.util.Map;
 
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
@@ -8,9 +9,11 @@ import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.levelz.access.PlayerStatsManagerAccess;
 import net.levelz.access.PlayerSyncAccess;
 import net.levelz.data.LevelLists;
+import net.levelz.data.LockedIdTable;
 import net.levelz.entity.LevelExperienceOrbEntity;
 import net.levelz.init.ConfigInit;
 import net.levelz.init.CriteriaInit;
+import net.levelz.stats.LockedIdSet;
 import net.levelz.stats.PlayerStatsManager;
 import net.levelz.stats.Skill;
 import net.minecraft.entity.attribute.EntityAttributes;
@@ -137,50 +140,23 @@ public class PlayerStatsServerPacket {
     }
 
     public static void syncLockedBlockList(PlayerStatsManager playerStatsManager) {
-        playerStatsManager.lockedBlockIds.clear();
-        for (int i = 0; i < LevelLists.miningLevelList.size(); i++) {
-            if (LevelLists.miningLevelList.get(i) > playerStatsManager.getSkillLevel(Skill.MINING)) {
-                for (int u = 0; u < LevelLists.miningBlockList.get(i).size(); u++) {
-                    if (!playerStatsManager.lockedBlockIds.contains(LevelLists.miningBlockList.get(i).get(u)))
-                        playerStatsManager.lockedBlockIds.add(LevelLists.miningBlockList.get(i).get(u));
-                }
-            }
-        }
+        playerStatsManager.lockedBlockIds.sync(LockedIdTable.mining(), playerStatsManager.getSkillLevel(Skill.MINING));
     }
 
     public static void syncLockedBrewingItemList(PlayerStatsManager playerStatsManager) {
-        playerStatsManager.lockedbrewingItemIds.clear();
-        for (int i = 0; i < LevelLists.brewingLevelList.size(); i++) {
-            if (LevelLists.brewingLevelList.get(i) > playerStatsManager.getSkillLevel(Skill.ALCHEMY)) {
-                for (int u = 0; u < LevelLists.brewingItemList.get(i).size(); u++) {
-                    if (!playerStatsManager.lockedbrewingItemIds.contains(LevelLists.brewingItemList.get(i).get(u)))
-                        playerStatsManager.lockedbrewingItemIds.add(LevelLists.brewingItemList.get(i).get(u));
-                }
-            }
-        }
+        playerStatsManager.lockedbrewingItemIds.sync(LockedIdTable.brewing(), playerStatsManager.getSkillLevel(Skill.ALCHEMY));
     }
 
     public static void syncLockedSmithingItemList(PlayerStatsManager playerStatsManager) {
-        playerStatsManager.lockedSmithingItemIds.clear();
-        for (int i = 0; i < LevelLists.smithingLevelList.size(); i++) {
-            if (LevelLists.smithingLevelList.get(i) > playerStatsManager.getSkillLevel(Skill.SMITHING)) {
-                for (int u = 0; u < LevelLists.smithingItemList.get(i).size(); u++) {
-                    if (!playerStatsManager.lockedSmithingItemIds.contains(LevelLists.smithingItemList.get(i).get(u)))
-                        playerStatsManager.lockedSmithingItemIds.add(LevelLists.smithingItemList.get(i).get(u));
-                }
-            }
-        }
+        playerStatsManager.lockedSmithingItemIds.sync(LockedIdTable.smithing(), playerStatsManager.getSkillLevel(Skill.SMITHING));
     }
 
     public static void syncLockedCraftingItemList(PlayerStatsManager playerStatsManager) {
-        playerStatsManager.lockedCraftingItemIds.clear();
-        for (int i = 0; i < LevelLists.craftingLevelList.size(); i++) {
-            if (LevelLists.craftingLevelList.get(i) > playerStatsManager.getSkillLevel(Skill.valueOf(LevelLists.craftingSkillList.get(i).toString().toUpperCase()))) {
-                for (int u = 0; u < LevelLists.craftingItemList.get(i).size(); u++) {
-                    if (!playerStatsManager.lockedCraftingItemIds.contains(LevelLists.craftingItemList.get(i).get(u)))
-                        playerStatsManager.lockedCraftingItemIds.add(LevelLists.craftingItemList.get(i).get(u));
-                }
-            }
+        Map<Skill, LockedIdTable> craftingTables = LockedIdTable.crafting();
+        playerStatsManager.lockedCraftingItemIds.keySet().retainAll(craftingTables.keySet());
+        for (Map.Entry<Skill, LockedIdTable> entry : craftingTables.entrySet()) {
+            playerStatsManager.lockedCraftingItemIds.computeIfAbsent(entry.getKey(), skill -> new LockedIdSet()).sync(entry.getValue(),
+                    playerStatsManager.getSkillLevel(entry.getKey()));
         }
     }
 
@@ -0,0 +1,43 @@
+package net.levelz.stats;
+
+import java.util.BitSet;
+
+import net.levelz.data.LockedIdTable;
+
+// Raw-id bitset of the blocks or items a player can't use yet for one skill
+public class LockedIdSet {
+
+    private final BitSet ids = new BitSet();
+    private int builtLevel;
+    private int builtRevision = -1;
+
+    // Brings the set in line with the skill level, only flipping ids between the last synced and the new level
+    // unless the level lists were reloaded in between
+    public void sync(LockedIdTable table, int skillLevel) {
+        int revision = LockedIdTable.getCompiledRevision();
+        if (this.builtRevision != revision) {
+            table.fill(this.ids, skillLevel);
+            this.builtRevision = revision;
+        } else {
+            table.update(this.ids, this.builtLevel, skillLevel);
+        }
+        this.builtLevel = skillLevel;
+    }
+
+    public boolean contains(int id) {
+        return id >= 0 && this.ids.get(id);
+    }
+
+    public boolean isEmpty() {
+        return this.ids.isEmpty();
+    }
+
+    public int size() {
+        return this.ids.cardinality();
+    }
+
+    public void clear() {
+        this.ids.clear();
+        this.builtRevision = -1;
+    }
+}
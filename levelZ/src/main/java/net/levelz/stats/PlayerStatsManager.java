@@ -1,14 +1,14 @@
 package net.levelz.stats;
 
 import net.levelz.access.PlayerStatsManagerAccess;
-import net.levelz.data.LevelLists;
+import net.levelz.data.LevelRequirements;
 import net.levelz.init.ConfigInit;
 import net.levelz.network.PlayerStatsServerPacket;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.server.network.ServerPlayerEntity;
 
-import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -80,10 +80,19 @@ public class PlayerStatsManager {
     }
 
     // Other
-    public List<Integer> lockedBlockIds = new ArrayList<Integer>();
-    public List<Integer> lockedbrewingItemIds = new ArrayList<Integer>();
-    public List<Integer> lockedSmithingItemIds = new ArrayList<Integer>();
-    public List<Integer> lockedCraftingItemIds = new ArrayList<Integer>();
+    public final LockedIdSet lockedBlockIds = new LockedIdSet();
+    public final LockedIdSet lockedbrewingItemIds = new LockedIdSet();
+    public final LockedIdSet lockedSmithingItemIds = new LockedIdSet();
+    // Crafting requirements depend on different skills, so there is one set per skill
+    public final Map<Skill, LockedIdSet> lockedCraftingItemIds = new EnumMap<>(Skill.class);
+
+    public boolean isCraftingItemLocked(int id) {
+        for (LockedIdSet lockedIdSet : this.lockedCraftingItemIds.values()) {
+            if (lockedIdSet.contains(id))
+                return true;
+        }
+        return false;
+    }
 
     // Wood, Stone, Iron, Gold, Diamond, Netherite
 
@@ -250,8 +259,19 @@ public class PlayerStatsManager {
     public static boolean playerLevelisHighEnough(PlayerEntity playerEntity, List<Object> list, String string, boolean creativeRequired) {
         if (!playerEntity.isCreative() || !creativeRequired) {
             PlayerStatsManager playerStatsManager = ((PlayerStatsManagerAccess) playerEntity).getPlayerStatsManager();
-            int playerLevel = 0;
             int maxLevel = ConfigInit.CONFIG.maxLevel;
+            LevelRequirements.RequirementTable table = LevelRequirements.getTable(list);
+            if (table != null) {
+                int index = table.indexOf(string);
+                if (index >= 0) {
+                    Skill skill = table.getSkill(index);
+                    int playerLevel = skill != null ? playerStatsManager.getSkillLevel(skill) : playerStatsManager.getLevel(table.getSkillName(index));
+                    if (playerLevel < maxLevel && playerLevel < table.getLevel(index))
+                        return false;
+                }
+                return true;
+            }
+            int playerLevel = 0;
             if (string != null) {
                 if (!list.isEmpty() && list.contains(string)) {
                     playerLevel = playerStatsManager.getLevel(list.get(list.indexOf(string) + 1).toString());
@@ -287,7 +307,7 @@ public class PlayerStatsManager {
             if (playerStatsManager.getSkillLevel(Skill.SMITHING) < ConfigInit.CONFIG.maxLevel && playerStatsManager.lockedSmithingItemIds.contains(id))
                 return true;
         } else if (reference == 4) {
-            if (playerStatsManager.lockedCraftingItemIds.contains(id))
+            if (playerStatsManager.isCraftingItemLocked(id))
                 return true;
         }
         return false;
@@ -295,36 +315,7 @@ public class PlayerStatsManager {
 
     // 1:mining; 2:brewing; 3:smithing; 4:crafting
     public static int getUnlockLevel(int id, int reference) {
-        if (reference == 1) {
-            for (int i = 0; i < LevelLists.miningBlockList.size(); i++) {
-                if (LevelLists.miningBlockList.get(i).contains(id)) {
-                    return LevelLists.miningLevelList.get(i);
-                }
-            }
-            return 0;
-        } else if (reference == 2) {
-            for (int i = 0; i < LevelLists.brewingItemList.size(); i++) {
-                if (LevelLists.brewingItemList.get(i).contains(id)) {
-                    return LevelLists.brewingLevelList.get(i);
-                }
-            }
-            return 0;
-        } else if (reference == 3) {
-            for (int i = 0; i < LevelLists.smithingItemList.size(); i++) {
-                if (LevelLists.smithingItemList.get(i).contains(id)) {
-                    return LevelLists.smithingLevelList.get(i);
-                }
-            }
-            return 0;
-        } else if (reference == 4) {
-            for (int i = 0; i < LevelLists.craftingItemList.size(); i++) {
-                if (LevelLists.craftingItemList.get(i).contains(id)) {
-                    return LevelLists.craftingLevelList.get(i);
-                }
-            }
-            return 0;
-        }
-        return 0;
+        return LevelRequirements.getUnlockLevel(id, reference);
     }
 
     public boolean resetSkill(Skill skill) {
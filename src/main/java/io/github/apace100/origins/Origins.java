@@ -137,11 +137,25 @@ public class Origins implements ModInitializer, OrderedResourceListenerInitializ
 		// Инициализируем обработчики событий квестов
 		io.github.apace100.origins.quest.QuestEventHandlers.initialize();
 		
-		// Регистрируем обновлятель времени билетов квестов
-		io.github.apace100.origins.quest.QuestTicketTimeUpdater.register();
+		// Регистрируем планировщик квестов (прогресс и сроки билетов)
+		io.github.apace100.origins.quest.QuestScheduler.register();
+		io.github.apace100.origins.quest.QuestManager.register();
+
+		// Согласование модификаторов атрибутов профессии и легендарной брони
+		io.github.apace100.origins.profession.PlayerAttributeReconciler.register();
+
+		// Сбрасываем кэш текущей профессии и класса при смене происхождения
+		io.github.apace100.origins.integration.OriginChangedCallback.EVENT.register(player -> {
+			io.github.apace100.origins.profession.ProfessionComponent.KEY.maybeGet(player)
+				.ifPresent(io.github.apace100.origins.profession.ProfessionComponent::invalidateCurrentProfession);
+			io.github.apace100.origins.skill.PlayerSkillComponent.KEY.maybeGet(player)
+				.ifPresent(io.github.apace100.origins.skill.PlayerSkillComponent::invalidateCurrentClass);
+		});
 		
 		// Регистрируем систему заказов курьера
 		io.github.apace100.origins.courier.CourierPacketHandler.registerServerHandlers();
+		io.github.apace100.origins.courier.CourierOrderPersistence.register();
+		io.github.apace100.origins.skill.ItemMagnetService.register();
 
 		CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> {
 			OriginCommand.register(dispatcher);
@@ -151,6 +165,7 @@ public class Origins implements ModInitializer, OrderedResourceListenerInitializ
 			io.github.apace100.origins.command.SetActiveSkillCommand.register(dispatcher);
 			io.github.apace100.origins.command.JsonDiagnosticCommand.register(dispatcher, registryAccess);
 			io.github.apace100.origins.command.ClearQuestsCommand.register(dispatcher, registryAccess);
+			io.github.apace100.origins.command.MetricsCommand.register(dispatcher, registryAccess);
 			io.github.apace100.origins.command.TestQuestCommand.register(dispatcher, registryAccess);
 			io.github.apace100.origins.command.TestQuestTrackingCommand.register(dispatcher, registryAccess);
 			io.github.apace100.origins.command.CheckQuestTicketsCommand.register(dispatcher, registryAccess);
@@ -231,6 +246,9 @@ public class Origins implements ModInitializer, OrderedResourceListenerInitializ
 			// Устанавливаем ссылку на сервер
 			setServer(server);
 			
+			// Восстанавливаем сохраненный пул квестов, чтобы доски были заполнены сразу
+			io.github.apace100.origins.quest.QuestPoolState.load(server);
+			
 			for (net.minecraft.server.world.ServerWorld world : server.getWorlds()) {
 				io.github.apace100.origins.quest.QuestApiManager.getInstance().initialize(world);
 				break; // Инициализируем только для первого мира
@@ -241,6 +259,7 @@ public class Origins implements ModInitializer, OrderedResourceListenerInitializ
 		net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
 			LOGGER.info("Server stopped, clearing server reference...");
 			setServer(null);
+			io.github.apace100.origins.quest.QuestPoolState.unload();
 		});
 		
 		// Добавляем тик для API менеджера
@@ -316,6 +335,18 @@ public class Origins implements ModInitializer, OrderedResourceListenerInitializ
 		
 		public boolean debugMode = false; // Режим отладки для подробного логирования
 
+		public int courierOrdersSaveDelaySeconds = 5; // Максимальная задержка сохранения заказов курьера (0 - сохранять сразу)
+
+		public int questPoolLowWatermark = 10; // Пул квестов класса пополняется, когда квестов меньше этого числа
+
+		public int questPoolHighWatermark = 21; // Максимум готовых квестов класса, лишние старые квесты вытесняются
+
+		public int questMaxAgeMinutes = 120; // Квесты старше этого возраста вытесняются из пула (0 - без ограничения)
+
+		public int metricsTraceSampleRate = 0; // Писать в лог в среднем одно из N событий горячих путей с задержкой (0 - выключено)
+
+		public int validationTickBudgetMicros = 500; // Время на проверки службы валидации за один тик сервера (мкс)
+
 		public JsonObject origins = new JsonObject();
 
 		public boolean isOriginDisabled(Identifier originId) {
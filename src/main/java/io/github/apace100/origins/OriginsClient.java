@@ -60,5 +60,8 @@ public class OriginsClient implements ClientModInitializer {
         
         // Регистрируем клиентский обновлятель времени билетов квестов
         io.github.apace100.origins.quest.QuestTicketClientUpdater.register();
+        
+        // Клиентские проверки текстур и клавиш выполняются на клиентском потоке
+        io.github.apace100.origins.util.OngoingValidationService.initializeClient();
     }
 }
\ No newline at end of file
@@ -346,13 +346,7 @@ public class SkillTreeScreen extends Screen {
             int parentLevel = skillComponent.getSkillLevel(parentId);
             SkillTreeHandler.SkillTree skillTree = SkillTreeHandler.getSkillTree(currentClass);
             if (skillTree != null) {
-                SkillTreeHandler.Skill parentSkill = null;
-                for (SkillTreeHandler.Skill s : skillTree.getAllSkills()) {
-                    if (s.getId().equals(parentId)) {
-                        parentSkill = s;
-                        break;
-                    }
-                }
+                SkillTreeHandler.Skill parentSkill = skillTree.getSkill(parentId);
                 if (parentSkill != null) {
                     parentOk = parentLevel >= parentSkill.getMaxLevel();
                 }
@@ -395,13 +389,7 @@ public class SkillTreeScreen extends Screen {
                 if (skill.getParentId() != null && !parentOk) {
                     SkillTreeHandler.SkillTree skillTree = SkillTreeHandler.getSkillTree(currentClass);
                     if (skillTree != null) {
-                        SkillTreeHandler.Skill parentSkill = null;
-                        for (SkillTreeHandler.Skill s : skillTree.getAllSkills()) {
-                            if (s.getId().equals(skill.getParentId())) {
-                                parentSkill = s;
-                                break;
-                            }
-                        }
+                        SkillTreeHandler.Skill parentSkill = skillTree.getSkill(skill.getParentId());
                         if (parentSkill != null) {
                             int parentLevel = skillComponent.getSkillLevel(skill.getParentId());
                             context.drawTextWithShadow(this.textRenderer, 
@@ -541,13 +529,7 @@ public class SkillTreeScreen extends Screen {
             } else if (skill.getParentId() != null) {
                 // Проверяем, прокачан ли родительский навык до максимума
                 int parentLevel = skillComponent.getSkillLevel(skill.getParentId());
-                SkillTreeHandler.Skill parentSkill = null;
-                for (SkillTreeHandler.Skill s : skillTree.getAllSkills()) {
-                    if (s.getId().equals(skill.getParentId())) {
-                        parentSkill = s;
-                        break;
-                    }
-                }
+                SkillTreeHandler.Skill parentSkill = skillTree.getSkill(skill.getParentId());
                 if (parentSkill != null && parentLevel < parentSkill.getMaxLevel()) {
                     // Родительский навык не прокачан до максимума
                     backgroundColor = isSelected ? 0xFF550000 : 0xFF330000;
@@ -583,13 +565,7 @@ public class SkillTreeScreen extends Screen {
 
                 // Добавляем информацию о требованиях
                 if (skill.getParentId() != null) {
-                    SkillTreeHandler.Skill parentSkill = null;
-                    for (SkillTreeHandler.Skill s : skillTree.getAllSkills()) {
-                        if (s.getId().equals(skill.getParentId())) {
-                            parentSkill = s;
-                            break;
-                        }
-                    }
+                    SkillTreeHandler.Skill parentSkill = skillTree.getSkill(skill.getParentId());
                     if (parentSkill != null) {
                         int parentLevel = skillComponent.getSkillLevel(skill.getParentId());
                         tooltip.add(Text.literal("Требуется: " + parentSkill.getName() + " (" + parentLevel + "/" + parentSkill.getMaxLevel() + ")")
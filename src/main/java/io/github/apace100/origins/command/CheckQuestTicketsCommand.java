@@ -2,6 +2,7 @@ package io.github.apace100.origins.command;
 
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.context.CommandContext;
+import io.github.apace100.origins.quest.QuestDecodeCache;
 import io.github.apace100.origins.quest.QuestInventoryManager;
 import io.github.apace100.origins.quest.QuestItem;
 import io.github.apace100.origins.quest.QuestTicketItem;
@@ -52,6 +53,10 @@ public class CheckQuestTicketsCommand {
                 }
             }
             
+            // Статистика кэша разобранных квестов
+            final String cacheStats = QuestDecodeCache.getStatsSummary();
+            source.sendFeedback(() -> Text.literal("Кэш квестов: " + cacheStats), false);
+            
             // Проверяем все предметы в инвентаре
             source.sendFeedback(() -> Text.literal("=== Все предметы в инвентаре ==="), false);
             for (int i = 0; i < player.getInventory().size(); i++) {
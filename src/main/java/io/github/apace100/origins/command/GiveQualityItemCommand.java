@@ -108,17 +108,17 @@ public class GiveQualityItemCommand {
         
         // Применяем качество к предмету
         if (quality != BlacksmithQualityCraftingPower.ItemQuality.NORMAL) {
+            BlacksmithQualityCraftingPower.setItemQuality(result, quality);
             var nbt = result.getOrCreateNbt();
-            nbt.putString("ItemQuality", quality.name());
             nbt.putString("QualityDisplay", quality.getDisplayName());
             nbt.putString("QualityColor", quality.getColor().getName());
             
             // Применяем модификаторы качества
             BlacksmithQualityCraftingPower.QualityModifiers modifiers = quality.getModifiersForItem(result);
             
-            if (modifiers.durabilityModifier != 0.0f && result.getItem().isDamageable()) {
+            if (modifiers.durabilityModifier() != 0.0f && result.getItem().isDamageable()) {
                 int baseDurability = result.getMaxDamage();
-                int newDurability = Math.max(1, (int)(baseDurability * (1.0f + modifiers.durabilityModifier)));
+                int newDurability = Math.max(1, (int)(baseDurability * (1.0f + modifiers.durabilityModifier())));
                 nbt.putInt("OriginalMaxDamage", baseDurability);
                 nbt.putInt("ModifiedMaxDamage", newDurability);
             }
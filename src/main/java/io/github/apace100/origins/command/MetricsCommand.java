@@ -0,0 +1,60 @@
+package io.github.apace100.origins.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import io.github.apace100.origins.metrics.OriginsMetrics;
+import io.github.apace100.origins.profession.PlayerAttributeReconciler;
+import net.minecraft.command.CommandRegistryAccess;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+
+import java.util.List;
+
+/**
+ * Команда для просмотра метрик горячих путей: /origins metrics [reset]
+ */
+public class MetricsCommand {
+
+    public static void register(CommandDispatcher<ServerCommandSource> dispatcher, CommandRegistryAccess registryAccess) {
+        dispatcher.register(CommandManager.literal("origins")
+            .then(CommandManager.literal("metrics")
+                .requires(source -> source.hasPermissionLevel(2))
+                .executes(MetricsCommand::showMetrics)
+                .then(CommandManager.literal("reset")
+                    .executes(MetricsCommand::resetMetrics)
+                )
+            )
+        );
+    }
+
+    /**
+     * Выводит счетчики и процентили задержек по типам событий
+     */
+    private static int showMetrics(CommandContext<ServerCommandSource> context) {
+        ServerCommandSource source = context.getSource();
+        List<String> lines = OriginsMetrics.describe();
+
+        source.sendFeedback(() -> Text.literal("=== " + lines.get(0) + " ===")
+            .formatted(Formatting.GOLD), false);
+        for (String line : lines.subList(1, lines.size())) {
+            source.sendFeedback(() -> Text.literal(line)
+                .formatted(Formatting.AQUA), false);
+        }
+        source.sendFeedback(() -> Text.literal(String.format("Атрибуты: изменений %d/с, пропущено %d/с",
+                PlayerAttributeReconciler.getWritesPerSecond(), PlayerAttributeReconciler.getAvoidedWritesPerSecond()))
+            .formatted(Formatting.AQUA), false);
+        return 1;
+    }
+
+    /**
+     * Сбрасывает накопленные метрики
+     */
+    private static int resetMetrics(CommandContext<ServerCommandSource> context) {
+        OriginsMetrics.reset();
+        context.getSource().sendFeedback(() -> Text.literal("✓ Метрики сброшены")
+            .formatted(Formatting.GREEN), true);
+        return 1;
+    }
+}
@@ -4,6 +4,7 @@ import io.github.apace100.apoli.component.PowerHolderComponent;
 import io.github.apace100.apoli.power.PowerType;
 import io.github.apace100.apoli.power.PowerTypeRegistry;
 import io.github.apace100.origins.Origins;
+import io.github.apace100.origins.integration.OriginChangedCallback;
 import io.github.apace100.origins.origin.Origin;
 import io.github.apace100.origins.origin.OriginLayer;
 import io.github.apace100.origins.origin.OriginLayers;
@@ -76,6 +77,7 @@ public class PlayerOriginComponent implements OriginComponent {
         if(this.hasAllOrigins()) {
             this.hadOriginBefore = true;
         }
+        OriginChangedCallback.EVENT.invoker().onOriginChanged(player);
         if(player instanceof ServerPlayerEntity spe) {
             ChoseOriginCriterion.INSTANCE.trigger(spe, origin);
         }
@@ -147,6 +149,7 @@ public class PlayerOriginComponent implements OriginComponent {
             }
         }
         this.hadOriginBefore = compoundTag.getBoolean("HadOriginBefore");
+        OriginChangedCallback.EVENT.invoker().onOriginChanged(player);
 
         if(!player.getWorld().isClient) {
             PowerHolderComponent powerComponent = PowerHolderComponent.KEY.get(player);
@@ -1,6 +1,7 @@
 package io.github.apace100.origins.courier;
 
 import net.minecraft.item.ItemStack;
+import net.minecraft.network.PacketByteBuf;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -52,6 +53,32 @@ public class ClientOrder {
         );
     }
 
+    /**
+     * Читает заказ, записанный Order.writeSyncData
+     */
+    public static ClientOrder readSyncData(PacketByteBuf buf) {
+        UUID id = buf.readUuid();
+        String ownerName = buf.readString();
+        String description = buf.readString(CourierNetworking.MAX_DESCRIPTION_LENGTH);
+        Order.Status status = buf.readEnumConstant(Order.Status.class);
+        String acceptedByName = buf.readBoolean() ? buf.readString() : null;
+        long createdTime = buf.readVarLong();
+        int experienceReward = buf.readVarInt();
+        List<ItemStack> requestItems = readItems(buf);
+        List<ItemStack> rewardItems = readItems(buf);
+        return new ClientOrder(id, ownerName, description, requestItems, rewardItems,
+            status, acceptedByName, createdTime, experienceReward);
+    }
+
+    private static List<ItemStack> readItems(PacketByteBuf buf) {
+        int count = buf.readVarInt();
+        List<ItemStack> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(buf.readItemStack());
+        }
+        return items;
+    }
+
     /**
      * Получает краткое описание заказа для отображения в списке
      */
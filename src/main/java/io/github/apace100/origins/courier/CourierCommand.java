@@ -190,7 +190,7 @@ public class CourierCommand {
             }
             
             // Принудительно отменяем заказ
-            order.setStatus(Order.Status.CANCELLED);
+            manager.forceCancelOrder(orderId);
             
             source.sendFeedback(() -> Text.literal("Заказ " + orderIdStr + " удален").formatted(Formatting.GREEN), true);
                         
@@ -20,12 +20,16 @@ public class CourierNetworking {
     public static final Identifier NEW_ORDER_NOTIFY = Origins.identifier("courier_new_order_notify");
     public static final Identifier ORDER_STATUS_UPDATE = Origins.identifier("courier_order_status_update");
     public static final Identifier REQUEST_ORDERS_SYNC = Origins.identifier("courier_request_orders_sync");
+    public static final Identifier ORDERS_LIST_CLOSED = Origins.identifier("courier_orders_list_closed");
+    public static final Identifier REQUEST_ORDERS_PAGE = Origins.identifier("courier_request_orders_page");
+    public static final Identifier ORDERS_PAGE = Origins.identifier("courier_orders_page");
     
     // Константы для ограничений
     public static final int MAX_DESCRIPTION_LENGTH = 500;
     public static final int MAX_ITEMS_PER_CATEGORY = 10;
     public static final int MAX_ITEM_COUNT = 64;
     public static final int MAX_ORDERS_PER_PLAYER = 5;
+    public static final int ORDERS_PER_PAGE = 20;
     public static final long ORDER_EXPIRY_TIME = 24 * 60 * 60 * 1000L; // 24 часа в миллисекундах
     
     // Константы для UI
@@ -26,12 +26,32 @@ import java.util.stream.Collectors;
  */
 public class CourierOrderManager extends PersistentState {
     
-    private static final String KEY = "origins:courier_orders";
+    static final String KEY = "origins:courier_orders";
+    
+    private static final Comparator<Order> NEWEST_FIRST = Comparator.comparingLong(Order::getCreatedTime).reversed()
+        .thenComparing(Order::getId);
+    
+    // Максимальный размер страницы для постраничных запросов
+    public static final int MAX_PAGE_SIZE = 50;
+    
     private final Map<UUID, Order> orders = new ConcurrentHashMap<>();
     private final Map<UUID, Set<UUID>> playerOrders = new ConcurrentHashMap<>(); // UUID игрока -> Set<UUID заказов>
     
+    // Версия доски заказов: растет при каждом изменении, хранится только в памяти
+    private long version = 0;
+    private final Map<UUID, Long> orderVersions = new ConcurrentHashMap<>(); // UUID заказа -> версия последнего изменения
+    
+    // Вторичные индексы (изменяются только в серверном потоке). Все множества упорядочены от новых заказов к старым
+    private final NavigableSet<Order> ordersByCreation = new TreeSet<>(NEWEST_FIRST);
+    private final Map<Order.Status, NavigableSet<Order>> ordersByStatus = new EnumMap<>(Order.Status.class);
+    private final Map<UUID, Map<Order.Status, NavigableSet<Order>>> ordersByCourier = new HashMap<>(); // UUID курьера -> статус -> заказы
+    private final Map<UUID, Map<Order.Status, NavigableSet<Order>>> ordersByOwner = new HashMap<>(); // UUID заказчика -> статус -> заказы
+    
     public CourierOrderManager() {
         super();
+        for (Order.Status status : Order.Status.values()) {
+            ordersByStatus.put(status, new TreeSet<>(NEWEST_FIRST));
+        }
     }
     
     /**
@@ -57,6 +77,7 @@ public class CourierOrderManager extends PersistentState {
             try {
                 Order order = Order.fromNbt(ordersList.getCompound(i));
                 manager.orders.put(order.getId(), order);
+                manager.index(order);
                 
                 // Восстанавливаем индекс заказов по игрокам
                 manager.playerOrders.computeIfAbsent(order.getOwnerUuid(), k -> new HashSet<>())
@@ -113,7 +134,9 @@ public class CourierOrderManager extends PersistentState {
         }
         
         orders.put(order.getId(), order);
+        index(order);
         playerOrderIds.add(order.getId());
+        touch(order.getId());
         markDirty();
         
                 return true;
@@ -128,16 +151,14 @@ public class CourierOrderManager extends PersistentState {
             return false;
         }
         
+        unindex(order);
         order.setAcceptedBy(courier.getName().getString(), courier.getUuid());
         order.setStatus(Order.Status.ACCEPTED);
+        index(order);
+        touch(orderId);
         markDirty();
         
-        // Принудительное сохранение
-        try {
-            courier.getServerWorld().getPersistentStateManager().save();
-                    } catch (Exception e) {
-            Origins.LOGGER.error("Ошибка при принудительном сохранении: " + e.getMessage());
-        }
+        CourierOrderPersistence.requestSave(courier.getServerWorld(), this);
         
                 return true;
     }
@@ -151,7 +172,10 @@ public class CourierOrderManager extends PersistentState {
             return false;
         }
         
+        unindex(order);
         order.setStatus(Order.Status.DECLINED);
+        index(order);
+        touch(orderId);
         
         // Возвращаем предметы награды заказчику
         ServerPlayerEntity orderOwner = courier.getServer().getPlayerManager().getPlayer(order.getOwnerUuid());
@@ -163,12 +187,7 @@ public class CourierOrderManager extends PersistentState {
         
         markDirty();
         
-        // Принудительное сохранение
-        try {
-            courier.getServerWorld().getPersistentStateManager().save();
-                    } catch (Exception e) {
-            Origins.LOGGER.error("Ошибка при принудительном сохранении: " + e.getMessage());
-        }
+        CourierOrderPersistence.requestSave(courier.getServerWorld(), this);
         
                 return true;
     }
@@ -250,15 +269,13 @@ public class CourierOrderManager extends PersistentState {
         }
         
         // Завершаем заказ
+        unindex(order);
         order.setCompleted();
+        index(order);
+        touch(orderId);
         markDirty();
         
-        // Принудительное сохранение
-        try {
-            player.getServerWorld().getPersistentStateManager().save();
-                    } catch (Exception e) {
-            Origins.LOGGER.error("Ошибка при принудительном сохранении: " + e.getMessage());
-        }
+        CourierOrderPersistence.requestSave(player.getServerWorld(), this);
         
         // Уведомляем заказчика
         notifyOrderOwner(order, "Ваш заказ выполнен курьером " + player.getName().getString() + "!");
@@ -275,7 +292,10 @@ public class CourierOrderManager extends PersistentState {
             return false;
         }
         
+        unindex(order);
         order.setCompleted();
+        index(order);
+        touch(orderId);
         markDirty();
         
                 return true;
@@ -321,20 +341,35 @@ public class CourierOrderManager extends PersistentState {
                             }
         }
         
+        unindex(order);
         order.setStatus(Order.Status.CANCELLED);
+        index(order);
+        touch(orderId);
                 
         markDirty();
         
-        // Принудительное сохранение
-        try {
-            player.getServerWorld().getPersistentStateManager().save();
-                    } catch (Exception e) {
-            Origins.LOGGER.error("Ошибка при принудительном сохранении после отмены заказа {}: {}", orderId, e.getMessage(), e);
-        }
+        CourierOrderPersistence.requestSave(player.getServerWorld(), this);
         
                 return true;
     }
     
+    /**
+     * Принудительно отменяет заказ без возврата предметов (админская команда)
+     */
+    public boolean forceCancelOrder(UUID orderId) {
+        Order order = orders.get(orderId);
+        if (order == null) {
+            return false;
+        }
+        
+        unindex(order);
+        order.setStatus(Order.Status.CANCELLED);
+        index(order);
+        touch(orderId);
+        markDirty();
+        return true;
+    }
+    
     /**
      * Удаляет заказ полностью (может сделать только владелец или админ)
      */
@@ -366,6 +401,9 @@ public class CourierOrderManager extends PersistentState {
         
         // Удаляем заказ
         orders.remove(orderId);
+        unindex(order);
+        orderVersions.remove(orderId);
+        version++;
         
         // Удаляем из индекса игрока
         Set<UUID> playerOrderIds = playerOrders.get(order.getOwnerUuid());
@@ -378,12 +416,7 @@ public class CourierOrderManager extends PersistentState {
         
         markDirty();
         
-        // Принудительное сохранение
-        try {
-            player.getServerWorld().getPersistentStateManager().save();
-                    } catch (Exception e) {
-            Origins.LOGGER.error("Ошибка при принудительном сохранении: " + e.getMessage());
-        }
+        CourierOrderPersistence.requestSave(player.getServerWorld(), this);
         
                 return true;
     }
@@ -399,11 +432,24 @@ public class CourierOrderManager extends PersistentState {
      * Получает все активные заказы (открытые)
      */
     public List<Order> getActiveOrders() {
-        return orders.values().stream()
-            .filter(order -> order.getStatus() == Order.Status.OPEN)
-            .filter(order -> !CourierNetworking.isOrderExpired(order.getCreatedTime()))
-            .sorted(Comparator.comparing(Order::getCreatedTime).reversed())
-            .collect(Collectors.toList());
+        List<Order> result = new ArrayList<>();
+        for (Order order : ordersByStatus.get(Order.Status.OPEN)) {
+            if (!CourierNetworking.isOrderExpired(order.getCreatedTime())) {
+                result.add(order);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Получает заказы, которые видит курьер: все открытые и принятые им самим
+     */
+    public List<Order> getOrdersVisibleToCourier(UUID courierUuid) {
+        List<Order> result = new ArrayList<>(ordersByStatus.get(Order.Status.OPEN));
+        for (NavigableSet<Order> courierOrders : ordersByCourier.getOrDefault(courierUuid, Map.of()).values()) {
+            result.addAll(courierOrders);
+        }
+        return result;
     }
     
     /**
@@ -433,73 +479,121 @@ public class CourierOrderManager extends PersistentState {
      * Получает заказы, принятые конкретным курьером
      */
     public List<Order> getOrdersAcceptedBy(UUID courierUuid) {
-        return orders.values().stream()
-            .filter(order -> courierUuid.equals(order.getAcceptedByUuid()))
-            .sorted(Comparator.comparing(Order::getAcceptedTime).reversed())
-            .collect(Collectors.toList());
+        List<Order> result = new ArrayList<>();
+        for (NavigableSet<Order> courierOrders : ordersByCourier.getOrDefault(courierUuid, Map.of()).values()) {
+            result.addAll(courierOrders);
+        }
+        result.sort(Comparator.comparing(Order::getAcceptedTime).reversed());
+        return result;
     }
     
     /**
-     * Получает статистику заказов
+     * Постраничный запрос заказов, видимых игроку, от новых к старым.
+     * Курьер видит открытые заказы и принятые им, остальные игроки - свои заказы
      */
-    public OrderStatistics getStatistics() {
-        int total = orders.size();
-        int open = 0;
-        int accepted = 0;
-        int completed = 0;
-        int declined = 0;
-        int cancelled = 0;
+    public OrderPage queryOrders(UUID viewerUuid, boolean courierView, Set<Order.Status> statuses, int offset, int limit) {
+        List<NavigableSet<Order>> sources = new ArrayList<>();
+        NavigableSet<Order> openOrders = ordersByStatus.get(Order.Status.OPEN);
+        if (courierView && statuses.contains(Order.Status.OPEN) && !openOrders.isEmpty()) {
+            sources.add(openOrders);
+        }
+        Map<Order.Status, NavigableSet<Order>> viewerOrders = (courierView ? ordersByCourier : ordersByOwner)
+            .getOrDefault(viewerUuid, Map.of());
+        for (Order.Status status : statuses) {
+            NavigableSet<Order> statusOrders = viewerOrders.get(status);
+            if (statusOrders != null && !statusOrders.isEmpty()) {
+                sources.add(statusOrders);
+            }
+        }
         
-        for (Order order : orders.values()) {
-            switch (order.getStatus()) {
-                case OPEN -> open++;
-                case ACCEPTED, IN_PROGRESS -> accepted++;
-                case COMPLETED -> completed++;
-                case DECLINED -> declined++;
-                case CANCELLED -> cancelled++;
+        int total = 0;
+        for (NavigableSet<Order> source : sources) {
+            total += source.size();
+        }
+        
+        offset = Math.max(0, offset);
+        limit = Math.max(0, Math.min(limit, MAX_PAGE_SIZE));
+        List<Order> page = new ArrayList<>(limit);
+        
+        // Слияние уже отсортированных индексов: пропускаем offset заказов и берем limit следующих
+        List<Iterator<Order>> iterators = new ArrayList<>(sources.size());
+        Order[] heads = new Order[sources.size()];
+        for (int i = 0; i < sources.size(); i++) {
+            iterators.add(sources.get(i).iterator());
+            heads[i] = iterators.get(i).hasNext() ? iterators.get(i).next() : null;
+        }
+        int skipped = 0;
+        Order previous = null;
+        while (page.size() < limit) {
+            int next = -1;
+            for (int i = 0; i < heads.length; i++) {
+                if (heads[i] != null && (next < 0 || NEWEST_FIRST.compare(heads[i], heads[next]) < 0)) {
+                    next = i;
+                }
+            }
+            if (next < 0) {
+                break;
+            }
+            Order order = heads[next];
+            heads[next] = iterators.get(next).hasNext() ? iterators.get(next).next() : null;
+            if (order.equals(previous)) {
+                continue;
+            }
+            previous = order;
+            if (skipped < offset) {
+                skipped++;
+            } else {
+                page.add(order);
             }
         }
         
-        return new OrderStatistics(total, open, accepted, completed, declined, cancelled);
+        return new OrderPage(page, offset, total);
+    }
+    
+    /**
+     * Получает статистику заказов
+     */
+    public OrderStatistics getStatistics() {
+        return new OrderStatistics(
+            orders.size(),
+            ordersByStatus.get(Order.Status.OPEN).size(),
+            ordersByStatus.get(Order.Status.ACCEPTED).size() + ordersByStatus.get(Order.Status.IN_PROGRESS).size(),
+            ordersByStatus.get(Order.Status.COMPLETED).size(),
+            ordersByStatus.get(Order.Status.DECLINED).size(),
+            ordersByStatus.get(Order.Status.CANCELLED).size()
+        );
     }
     
     /**
-     * Очищает старые заказы
+     * Очищает старые заказы.
+     * Истекают все заказы старше ORDER_EXPIRY_TIME (завершенные заказы старше недели входят в их число),
+     * поэтому достаточно снимать самые старые заказы с конца индекса по времени создания
      */
     public int cleanupExpiredOrders() {
         int removed = 0;
-        Iterator<Map.Entry<UUID, Order>> iterator = orders.entrySet().iterator();
         
-        while (iterator.hasNext()) {
-            Map.Entry<UUID, Order> entry = iterator.next();
-            Order order = entry.getValue();
+        while (!ordersByCreation.isEmpty() && CourierNetworking.isOrderExpired(ordersByCreation.last().getCreatedTime())) {
+            Order order = ordersByCreation.last();
+            orders.remove(order.getId());
+            unindex(order);
+            orderVersions.remove(order.getId());
             
-            // Удаляем истекшие заказы или завершенные/отмененные заказы старше недели
-            boolean shouldRemove = CourierNetworking.isOrderExpired(order.getCreatedTime()) ||
-                (order.getStatus() == Order.Status.COMPLETED || 
-                 order.getStatus() == Order.Status.CANCELLED ||
-                 order.getStatus() == Order.Status.DECLINED) &&
-                (System.currentTimeMillis() - order.getCreatedTime() > 7 * 24 * 60 * 60 * 1000L);
-            
-            if (shouldRemove) {
-                iterator.remove();
-                
-                // Удаляем из индекса игрока
-                Set<UUID> playerOrderIds = playerOrders.get(order.getOwnerUuid());
-                if (playerOrderIds != null) {
-                    playerOrderIds.remove(order.getId());
-                    if (playerOrderIds.isEmpty()) {
-                        playerOrders.remove(order.getOwnerUuid());
-                    }
+            // Удаляем из индекса игрока
+            Set<UUID> playerOrderIds = playerOrders.get(order.getOwnerUuid());
+            if (playerOrderIds != null) {
+                playerOrderIds.remove(order.getId());
+                if (playerOrderIds.isEmpty()) {
+                    playerOrders.remove(order.getOwnerUuid());
                 }
-                
-                removed++;
             }
+            
+            removed++;
         }
         
         if (removed > 0) {
+            version++;
             markDirty();
-                    }
+        }
         
         return removed;
     }
@@ -511,6 +605,12 @@ public class CourierOrderManager extends PersistentState {
         int count = orders.size();
         orders.clear();
         playerOrders.clear();
+        orderVersions.clear();
+        ordersByCreation.clear();
+        ordersByStatus.values().forEach(Set::clear);
+        ordersByCourier.clear();
+        ordersByOwner.clear();
+        version++;
         markDirty();
         
             }
@@ -536,6 +636,67 @@ public class CourierOrderManager extends PersistentState {
         return activeOrders < CourierNetworking.MAX_ORDERS_PER_PLAYER;
     }
     
+    /**
+     * Текущая версия доски заказов
+     */
+    public long getVersion() {
+        return version;
+    }
+    
+    /**
+     * Версия последнего изменения заказа (0 - заказ не менялся с момента загрузки мира)
+     */
+    public long getOrderVersion(UUID orderId) {
+        return orderVersions.getOrDefault(orderId, 0L);
+    }
+    
+    /**
+     * Добавляет заказ во вторичные индексы
+     */
+    private void index(Order order) {
+        ordersByCreation.add(order);
+        ordersByStatus.get(order.getStatus()).add(order);
+        ordersByOwner.computeIfAbsent(order.getOwnerUuid(), k -> new EnumMap<>(Order.Status.class))
+            .computeIfAbsent(order.getStatus(), k -> new TreeSet<>(NEWEST_FIRST)).add(order);
+        if (order.getAcceptedByUuid() != null) {
+            ordersByCourier.computeIfAbsent(order.getAcceptedByUuid(), k -> new EnumMap<>(Order.Status.class))
+                .computeIfAbsent(order.getStatus(), k -> new TreeSet<>(NEWEST_FIRST)).add(order);
+        }
+    }
+    
+    /**
+     * Убирает заказ из вторичных индексов (до изменения статуса или курьера)
+     */
+    private void unindex(Order order) {
+        ordersByCreation.remove(order);
+        ordersByStatus.get(order.getStatus()).remove(order);
+        removeFromPlayerIndex(ordersByOwner, order.getOwnerUuid(), order);
+        if (order.getAcceptedByUuid() != null) {
+            removeFromPlayerIndex(ordersByCourier, order.getAcceptedByUuid(), order);
+        }
+    }
+    
+    private static void removeFromPlayerIndex(Map<UUID, Map<Order.Status, NavigableSet<Order>>> index, UUID playerUuid, Order order) {
+        Map<Order.Status, NavigableSet<Order>> playerIndex = index.get(playerUuid);
+        if (playerIndex == null) {
+            return;
+        }
+        NavigableSet<Order> statusOrders = playerIndex.get(order.getStatus());
+        if (statusOrders != null && statusOrders.remove(order) && statusOrders.isEmpty()) {
+            playerIndex.remove(order.getStatus());
+            if (playerIndex.isEmpty()) {
+                index.remove(playerUuid);
+            }
+        }
+    }
+    
+    /**
+     * Отмечает изменение заказа новой версией доски
+     */
+    private void touch(UUID orderId) {
+        orderVersions.put(orderId, ++version);
+    }
+    
     /**
      * Уведомляет владельца заказа о изменениях
      */
@@ -544,6 +705,21 @@ public class CourierOrderManager extends PersistentState {
         // Например, отправить сообщение в чат, если игрок онлайн
             }
     
+    /**
+     * Страница результатов постраничного запроса
+     */
+    public static class OrderPage {
+        public final List<Order> orders;
+        public final int offset;
+        public final int total;
+        
+        public OrderPage(List<Order> orders, int offset, int total) {
+            this.orders = orders;
+            this.offset = offset;
+            this.total = total;
+        }
+    }
+    
     /**
      * Статистика заказов
      */
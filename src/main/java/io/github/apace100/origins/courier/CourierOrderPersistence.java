@@ -0,0 +1,224 @@
+package io.github.apace100.origins.courier;
+
+import io.github.apace100.origins.Origins;
+import io.github.apace100.origins.mixin.PersistentStateManagerAccessor;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtHelper;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Отложенное (write-behind) сохранение заказов курьера.
+ * Изменения только помечают состояние грязным; не позже чем через
+ * {@link Origins.ServerConfig#courierOrdersSaveDelaySeconds} секунд снимок NBT делается в серверном потоке,
+ * а сжатие и запись файла выполняются фоновым потоком. При остановке сервера все ожидающие
+ * сохранения записываются и дожидаются fsync.
+ * Снимок помечается версией доски заказов ({@link CourierOrderManager#getVersion()}): фоновый поток
+ * не записывает снимок старше уже записанного, а флаг изменений снимается только после успешной
+ * замены файла и только если с момента снимка заказы не менялись. Перед обычным сохранением мира
+ * ({@link #beforeWorldSave()}) фоновые записи дожидаются, чтобы они не легли поверх более нового файла.
+ */
+public class CourierOrderPersistence {
+
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Origins Courier Orders Writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Менеджер -> мир и тик, не позже которого нужно сохранить (только серверный поток)
+    private static final Map<CourierOrderManager, PendingSave> pending = new IdentityHashMap<>();
+
+    // Менеджер -> версия последнего записанного на диск снимка (пишет фоновый поток)
+    private static final Map<CourierOrderManager, Long> writtenVersions = new ConcurrentHashMap<>();
+    // Снимки, отданные фоновому потоку и еще не записанные
+    private static final AtomicInteger queuedWrites = new AtomicInteger();
+
+    private static boolean registered = false;
+
+    /**
+     * Регистрирует обработчики тиков и остановки сервера
+     */
+    public static void register() {
+        if (registered) {
+            return;
+        }
+        ServerTickEvents.END_SERVER_TICK.register(CourierOrderPersistence::onServerTick);
+        ServerLifecycleEvents.SERVER_STOPPING.register(server -> flushAll());
+        registered = true;
+    }
+
+    /**
+     * Планирует сохранение менеджера после изменения заказов. Первое изменение задает срок записи,
+     * последующие до этого срока попадают в ту же фоновую запись
+     */
+    public static void requestSave(ServerWorld world, CourierOrderManager manager) {
+        manager.markDirty();
+        int delayTicks = Math.max(0, Origins.config.courierOrdersSaveDelaySeconds) * 20;
+        if (delayTicks == 0) {
+            pending.remove(manager);
+            writeNow(world, manager);
+            return;
+        }
+        if (!pending.containsKey(manager)) {
+            pending.put(manager, new PendingSave(world, world.getServer().getTicks() + delayTicks));
+        }
+    }
+
+    /**
+     * Вызывается перед сохранением мира: дожидается фоновых записей, чтобы они не перезаписали
+     * файл, который сейчас сохранит мир, и снимает флаг изменений с уже записанных менеджеров
+     */
+    public static void beforeWorldSave() {
+        if (queuedWrites.get() > 0) {
+            awaitWriter();
+        }
+        applyWrittenVersions();
+    }
+
+    private static void onServerTick(MinecraftServer server) {
+        applyWrittenVersions();
+        if (pending.isEmpty()) {
+            return;
+        }
+        int ticks = server.getTicks();
+        Iterator<Map.Entry<CourierOrderManager, PendingSave>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<CourierOrderManager, PendingSave> entry = iterator.next();
+            if (ticks >= entry.getValue().deadline) {
+                iterator.remove();
+                submit(entry.getValue().world, entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * Записывает все ожидающие сохранения и ждет завершения фоновой записи
+     */
+    private static void flushAll() {
+        for (Map.Entry<CourierOrderManager, PendingSave> entry : pending.entrySet()) {
+            submit(entry.getValue().world, entry.getKey());
+        }
+        pending.clear();
+        awaitWriter();
+        applyWrittenVersions();
+        writtenVersions.clear();
+    }
+
+    private static void awaitWriter() {
+        try {
+            WRITER.submit(() -> { }).get(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            Origins.LOGGER.error("Не удалось дождаться сохранения заказов курьера: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Снимает флаг изменений с менеджеров, чей последний записанный снимок совпадает с текущей версией.
+     * Если заказы менялись после снимка, флаг остается и изменения сохранит следующая запись
+     */
+    private static void applyWrittenVersions() {
+        for (Map.Entry<CourierOrderManager, Long> entry : writtenVersions.entrySet()) {
+            CourierOrderManager manager = entry.getKey();
+            if (manager.isDirty() && entry.getValue() == manager.getVersion()) {
+                manager.setDirty(false);
+            }
+        }
+    }
+
+    /**
+     * Снимок делается в серверном потоке, запись на диск - в фоновом
+     */
+    private static void submit(ServerWorld world, CourierOrderManager manager) {
+        if (!manager.isDirty()) {
+            return;
+        }
+        long version = manager.getVersion();
+        NbtCompound snapshot = snapshot(manager);
+        File file = getFile(world);
+        queuedWrites.incrementAndGet();
+        WRITER.execute(() -> {
+            try {
+                // Более новый снимок уже записан
+                Long written = writtenVersions.get(manager);
+                if (written != null && written >= version) {
+                    return;
+                }
+                write(snapshot, file);
+                writtenVersions.put(manager, version);
+            } catch (IOException e) {
+                // Флаг изменений не снят, состояние сохранит следующая запись или автосохранение мира
+                Origins.LOGGER.error("Ошибка при сохранении заказов курьера в {}: {}", file, e.getMessage(), e);
+            } finally {
+                queuedWrites.decrementAndGet();
+            }
+        });
+    }
+
+    private static void writeNow(ServerWorld world, CourierOrderManager manager) {
+        // Не даем более старой фоновой записи лечь поверх синхронной
+        awaitWriter();
+        File file = getFile(world);
+        try {
+            write(snapshot(manager), file);
+            writtenVersions.put(manager, manager.getVersion());
+            manager.setDirty(false);
+        } catch (IOException e) {
+            Origins.LOGGER.error("Ошибка при сохранении заказов курьера в {}: {}", file, e.getMessage(), e);
+        }
+    }
+
+    // Тот же формат, что и PersistentState#save: данные под ключом "data" и версия данных
+    private static NbtCompound snapshot(CourierOrderManager manager) {
+        NbtCompound root = new NbtCompound();
+        root.put("data", manager.writeNbt(new NbtCompound()));
+        NbtHelper.putDataVersion(root);
+        return root;
+    }
+
+    // Запись во временный файл с fsync и атомарная замена, чтобы сбой не оставил файл недописанным
+    private static void write(NbtCompound root, File file) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        NbtIo.writeCompressed(root, bytes);
+
+        File parent = file.getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        File temp = new File(parent, file.getName() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(temp)) {
+            bytes.writeTo(out);
+            out.getFD().sync();
+        }
+        try {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static File getFile(ServerWorld world) {
+        return ((PersistentStateManagerAccessor) world.getPersistentStateManager()).origins$getFile(CourierOrderManager.KEY);
+    }
+
+    private record PendingSave(ServerWorld world, int deadline) {
+    }
+}
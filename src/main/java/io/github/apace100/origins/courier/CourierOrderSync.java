@@ -0,0 +1,151 @@
+package io.github.apace100.origins.courier;
+
+import io.github.apace100.origins.metrics.MetricType;
+import io.github.apace100.origins.metrics.OriginsMetrics;
+import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Инкрементальная синхронизация заказов с клиентами.
+ * Для каждого клиента хранится подтвержденная версия доски заказов и набор заказов,
+ * которые у него есть. При запросе отправляются только добавленные/измененные
+ * заказы и ID удаленных (или ставших невидимыми) заказов.
+ *
+ * Формат пакета SYNC_ORDERS:
+ * boolean полный снимок, varlong версия, varint N + N заказов (Order.writeSyncData), varint M + M UUID удаленных
+ */
+public class CourierOrderSync {
+
+    private static final Map<UUID, Session> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * Отправляет игроку изменения с версии, которую подтвердил клиент.
+     * Если клиент прислал неизвестную версию или сменил мир, отправляется полный снимок
+     */
+    public static void sync(ServerPlayerEntity player, CourierOrderManager manager, long clientVersion) {
+        Session session = sessions.get(player.getUuid());
+        boolean full = session == null || session.manager != manager || session.sentVersion != clientVersion;
+        if (full) {
+            session = new Session(manager);
+            sessions.put(player.getUuid(), session);
+        }
+        sendDelta(player, session, full);
+    }
+
+    /**
+     * Досылает изменения игроку, у которого уже есть сессия синхронизации.
+     * Возвращает false, если сессии нет (клиент еще не запрашивал заказы)
+     */
+    public static boolean push(ServerPlayerEntity player, CourierOrderManager manager) {
+        Session session = sessions.get(player.getUuid());
+        if (session == null || session.manager != manager) {
+            return false;
+        }
+        sendDelta(player, session, false);
+        return true;
+    }
+
+    /**
+     * Отмечает, открыт ли у игрока список заказов
+     */
+    public static void setListOpen(ServerPlayerEntity player, boolean open) {
+        Session session = sessions.get(player.getUuid());
+        if (session != null) {
+            session.listOpen = open;
+        }
+    }
+
+    public static boolean isListOpen(ServerPlayerEntity player) {
+        Session session = sessions.get(player.getUuid());
+        return session != null && session.listOpen;
+    }
+
+    /**
+     * Удаляет сессию игрока (при выходе)
+     */
+    public static void remove(UUID playerUuid) {
+        sessions.remove(playerUuid);
+    }
+
+    /**
+     * Заказы, которые видит игрок: курьеры - открытые и свои принятые, остальные - свои
+     */
+    public static List<Order> getVisibleOrders(ServerPlayerEntity player, CourierOrderManager manager) {
+        if (CourierUtils.isCourier(player)) {
+            return manager.getOrdersVisibleToCourier(player.getUuid());
+        }
+        return manager.getOrdersByPlayer(player.getUuid());
+    }
+
+    private static void sendDelta(ServerPlayerEntity player, Session session, boolean full) {
+        long start = OriginsMetrics.start();
+        CourierOrderManager manager = session.manager;
+        List<Order> visible = getVisibleOrders(player, manager);
+
+        List<Order> changed = new ArrayList<>();
+        Set<UUID> visibleIds = new HashSet<>();
+        for (Order order : visible) {
+            visibleIds.add(order.getId());
+            if (!session.knownOrders.contains(order.getId()) || manager.getOrderVersion(order.getId()) > session.sentVersion) {
+                changed.add(order);
+            }
+        }
+
+        List<UUID> removed = new ArrayList<>();
+        for (UUID orderId : session.knownOrders) {
+            if (!visibleIds.contains(orderId)) {
+                removed.add(orderId);
+            }
+        }
+
+        long version = manager.getVersion();
+        if (!full && changed.isEmpty() && removed.isEmpty() && version == session.sentVersion) {
+            OriginsMetrics.record(MetricType.ORDER_SYNC, start);
+            return;
+        }
+
+        PacketByteBuf buf = PacketByteBufs.create();
+        buf.writeBoolean(full);
+        buf.writeVarLong(version);
+        buf.writeVarInt(changed.size());
+        for (Order order : changed) {
+            order.writeSyncData(buf);
+        }
+        buf.writeVarInt(removed.size());
+        for (UUID orderId : removed) {
+            buf.writeUuid(orderId);
+        }
+        ServerPlayNetworking.send(player, CourierNetworking.SYNC_ORDERS, buf);
+
+        session.knownOrders.clear();
+        session.knownOrders.addAll(visibleIds);
+        session.sentVersion = version;
+        OriginsMetrics.record(MetricType.ORDER_SYNC, start, () -> player.getName().getString() + (full ? " полный" : " изменения")
+            + ": заказов " + changed.size() + ", удалено " + removed.size() + ", версия " + version);
+    }
+
+    /**
+     * Состояние синхронизации одного клиента
+     */
+    private static class Session {
+        private final CourierOrderManager manager;
+        private final Set<UUID> knownOrders = new HashSet<>();
+        // Версия, отправленная клиенту последней; клиент подтверждает ее в следующем запросе
+        private long sentVersion = -1;
+        private boolean listOpen = true;
+
+        private Session(CourierOrderManager manager) {
+            this.manager = manager;
+        }
+    }
+}
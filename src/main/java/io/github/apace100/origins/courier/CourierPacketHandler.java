@@ -2,9 +2,9 @@ package io.github.apace100.origins.courier;
 
 import io.github.apace100.origins.Origins;
 import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.minecraft.item.ItemStack;
-import net.minecraft.nbt.NbtCompound;
 import net.minecraft.network.PacketByteBuf;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
@@ -12,7 +12,10 @@ import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -52,7 +55,19 @@ public class CourierPacketHandler {
         ServerPlayNetworking.registerGlobalReceiver(CourierNetworking.REQUEST_ORDERS_SYNC, 
             CourierPacketHandler::handleRequestOrdersSync);
         
-            }
+        // Запрос страницы списка заказов
+        ServerPlayNetworking.registerGlobalReceiver(CourierNetworking.REQUEST_ORDERS_PAGE, 
+            CourierPacketHandler::handleRequestOrdersPage);
+        
+        // Закрытие списка заказов
+        ServerPlayNetworking.registerGlobalReceiver(CourierNetworking.ORDERS_LIST_CLOSED, 
+            (server, player, handler, buf, responseSender) -> 
+                server.execute(() -> CourierOrderSync.setListOpen(player, false)));
+        
+        // Сессии синхронизации не переживают переподключение
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> 
+            CourierOrderSync.remove(handler.getPlayer().getUuid()));
+    }
     
     /**
      * Обработка создания заказа
@@ -322,12 +337,13 @@ public class CourierPacketHandler {
                     ServerWorld world = player.getServerWorld();
                     CourierOrderManager manager = CourierOrderManager.get(world);
                     
+                    Order order = manager.getOrder(orderId);
                     if (manager.deleteOrder(orderId, player)) {
                         player.sendMessage(Text.literal("Заказ удален.")
                             .formatted(Formatting.YELLOW), false);
                         
-                        // Уведомляем об изменении статуса
-                        notifyOrderStatusUpdate(world, orderId);
+                        // Уведомляем участников заказа об удалении
+                        notifyOrderStatusUpdate(world, orderId, order.getOwnerUuid(), order.getAcceptedByUuid());
                     } else {
                         player.sendMessage(Text.literal("Не удалось удалить заказ.")
                             .formatted(Formatting.RED), false);
@@ -343,36 +359,23 @@ public class CourierPacketHandler {
     }
     
     /**
-     * Обработка запроса синхронизации заказов
+     * Обработка запроса синхронизации заказов.
+     * Клиент присылает последнюю примененную версию доски заказов
      */
     private static void handleRequestOrdersSync(net.minecraft.server.MinecraftServer server, 
                                               ServerPlayerEntity player, 
                                               net.minecraft.server.network.ServerPlayNetworkHandler handler, 
                                               PacketByteBuf buf,
                                               net.fabricmc.fabric.api.networking.v1.PacketSender responseSender) {
+        long clientVersion = buf.isReadable() ? buf.readVarLong() : -1;
+        
         server.execute(() -> {
             try {
                 ServerWorld world = player.getServerWorld();
                 CourierOrderManager manager = CourierOrderManager.get(world);
                 
-                List<Order> orders;
-                String playerClass = CourierUtils.getPlayerClass(player);
-                
-                if (CourierUtils.isCourier(player)) {
-                    // Курьеры видят все открытые заказы + свои принятые заказы
-                    orders = manager.getAllOrders().stream()
-                        .filter(order -> order.getStatus() == Order.Status.OPEN || 
-                                        (order.getAcceptedByUuid() != null && order.getAcceptedByUuid().equals(player.getUuid())))
-                        .collect(java.util.stream.Collectors.toList());
-                } else {
-                    // Другие игроки видят только свои заказы
-                    orders = manager.getOrdersByPlayer(player.getUuid());
-                }
-                
-                Origins.LOGGER.info("Игрок {} (класс: {}) получает {} заказов", 
-                    player.getName().getString(), playerClass, orders.size());
-                
-                sendOrdersToPlayer(player, orders);
+                CourierOrderSync.sync(player, manager, clientVersion);
+                CourierOrderSync.setListOpen(player, true);
                 
             } catch (Exception e) {
                 Origins.LOGGER.error("Ошибка при синхронизации заказов: " + e.getMessage(), e);
@@ -381,23 +384,45 @@ public class CourierPacketHandler {
     }
     
     /**
-     * Отправляет список заказов игроку
+     * Обработка запроса страницы заказов.
+     * Клиент присылает маску статусов (бит на Order.Status), смещение и размер страницы
      */
-    public static void sendOrdersToPlayer(ServerPlayerEntity player, List<Order> orders) {
-        try {
-            PacketByteBuf buf = PacketByteBufs.create();
-            
-            buf.writeInt(orders.size());
-            for (Order order : orders) {
-                buf.writeNbt(order.toNbt());
+    private static void handleRequestOrdersPage(net.minecraft.server.MinecraftServer server, 
+                                              ServerPlayerEntity player, 
+                                              net.minecraft.server.network.ServerPlayNetworkHandler handler, 
+                                              PacketByteBuf buf,
+                                              net.fabricmc.fabric.api.networking.v1.PacketSender responseSender) {
+        int statusMask = buf.readVarInt();
+        int offset = buf.readVarInt();
+        int limit = buf.readVarInt();
+        
+        Set<Order.Status> statuses = EnumSet.noneOf(Order.Status.class);
+        for (Order.Status status : Order.Status.values()) {
+            if ((statusMask & (1 << status.ordinal())) != 0) {
+                statuses.add(status);
             }
-            
-            ServerPlayNetworking.send(player, CourierNetworking.SYNC_ORDERS, buf);
-            
-        } catch (Exception e) {
-            Origins.LOGGER.error("Ошибка при отправке заказов игроку {}: {}", 
-                               player.getName().getString(), e.getMessage(), e);
         }
+        
+        server.execute(() -> {
+            try {
+                CourierOrderManager manager = CourierOrderManager.get(player.getServerWorld());
+                CourierOrderManager.OrderPage page = manager.queryOrders(
+                    player.getUuid(), CourierUtils.isCourier(player), statuses, offset, limit);
+                
+                PacketByteBuf response = PacketByteBufs.create();
+                response.writeVarInt(statusMask);
+                response.writeVarInt(page.offset);
+                response.writeVarInt(page.total);
+                response.writeVarInt(page.orders.size());
+                for (Order order : page.orders) {
+                    order.writeSyncData(response);
+                }
+                ServerPlayNetworking.send(player, CourierNetworking.ORDERS_PAGE, response);
+                
+            } catch (Exception e) {
+                Origins.LOGGER.error("Ошибка при запросе страницы заказов: " + e.getMessage(), e);
+            }
+        });
     }
     
     /**
@@ -405,15 +430,20 @@ public class CourierPacketHandler {
      */
     public static void notifyNewOrder(ServerWorld world, Order order) {
         try {
-            PacketByteBuf buf = PacketByteBufs.create();
-            buf.writeUuid(order.getId());
-            buf.writeString(order.getOwnerName());
-            buf.writeString(order.getShortDescription());
+            CourierOrderManager manager = CourierOrderManager.get(world);
             
             // Отправляем всем курьерам
             for (ServerPlayerEntity player : world.getPlayers()) {
                 if (CourierUtils.isCourier(player)) {
+                    PacketByteBuf buf = PacketByteBufs.create();
+                    buf.writeUuid(order.getId());
+                    buf.writeString(order.getOwnerName());
+                    buf.writeString(order.getShortDescription());
                     ServerPlayNetworking.send(player, CourierNetworking.NEW_ORDER_NOTIFY, buf);
+                    
+                    if (CourierOrderSync.isListOpen(player)) {
+                        CourierOrderSync.push(player, manager);
+                    }
                 }
             }
             
@@ -426,22 +456,50 @@ public class CourierPacketHandler {
      * Уведомляет об изменении статуса заказа
      */
     public static void notifyOrderStatusUpdate(ServerWorld world, UUID orderId) {
+        Order order = CourierOrderManager.get(world).getOrder(orderId);
+        if (order == null) return;
+        
+        notifyOrderStatusUpdate(world, orderId, order.getOwnerUuid(), order.getAcceptedByUuid());
+    }
+    
+    /**
+     * Уведомляет об изменении заказа только его участников (владельца и принявшего курьера)
+     * и курьеров с открытым списком заказов
+     */
+    public static void notifyOrderStatusUpdate(ServerWorld world, UUID orderId, UUID ownerUuid, UUID courierUuid) {
         try {
             CourierOrderManager manager = CourierOrderManager.get(world);
             Order order = manager.getOrder(orderId);
-            if (order == null) return;
             
-            PacketByteBuf buf = PacketByteBufs.create();
-            buf.writeUuid(orderId);
-            buf.writeString(order.getStatus().name());
-            
-            // Отправляем всем игрокам (они сами решат, нужно ли им это обновление)
+            Set<ServerPlayerEntity> recipients = new LinkedHashSet<>();
+            addOnlinePlayer(world, recipients, ownerUuid);
+            addOnlinePlayer(world, recipients, courierUuid);
             for (ServerPlayerEntity player : world.getPlayers()) {
-                ServerPlayNetworking.send(player, CourierNetworking.ORDER_STATUS_UPDATE, buf);
+                if (CourierOrderSync.isListOpen(player) && CourierUtils.isCourier(player)) {
+                    recipients.add(player);
+                }
+            }
+            
+            for (ServerPlayerEntity player : recipients) {
+                // Клиентам с сессией синхронизации досылаем изменения, остальным - только статус
+                if (!CourierOrderSync.push(player, manager) && order != null) {
+                    PacketByteBuf buf = PacketByteBufs.create();
+                    buf.writeUuid(orderId);
+                    buf.writeEnumConstant(order.getStatus());
+                    ServerPlayNetworking.send(player, CourierNetworking.ORDER_STATUS_UPDATE, buf);
+                }
             }
             
         } catch (Exception e) {
             Origins.LOGGER.error("Ошибка при уведомлении об изменении статуса заказа: " + e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+    
+    private static void addOnlinePlayer(ServerWorld world, Set<ServerPlayerEntity> players, UUID playerUuid) {
+        if (playerUuid == null) return;
+        ServerPlayerEntity player = world.getServer().getPlayerManager().getPlayer(playerUuid);
+        if (player != null) {
+            players.add(player);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import net.minecraft.nbt.NbtCompound;
 import net.minecraft.nbt.NbtList;
 import net.minecraft.nbt.NbtElement;
 import net.minecraft.item.ItemStack;
+import net.minecraft.network.PacketByteBuf;
 import net.minecraft.server.network.ServerPlayerEntity;
 import java.util.ArrayList;
 import java.util.List;
@@ -181,6 +182,32 @@ public class Order {
         return nbt;
     }
 
+    /**
+     * Компактная запись заказа для синхронизации с клиентом.
+     * Передает только поля ClientOrder, без ключей NBT
+     */
+    public void writeSyncData(PacketByteBuf buf) {
+        buf.writeUuid(id);
+        buf.writeString(ownerName);
+        buf.writeString(description, CourierNetworking.MAX_DESCRIPTION_LENGTH);
+        buf.writeEnumConstant(status);
+        buf.writeBoolean(acceptedByName != null);
+        if (acceptedByName != null) {
+            buf.writeString(acceptedByName);
+        }
+        buf.writeVarLong(createdTime);
+        buf.writeVarInt(experienceReward);
+        writeItems(buf, requestItems);
+        writeItems(buf, rewardItems);
+    }
+
+    private static void writeItems(PacketByteBuf buf, List<ItemStack> items) {
+        buf.writeVarInt(items.size());
+        for (ItemStack item : items) {
+            buf.writeItemStack(item);
+        }
+    }
+
     // Десериализация из NBT
     public static Order fromNbt(NbtCompound nbt) {
         UUID id = nbt.getUuid("id");
@@ -4,12 +4,13 @@ import io.github.apace100.origins.Origins;
 import io.github.apace100.origins.courier.ClientOrder;
 import io.github.apace100.origins.courier.CourierNetworking;
 import io.github.apace100.origins.courier.Order;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.screen.Screen;
 import net.minecraft.client.toast.SystemToast;
 import net.minecraft.client.toast.ToastManager;
-import net.minecraft.nbt.NbtCompound;
 import net.minecraft.sound.SoundEvents;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
@@ -29,6 +30,7 @@ public class ClientOrderManager {
     private static ClientOrderManager instance;
     private final ConcurrentMap<UUID, ClientOrder> orders = new ConcurrentHashMap<>();
     private OrdersListScreen currentOrdersScreen = null;
+    private long syncVersion = -1;
     
     private ClientOrderManager() {}
     
@@ -47,19 +49,23 @@ public class ClientOrderManager {
         ClientPlayNetworking.registerGlobalReceiver(CourierNetworking.SYNC_ORDERS, 
             (client, handler, buf, responseSender) -> {
                 try {
-                    int orderCount = buf.readInt();
-                    List<ClientOrder> newOrders = new ArrayList<>();
+                    boolean fullSnapshot = buf.readBoolean();
+                    long version = buf.readVarLong();
                     
-                    for (int i = 0; i < orderCount; i++) {
-                        NbtCompound orderNbt = buf.readNbt();
-                        if (orderNbt != null) {
-                            Order order = Order.fromNbt(orderNbt);
-                            newOrders.add(ClientOrder.fromOrder(order));
-                        }
+                    int changedCount = buf.readVarInt();
+                    List<ClientOrder> changedOrders = new ArrayList<>(changedCount);
+                    for (int i = 0; i < changedCount; i++) {
+                        changedOrders.add(ClientOrder.readSyncData(buf));
+                    }
+                    
+                    int removedCount = buf.readVarInt();
+                    List<UUID> removedOrders = new ArrayList<>(removedCount);
+                    for (int i = 0; i < removedCount; i++) {
+                        removedOrders.add(buf.readUuid());
                     }
                     
                     client.execute(() -> {
-                        getInstance().updateOrders(newOrders);
+                        getInstance().applySync(fullSnapshot, version, changedOrders, removedOrders);
                     });
                     
                 } catch (Exception e) {
@@ -67,6 +73,31 @@ public class ClientOrderManager {
                 }
             });
         
+        // Страница списка заказов
+        ClientPlayNetworking.registerGlobalReceiver(CourierNetworking.ORDERS_PAGE, 
+            (client, handler, buf, responseSender) -> {
+                try {
+                    int statusMask = buf.readVarInt();
+                    int offset = buf.readVarInt();
+                    int total = buf.readVarInt();
+                    int count = buf.readVarInt();
+                    List<ClientOrder> pageOrders = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        pageOrders.add(ClientOrder.readSyncData(buf));
+                    }
+                    
+                    client.execute(() -> {
+                        OrdersListScreen screen = getInstance().currentOrdersScreen;
+                        if (screen != null) {
+                            screen.showPage(statusMask, offset, total, pageOrders);
+                        }
+                    });
+                    
+                } catch (Exception e) {
+                    Origins.LOGGER.error("Ошибка при обработке страницы заказов: " + e.getMessage(), e);
+                }
+            });
+        
         // Уведомление о новом заказе
         ClientPlayNetworking.registerGlobalReceiver(CourierNetworking.NEW_ORDER_NOTIFY, 
             (client, handler, buf, responseSender) -> {
@@ -89,8 +120,7 @@ public class ClientOrderManager {
             (client, handler, buf, responseSender) -> {
                 try {
                     UUID orderId = buf.readUuid();
-                    String statusName = buf.readString();
-                    Order.Status status = Order.Status.valueOf(statusName);
+                    Order.Status status = buf.readEnumConstant(Order.Status.class);
                     
                     client.execute(() -> {
                         getInstance().updateOrderStatus(orderId, status);
@@ -101,7 +131,38 @@ public class ClientOrderManager {
                 }
             });
         
-            }
+        // Версия доски заказов действительна только в рамках одного подключения
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> 
+            client.execute(() -> getInstance().clear()));
+    }
+    
+    /**
+     * Применяет пакет синхронизации: полный снимок или изменения с последней версии
+     */
+    public void applySync(boolean fullSnapshot, long version, List<ClientOrder> changedOrders, List<UUID> removedOrders) {
+        if (fullSnapshot) {
+            orders.clear();
+        }
+        for (ClientOrder order : changedOrders) {
+            orders.put(order.id, order);
+        }
+        for (UUID orderId : removedOrders) {
+            orders.remove(orderId);
+        }
+        syncVersion = version;
+        
+        // Обновляем экран списка заказов, если он открыт
+        if (currentOrdersScreen != null) {
+            currentOrdersScreen.updateOrders(new ArrayList<>(orders.values()));
+        }
+    }
+    
+    /**
+     * Последняя примененная версия доски заказов (-1 - синхронизации еще не было)
+     */
+    public long getSyncVersion() {
+        return syncVersion;
+    }
     
     /**
      * Обновляет список заказов
@@ -202,6 +263,11 @@ public class ClientOrderManager {
      */
     public void closeOrdersScreen() {
         currentOrdersScreen = null;
+        
+        // Сервер перестает присылать нам изменения чужих заказов
+        if (MinecraftClient.getInstance().getNetworkHandler() != null) {
+            ClientPlayNetworking.send(CourierNetworking.ORDERS_LIST_CLOSED, PacketByteBufs.create());
+        }
     }
     
     /**
@@ -241,6 +307,7 @@ public class ClientOrderManager {
      */
     public void clear() {
         orders.clear();
+        syncVersion = -1;
         currentOrdersScreen = null;
             }
     
@@ -16,6 +16,7 @@ import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 
@@ -24,6 +25,10 @@ import java.util.UUID;
  */
 public class OrdersListScreen extends Screen {
     
+    // Тот же порядок, что и у страниц сервера: от новых к старым
+    private static final Comparator<ClientOrder> NEWEST_FIRST = Comparator.comparingLong((ClientOrder order) -> order.createdTime).reversed()
+        .thenComparing(order -> order.id);
+    
     private OrderListWidget orderList;
     private ButtonWidget refreshButton;
     private ButtonWidget closeButton;
@@ -44,21 +49,40 @@ public class OrdersListScreen extends Screen {
     // Текущая вкладка
     private OrderTab currentTab = OrderTab.ALL;
     
+    // Текущая страница и общее количество заказов во вкладке (по данным сервера)
+    private int currentPage = 0;
+    private int totalOrders = 0;
+    private ButtonWidget previousPageButton;
+    private ButtonWidget nextPageButton;
+    
     public enum OrderTab {
-        ALL("Все"),
-        OPEN("Открытые"),
-        ACTIVE("Принятые"),
-        COMPLETED("Завершенные");
+        ALL("Все", Order.Status.values()),
+        OPEN("Открытые", Order.Status.OPEN),
+        ACTIVE("Принятые", Order.Status.ACCEPTED, Order.Status.IN_PROGRESS),
+        COMPLETED("Завершенные", Order.Status.COMPLETED, Order.Status.DECLINED, Order.Status.CANCELLED);
         
         private final String displayName;
+        private final int statusMask;
         
-        OrderTab(String displayName) {
+        OrderTab(String displayName, Order.Status... statuses) {
             this.displayName = displayName;
+            int mask = 0;
+            for (Order.Status status : statuses) {
+                mask |= 1 << status.ordinal();
+            }
+            this.statusMask = mask;
         }
         
         public String getDisplayName() {
             return displayName;
         }
+        
+        /**
+         * Маска статусов вкладки (бит на Order.Status)
+         */
+        public int getStatusMask() {
+            return statusMask;
+        }
     }
     
     public OrdersListScreen() {
@@ -115,7 +139,7 @@ public class OrdersListScreen extends Screen {
         this.addSelectableChild(orderList);
         
         // Кнопки
-        refreshButton = ButtonWidget.builder(Text.literal("Обновить"), button -> requestSync())
+        refreshButton = ButtonWidget.builder(Text.literal("Обновить"), button -> refresh())
             .dimensions(left + 10, top + screenHeight - 35, 80, 20)
             .build();
         this.addDrawableChild(refreshButton);
@@ -130,6 +154,18 @@ public class OrdersListScreen extends Screen {
             this.addDrawableChild(createOrderButton);
         }
         
+        // Переключение страниц
+        previousPageButton = ButtonWidget.builder(Text.literal("<"), button -> changePage(-1))
+            .dimensions(left + 230, top + screenHeight - 35, 20, 20)
+            .build();
+        this.addDrawableChild(previousPageButton);
+        
+        nextPageButton = ButtonWidget.builder(Text.literal(">"), button -> changePage(1))
+            .dimensions(left + 255, top + screenHeight - 35, 20, 20)
+            .build();
+        this.addDrawableChild(nextPageButton);
+        updatePageButtons();
+        
         closeButton = ButtonWidget.builder(Text.literal("Закрыть"), button -> this.close())
             .dimensions(left + screenWidth - 90, top + screenHeight - 35, 80, 20)
             .build();
@@ -138,12 +174,14 @@ public class OrdersListScreen extends Screen {
         // Уведомляем ClientOrderManager о том, что экран открыт
         ClientOrderManager.getInstance().setCurrentOrdersScreen(this);
         
-        // Очищаем старые данные
+        // Уже синхронизированные заказы (для выделения заказа), сервер пришлет только изменения
         allOrders.clear();
-        filteredOrders.clear();
+        allOrders.addAll(ClientOrderManager.getInstance().getAllOrders());
+        updateTabButtons();
         
-        // Запрашиваем синхронизацию при открытии
+        // Запрашиваем синхронизацию и первую страницу при открытии
         requestSync();
+        requestPage();
     }
     
     @Override
@@ -156,22 +194,60 @@ public class OrdersListScreen extends Screen {
      * Запрашивает синхронизацию заказов с сервером
      */
     private void requestSync() {
-        if (!isLoading) {
-            isLoading = true;
-            refreshButton.active = false;
-            
-            PacketByteBuf buf = PacketByteBufs.create();
-            ClientPlayNetworking.send(CourierNetworking.REQUEST_ORDERS_SYNC, buf);
+        PacketByteBuf buf = PacketByteBufs.create();
+        buf.writeVarLong(ClientOrderManager.getInstance().getSyncVersion());
+        ClientPlayNetworking.send(CourierNetworking.REQUEST_ORDERS_SYNC, buf);
+    }
+    
+    /**
+     * Запрашивает у сервера текущую страницу текущей вкладки
+     */
+    private void requestPage() {
+        isLoading = true;
+        refreshButton.active = false;
+        
+        PacketByteBuf buf = PacketByteBufs.create();
+        buf.writeVarInt(currentTab.getStatusMask());
+        buf.writeVarInt(currentPage * CourierNetworking.ORDERS_PER_PAGE);
+        buf.writeVarInt(CourierNetworking.ORDERS_PER_PAGE);
+        ClientPlayNetworking.send(CourierNetworking.REQUEST_ORDERS_PAGE, buf);
+    }
+    
+    /**
+     * Запрашивает изменения заказов; страница пересчитается, когда они придут
+     */
+    private void refresh() {
+        requestSync();
+    }
+    
+    /**
+     * Переходит на соседнюю страницу
+     */
+    private void changePage(int delta) {
+        int newPage = Math.max(0, Math.min(currentPage + delta, getPageCount() - 1));
+        if (newPage != currentPage) {
+            currentPage = newPage;
+            requestPage();
         }
     }
     
+    private int getPageCount() {
+        return Math.max(1, (totalOrders + CourierNetworking.ORDERS_PER_PAGE - 1) / CourierNetworking.ORDERS_PER_PAGE);
+    }
+    
+    private void updatePageButtons() {
+        previousPageButton.active = currentPage > 0;
+        nextPageButton.active = currentPage < getPageCount() - 1;
+    }
+    
     /**
      * Переключает вкладку
      */
     private void switchTab(OrderTab tab) {
         currentTab = tab;
+        currentPage = 0;
         updateTabButtons();
-        filterOrders();
+        requestPage();
     }
     
     /**
@@ -185,51 +261,27 @@ public class OrdersListScreen extends Screen {
     }
     
     /**
-     * Фильтрует заказы по текущей вкладке
+     * Показывает страницу заказов, присланную сервером
      */
-    private void filterOrders() {
-        filteredOrders.clear();
-        
+    public void showPage(int statusMask, int offset, int total, List<ClientOrder> pageOrders) {
+        // Ответ на запрос другой вкладки или страницы уже не актуален
+        if (statusMask != currentTab.getStatusMask() || offset != currentPage * CourierNetworking.ORDERS_PER_PAGE) {
+            return;
+        }
         
+        totalOrders = total;
+        setPageOrders(pageOrders);
         
-        switch (currentTab) {
-            case ALL:
-                filteredOrders.addAll(allOrders);
-                                break;
-            case OPEN:
-                for (ClientOrder order : allOrders) {
-                    // Открытые заказы: только со статусом OPEN
-                    if (order.status == Order.Status.OPEN) {
-                        filteredOrders.add(order);
-                    }
-                }
-                                break;
-            case ACTIVE:
-                for (ClientOrder order : allOrders) {
-                                        // Принятые заказы: только принятые и выполняющиеся
-                    if (order.status == Order.Status.ACCEPTED || 
-                        order.status == Order.Status.IN_PROGRESS) {
-                        filteredOrders.add(order);
-                    }
-                }
-                                break;
-            case COMPLETED:
-                for (ClientOrder order : allOrders) {
-                    // Завершенные заказы: выполненные + отклоненные + отмененные
-                    if (order.status == Order.Status.COMPLETED || 
-                        order.status == Order.Status.DECLINED || 
-                        order.status == Order.Status.CANCELLED) {
-                        filteredOrders.add(order);
-                    }
-                }
-                                break;
+        // Страница опустела (например, заказы удалены) - переходим на последнюю существующую
+        if (filteredOrders.isEmpty() && currentPage > 0) {
+            currentPage = getPageCount() - 1;
+            requestPage();
+            return;
         }
         
-        // Обновляем список
-        orderList.clearAllEntries();
-        for (ClientOrder order : filteredOrders) {
-            orderList.addOrderEntry(new OrderEntry(order));
-        }
+        updatePageButtons();
+        isLoading = false;
+        refreshButton.active = true;
     }
     
     /**
@@ -239,9 +291,8 @@ public class OrdersListScreen extends Screen {
         allOrders.clear();
         allOrders.addAll(newOrders);
         
-        // Обновляем вкладки и фильтруем заказы
-        updateTabButtons();
-        filterOrders();
+        // Клиент получает все видимые ему заказы, поэтому изменения применяются к странице без запроса к серверу
+        showLocalPage();
         
         // Если нужно выделить конкретный заказ
         if (highlightOrderId != null) {
@@ -252,11 +303,42 @@ public class OrdersListScreen extends Screen {
                 }
             }
         }
+    }
+    
+    /**
+     * Пересчитывает текущую страницу вкладки по синхронизированным заказам
+     */
+    private void showLocalPage() {
+        List<ClientOrder> tabOrders = new ArrayList<>();
+        for (ClientOrder order : allOrders) {
+            if ((currentTab.getStatusMask() & (1 << order.status.ordinal())) != 0) {
+                tabOrders.add(order);
+            }
+        }
+        tabOrders.sort(NEWEST_FIRST);
         
+        totalOrders = tabOrders.size();
+        currentPage = Math.min(currentPage, getPageCount() - 1);
+        int from = currentPage * CourierNetworking.ORDERS_PER_PAGE;
+        int to = Math.min(from + CourierNetworking.ORDERS_PER_PAGE, tabOrders.size());
+        setPageOrders(tabOrders.subList(from, to));
+        
+        updatePageButtons();
         isLoading = false;
         refreshButton.active = true;
     }
     
+    private void setPageOrders(List<ClientOrder> pageOrders) {
+        filteredOrders.clear();
+        filteredOrders.addAll(pageOrders);
+        
+        // Обновляем список
+        orderList.clearAllEntries();
+        for (ClientOrder order : filteredOrders) {
+            orderList.addOrderEntry(new OrderEntry(order));
+        }
+    }
+    
     @Override
     public void render(DrawContext context, int mouseX, int mouseY, float delta) {
         // Рендерим фон
@@ -282,7 +364,7 @@ public class OrdersListScreen extends Screen {
         context.drawCenteredTextWithShadow(this.textRenderer, this.title, centerX, top + 8, CourierNetworking.COLOR_TEXT);
         
         // Информация о количестве заказов
-        String orderInfo = String.format("%s: %d", currentTab.getDisplayName(), filteredOrders.size());
+        String orderInfo = String.format("%s: %d (стр. %d/%d)", currentTab.getDisplayName(), totalOrders, currentPage + 1, getPageCount());
         context.drawText(this.textRenderer, orderInfo, left + 10, top + 50, CourierNetworking.COLOR_TEXT_SECONDARY, false);
         
         // Рендерим список заказов
@@ -338,7 +420,7 @@ public class OrdersListScreen extends Screen {
         
         // F5 для обновления
         if (keyCode == 294) { // GLFW_KEY_F5
-            requestSync();
+            refresh();
             return true;
         }
         
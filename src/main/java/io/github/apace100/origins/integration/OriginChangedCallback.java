@@ -0,0 +1,23 @@
+package io.github.apace100.origins.integration;
+
+import net.fabricmc.fabric.api.event.Event;
+import net.fabricmc.fabric.api.event.EventFactory;
+import net.minecraft.entity.player.PlayerEntity;
+
+/**
+ * Callback which is called when the origins of a player change.<br>
+ * This happens when an origin is set on a layer and when the origin component
+ * is read from NBT (loading the player, respawn copy and client sync).<br>
+ * Used to invalidate data cached from the current origin, such as the current profession.<br>
+ */
+public interface OriginChangedCallback {
+    Event<OriginChangedCallback> EVENT = EventFactory.createArrayBacked(OriginChangedCallback.class,
+        (listeners) -> (player) -> {
+            for (OriginChangedCallback event : listeners) {
+                event.onOriginChanged(player);
+            }
+        }
+    );
+
+    void onOriginChanged(PlayerEntity player);
+}
@@ -0,0 +1,28 @@
+package io.github.apace100.origins.metrics;
+
+/**
+ * Типы событий, для которых собираются счетчики и задержки
+ */
+public enum MetricType {
+    QUEST_TRACK("quest_track", "Отслеживание квестов"),
+    SKILL_ACTIVATION("skill_activation", "Активация навыков"),
+    BOARD_REFRESH("board_refresh", "Обновление досок"),
+    ORDER_SYNC("order_sync", "Синхронизация заказов"),
+    API_CALL("api_call", "Запросы к API квестов");
+
+    private final String id;
+    private final String displayName;
+
+    MetricType(String id, String displayName) {
+        this.id = id;
+        this.displayName = displayName;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
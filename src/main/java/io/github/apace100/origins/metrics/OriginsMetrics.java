@@ -0,0 +1,131 @@
+package io.github.apace100.origins.metrics;
+
+import io.github.apace100.origins.Origins;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Метрики горячих путей геймплея: счетчики событий и ошибок, гистограммы задержек по типам
+ * событий и выборочная трассировка. Заменяет INFO-логирование на каждое событие: счетчики
+ * собираются всегда и без блокировок, а в лог попадает в среднем одно из N событий, выбранное случайно
+ * ({@link Origins.ServerConfig#metricsTraceSampleRate}).
+ *
+ * Использование:
+ * <pre>
+ * long start = OriginsMetrics.start();
+ * ...
+ * OriginsMetrics.record(MetricType.QUEST_TRACK, start, () -> "action=" + action);
+ * </pre>
+ * Данные выводит команда /origins metrics.
+ */
+public final class OriginsMetrics {
+
+    private static final Map<MetricType, Stats> STATS = new EnumMap<>(MetricType.class);
+
+    static {
+        for (MetricType type : MetricType.values()) {
+            STATS.put(type, new Stats());
+        }
+    }
+
+    private static volatile long resetTime = System.currentTimeMillis();
+
+    private OriginsMetrics() {}
+
+    /**
+     * Время начала измеряемого события
+     */
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Записывает событие с задержкой от start до текущего момента
+     */
+    public static void record(MetricType type, long startNanos) {
+        STATS.get(type).latency.record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Записывает событие и, если оно попало в выборку, пишет его в лог.
+     * Описание строится только для событий из выборки
+     */
+    public static void record(MetricType type, long startNanos, Supplier<String> detail) {
+        long elapsed = System.nanoTime() - startNanos;
+        STATS.get(type).latency.record(elapsed);
+        if (isSampled()) {
+            Origins.LOGGER.info("📈 [Metrics] {} {} мкс: {}", type.getId(), TimeUnit.NANOSECONDS.toMicros(elapsed), detail.get());
+        }
+    }
+
+    /**
+     * Увеличивает счетчик ошибок события
+     */
+    public static void recordError(MetricType type) {
+        STATS.get(type).errors.increment();
+    }
+
+    public static long getCount(MetricType type) {
+        return STATS.get(type).latency.getCount();
+    }
+
+    public static long getErrors(MetricType type) {
+        return STATS.get(type).errors.sum();
+    }
+
+    /**
+     * Сбрасывает все счетчики и гистограммы
+     */
+    public static void reset() {
+        for (Stats stats : STATS.values()) {
+            stats.latency.reset();
+            stats.errors.reset();
+        }
+        resetTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Текстовый отчет: по строке на тип события
+     */
+    public static List<String> describe() {
+        List<String> lines = new ArrayList<>();
+        long seconds = Math.max(1, (System.currentTimeMillis() - resetTime) / 1000);
+        lines.add("Метрики за " + seconds + " с (задержки в мкс)");
+        for (MetricType type : MetricType.values()) {
+            Stats stats = STATS.get(type);
+            LatencyHistogram latency = stats.latency;
+            long count = latency.getCount();
+            if (count == 0 && stats.errors.sum() == 0) {
+                lines.add(type.getDisplayName() + ": нет событий");
+                continue;
+            }
+            lines.add(String.format("%s: %d (%.1f/с), ошибок %d, p50 %d, p90 %d, p99 %d, max %d, avg %.1f",
+                type.getDisplayName(), count, (double) count / seconds, stats.errors.sum(),
+                toMicros(latency.getPercentile(50)), toMicros(latency.getPercentile(90)),
+                toMicros(latency.getPercentile(99)), toMicros(latency.getMax()),
+                latency.getMean() / 1000.0));
+        }
+        return lines;
+    }
+
+    private static boolean isSampled() {
+        int rate = Origins.config != null ? Origins.config.metricsTraceSampleRate : 0;
+        return rate > 0 && (rate == 1 || ThreadLocalRandom.current().nextInt(rate) == 0);
+    }
+
+    private static long toMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    private static final class Stats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+    }
+}
@@ -76,7 +76,7 @@ public class BlacksmithQualityCraftingMixin {
         
         // Применяем качество только если предмет новый (без NBT качества) или имеет обычное качество
         if (currentQuality == BlacksmithQualityCraftingPower.ItemQuality.NORMAL && 
-            (!stack.hasNbt() || !stack.getNbt().contains("ItemQuality"))) {
+            (!stack.hasNbt() || !stack.getNbt().contains(BlacksmithQualityCraftingPower.QUALITY_KEY))) {
             
             // Определяем качество на основе силы игрока
             BlacksmithQualityCraftingPower.ItemQuality quality = power.determineQuality(random);
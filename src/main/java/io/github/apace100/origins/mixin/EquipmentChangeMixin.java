@@ -0,0 +1,28 @@
+package io.github.apace100.origins.mixin;
+
+import io.github.apace100.origins.profession.PlayerAttributeReconciler;
+import net.minecraft.entity.EquipmentSlot;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.ItemStack;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import java.util.Map;
+
+/**
+ * Миксин для отслеживания смены экипировки игрока
+ */
+@Mixin(LivingEntity.class)
+public class EquipmentChangeMixin {
+
+    @Inject(method = "getEquipmentChanges", at = @At("RETURN"))
+    private void origins$onEquipmentChanged(CallbackInfoReturnable<Map<EquipmentSlot, ItemStack>> cir) {
+        // null - экипировка с прошлого тика не менялась
+        if (cir.getReturnValue() != null && (Object) this instanceof PlayerEntity player) {
+            PlayerAttributeReconciler.markDirty(player);
+        }
+    }
+}
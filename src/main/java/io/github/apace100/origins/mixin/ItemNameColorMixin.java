@@ -1,8 +1,8 @@
 package io.github.apace100.origins.mixin;
 
 import io.github.apace100.origins.power.BlacksmithQualityCraftingPower;
+import io.github.apace100.origins.util.ItemQualityHelper;
 import net.minecraft.item.ItemStack;
-import net.minecraft.text.MutableText;
 import net.minecraft.text.Text;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
@@ -23,14 +23,8 @@ public class ItemNameColorMixin {
             BlacksmithQualityCraftingPower.getItemQuality(stack);
         
         if (quality != BlacksmithQualityCraftingPower.ItemQuality.NORMAL) {
-            Text originalName = cir.getReturnValue();
-            
-            // Создаем новое название с цветом качества
-            MutableText coloredName = Text.empty()
-                .append(originalName)
-                .formatted(quality.getColor());
-            
-            cir.setReturnValue(coloredName);
+            // Название с цветом качества берется из кэша
+            cir.setReturnValue(ItemQualityHelper.getColoredName(stack, quality, cir.getReturnValue()));
         }
     }
 }
\ No newline at end of file
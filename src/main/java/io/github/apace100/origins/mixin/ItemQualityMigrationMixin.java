@@ -0,0 +1,25 @@
+package io.github.apace100.origins.mixin;
+
+import io.github.apace100.origins.power.BlacksmithQualityCraftingPower;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NbtCompound;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Миксин для перевода качества предметов из старого строкового NBT в байтовый формат
+ * при загрузке стека из сохранения
+ */
+@Mixin(ItemStack.class)
+public class ItemQualityMigrationMixin {
+    
+    @Inject(method = "<init>(Lnet/minecraft/nbt/NbtCompound;)V", at = @At("TAIL"))
+    private void migrateLegacyQuality(NbtCompound stackNbt, CallbackInfo ci) {
+        NbtCompound nbt = ((ItemStack) (Object) this).getNbt();
+        if (nbt != null) {
+            BlacksmithQualityCraftingPower.migrateLegacyQuality(nbt);
+        }
+    }
+}
@@ -1,28 +1,20 @@
 package io.github.apace100.origins.mixin;
 
-import io.github.apace100.origins.power.BlacksmithQualityCraftingPower;
-import net.minecraft.entity.EquipmentSlot;
-import net.minecraft.entity.attribute.EntityAttributeModifier;
-import net.minecraft.entity.attribute.EntityAttributes;
+import io.github.apace100.origins.profession.PlayerAttributeReconciler;
 import net.minecraft.entity.player.PlayerEntity;
-import net.minecraft.item.ArmorItem;
-import net.minecraft.item.ItemStack;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
-import java.util.UUID;
-
 /**
- * Миксин для эффектов движения легендарной брони
+ * Миксин для эффектов движения легендарной брони.
+ * Модификатор скорости легендарных поножей выдает {@link PlayerAttributeReconciler}
+ * при смене экипировки, здесь остаются только статус-эффекты
  */
 @Mixin(PlayerEntity.class)
 public class LegendaryArmorMovementMixin {
     
-    private static final UUID LEGENDARY_LEGGINGS_SPEED_UUID = UUID.fromString("845DB27C-C624-495F-8C9F-6020A9A58B6B");
-    private static final UUID LEGENDARY_BOOTS_JUMP_UUID = UUID.fromString("7107DE5E-7CE8-4030-940E-514C1F160890");
-    
     @Inject(method = "tick", at = @At("HEAD"))
     private void applyLegendaryArmorEffects(CallbackInfo ci) {
         PlayerEntity player = (PlayerEntity) (Object) this;
@@ -31,19 +23,13 @@ public class LegendaryArmorMovementMixin {
             return;
         }
         
-        // Проверяем легендарные поножи (скорость)
-        ItemStack leggings = player.getEquippedStack(EquipmentSlot.LEGS);
-        if (!leggings.isEmpty() && leggings.getItem() instanceof ArmorItem && 
-            BlacksmithQualityCraftingPower.isLegendary(leggings)) {
+        // Проверяем легендарные поножи (вода)
+        if (PlayerAttributeReconciler.hasLegendaryLeggings(player)) {
             applyLegendaryLeggingsEffect(player);
-        } else {
-            removeLegendaryLeggingsEffect(player);
         }
         
         // Проверяем легендарные ботинки (прыжок)
-        ItemStack boots = player.getEquippedStack(EquipmentSlot.FEET);
-        if (!boots.isEmpty() && boots.getItem() instanceof ArmorItem && 
-            BlacksmithQualityCraftingPower.isLegendary(boots)) {
+        if (PlayerAttributeReconciler.hasLegendaryBoots(player)) {
             applyLegendaryBootsEffect(player);
         } else {
             removeLegendaryBootsEffect(player);
@@ -51,24 +37,6 @@ public class LegendaryArmorMovementMixin {
     }
     
     private void applyLegendaryLeggingsEffect(PlayerEntity player) {
-        // +20% скорость передвижения
-        var speedAttribute = player.getAttributeInstance(EntityAttributes.GENERIC_MOVEMENT_SPEED);
-        if (speedAttribute != null) {
-            // Проверяем, есть ли уже модификатор с таким UUID
-            boolean hasModifier = speedAttribute.getModifiers().stream()
-                .anyMatch(modifier -> modifier.getId().equals(LEGENDARY_LEGGINGS_SPEED_UUID));
-            
-            if (!hasModifier) {
-                EntityAttributeModifier speedModifier = new EntityAttributeModifier(
-                    LEGENDARY_LEGGINGS_SPEED_UUID,
-                    "Legendary Leggings Speed",
-                    0.20, // +20% скорости
-                    EntityAttributeModifier.Operation.MULTIPLY_TOTAL
-                );
-                speedAttribute.addPersistentModifier(speedModifier);
-            }
-        }
-        
         // Игнорирование замедления в воде
         if (player.isTouchingWater() || player.isSubmergedIn(net.minecraft.registry.tag.FluidTags.WATER)) {
             // Применяем эффект скорости в воде через статус эффект
@@ -77,19 +45,6 @@ public class LegendaryArmorMovementMixin {
         }
     }
     
-    private void removeLegendaryLeggingsEffect(PlayerEntity player) {
-        var speedAttribute = player.getAttributeInstance(EntityAttributes.GENERIC_MOVEMENT_SPEED);
-        if (speedAttribute != null) {
-            // Проверяем, есть ли модификатор с таким UUID
-            boolean hasModifier = speedAttribute.getModifiers().stream()
-                .anyMatch(modifier -> modifier.getId().equals(LEGENDARY_LEGGINGS_SPEED_UUID));
-            
-            if (hasModifier) {
-                speedAttribute.removeModifier(LEGENDARY_LEGGINGS_SPEED_UUID);
-            }
-        }
-    }
-    
     private void applyLegendaryBootsEffect(PlayerEntity player) {
         // +1 блок к высоте прыжка через Jump Boost эффект
         if (!player.hasStatusEffect(net.minecraft.entity.effect.StatusEffects.JUMP_BOOST)) {
@@ -107,4 +62,4 @@ public class LegendaryArmorMovementMixin {
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -6,12 +6,13 @@ import io.github.apace100.origins.component.OriginComponent;
 import io.github.apace100.origins.networking.ModPackets;
 import io.github.apace100.origins.origin.Origin;
 import io.github.apace100.origins.origin.OriginLayers;
-import io.github.apace100.origins.origin.OriginRegistry;
+import io.github.apace100.origins.origin.OriginRegistrySnapshot;
 import io.github.apace100.origins.registry.ModComponents;
 import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.minecraft.network.ClientConnection;
 import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.packet.Packet;
 import net.minecraft.server.PlayerManager;
 import net.minecraft.server.network.ServerPlayerEntity;
 import org.spongepowered.asm.mixin.Mixin;
@@ -32,19 +33,7 @@ public abstract class LoginMixin {
 	private void openOriginsGui(ClientConnection connection, ServerPlayerEntity player, CallbackInfo info) {
 		OriginComponent component = ModComponents.ORIGIN.get(player);
 
-		PacketByteBuf originListData = PacketByteBufs.create();
-		originListData.writeInt(OriginRegistry.size() - 1);
-		OriginRegistry.entries().forEach((entry) -> {
-			if(entry.getValue() != Origin.EMPTY) {
-				originListData.writeIdentifier(entry.getKey());
-				entry.getValue().write(originListData);
-			}
-		});
-
-		PacketByteBuf originLayerData = PacketByteBufs.create();
-		originLayerData.writeInt(OriginLayers.size());
 		OriginLayers.getLayers().forEach((layer) -> {
-			layer.write(originLayerData);
 			if(layer.isEnabled()) {
 				if(!component.hasOrigin(layer)) {
 					component.setOrigin(layer, Origin.EMPTY);
@@ -52,13 +41,25 @@ public abstract class LoginMixin {
 			}
 		});
 
-		ServerPlayNetworking.send(player, ModPackets.ORIGIN_LIST, originListData);
-		ServerPlayNetworking.send(player, ModPackets.LAYER_LIST, originLayerData);
+		// Списки кодируются один раз после перезагрузки датапаков; клиент с тем же снимком получает только хэш
+		OriginRegistrySnapshot snapshot = OriginRegistrySnapshot.get();
+		if(snapshot.isCachedBy(connection)) {
+			ServerPlayNetworking.send(player, ModPackets.ORIGIN_SNAPSHOT_CACHED, snapshot.createCachedPacket());
+		} else {
+			snapshot.sendTo(player);
+		}
 
 		BadgeManager.sync(player);
 
-		List<ServerPlayerEntity> playerList = getPlayerList();
-		playerList.forEach(spe -> ModComponents.ORIGIN.syncWith(spe, (ComponentProvider)player));
+		// Происхождение нового игрока кодируется в один пакет, который получают все остальные игроки
+		Packet<?> originPacket = ((ComponentProvider)player).toComponentPacket(ModComponents.ORIGIN, component, player);
+		if(originPacket != null) {
+			for(ServerPlayerEntity spe : getPlayerList()) {
+				if(spe != player && component.shouldSyncWith(spe)) {
+					spe.networkHandler.sendPacket(originPacket);
+				}
+			}
+		}
 		OriginComponent.sync(player);
 		if(!component.hasAllOrigins()) {
 			if(component.checkAutoChoosingLayers(player, true)) {
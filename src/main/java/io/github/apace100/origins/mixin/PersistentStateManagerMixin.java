@@ -0,0 +1,21 @@
+package io.github.apace100.origins.mixin;
+
+import io.github.apace100.origins.courier.CourierOrderPersistence;
+import net.minecraft.world.PersistentStateManager;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Миксин, дожидающийся фоновой записи заказов курьера перед сохранением данных мира,
+ * чтобы более старый снимок не перезаписал только что сохраненный файл
+ */
+@Mixin(PersistentStateManager.class)
+public class PersistentStateManagerMixin {
+
+    @Inject(method = "save", at = @At("HEAD"))
+    private void onSave(CallbackInfo ci) {
+        CourierOrderPersistence.beforeWorldSave();
+    }
+}
@@ -0,0 +1,29 @@
+package io.github.apace100.origins.mixin;
+
+import io.github.apace100.origins.quest.QuestObjectiveIndex;
+import io.github.apace100.origins.quest.QuestScheduler;
+import net.minecraft.entity.EquipmentSlot;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.ItemStack;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Миксин для сброса индекса целей квестов, когда билет кладется в руку или снимается с нее
+ * (смена рук, выдача в руку). Такие изменения записываются в инвентарь напрямую, минуя setStack
+ */
+@Mixin(PlayerEntity.class)
+public class QuestTicketEquipMixin {
+
+    @Inject(method = "equipStack", at = @At("HEAD"))
+    private void onEquipStack(EquipmentSlot slot, ItemStack stack, CallbackInfo ci) {
+        PlayerEntity player = (PlayerEntity) (Object) this;
+        if (!player.getWorld().isClient
+            && QuestObjectiveIndex.affectsTickets(player.getEquippedStack(slot), stack)) {
+            QuestObjectiveIndex.getInstance().invalidate(player);
+            QuestScheduler.getInstance().markTicketsChanged(player);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package io.github.apace100.origins.mixin;
+
+import io.github.apace100.origins.quest.QuestObjectiveIndex;
+import io.github.apace100.origins.quest.QuestScheduler;
+import io.github.apace100.origins.quest.QuestTicketItem;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NbtList;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Миксин для сброса индекса целей и сроков квестов при перемещении билетов в инвентаре игрока
+ * (подбор, выброс, перекладывание, смерть, загрузка).
+ * Индекс перестраивается лениво при следующем действии, поэтому сбрасывать его можно до изменения слота
+ */
+@Mixin(PlayerInventory.class)
+public class QuestTicketInventoryMixin {
+
+    @Shadow @Final public PlayerEntity player;
+
+    @Inject(method = "setStack", at = @At("HEAD"))
+    private void onSetStack(int slot, ItemStack stack, CallbackInfo ci) {
+        PlayerInventory inventory = (PlayerInventory) (Object) this;
+        if (slot >= 0 && slot < inventory.size()
+            && QuestObjectiveIndex.affectsTickets(inventory.getStack(slot), stack)) {
+            invalidateQuestIndex();
+        }
+    }
+
+    @Inject(method = "removeStack(II)Lnet/minecraft/item/ItemStack;", at = @At("HEAD"))
+    private void onRemoveStack(int slot, int amount, CallbackInfoReturnable<ItemStack> cir) {
+        onSlotRemoved(slot);
+    }
+
+    @Inject(method = "removeStack(I)Lnet/minecraft/item/ItemStack;", at = @At("HEAD"))
+    private void onRemoveStack(int slot, CallbackInfoReturnable<ItemStack> cir) {
+        onSlotRemoved(slot);
+    }
+
+    // Подбор и выдача предметов: стакаемые предметы дописываются в существующие слоты,
+    // нестакаемые кладутся в список слотов напрямую, минуя setStack
+    @Inject(method = "insertStack(ILnet/minecraft/item/ItemStack;)Z", at = @At("HEAD"))
+    private void onInsertStack(int slot, ItemStack stack, CallbackInfoReturnable<Boolean> cir) {
+        if (QuestTicketItem.isQuestTicket(stack)) {
+            invalidateQuestIndex();
+        }
+    }
+
+    @Inject(method = "removeOne", at = @At("HEAD"))
+    private void onRemoveOne(ItemStack stack, CallbackInfo ci) {
+        if (QuestTicketItem.isQuestTicket(stack)) {
+            invalidateQuestIndex();
+        }
+    }
+
+    @Inject(method = "dropAll", at = @At("HEAD"))
+    private void onDropAll(CallbackInfo ci) {
+        invalidateQuestIndex();
+    }
+
+    @Inject(method = "clear", at = @At("HEAD"))
+    private void onClear(CallbackInfo ci) {
+        invalidateQuestIndex();
+    }
+
+    @Inject(method = "readNbt", at = @At("TAIL"))
+    private void onReadNbt(NbtList nbtList, CallbackInfo ci) {
+        invalidateQuestIndex();
+    }
+
+    private void onSlotRemoved(int slot) {
+        PlayerInventory inventory = (PlayerInventory) (Object) this;
+        if (slot >= 0 && slot < inventory.size()
+            && QuestObjectiveIndex.affectsTickets(inventory.getStack(slot), ItemStack.EMPTY)) {
+            invalidateQuestIndex();
+        }
+    }
+
+    private void invalidateQuestIndex() {
+        if (player != null && !player.getWorld().isClient) {
+            QuestObjectiveIndex.getInstance().invalidate(player);
+            QuestScheduler.getInstance().markTicketsChanged(player);
+        }
+    }
+}
@@ -12,6 +12,8 @@ public class ModPackets {
     public static final Identifier USE_ACTIVE_POWERS = new Identifier(Origins.MODID, "use_active_powers");
     public static final Identifier ORIGIN_LIST = new Identifier(Origins.MODID, "origin_list");
     public static final Identifier LAYER_LIST = new Identifier(Origins.MODID, "layer_list");
+    public static final Identifier ORIGIN_SNAPSHOT_CACHED = Origins.identifier("origin_snapshot_cached");
+    public static final Identifier REQUEST_ORIGIN_SNAPSHOT = Origins.identifier("request_origin_snapshot");
     public static final Identifier POWER_LIST = new Identifier(Origins.MODID, "power_list");
     public static final Identifier CHOOSE_RANDOM_ORIGIN = new Identifier(Origins.MODID, "choose_random_origin");
     public static final Identifier CONFIRM_ORIGIN = Origins.identifier("confirm_origin");
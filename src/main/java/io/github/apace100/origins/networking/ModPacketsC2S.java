@@ -6,6 +6,8 @@ import io.github.apace100.origins.origin.Origin;
 import io.github.apace100.origins.origin.OriginLayer;
 import io.github.apace100.origins.origin.OriginLayers;
 import io.github.apace100.origins.origin.OriginRegistry;
+import io.github.apace100.origins.origin.OriginRegistrySnapshot;
+import io.github.apace100.origins.profession.PlayerAttributeReconciler;
 import io.github.apace100.origins.profession.ProfessionComponent;
 import io.github.apace100.origins.profession.ProfessionProgress;
 import io.github.apace100.origins.profession.ProfessionSkills;
@@ -13,9 +15,13 @@ import io.github.apace100.origins.registry.ModComponents;
 import io.github.apace100.origins.skill.PlayerSkillComponent;
 import io.github.apace100.origins.skill.SkillTreeHandler;
 import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
+import net.fabricmc.fabric.api.networking.v1.PacketSender;
+import net.fabricmc.fabric.api.networking.v1.ServerLoginConnectionEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerLoginNetworking;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.minecraft.network.PacketByteBuf;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerLoginNetworkHandler;
 import net.minecraft.server.network.ServerPlayNetworkHandler;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.text.Text;
@@ -23,6 +29,9 @@ import net.minecraft.util.Identifier;
 
 public class ModPacketsC2S {
     public static void register() {
+        ServerLoginConnectionEvents.QUERY_START.register(ModPacketsC2S::handshake);
+        ServerLoginNetworking.registerGlobalReceiver(ModPackets.HANDSHAKE, ModPacketsC2S::handleHandshakeReply);
+
         ServerPlayNetworking.registerGlobalReceiver(ModPackets.SYNC_SKILLS, 
             (MinecraftServer server, ServerPlayerEntity player, ServerPlayNetworkHandler handler, 
              PacketByteBuf buf, net.fabricmc.fabric.api.networking.v1.PacketSender responseSender) -> {
@@ -37,6 +46,7 @@ public class ModPacketsC2S {
                         if (skills.canIncreaseSkill(skillId)) {
                             skills.increaseSkill(skillId);
                             progress.spendSkillPoint();
+                            PlayerAttributeReconciler.markDirty(player);
                             // Синхронизируем изменения с клиентом
                             ProfessionComponent.KEY.sync(player);
                         }
@@ -60,13 +70,7 @@ public class ModPacketsC2S {
                     if (skillTree == null) return;
 
                     // Ищем навык в дереве
-                    SkillTreeHandler.Skill skill = null;
-                    for (SkillTreeHandler.Skill s : skillTree.getAllSkills()) {
-                        if (s.getId().equals(skillId)) {
-                            skill = s;
-                            break;
-                        }
-                    }
+                    SkillTreeHandler.Skill skill = skillTree.getSkill(skillId);
 
                     if (skill != null) {
                         PlayerSkillComponent skillComponent = PlayerSkillComponent.KEY.get(player);
@@ -79,6 +83,11 @@ public class ModPacketsC2S {
                 });
             });
 
+        // Клиент не нашел у себя снимок, на который сослался сервер при входе
+        ServerPlayNetworking.registerGlobalReceiver(ModPackets.REQUEST_ORIGIN_SNAPSHOT, (server, player, handler, buf, responseSender) -> {
+            server.execute(() -> OriginRegistrySnapshot.get().sendTo(player));
+        });
+
         // Обработчик выбора происхождения
         ServerPlayNetworking.registerGlobalReceiver(ModPackets.CHOOSE_ORIGIN, (server, player, handler, buf, responseSender) -> {
             String originId = buf.readString();
@@ -250,6 +259,26 @@ public class ModPacketsC2S {
         // Примечание: Обработчики ACTIVATE_GLOBAL_SKILL и ACTIVATE_ACTIVE_SKILL 
         // теперь находятся в SkillActivationHandler.register()
     }
+
+    private static void handshake(ServerLoginNetworkHandler serverLoginNetworkHandler, MinecraftServer minecraftServer, PacketSender packetSender, ServerLoginNetworking.LoginSynchronizer loginSynchronizer) {
+        packetSender.sendPacket(ModPackets.HANDSHAKE, PacketByteBufs.empty());
+    }
+
+    /**
+     * Ответ клиента: версия мода и хэш сохраненного снимка списков происхождений (если есть)
+     */
+    private static void handleHandshakeReply(MinecraftServer minecraftServer, ServerLoginNetworkHandler serverLoginNetworkHandler, boolean understood, PacketByteBuf packetByteBuf, ServerLoginNetworking.LoginSynchronizer loginSynchronizer, PacketSender packetSender) {
+        if(!understood) {
+            return;
+        }
+        int semverLength = packetByteBuf.readInt();
+        for(int i = 0; i < semverLength; i++) {
+            packetByteBuf.readInt();
+        }
+        if(packetByteBuf.readableBytes() >= Long.BYTES) {
+            OriginRegistrySnapshot.rememberClientHash(serverLoginNetworkHandler.connection, packetByteBuf.readLong());
+        }
+    }
     
 
 }
\ No newline at end of file
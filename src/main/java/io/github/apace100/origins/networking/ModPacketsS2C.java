@@ -11,9 +11,11 @@ import io.github.apace100.origins.origin.Origin;
 import io.github.apace100.origins.origin.OriginLayer;
 import io.github.apace100.origins.origin.OriginLayers;
 import io.github.apace100.origins.origin.OriginRegistry;
+import io.github.apace100.origins.origin.OriginRegistrySnapshot;
 import io.github.apace100.origins.registry.ModComponents;
 import io.github.apace100.origins.screen.ChooseOriginScreen;
 import io.github.apace100.origins.screen.WaitForNextLayerScreen;
+import io.netty.buffer.Unpooled;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GenericFutureListener;
 import net.fabricmc.api.EnvType;
@@ -35,6 +37,12 @@ import java.util.function.Consumer;
 
 public class ModPacketsS2C {
 
+    // Последние полученные списки происхождений и слоев вместе с хэшем снимка сервера
+    private static long cachedOriginListHash = OriginRegistrySnapshot.NO_SNAPSHOT;
+    private static byte[] cachedOriginList;
+    private static long cachedLayerListHash = OriginRegistrySnapshot.NO_SNAPSHOT;
+    private static byte[] cachedLayerList;
+
     @Environment(EnvType.CLIENT)
     public static void register() {
         ClientLoginNetworking.registerGlobalReceiver(ModPackets.HANDSHAKE, ModPacketsS2C::handleHandshake);
@@ -42,6 +50,7 @@ public class ModPacketsS2C {
             ClientPlayNetworking.registerReceiver(ModPackets.OPEN_ORIGIN_SCREEN, ModPacketsS2C::openOriginScreen);
             ClientPlayNetworking.registerReceiver(ModPackets.ORIGIN_LIST, ModPacketsS2C::receiveOriginList);
             ClientPlayNetworking.registerReceiver(ModPackets.LAYER_LIST, ModPacketsS2C::receiveLayerList);
+            ClientPlayNetworking.registerReceiver(ModPackets.ORIGIN_SNAPSHOT_CACHED, ModPacketsS2C::receiveCachedSnapshot);
             ClientPlayNetworking.registerReceiver(ModPackets.CONFIRM_ORIGIN, ModPacketsS2C::receiveOriginConfirmation);
             ClientPlayNetworking.registerReceiver(ModPackets.BADGE_LIST, ModPacketsS2C::receiveBadgeList);
         }));
@@ -67,6 +76,7 @@ public class ModPacketsS2C {
         for(int i = 0; i < Origins.SEMVER.length; i++) {
             buf.writeInt(Origins.SEMVER[i]);
         }
+        buf.writeLong(cachedOriginListHash == cachedLayerListHash ? cachedOriginListHash : OriginRegistrySnapshot.NO_SNAPSHOT);
         OriginsClient.isServerRunningOrigins = true;
         return CompletableFuture.completedFuture(buf);
     }
@@ -89,6 +99,15 @@ public class ModPacketsS2C {
 
     @Environment(EnvType.CLIENT)
     private static void receiveOriginList(MinecraftClient minecraftClient, ClientPlayNetworkHandler clientPlayNetworkHandler, PacketByteBuf packetByteBuf, PacketSender packetSender) {
+        long hash = packetByteBuf.readLong();
+        byte[] data = readRemaining(packetByteBuf);
+        readOriginList(minecraftClient, new PacketByteBuf(Unpooled.wrappedBuffer(data)));
+        cachedOriginListHash = hash;
+        cachedOriginList = data;
+    }
+
+    @Environment(EnvType.CLIENT)
+    private static void readOriginList(MinecraftClient minecraftClient, PacketByteBuf packetByteBuf) {
         try {
             Identifier[] ids = new Identifier[packetByteBuf.readInt()];
             SerializableData.Instance[] origins = new SerializableData.Instance[ids.length];
@@ -110,6 +129,38 @@ public class ModPacketsS2C {
 
     @Environment(EnvType.CLIENT)
     private static void receiveLayerList(MinecraftClient minecraftClient, ClientPlayNetworkHandler clientPlayNetworkHandler, PacketByteBuf packetByteBuf, PacketSender packetSender) {
+        long hash = packetByteBuf.readLong();
+        byte[] data = readRemaining(packetByteBuf);
+        readLayerList(minecraftClient, new PacketByteBuf(Unpooled.wrappedBuffer(data)));
+        cachedLayerListHash = hash;
+        cachedLayerList = data;
+    }
+
+    /**
+     * Сервер сообщил, что у клиента уже есть его снимок списков: применяем сохраненные данные
+     */
+    @Environment(EnvType.CLIENT)
+    private static void receiveCachedSnapshot(MinecraftClient minecraftClient, ClientPlayNetworkHandler clientPlayNetworkHandler, PacketByteBuf packetByteBuf, PacketSender packetSender) {
+        long hash = packetByteBuf.readLong();
+        if(hash != cachedOriginListHash || hash != cachedLayerListHash) {
+            // Без списков экран выбора происхождения и компоненты не работают, запрашиваем их целиком
+            Origins.LOGGER.warn("Server referenced an origin snapshot that is not cached on the client: " + Long.toHexString(hash) + ", requesting full lists");
+            packetSender.sendPacket(ModPackets.REQUEST_ORIGIN_SNAPSHOT, PacketByteBufs.empty());
+            return;
+        }
+        readOriginList(minecraftClient, new PacketByteBuf(Unpooled.wrappedBuffer(cachedOriginList)));
+        readLayerList(minecraftClient, new PacketByteBuf(Unpooled.wrappedBuffer(cachedLayerList)));
+    }
+
+    @Environment(EnvType.CLIENT)
+    private static byte[] readRemaining(PacketByteBuf packetByteBuf) {
+        byte[] data = new byte[packetByteBuf.readableBytes()];
+        packetByteBuf.readBytes(data);
+        return data;
+    }
+
+    @Environment(EnvType.CLIENT)
+    private static void readLayerList(MinecraftClient minecraftClient, PacketByteBuf packetByteBuf) {
         try {
             int layerCount = packetByteBuf.readInt();
             OriginLayer[] layers = new OriginLayer[layerCount];
@@ -2,6 +2,8 @@ package io.github.apace100.origins.networking;
 
 import io.github.apace100.origins.Origins;
 import io.github.apace100.origins.client.SkillKeybinds;
+import io.github.apace100.origins.metrics.MetricType;
+import io.github.apace100.origins.metrics.OriginsMetrics;
 import io.github.apace100.origins.skill.*;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.minecraft.entity.effect.StatusEffectInstance;
@@ -26,9 +28,12 @@ public class SkillActivationHandler {
         // Обработчик активации глобального навыка происхождения (G)
         ServerPlayNetworking.registerGlobalReceiver(ModPackets.ACTIVATE_GLOBAL_SKILL, (server, player, handler, buf, responseSender) -> {
             server.execute(() -> {
+                long start = OriginsMetrics.start();
                 try {
                     activateGlobalSkill(player);
+                    OriginsMetrics.record(MetricType.SKILL_ACTIVATION, start, () -> player.getName().getString() + " " + "global");
                 } catch (Exception e) {
+                    OriginsMetrics.recordError(MetricType.SKILL_ACTIVATION);
                     Origins.LOGGER.error("Ошибка при активации глобального навыка: " + e.getMessage(), e);
                 }
             });
@@ -37,9 +42,12 @@ public class SkillActivationHandler {
         // Обработчик активации активного навыка
         ServerPlayNetworking.registerGlobalReceiver(ModPackets.ACTIVATE_ACTIVE_SKILL, (server, player, handler, buf, responseSender) -> {
             server.execute(() -> {
+                long start = OriginsMetrics.start();
                 try {
                     activateActiveSkill(player);
+                    OriginsMetrics.record(MetricType.SKILL_ACTIVATION, start, () -> player.getName().getString() + " " + "active");
                 } catch (Exception e) {
+                    OriginsMetrics.recordError(MetricType.SKILL_ACTIVATION);
                     Origins.LOGGER.error("Ошибка при активации активного навыка: " + e.getMessage(), e);
                 }
             });
@@ -49,9 +57,12 @@ public class SkillActivationHandler {
         ServerPlayNetworking.registerGlobalReceiver(new Identifier("origins", "set_active_skill"), (server, player, handler, buf, responseSender) -> {
             String skillId = buf.readString();
             server.execute(() -> {
+                long start = OriginsMetrics.start();
                 try {
                     setActiveSkillFromGUI(player, skillId);
+                    OriginsMetrics.record(MetricType.SKILL_ACTIVATION, start, () -> player.getName().getString() + " " + "set:" + skillId);
                 } catch (Exception e) {
+                    OriginsMetrics.recordError(MetricType.SKILL_ACTIVATION);
                     Origins.LOGGER.error("Ошибка при установке активного навыка: " + e.getMessage(), e);
                 }
             });
@@ -218,7 +229,7 @@ public class SkillActivationHandler {
             false
         );
         
-        Origins.LOGGER.info("Игрок {} установил активный навык: {}", 
+        Origins.LOGGER.debug("Игрок {} установил активный навык: {}", 
             player.getName().getString(), skillId);
     }
     
@@ -458,16 +469,16 @@ public class SkillActivationHandler {
             // Получаем стоимость энергии для навыка
             int energyCost = getSkillEnergyCost(skill.id);
             
-            Origins.LOGGER.info("Проверка активации навыка {} для игрока {}", skill.id, player.getName().getString());
-            Origins.LOGGER.info("Стоимость энергии: {}", energyCost);
-            Origins.LOGGER.info("Текущая энергия игрока: {}", skillComponent.getCurrentEnergy());
-            Origins.LOGGER.info("Достаточно энергии: {}", skillComponent.hasEnoughEnergy(energyCost));
-            Origins.LOGGER.info("Скилл в кулдауне: {}", skillComponent.isSkillOnCooldown(skill.id));
+            Origins.LOGGER.debug("Проверка активации навыка {} для игрока {}", skill.id, player.getName().getString());
+            Origins.LOGGER.debug("Стоимость энергии: {}", energyCost);
+            Origins.LOGGER.debug("Текущая энергия игрока: {}", skillComponent.getCurrentEnergy());
+            Origins.LOGGER.debug("Достаточно энергии: {}", skillComponent.hasEnoughEnergy(energyCost));
+            Origins.LOGGER.debug("Скилл в кулдауне: {}", skillComponent.isSkillOnCooldown(skill.id));
             
             // Проверяем, хватает ли энергии
             if (!skillComponent.canUseSkill(skill.id, energyCost)) {
                 if (!skillComponent.hasEnoughEnergy(energyCost)) {
-                    Origins.LOGGER.info("Недостаточно энергии для активации навыка {}", skill.id);
+                    Origins.LOGGER.debug("Недостаточно энергии для активации навыка {}", skill.id);
                     player.sendMessage(
                         Text.literal("Недостаточно энергии! Требуется: " + energyCost + ", у вас: " + skillComponent.getCurrentEnergy())
                             .formatted(Formatting.RED), 
@@ -475,7 +486,7 @@ public class SkillActivationHandler {
                     );
                 } else if (skillComponent.isSkillOnCooldown(skill.id)) {
                     long cooldownRemaining = skillComponent.getSkillCooldownRemaining(skill.id);
-                    Origins.LOGGER.info("Скилл {} находится в кулдауне, осталось {} тиков", skill.id, cooldownRemaining);
+                    Origins.LOGGER.debug("Скилл {} находится в кулдауне, осталось {} тиков", skill.id, cooldownRemaining);
                     player.sendMessage(
                         Text.literal("Навык перезарядится через " + (cooldownRemaining / 20) + " сек")
                             .formatted(Formatting.GRAY), 
@@ -599,20 +610,20 @@ public class SkillActivationHandler {
                     handleBrewerMasterBrewer(player, skill.level);
                     break;
                 case "bottle_throw":
-                    Origins.LOGGER.info("Вызов BrewerSkillHandler.handleBottleThrow для игрока {}", player.getName().getString());
+                    Origins.LOGGER.debug("Вызов BrewerSkillHandler.handleBottleThrow для игрока {}", player.getName().getString());
                     // Используем наш обработчик, который восполняет жажду другим игрокам
                     BrewerSkillHandler.handleBottleThrow(player, skill.level);
                     break;
                 case "berserker_drink":
-                    Origins.LOGGER.info("Вызов handleBrewerBerserkerDrink для игрока {}", player.getName().getString());
+                    Origins.LOGGER.debug("Вызов handleBrewerBerserkerDrink для игрока {}", player.getName().getString());
                     handleBrewerBerserkerDrink(player, skill.level);
                     break;
                 case "healing_ale":
-                    Origins.LOGGER.info("Вызов handleBrewerHealingAle для игрока {}", player.getName().getString());
+                    Origins.LOGGER.debug("Вызов handleBrewerHealingAle для игрока {}", player.getName().getString());
                     handleBrewerHealingAle(player, skill.level);
                     break;
                 case "party_time":
-                    Origins.LOGGER.info("Вызов handleBrewerPartyTime для игрока {}", player.getName().getString());
+                    Origins.LOGGER.debug("Вызов handleBrewerPartyTime для игрока {}", player.getName().getString());
                     handleBrewerPartyTime(player, skill.level);
                     break;
                     
@@ -621,7 +632,7 @@ public class SkillActivationHandler {
                     handleCookSmokeScreen(player, skill.level);
                     break;
                 case "banquet":
-                    Origins.LOGGER.info("Вызов handleCookBanquet для игрока {}", player.getName().getString());
+                    Origins.LOGGER.debug("Вызов handleCookBanquet для игрока {}", player.getName().getString());
                     handleCookBanquet(player, skill.level);
                     break;
                     
@@ -887,8 +898,8 @@ public class SkillActivationHandler {
     // который восполняет жажду другим игрокам
     
     private static void handleBrewerBerserkerDrink(ServerPlayerEntity player, int level) {
-        Origins.LOGGER.info("Начало обработки навыка 'Напиток берсерка' для игрока {}", player.getName().getString());
-        Origins.LOGGER.info("Уровень навыка: {}", level);
+        Origins.LOGGER.debug("Начало обработки навыка 'Напиток берсерка' для игрока {}", player.getName().getString());
+        Origins.LOGGER.debug("Уровень навыка: {}", level);
         
         player.sendMessage(
             Text.literal("Напиток берсерка! Временная неуязвимость и ярость!")
@@ -921,12 +932,12 @@ public class SkillActivationHandler {
             false
         ));
         
-        Origins.LOGGER.info("Завершение обработки навыка 'Напиток берсерка'");
+        Origins.LOGGER.debug("Завершение обработки навыка 'Напиток берсерка'");
     }
     
     private static void handleBrewerHealingAle(ServerPlayerEntity player, int level) {
-        Origins.LOGGER.info("Начало обработки навыка 'Лечебный эль' для игрока {}", player.getName().getString());
-        Origins.LOGGER.info("Уровень навыка: {}", level);
+        Origins.LOGGER.debug("Начало обработки навыка 'Лечебный эль' для игрока {}", player.getName().getString());
+        Origins.LOGGER.debug("Уровень навыка: {}", level);
         
         player.sendMessage(
             Text.literal("Лечебный эль! Восстановление здоровья союзников")
@@ -936,7 +947,7 @@ public class SkillActivationHandler {
         
         // Лечим игрока
         player.heal(2.0f * level);
-        Origins.LOGGER.info("Игрок {} вылечен на {} HP", player.getName().getString(), 2.0f * level);
+        Origins.LOGGER.debug("Игрок {} вылечен на {} HP", player.getName().getString(), 2.0f * level);
         
         // Даем регенерацию
         player.addStatusEffect(new net.minecraft.entity.effect.StatusEffectInstance(
@@ -946,7 +957,7 @@ public class SkillActivationHandler {
             false, 
             false
         ));
-        Origins.LOGGER.info("Игроку {} добавлен эффект регенерации", player.getName().getString());
+        Origins.LOGGER.debug("Игроку {} добавлен эффект регенерации", player.getName().getString());
         
         // Лечим ближайших союзников (включая самого игрока)
         List<ServerPlayerEntity> playersInRange = player.getWorld().getEntitiesByClass(
@@ -955,10 +966,10 @@ public class SkillActivationHandler {
             p -> p.isAlive()
         );
         
-        Origins.LOGGER.info("Найдено {} игроков в радиусе для лечебного эля", playersInRange.size());
+        Origins.LOGGER.debug("Найдено {} игроков в радиусе для лечебного эля", playersInRange.size());
         
         for (ServerPlayerEntity ally : playersInRange) {
-            Origins.LOGGER.info("Лечение союзника: {}", ally.getName().getString());
+            Origins.LOGGER.debug("Лечение союзника: {}", ally.getName().getString());
             ally.heal(1.0f * level);
             ally.sendMessage(
                 Text.literal("Вы получили лечение от лечебного эля!")
@@ -967,12 +978,12 @@ public class SkillActivationHandler {
             );
         }
         
-        Origins.LOGGER.info("Завершение обработки навыка 'Лечебный эль'");
+        Origins.LOGGER.debug("Завершение обработки навыка 'Лечебный эль'");
     }
     
     private static void handleBrewerPartyTime(ServerPlayerEntity player, int level) {
-        Origins.LOGGER.info("Начало обработки навыка 'Время вечеринки' для игрока {}", player.getName().getString());
-        Origins.LOGGER.info("Уровень навыка: {}", level);
+        Origins.LOGGER.debug("Начало обработки навыка 'Время вечеринки' для игрока {}", player.getName().getString());
+        Origins.LOGGER.debug("Уровень навыка: {}", level);
         
         player.sendMessage(
             Text.literal("Время вечеринки! Массовые баффы для всей команды!")
@@ -987,10 +998,10 @@ public class SkillActivationHandler {
             p -> p.isAlive()
         );
         
-        Origins.LOGGER.info("Найдено {} игроков в радиусе", playersInRange.size());
+        Origins.LOGGER.debug("Найдено {} игроков в радиусе", playersInRange.size());
         
         for (ServerPlayerEntity ally : playersInRange) {
-            Origins.LOGGER.info("Применение эффектов к союзнику: {}", ally.getName().getString());
+            Origins.LOGGER.debug("Применение эффектов к союзнику: {}", ally.getName().getString());
             
             // Даем различные положительные эффекты
             ally.addStatusEffect(new net.minecraft.entity.effect.StatusEffectInstance(
@@ -1009,7 +1020,7 @@ public class SkillActivationHandler {
             );
         }
         
-        Origins.LOGGER.info("Завершение обработки навыка 'Время вечеринки'");
+        Origins.LOGGER.debug("Завершение обработки навыка 'Время вечеринки'");
     }
     
     // Методы активации навыков повара
@@ -1049,8 +1060,8 @@ public class SkillActivationHandler {
     }
     
     private static void handleCookBanquet(ServerPlayerEntity player, int level) {
-        Origins.LOGGER.info("Начало обработки навыка 'Банкет' для игрока {}", player.getName().getString());
-        Origins.LOGGER.info("Уровень навыка: {}", level);
+        Origins.LOGGER.debug("Начало обработки навыка 'Банкет' для игрока {}", player.getName().getString());
+        Origins.LOGGER.debug("Уровень навыка: {}", level);
         
         player.sendMessage(
             Text.literal("Банкет! Все союзники получают регенерацию и сопротивление")
@@ -1065,10 +1076,10 @@ public class SkillActivationHandler {
             p -> p.isAlive()
         );
         
-        Origins.LOGGER.info("Найдено {} игроков в радиусе для банкета", playersInRange.size());
+        Origins.LOGGER.debug("Найдено {} игроков в радиусе для банкета", playersInRange.size());
         
         for (ServerPlayerEntity ally : playersInRange) {
-            Origins.LOGGER.info("Применение эффектов банкета к союзнику: {}", ally.getName().getString());
+            Origins.LOGGER.debug("Применение эффектов банкета к союзнику: {}", ally.getName().getString());
             
             ally.addStatusEffect(new net.minecraft.entity.effect.StatusEffectInstance(
                 net.minecraft.entity.effect.StatusEffects.REGENERATION, 
@@ -1105,7 +1116,7 @@ public class SkillActivationHandler {
             );
         }
         
-        Origins.LOGGER.info("Завершение обработки навыка 'Банкет'");
+        Origins.LOGGER.debug("Завершение обработки навыка 'Банкет'");
     }
 
 }
\ No newline at end of file
@@ -69,6 +69,7 @@ public class OriginLayers extends MultiJsonDataLoader implements IdentifiableRes
             }
             OriginLayers.layers.put(layerId, layer);
         }
+        OriginRegistrySnapshot.invalidate();
                 OriginDataLoadedCallback.EVENT.invoker().onDataLoaded(false);
     }
 
@@ -26,6 +26,7 @@ public class OriginManager extends MultiJsonDataLoader implements IdentifiableRe
 	@Override
 	protected void apply(Map<Identifier, List<JsonElement>> loader, ResourceManager manager, Profiler profiler) {
 		OriginRegistry.reset();
+		OriginRegistrySnapshot.invalidate();
 		AtomicBoolean hasConfigChanged = new AtomicBoolean(false);
 		loader.forEach((id, jel) -> {
 			jel.forEach(je -> {
@@ -0,0 +1,148 @@
+package io.github.apace100.origins.origin;
+
+import io.github.apace100.origins.networking.ModPackets;
+import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.network.ClientConnection;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Закодированные данные пакетов ORIGIN_LIST и LAYER_LIST. Снимок собирается один раз после
+ * перезагрузки датапаков и переиспользуется при каждом входе игрока.
+ * Хэш содержимого передается вместе со списками; клиент сообщает хэш своего снимка в ответе
+ * на HANDSHAKE, и если он совпадает, списки не отправляются повторно. Если клиент не нашел снимок
+ * с этим хэшем, он запрашивает полные списки пакетом REQUEST_ORIGIN_SNAPSHOT.
+ */
+public final class OriginRegistrySnapshot {
+
+    // Хэш 0 означает, что у клиента нет сохраненного снимка
+    public static final long NO_SNAPSHOT = 0L;
+
+    private static volatile OriginRegistrySnapshot current;
+
+    // Хэш снимка, сообщенный клиентом при входе (до создания игрока)
+    private static final Map<ClientConnection, Long> clientHashes = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final long hash;
+    private final byte[] originList;
+    private final byte[] layerList;
+
+    private OriginRegistrySnapshot(long hash, byte[] originList, byte[] layerList) {
+        this.hash = hash;
+        this.originList = originList;
+        this.layerList = layerList;
+    }
+
+    /**
+     * Возвращает текущий снимок, собирая его при первом обращении после перезагрузки
+     */
+    public static OriginRegistrySnapshot get() {
+        OriginRegistrySnapshot snapshot = current;
+        if(snapshot == null) {
+            snapshot = build();
+            current = snapshot;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Сбрасывает снимок после перезагрузки происхождений или слоев
+     */
+    public static void invalidate() {
+        current = null;
+    }
+
+    public static void rememberClientHash(ClientConnection connection, long hash) {
+        if(hash != NO_SNAPSHOT) {
+            clientHashes.put(connection, hash);
+        }
+    }
+
+    /**
+     * Проверяет, сообщил ли клиент при входе хэш, совпадающий с этим снимком.
+     * Сохраненный хэш используется один раз
+     */
+    public boolean isCachedBy(ClientConnection connection) {
+        Long clientHash = clientHashes.remove(connection);
+        return clientHash != null && clientHash == hash;
+    }
+
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Отправляет игроку полные списки происхождений и слоев
+     */
+    public void sendTo(ServerPlayerEntity player) {
+        ServerPlayNetworking.send(player, ModPackets.ORIGIN_LIST, createOriginListPacket());
+        ServerPlayNetworking.send(player, ModPackets.LAYER_LIST, createLayerListPacket());
+    }
+
+    public PacketByteBuf createOriginListPacket() {
+        return createPacket(originList);
+    }
+
+    public PacketByteBuf createLayerListPacket() {
+        return createPacket(layerList);
+    }
+
+    public PacketByteBuf createCachedPacket() {
+        PacketByteBuf buf = PacketByteBufs.create();
+        buf.writeLong(hash);
+        return buf;
+    }
+
+    private PacketByteBuf createPacket(byte[] data) {
+        PacketByteBuf buf = PacketByteBufs.create();
+        buf.writeLong(hash);
+        buf.writeBytes(data);
+        return buf;
+    }
+
+    private static OriginRegistrySnapshot build() {
+        PacketByteBuf originListData = PacketByteBufs.create();
+        originListData.writeInt(OriginRegistry.size() - 1);
+        OriginRegistry.entries().forEach((entry) -> {
+            if(entry.getValue() != Origin.EMPTY) {
+                originListData.writeIdentifier(entry.getKey());
+                entry.getValue().write(originListData);
+            }
+        });
+
+        PacketByteBuf originLayerData = PacketByteBufs.create();
+        originLayerData.writeInt(OriginLayers.size());
+        OriginLayers.getLayers().forEach((layer) -> layer.write(originLayerData));
+
+        byte[] originList = toByteArray(originListData);
+        byte[] layerList = toByteArray(originLayerData);
+        return new OriginRegistrySnapshot(computeHash(originList, layerList), originList, layerList);
+    }
+
+    private static byte[] toByteArray(PacketByteBuf buf) {
+        byte[] bytes = new byte[buf.readableBytes()];
+        buf.readBytes(bytes);
+        buf.release();
+        return bytes;
+    }
+
+    private static long computeHash(byte[] originList, byte[] layerList) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(originList);
+            digest.update(layerList);
+            long hash = ByteBuffer.wrap(digest.digest()).getLong();
+            return hash == NO_SNAPSHOT ? 1L : hash;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -4,6 +4,10 @@ import io.github.apace100.apoli.power.Power;
 import io.github.apace100.apoli.power.PowerType;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.item.*;
+import net.minecraft.nbt.AbstractNbtNumber;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtString;
 import net.minecraft.util.math.random.Random;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
@@ -13,6 +17,12 @@ import net.minecraft.util.Formatting;
  */
 public class BlacksmithQualityCraftingPower extends Power {
     
+    // Качество хранится в NBT одним байтом - порядковым номером ItemQuality
+    public static final String QUALITY_KEY = "ItemQuality";
+    
+    /**
+     * Порядок значений задает байт в NBT предметов, поэтому его нельзя менять
+     */
     public enum ItemQuality {
         POOR(0.10f, "Плохое", Formatting.RED, -0.25f, -0.15f),
         NORMAL(0.64f, "Обычное", Formatting.WHITE, 0.0f, 0.0f),
@@ -25,6 +35,19 @@ public class BlacksmithQualityCraftingPower extends Power {
         private final float durabilityModifier;
         private final float primaryStatModifier;
         
+        // Модификаторы для каждой категории предметов, вычисляются один раз
+        private final QualityModifiers[] modifiersByCategory = new QualityModifiers[ItemCategory.VALUES.length];
+        
+        private static final ItemQuality[] VALUES = values();
+        
+        static {
+            for (ItemQuality quality : VALUES) {
+                for (ItemCategory category : ItemCategory.VALUES) {
+                    quality.modifiersByCategory[category.ordinal()] = quality.computeModifiers(category);
+                }
+            }
+        }
+        
         ItemQuality(float chance, String displayName, Formatting color, 
                    float durabilityModifier, float primaryStatModifier) {
             this.chance = chance;
@@ -34,6 +57,25 @@ public class BlacksmithQualityCraftingPower extends Power {
             this.primaryStatModifier = primaryStatModifier;
         }
         
+        /**
+         * Качество по байту из NBT; неизвестные значения считаются обычным качеством
+         */
+        public static ItemQuality byOrdinal(int ordinal) {
+            return ordinal >= 0 && ordinal < VALUES.length ? VALUES[ordinal] : NORMAL;
+        }
+        
+        /**
+         * Качество по имени из старого строкового формата NBT
+         */
+        public static ItemQuality byName(String name) {
+            for (ItemQuality quality : VALUES) {
+                if (quality.name().equals(name)) {
+                    return quality;
+                }
+            }
+            return NORMAL;
+        }
+        
         public float getChance() { return chance; }
         public String getDisplayName() { return displayName; }
         public Formatting getColor() { return color; }
@@ -44,23 +86,28 @@ public class BlacksmithQualityCraftingPower extends Power {
          * Получить специфичные модификаторы для типа предмета
          */
         public QualityModifiers getModifiersForItem(ItemStack stack) {
-            Item item = stack.getItem();
-            
-            if (item instanceof SwordItem) {
-                return getSwordModifiers();
-            } else if (item instanceof PickaxeItem) {
-                return getPickaxeModifiers();
-            } else if (item instanceof AxeItem) {
-                return getAxeModifiers();
-            } else if (item instanceof ShovelItem) {
-                return getShovelModifiers();
-            } else if (item instanceof HoeItem) {
-                return getHoeModifiers();
-            } else if (item instanceof ArmorItem armor) {
-                return getArmorModifiers(armor.getSlotType());
-            }
-            
-            return new QualityModifiers(durabilityModifier, primaryStatModifier);
+            return modifiersByCategory[ItemCategory.of(stack.getItem()).ordinal()];
+        }
+        
+        private QualityModifiers computeModifiers(ItemCategory category) {
+            QualityModifiers base = switch (category) {
+                case SWORD -> getSwordModifiers();
+                case PICKAXE -> getPickaxeModifiers();
+                case AXE -> getAxeModifiers();
+                case SHOVEL -> getShovelModifiers();
+                case HOE -> getHoeModifiers();
+                case ARMOR -> getArmorModifiers();
+                case MINING_TOOL, OTHER -> new QualityModifiers(durabilityModifier, primaryStatModifier);
+            };
+            float primary = base.primaryStatModifier();
+            return new QualityModifiers(
+                base.durabilityModifier(),
+                primary,
+                category.affectsDamage ? primary : 0.0f,
+                category.affectsMiningSpeed ? primary : 0.0f,
+                category.affectsArmor ? primary : 0.0f,
+                color
+            );
         }
         
         private QualityModifiers getSwordModifiers() {
@@ -108,7 +155,7 @@ public class BlacksmithQualityCraftingPower extends Power {
             };
         }
         
-        private QualityModifiers getArmorModifiers(net.minecraft.entity.EquipmentSlot slot) {
+        private QualityModifiers getArmorModifiers() {
             return switch (this) {
                 case POOR -> new QualityModifiers(-0.20f, -0.10f);
                 case NORMAL -> new QualityModifiers(0.0f, 0.0f);
@@ -119,15 +166,60 @@ public class BlacksmithQualityCraftingPower extends Power {
     }
     
     /**
-     * Класс для хранения модификаторов качества
+     * Категория предмета, определяющая набор модификаторов качества
+     */
+    public enum ItemCategory {
+        SWORD(true, false, false),
+        PICKAXE(false, true, false),
+        AXE(true, true, false),
+        SHOVEL(false, true, false),
+        HOE(false, true, false),
+        ARMOR(false, false, true),
+        MINING_TOOL(false, true, false),
+        OTHER(false, false, false);
+        
+        static final ItemCategory[] VALUES = values();
+        
+        private final boolean affectsDamage;
+        private final boolean affectsMiningSpeed;
+        private final boolean affectsArmor;
+        
+        ItemCategory(boolean affectsDamage, boolean affectsMiningSpeed, boolean affectsArmor) {
+            this.affectsDamage = affectsDamage;
+            this.affectsMiningSpeed = affectsMiningSpeed;
+            this.affectsArmor = affectsArmor;
+        }
+        
+        public static ItemCategory of(Item item) {
+            if (item instanceof SwordItem) {
+                return SWORD;
+            } else if (item instanceof PickaxeItem) {
+                return PICKAXE;
+            } else if (item instanceof AxeItem) {
+                return AXE;
+            } else if (item instanceof ShovelItem) {
+                return SHOVEL;
+            } else if (item instanceof HoeItem) {
+                return HOE;
+            } else if (item instanceof ArmorItem) {
+                return ARMOR;
+            } else if (item instanceof MiningToolItem) {
+                return MINING_TOOL;
+            }
+            return OTHER;
+        }
+    }
+    
+    /**
+     * Модификаторы качества для категории предмета. Основная характеристика уже разнесена
+     * по урону, скорости добычи и защите, чтобы миксины не проверяли тип предмета
      */
-    public static class QualityModifiers {
-        public final float durabilityModifier;
-        public final float primaryStatModifier;
+    public record QualityModifiers(float durabilityModifier, float primaryStatModifier,
+                                   float damageModifier, float miningSpeedModifier, float armorModifier,
+                                   Formatting color) {
         
         public QualityModifiers(float durabilityModifier, float primaryStatModifier) {
-            this.durabilityModifier = durabilityModifier;
-            this.primaryStatModifier = primaryStatModifier;
+            this(durabilityModifier, primaryStatModifier, 0.0f, 0.0f, 0.0f, Formatting.WHITE);
         }
     }
     
@@ -172,12 +264,12 @@ public class BlacksmithQualityCraftingPower extends Power {
         QualityModifiers modifiers = quality.getModifiersForItem(result);
         
         // Применяем модификатор прочности
-        if (modifiers.durabilityModifier != 0.0f && result.getItem().isDamageable()) {
+        if (modifiers.durabilityModifier() != 0.0f && result.getItem().isDamageable()) {
             int baseDurability = result.getMaxDamage();
-            int newDurability = Math.max(1, (int)(baseDurability * (1.0f + modifiers.durabilityModifier)));
+            int newDurability = Math.max(1, (int)(baseDurability * (1.0f + modifiers.durabilityModifier())));
             
             // Сохраняем качество в NBT
-            result.getOrCreateNbt().putString("ItemQuality", quality.name());
+            setItemQuality(result, quality);
             result.getOrCreateNbt().putInt("OriginalMaxDamage", baseDurability);
             result.getOrCreateNbt().putInt("ModifiedMaxDamage", newDurability);
         }
@@ -247,20 +339,45 @@ public class BlacksmithQualityCraftingPower extends Power {
      * Получает качество предмета из NBT
      */
     public static ItemQuality getItemQuality(ItemStack stack) {
-        if (stack.isEmpty() || !stack.hasNbt()) {
+        NbtCompound nbt = stack.getNbt();
+        if (nbt == null || stack.isEmpty()) {
             return ItemQuality.NORMAL;
         }
         
-        String qualityName = stack.getNbt().getString("ItemQuality");
-        if (qualityName.isEmpty()) {
-            return ItemQuality.NORMAL;
+        NbtElement element = nbt.get(QUALITY_KEY);
+        if (element instanceof AbstractNbtNumber number) {
+            return ItemQuality.byOrdinal(number.byteValue());
         }
-        
-        try {
-            return ItemQuality.valueOf(qualityName);
-        } catch (IllegalArgumentException e) {
-            return ItemQuality.NORMAL;
+        if (element instanceof NbtString legacy) {
+            return ItemQuality.byName(legacy.asString());
+        }
+        return ItemQuality.NORMAL;
+    }
+    
+    /**
+     * Модификаторы качества предмета (нулевые для обычного качества)
+     */
+    public static QualityModifiers getModifiers(ItemStack stack) {
+        return getItemQuality(stack).getModifiersForItem(stack);
+    }
+    
+    /**
+     * Записывает качество предмета в NBT
+     */
+    public static void setItemQuality(ItemStack stack, ItemQuality quality) {
+        stack.getOrCreateNbt().putByte(QUALITY_KEY, (byte) quality.ordinal());
+    }
+    
+    /**
+     * Переводит качество из старого строкового формата в байт.
+     * Возвращает true, если NBT был изменен
+     */
+    public static boolean migrateLegacyQuality(NbtCompound nbt) {
+        if (!(nbt.get(QUALITY_KEY) instanceof NbtString legacy)) {
+            return false;
         }
+        nbt.putByte(QUALITY_KEY, (byte) ItemQuality.byName(legacy.asString()).ordinal());
+        return true;
     }
     
     /**
@@ -0,0 +1,210 @@
+package io.github.apace100.origins.profession;
+
+import io.github.apace100.origins.integration.OriginChangedCallback;
+import io.github.apace100.origins.power.BlacksmithQualityCraftingPower;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.entity.EquipmentSlot;
+import net.minecraft.entity.attribute.EntityAttribute;
+import net.minecraft.entity.attribute.EntityAttributeInstance;
+import net.minecraft.entity.attribute.EntityAttributeModifier;
+import net.minecraft.entity.attribute.EntityAttributes;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.ArmorItem;
+import net.minecraft.item.ItemStack;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Согласует модификаторы атрибутов игрока: бонусы навыков профессии (здоровье, сила, ловкость, защита)
+ * и скорость легендарных поножей.
+ * Желаемые модификаторы пересчитываются только после изменения навыков, происхождения или экипировки
+ * ({@link #markDirty}); модификатор атрибута меняется, только если его значение действительно отличается.
+ * Раньше все четыре бонуса снимались и добавлялись заново каждый тик, что сбрасывало кэш атрибутов
+ * и заставляло отправлять пакет атрибутов 20 раз в секунду.
+ */
+public final class PlayerAttributeReconciler {
+
+    private static final UUID HEALTH_MODIFIER_ID = UUID.fromString("d5d0d878-b3c2-4e90-8b4a-a2e3c4f6a56a");
+    private static final UUID STRENGTH_MODIFIER_ID = UUID.fromString("d5d0d878-b3c2-4e90-8b4a-a2e3c4f6a56b");
+    private static final UUID AGILITY_MODIFIER_ID = UUID.fromString("d5d0d878-b3c2-4e90-8b4a-a2e3c4f6a56c");
+    private static final UUID DEFENSE_MODIFIER_ID = UUID.fromString("d5d0d878-b3c2-4e90-8b4a-a2e3c4f6a56d");
+    private static final UUID LEGENDARY_LEGGINGS_SPEED_UUID = UUID.fromString("845DB27C-C624-495F-8C9F-6020A9A58B6B");
+
+    // Состояние игроков (только серверный поток); новый объект игрока согласуется в первый тик
+    private static final Map<PlayerEntity, State> states = new WeakHashMap<>();
+
+    // Изменения модификаторов и изменения, которые делал бы прежний пересчет каждый тик
+    private static final LongAdder attributeWrites = new LongAdder();
+    private static final LongAdder avoidedWrites = new LongAdder();
+    private static long lastWrites;
+    private static long lastAvoided;
+    private static volatile long writesPerSecond;
+    private static volatile long avoidedWritesPerSecond;
+
+    private PlayerAttributeReconciler() {}
+
+    /**
+     * Регистрирует пересчет при смене происхождения и подсчет изменений атрибутов в секунду
+     */
+    public static void register() {
+        OriginChangedCallback.EVENT.register(PlayerAttributeReconciler::markDirty);
+
+        ServerTickEvents.END_SERVER_TICK.register(server -> {
+            if (server.getTicks() % 20 != 0) {
+                return;
+            }
+            long writes = attributeWrites.sum();
+            long avoided = avoidedWrites.sum();
+            writesPerSecond = writes - lastWrites;
+            avoidedWritesPerSecond = avoided - lastAvoided;
+            lastWrites = writes;
+            lastAvoided = avoided;
+        });
+    }
+
+    /**
+     * Помечает, что модификаторы игрока нужно пересчитать в его следующий тик
+     */
+    public static void markDirty(PlayerEntity player) {
+        if (player == null || player.getWorld() == null || player.getWorld().isClient) {
+            return;
+        }
+        State state = states.get(player);
+        if (state != null) {
+            state.dirty = true;
+        }
+    }
+
+    /**
+     * Вызывается в начале тика игрока на сервере
+     */
+    public static void tick(PlayerEntity player) {
+        State state = states.computeIfAbsent(player, p -> new State());
+        if (!state.dirty) {
+            avoidedWrites.add(state.baselineWrites);
+            return;
+        }
+        state.dirty = false;
+        reconcile(player, state);
+    }
+
+    /**
+     * Надеты ли легендарные поножи (по состоянию на последнее согласование)
+     */
+    public static boolean hasLegendaryLeggings(PlayerEntity player) {
+        State state = states.get(player);
+        return state != null && state.legendaryLeggings;
+    }
+
+    /**
+     * Надеты ли легендарные ботинки (по состоянию на последнее согласование)
+     */
+    public static boolean hasLegendaryBoots(PlayerEntity player) {
+        State state = states.get(player);
+        return state != null && state.legendaryBoots;
+    }
+
+    public static long getWritesPerSecond() {
+        return writesPerSecond;
+    }
+
+    public static long getAvoidedWritesPerSecond() {
+        return avoidedWritesPerSecond;
+    }
+
+    private static void reconcile(PlayerEntity player, State state) {
+        int writes = 0;
+        int baseline = 0;
+
+        // Без профессии бонусов нет, ранее выданные модификаторы снимаются
+        double[] bonuses = new double[4];
+        ProfessionProgress progress = ProfessionComponent.KEY.get(player).getCurrentProgress();
+        if (progress != null) {
+            ProfessionSkills skills = progress.getSkills();
+            bonuses[0] = skills.getHealthBonus();
+            bonuses[1] = skills.getStrengthBonus();
+            bonuses[2] = skills.getAgilityBonus();
+            bonuses[3] = skills.getDefenseBonus();
+
+            // Прежний пересчет каждый тик снимал четыре модификатора и добавлял положительные
+            for (double bonus : bonuses) {
+                baseline += bonus > 0 ? 2 : 1;
+            }
+        }
+
+        // Здоровье
+        writes += apply(player, EntityAttributes.GENERIC_MAX_HEALTH,
+            HEALTH_MODIFIER_ID, "Health Bonus", bonuses[0],
+            EntityAttributeModifier.Operation.ADDITION);
+
+        // Сила
+        writes += apply(player, EntityAttributes.GENERIC_ATTACK_DAMAGE,
+            STRENGTH_MODIFIER_ID, "Strength Bonus", bonuses[1],
+            EntityAttributeModifier.Operation.ADDITION);
+
+        // Ловкость
+        writes += apply(player, EntityAttributes.GENERIC_MOVEMENT_SPEED,
+            AGILITY_MODIFIER_ID, "Agility Bonus", bonuses[2],
+            EntityAttributeModifier.Operation.MULTIPLY_TOTAL);
+
+        // Защита
+        writes += apply(player, EntityAttributes.GENERIC_ARMOR,
+            DEFENSE_MODIFIER_ID, "Defense Bonus", bonuses[3],
+            EntityAttributeModifier.Operation.ADDITION);
+
+        // Легендарные поножи: +20% скорости
+        state.legendaryLeggings = isLegendaryArmor(player.getEquippedStack(EquipmentSlot.LEGS));
+        state.legendaryBoots = isLegendaryArmor(player.getEquippedStack(EquipmentSlot.FEET));
+        writes += apply(player, EntityAttributes.GENERIC_MOVEMENT_SPEED,
+            LEGENDARY_LEGGINGS_SPEED_UUID, "Legendary Leggings Speed", state.legendaryLeggings ? 0.20 : 0,
+            EntityAttributeModifier.Operation.MULTIPLY_TOTAL);
+
+        state.baselineWrites = baseline;
+        attributeWrites.add(writes);
+        avoidedWrites.add(Math.max(0, baseline - writes));
+    }
+
+    /**
+     * Приводит модификатор к желаемому значению (0 - модификатора быть не должно).
+     * Возвращает количество изменений контейнера атрибутов
+     */
+    private static int apply(PlayerEntity player, EntityAttribute attribute, UUID modifierId,
+                             String name, double value, EntityAttributeModifier.Operation operation) {
+        EntityAttributeInstance instance = player.getAttributeInstance(attribute);
+        if (instance == null) {
+            return 0;
+        }
+
+        EntityAttributeModifier current = instance.getModifier(modifierId);
+        boolean wanted = value > 0;
+        if (current == null ? !wanted : wanted && current.getValue() == value && current.getOperation() == operation) {
+            return 0;
+        }
+
+        int writes = 0;
+        if (current != null) {
+            instance.removeModifier(modifierId);
+            writes++;
+        }
+        if (wanted) {
+            instance.addPersistentModifier(new EntityAttributeModifier(modifierId, name, value, operation));
+            writes++;
+        }
+        return writes;
+    }
+
+    private static boolean isLegendaryArmor(ItemStack stack) {
+        return !stack.isEmpty() && stack.getItem() instanceof ArmorItem && BlacksmithQualityCraftingPower.isLegendary(stack);
+    }
+
+    private static final class State {
+        private boolean dirty = true;
+        // Изменений за тик при прежнем пересчете каждый тик
+        private int baselineWrites;
+        private boolean legendaryLeggings;
+        private boolean legendaryBoots;
+    }
+}
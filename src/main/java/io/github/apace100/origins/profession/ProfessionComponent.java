@@ -14,25 +14,43 @@ import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.nbt.NbtElement;
 import net.minecraft.nbt.NbtList;
+import net.minecraft.network.PacketByteBuf;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
 import net.minecraft.util.Identifier;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
- * Компонент для хранения прогресса профессий игрока
+ * Компонент для хранения прогресса профессий игрока.
+ * Клиенту отправляются только профессии, изменившиеся с прошлой синхронизации; опыт, полученный
+ * в пределах окна {@link #SYNC_WINDOW_TICKS}, уходит одной синхронизацией и одним сообщением
  */
 public class ProfessionComponent implements AutoSyncedComponent, ServerTickingComponent {
 
     public static final ComponentKey<ProfessionComponent> KEY =
         ComponentRegistry.getOrCreate(Origins.identifier("profession"), ProfessionComponent.class);
 
+    // Окно объединения опыта и синхронизации (тики)
+    private static final int SYNC_WINDOW_TICKS = 5;
+    private static final Identifier ORIGIN_LAYER_ID = Origins.identifier("origin");
+
     private final PlayerEntity player;
     private final Map<Identifier, ProfessionProgress> progressMap = new HashMap<>();
+    // Номера изменений, уже отправленные клиенту
+    private final Map<Identifier, Integer> syncedRevisions = new HashMap<>();
+    private boolean dirty = false;
+    private int pendingExperience = 0;
+    private Identifier pendingLevelUp;
     private int tickCounter = 0;
+    // Текущая профессия, сбрасывается при смене происхождения (OriginChangedCallback)
+    private Identifier currentProfessionId;
+    private boolean currentProfessionResolved = false;
 
     public ProfessionComponent(PlayerEntity player) {
         this.player = player;
@@ -42,7 +60,17 @@ public class ProfessionComponent implements AutoSyncedComponent, ServerTickingCo
      * Получает прогресс для указанной профессии
      */
     public ProfessionProgress getProgress(Identifier professionId) {
-        return progressMap.computeIfAbsent(professionId, id -> new ProfessionProgress(id));
+        return progressMap.computeIfAbsent(professionId, this::createProgress);
+    }
+
+    private ProfessionProgress createProgress(Identifier professionId) {
+        ProfessionProgress progress = new ProfessionProgress(professionId);
+        progress.setChangeListener(this::markDirty);
+        return progress;
+    }
+
+    private void markDirty() {
+        dirty = true;
     }
 
     /**
@@ -58,13 +86,30 @@ public class ProfessionComponent implements AutoSyncedComponent, ServerTickingCo
      * Получает идентификатор текущей профессии игрока
      */
     public Identifier getCurrentProfessionId() {
+        if (!currentProfessionResolved) {
+            currentProfessionId = resolveCurrentProfessionId();
+        }
+        return currentProfessionId;
+    }
+
+    /**
+     * Сбрасывает кэш текущей профессии
+     */
+    public void invalidateCurrentProfession() {
+        currentProfessionResolved = false;
+        currentProfessionId = null;
+    }
+
+    private Identifier resolveCurrentProfessionId() {
         try {
             OriginComponent originComponent = ModComponents.ORIGIN.get(player);
             if (originComponent == null) return null;
             
-            OriginLayer mainLayer = OriginLayers.getLayer(new Identifier(Origins.MODID, "origin"));
+            OriginLayer mainLayer = OriginLayers.getLayer(ORIGIN_LAYER_ID);
             if (mainLayer == null) return null;
             
+            // Слой загружен - результат можно кэшировать до смены происхождения
+            currentProfessionResolved = true;
             Origin origin = originComponent.getOrigin(mainLayer);
             if (origin == null || origin == Origin.EMPTY) return null;
             
@@ -89,62 +134,127 @@ public class ProfessionComponent implements AutoSyncedComponent, ServerTickingCo
         ProfessionProgress progress = getProgress(currentProfessionId);
         boolean leveledUp = progress.addExperience(exp);
 
-        // Отправляем сообщение об опыте
-        if (exp > 0 && player instanceof ServerPlayerEntity serverPlayer) {
-            serverPlayer.sendMessage(Text.literal("+" + exp + " опыта")
-                .formatted(Formatting.GREEN), true);
+        // Сообщение и синхронизация отправятся в конце окна (serverTick)
+        if (exp > 0) {
+            pendingExperience += exp;
         }
-
         if (leveledUp) {
-            // Уведомляем игрока о повышении уровня
-            Profession profession = ProfessionRegistry.get(currentProfessionId);
+            pendingLevelUp = currentProfessionId;
+        }
+        return leveledUp;
+    }
+    
+    /**
+     * Устанавливает уровень текущей профессии
+     */
+    public void setLevel(int level) {
+        ProfessionProgress currentProgress = getCurrentProgress();
+        if (currentProgress != null) {
+            currentProgress.setLevel(level);
+        }
+    }
+
+    @Override
+    public void serverTick() {
+        if (++tickCounter < SYNC_WINDOW_TICKS) {
+            return;
+        }
+        tickCounter = 0;
+
+        if (player instanceof ServerPlayerEntity serverPlayer) {
+            sendPendingFeedback(serverPlayer);
+            if (dirty) {
+                syncChanged(serverPlayer);
+            }
+        }
+    }
+
+    /**
+     * Отправляет одно сообщение за окно: о повышении уровня, иначе о суммарном опыте
+     */
+    private void sendPendingFeedback(ServerPlayerEntity serverPlayer) {
+        if (pendingLevelUp != null) {
+            Profession profession = ProfessionRegistry.get(pendingLevelUp);
             if (profession != null) {
-                player.sendMessage(
+                serverPlayer.sendMessage(
                     Text.literal("Уровень профессии повышен! ")
                         .append(profession.getName())
-                        .append(Text.literal(" достиг уровня " + progress.getLevel()))
+                        .append(Text.literal(" достиг уровня " + getProgress(pendingLevelUp).getLevel()))
                         .formatted(Formatting.GREEN, Formatting.BOLD),
                     true
                 );
             }
+        } else if (pendingExperience > 0) {
+            serverPlayer.sendMessage(Text.literal("+" + pendingExperience + " опыта")
+                .formatted(Formatting.GREEN), true);
         }
+        pendingLevelUp = null;
+        pendingExperience = 0;
+    }
 
-        // Синхронизируем данные с клиентом
-        if (player instanceof ServerPlayerEntity serverPlayer) {
-            KEY.sync(serverPlayer);
+    /**
+     * Отправляет клиенту только профессии, номер изменения которых отличается от отправленного
+     */
+    private void syncChanged(ServerPlayerEntity serverPlayer) {
+        dirty = false;
+        List<ProfessionProgress> changed = new ArrayList<>();
+        for (ProfessionProgress progress : progressMap.values()) {
+            if (syncedRevisions.getOrDefault(progress.getProfessionId(), 0) != progress.getRevision()) {
+                changed.add(progress);
+            }
+        }
+        if (!changed.isEmpty()) {
+            KEY.sync(serverPlayer, (buf, recipient) -> writeSyncData(buf, false, changed));
         }
-        return leveledUp;
     }
-    
+
+    @Override
+    public boolean shouldSyncWith(ServerPlayerEntity player) {
+        // Прогресс профессий нужен только самому игроку (HUD и экраны навыков)
+        return player == this.player;
+    }
+
+    @Override
+    public void writeSyncPacket(PacketByteBuf buf, ServerPlayerEntity recipient) {
+        writeSyncData(buf, true, progressMap.values());
+    }
+
     /**
-     * Устанавливает уровень текущей профессии
+     * Формат: флаг полной синхронизации, затем количество профессий и для каждой id и NBT прогресса
      */
-    public void setLevel(int level) {
-        ProfessionProgress currentProgress = getCurrentProgress();
-        if (currentProgress != null) {
-            currentProgress.setLevel(level);
-            
-            // Синхронизируем данные с клиентом
-            if (player instanceof ServerPlayerEntity serverPlayer) {
-                KEY.sync(serverPlayer);
-            }
+    private void writeSyncData(PacketByteBuf buf, boolean full, Collection<ProfessionProgress> entries) {
+        buf.writeBoolean(full);
+        buf.writeVarInt(entries.size());
+        for (ProfessionProgress progress : entries) {
+            NbtCompound progressTag = new NbtCompound();
+            progress.writeToNbt(progressTag);
+            buf.writeIdentifier(progress.getProfessionId());
+            buf.writeNbt(progressTag);
+            syncedRevisions.put(progress.getProfessionId(), progress.getRevision());
         }
     }
 
     @Override
-    public void serverTick() {
-        // Периодическая синхронизация (каждые 20 тиков = 1 секунда)
-        if (++tickCounter >= 20) {
-            tickCounter = 0;
-            if (player instanceof ServerPlayerEntity serverPlayer) {
-                KEY.sync(serverPlayer);
+    public void applySyncPacket(PacketByteBuf buf) {
+        if (buf.readBoolean()) {
+            progressMap.clear();
+        }
+        int count = buf.readVarInt();
+        for (int i = 0; i < count; i++) {
+            Identifier professionId = buf.readIdentifier();
+            NbtCompound progressTag = buf.readNbt();
+            ProfessionProgress progress = createProgress(professionId);
+            if (progressTag != null) {
+                progress.readFromNbt(progressTag);
             }
+            progressMap.put(professionId, progress);
         }
     }
 
     @Override
     public void readFromNbt(NbtCompound tag) {
         progressMap.clear();
+        syncedRevisions.clear();
         
         if (tag.contains("Professions", NbtElement.LIST_TYPE)) {
             NbtList list = tag.getList("Professions", NbtElement.COMPOUND_TYPE);
@@ -154,12 +264,14 @@ public class ProfessionComponent implements AutoSyncedComponent, ServerTickingCo
                 String id = progressTag.getString("Id");
                 Identifier professionId = new Identifier(id);
                 
-                ProfessionProgress progress = new ProfessionProgress(professionId);
+                ProfessionProgress progress = createProgress(professionId);
                 progress.readFromNbt(progressTag);
                 
                 progressMap.put(professionId, progress);
             }
         }
+
+        PlayerAttributeReconciler.markDirty(player);
     }
 
     @Override
@@ -13,6 +13,9 @@ public class ProfessionProgress {
     private int skillPoints = 0;
     private final ProfessionSkills skills;
     private final Map<String, Integer> statistics = new HashMap<>();
+    // Номер изменения, растет при каждой правке прогресса (для синхронизации только измененных профессий)
+    private int revision = 0;
+    private Runnable changeListener;
 
     public ProfessionProgress(Identifier professionId) {
         this.professionId = professionId;
@@ -27,6 +30,7 @@ public class ProfessionProgress {
         
         this.experience += exp;
         this.totalExperience += exp;
+        markChanged();
         
         boolean leveledUp = false;
         
@@ -55,6 +59,7 @@ public class ProfessionProgress {
         } else if (this.level < oldLevel) {
             this.skillPoints = Math.max(0, this.skillPoints - (oldLevel - this.level));
         }
+        markChanged();
     }
 
     public int getExperience() {
@@ -90,11 +95,15 @@ public class ProfessionProgress {
     }
 
     public void spendSkillPoint() {
-        if (skillPoints > 0) skillPoints--;
+        if (skillPoints > 0) {
+            skillPoints--;
+            markChanged();
+        }
     }
 
     public void addSkillPoints(int amount) {
         skillPoints += amount;
+        markChanged();
     }
 
     public ProfessionSkills getSkills() {
@@ -107,14 +116,34 @@ public class ProfessionProgress {
 
     public void setStatistic(String key, int value) {
         statistics.put(key, value);
+        markChanged();
     }
 
     public void incrementStatistic(String key) {
-        statistics.put(key, getStatistic(key, 0) + 1);
+        incrementStatistic(key, 1);
     }
 
     public void incrementStatistic(String key, int amount) {
         statistics.put(key, getStatistic(key, 0) + amount);
+        markChanged();
+    }
+
+    public int getRevision() {
+        return revision;
+    }
+
+    /**
+     * Устанавливает обработчик изменений прогресса (компонент помечает себя для синхронизации)
+     */
+    void setChangeListener(Runnable changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    private void markChanged() {
+        revision++;
+        if (changeListener != null) {
+            changeListener.run();
+        }
     }
 
     public void writeToNbt(NbtCompound tag) {
@@ -30,6 +30,17 @@ public class ActiveQuest {
         this.progress = progress;
     }
     
+    /**
+     * Время истечения квеста (мс) или -1, если время не ограничено
+     */
+    public long getExpiresAt() {
+        if (quest.getTimeLimit() <= 0) {
+            return -1;
+        }
+
+        return startTime + quest.getTimeLimit() * 60_000L;
+    }
+
     /**
      * Получает оставшееся время в минутах
      */
@@ -0,0 +1,51 @@
+package io.github.apace100.origins.quest;
+
+import dev.onyxstudios.cca.api.v3.component.Component;
+import dev.onyxstudios.cca.api.v3.component.ComponentKey;
+import dev.onyxstudios.cca.api.v3.component.ComponentRegistry;
+import io.github.apace100.origins.Origins;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Компонент активных квестов игрока.
+ * Компонент владеет картой квестов игрока (ID квеста -> квест) и сохраняет ее вместе с данными игрока;
+ * {@link QuestManager} работает с той же картой, пока игрок на сервере. Поэтому сохранение при выходе
+ * не зависит от того, успел ли менеджер выгрузить игрока
+ */
+public class ActiveQuestComponent implements Component {
+
+    public static final ComponentKey<ActiveQuestComponent> KEY =
+        ComponentRegistry.getOrCreate(Origins.identifier("active_quests"), ActiveQuestComponent.class);
+
+    private final PlayerEntity player;
+    // Активные квесты в порядке принятия
+    private final Map<String, ActiveQuest> quests = new LinkedHashMap<>();
+
+    public ActiveQuestComponent(PlayerEntity player) {
+        this.player = player;
+    }
+
+    Map<String, ActiveQuest> getQuests() {
+        return quests;
+    }
+
+    @Override
+    public void readFromNbt(NbtCompound tag) {
+        quests.clear();
+        quests.putAll(QuestNbt.readActiveQuests(tag.getList("quests", NbtElement.COMPOUND_TYPE)));
+
+        if (player.getWorld() != null && !player.getWorld().isClient) {
+            QuestManager.getInstance().attachPlayer(player.getUuid(), quests);
+        }
+    }
+
+    @Override
+    public void writeToNbt(NbtCompound tag) {
+        tag.put("quests", QuestNbt.writeActiveQuests(quests.values()));
+    }
+}
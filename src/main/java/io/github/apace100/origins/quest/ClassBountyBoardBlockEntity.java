@@ -22,6 +22,9 @@ public abstract class ClassBountyBoardBlockEntity extends BountyBoardBlockEntity
     private long lastApiUpdate = 0;
     private boolean apiQuestsLoaded = false;
     
+    // Версия пула квестов, показанная на доске (не сохраняется: после загрузки доска сверяется заново)
+    private long displayedPoolVersion = -1;
+    
     public ClassBountyBoardBlockEntity(BlockEntityType<?> type, BlockPos pos, BlockState state) {
         super(type, pos, state);
     }
@@ -73,19 +76,26 @@ public abstract class ClassBountyBoardBlockEntity extends BountyBoardBlockEntity
         
         QuestApiManager manager = QuestApiManager.getInstance();
         
-        // ВСЕГДА обновляем доску из системы накопления (не проверяем флаги)
-        manager.updateBoard(this);
+        // Доска обновляется только при изменении версии пула, и только измененные слоты
+        if (!manager.updateBoard(this)) {
+            return;
+        }
         
         apiQuestsLoaded = true;
         lastApiUpdate = world.getTime();
         
         // Уведомляем клиентов об изменениях в интерфейсе
         markDirty();
-        if (world instanceof ServerWorld) {
-            ((ServerWorld) world).getChunkManager().markForUpdate(pos);
-        }
-        
-            }
+        ((ServerWorld) world).getChunkManager().markForUpdate(pos);
+    }
+    
+    long getDisplayedPoolVersion() {
+        return displayedPoolVersion;
+    }
+    
+    void setDisplayedPoolVersion(long version) {
+        this.displayedPoolVersion = version;
+    }
     
     /**
      * Проверяет, нужно ли обновить квесты с API
@@ -142,22 +152,10 @@ public abstract class ClassBountyBoardBlockEntity extends BountyBoardBlockEntity
     public static void tick(World world, BlockPos pos, BlockState state, ClassBountyBoardBlockEntity entity) {
         if (world.isClient) return;
         
-        // Инициализация если нужно
+        // Сверяем доску с пулом квестов. Пока версия пула класса не изменилась, это одно сравнение;
+        // пул пополняет QuestApiManager, доска только забирает готовые квесты
         entity.tryInitialPopulation();
         
-        // Проверяем нужность новых запросов к API каждые 30 секунд (600 тиков)
-        if (world.getTime() % 600L == 0L) {
-            String boardClass = entity.getBoardClass();
-            
-            // Проверяем, нужен ли новый запрос к API для этого класса
-            if (QuestAccumulation.getInstance().needsNewApiRequest(boardClass)) {
-                                QuestApiManager.getInstance().forceUpdateClass(boardClass, (net.minecraft.server.world.ServerWorld) world);
-            }
-            
-            // Всегда обновляем доску из системы накопления
-            entity.loadQuestsFromApi();
-        }
-        
         // Обработка декретов (если нужно)
         if (world.getTime() % 20L == 0L) {
             // Логика обработки декретов
@@ -6,240 +6,334 @@ import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Класс для управления накоплением квестов в досках объявлений
+ * Пул готовых квестов для классовых досок объявлений.
+ * Для каждого класса поддерживается буфер между нижней и верхней границей
+ * ({@link Origins.ServerConfig#questPoolLowWatermark} и {@link Origins.ServerConfig#questPoolHighWatermark}):
+ * когда квестов становится меньше нижней границы, {@link QuestApiManager} запрашивает новые, пока пул
+ * не заполнится до верхней границы, а при переполнении
+ * и по истечении {@link Origins.ServerConfig#questMaxAgeMinutes} вытесняются самые старые квесты.
  */
 public class QuestAccumulation {
     private static final QuestAccumulation INSTANCE = new QuestAccumulation();
-    
-    // Максимальное количество запросов перед очисткой доски
-    private static final int MAX_REQUESTS = 3;
-    
+
     // Количество квестов за один запрос
-    private static final int QUESTS_PER_REQUEST = 5;
-    
-    // Максимальное количество квестов в доске (3 запроса * 5 квестов = 15)
-    private static final int MAX_QUESTS_IN_BOARD = MAX_REQUESTS * QUESTS_PER_REQUEST;
-    
-    // Накопленные квесты для каждого класса
-    private final Map<String, List<Quest>> accumulatedQuests = new ConcurrentHashMap<>();
-    
-    // Счетчик запросов для каждого класса
+    static final int QUESTS_PER_REQUEST = 5;
+
+    // Значения по умолчанию, если конфиг еще не загружен
+    private static final int DEFAULT_LOW_WATERMARK = 10;
+    private static final int DEFAULT_HIGH_WATERMARK = 21;
+    private static final int DEFAULT_MAX_AGE_MINUTES = 120;
+
+    private static final String[] PLAYER_CLASSES = {"cook", "courier", "brewer", "blacksmith", "miner", "warrior"};
+
+    // Накопленные квесты для каждого класса, от старых к новым
+    private final Map<String, List<PooledQuest>> accumulatedQuests = new ConcurrentHashMap<>();
+
+    // Счетчик запросов для каждого класса (в пределах цикла заполнения пула)
     private final Map<String, Integer> requestCounts = new ConcurrentHashMap<>();
-    
+
+    // Классы, опустившиеся ниже нижней границы и еще не заполненные до верхней
+    private final Set<String> refillingClasses = ConcurrentHashMap.newKeySet();
+
+    // Версия пула каждого класса, увеличивается при любом изменении состава квестов
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+
     private QuestAccumulation() {}
-    
+
     public static QuestAccumulation getInstance() {
         return INSTANCE;
     }
-    
+
     /**
      * Добавляет новые квесты к накопленным для указанного класса
      */
     public List<Quest> addQuestsForClass(String playerClass, List<Quest> newQuests) {
         return addQuestsForClass(playerClass, newQuests, null);
     }
-    
+
     /**
-     * Добавляет новые квесты к накопленным для указанного класса с уведомлениями
+     * Добавляет новые квесты к накопленным для указанного класса с уведомлениями.
+     * Если пул переполнен, вытесняются самые старые квесты
      */
-    public List<Quest> addQuestsForClass(String playerClass, List<Quest> newQuests, net.minecraft.server.MinecraftServer server) {
+    public synchronized List<Quest> addQuestsForClass(String playerClass, List<Quest> newQuests, net.minecraft.server.MinecraftServer server) {
         if (newQuests == null || newQuests.isEmpty()) {
             Origins.LOGGER.warn("🔄 [QuestAccumulation] Попытка добавить пустой список квестов для класса: " + playerClass);
             return getAccumulatedQuests(playerClass);
         }
-        
+
         Origins.LOGGER.info("🔄 [QuestAccumulation] Добавляем " + newQuests.size() + " новых квестов для класса: " + playerClass);
-        
-        // Получаем текущие накопленные квесты
-        List<Quest> accumulated = accumulatedQuests.computeIfAbsent(playerClass, k -> new ArrayList<>());
-        
+
+        List<PooledQuest> accumulated = accumulatedQuests.computeIfAbsent(playerClass, k -> new ArrayList<>());
+
         // Увеличиваем счетчик запросов
-        int currentRequestCount = requestCounts.getOrDefault(playerClass, 0) + 1;
-        
+        int currentRequestCount = requestCounts.getOrDefault(playerClass, 0) % getMaxRequests() + 1;
+
         Origins.LOGGER.info("🔢 [QuestAccumulation] Запрос #" + currentRequestCount + " для класса: " + playerClass);
-        
-        // Проверяем, нужно ли очистить доску (после 3 запросов)
-        boolean boardCleared = false;
-        if (currentRequestCount > MAX_REQUESTS) {
-            Origins.LOGGER.info("🗑️ [QuestAccumulation] Очищаем доску для класса " + playerClass + " после " + MAX_REQUESTS + " запросов");
-            accumulated.clear();
-            currentRequestCount = 1;
-            boardCleared = true;
-            
-            // Уведомляем об очистке доски
-            Origins.LOGGER.info("🔄 [QuestAccumulation] Доска очищена, начинаем новый цикл для класса: " + playerClass);
-            if (server != null) {
-                QuestApiChatLogger.logBoardCleared(server, playerClass);
+
+        // Добавляем новые квесты, пропуская уже имеющиеся в пуле
+        long now = System.currentTimeMillis();
+        Set<String> knownIds = new HashSet<>();
+        for (PooledQuest pooled : accumulated) {
+            knownIds.add(pooled.quest().getId());
+        }
+        for (Quest quest : newQuests) {
+            if (knownIds.add(quest.getId())) {
+                accumulated.add(new PooledQuest(quest, now));
             }
         }
-        
-        // Добавляем новые квесты
-        accumulated.addAll(newQuests);
-        
-        // Обновляем счетчики
+
+        // Вытесняем самые старые квесты сверх верхней границы
+        int overflow = accumulated.size() - getHighWatermark();
+        if (overflow > 0) {
+            accumulated.subList(0, overflow).clear();
+            Origins.LOGGER.info("🗑️ [QuestAccumulation] Вытеснено " + overflow + " старых квестов для класса " + playerClass);
+        }
+
         requestCounts.put(playerClass, currentRequestCount);
-        accumulatedQuests.put(playerClass, accumulated);
-        
-        Origins.LOGGER.info("📊 [QuestAccumulation] Итого квестов для " + playerClass + ": " + accumulated.size() + 
-            " (запрос " + currentRequestCount + "/" + MAX_REQUESTS + ")");
-        
+        touch(playerClass);
+        QuestPoolState.markChanged();
+
+        Origins.LOGGER.info("📊 [QuestAccumulation] Итого квестов для " + playerClass + ": " + accumulated.size() +
+            " (запрос " + currentRequestCount + "/" + getMaxRequests() + ")");
+
         // Отправляем уведомление о накоплении квестов
         if (server != null) {
-            QuestApiChatLogger.logQuestAccumulation(server, playerClass, newQuests.size(), accumulated.size(), currentRequestCount, MAX_REQUESTS);
-        }
-        
-        // Логируем детали накопленных квестов
-        for (int i = 0; i < accumulated.size(); i++) {
-            Quest quest = accumulated.get(i);
-            Origins.LOGGER.info("  " + (i+1) + ". " + quest.getTitle() + " (ID: " + quest.getId() + ")");
+            QuestApiChatLogger.logQuestAccumulation(server, playerClass, newQuests.size(), accumulated.size(), currentRequestCount, getMaxRequests());
         }
-        
-        return new ArrayList<>(accumulated);
+
+        return getAccumulatedQuests(playerClass);
     }
-    
+
     /**
      * Получает все накопленные квесты для указанного класса
      */
-    public List<Quest> getAccumulatedQuests(String playerClass) {
-        List<Quest> accumulated = accumulatedQuests.getOrDefault(playerClass, new ArrayList<>());
-        return new ArrayList<>(accumulated);
+    public synchronized List<Quest> getAccumulatedQuests(String playerClass) {
+        List<PooledQuest> accumulated = accumulatedQuests.get(playerClass);
+        if (accumulated == null) {
+            return new ArrayList<>();
+        }
+        List<Quest> quests = new ArrayList<>(accumulated.size());
+        for (PooledQuest pooled : accumulated) {
+            quests.add(pooled.quest());
+        }
+        return quests;
     }
-    
+
+    /**
+     * Количество квестов в пуле класса
+     */
+    public synchronized int getQuestCount(String playerClass) {
+        List<PooledQuest> accumulated = accumulatedQuests.get(playerClass);
+        return accumulated != null ? accumulated.size() : 0;
+    }
+
+    /**
+     * Сколько квестов не хватает классу до верхней границы
+     */
+    public int getDeficit(String playerClass) {
+        return Math.max(0, getHighWatermark() - getQuestCount(playerClass));
+    }
+
+    /**
+     * Версия пула класса. Доски сравнивают ее с показанной, чтобы не пересобирать билеты без изменений
+     */
+    public long getVersion(String playerClass) {
+        return versions.getOrDefault(playerClass, 0L);
+    }
+
     /**
      * Получает количество запросов для указанного класса
      */
     public int getRequestCount(String playerClass) {
         return requestCounts.getOrDefault(playerClass, 0);
     }
-    
+
     /**
-     * Получает максимальное количество запросов перед очисткой
+     * Количество запросов, за которое заполняется пул класса
      */
     public int getMaxRequests() {
-        return MAX_REQUESTS;
+        return Math.max(1, (getHighWatermark() + QUESTS_PER_REQUEST - 1) / QUESTS_PER_REQUEST);
     }
-    
+
     /**
-     * Проверяет, нужно ли очистить доску при следующем запросе
+     * Пул больше не очищается целиком: старые квесты вытесняются по одному
      */
     public boolean shouldClearOnNextRequest(String playerClass) {
-        return getRequestCount(playerClass) >= MAX_REQUESTS;
+        return false;
     }
-    
+
     /**
      * Принудительно очищает накопленные квесты для указанного класса
      */
-    public void clearAccumulatedQuests(String playerClass) {
+    public synchronized void clearAccumulatedQuests(String playerClass) {
         Origins.LOGGER.info("🗑️ [QuestAccumulation] Принудительная очистка квестов для класса: " + playerClass);
         accumulatedQuests.remove(playerClass);
         requestCounts.remove(playerClass);
+        refillingClasses.remove(playerClass);
+        touch(playerClass);
+        QuestPoolState.markChanged();
     }
-    
+
     /**
      * Очищает все накопленные квесты
      */
-    public void clearAllAccumulatedQuests() {
+    public synchronized void clearAllAccumulatedQuests() {
         Origins.LOGGER.info("🗑️ [QuestAccumulation] Очистка всех накопленных квестов");
         accumulatedQuests.clear();
         requestCounts.clear();
+        refillingClasses.clear();
+        touchAll();
+        QuestPoolState.markChanged();
+    }
+
+    /**
+     * Заменяет накопленные квесты сохраненными в мире (при запуске сервера)
+     */
+    public synchronized void restore(Map<String, List<PooledQuest>> quests, Map<String, Integer> counts) {
+        accumulatedQuests.clear();
+        requestCounts.clear();
+        refillingClasses.clear();
+        for (Map.Entry<String, List<PooledQuest>> entry : quests.entrySet()) {
+            accumulatedQuests.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        }
+        requestCounts.putAll(counts);
+        touchAll();
     }
-    
+
+    /**
+     * Копирует накопленные квесты и счетчики запросов для сохранения
+     */
+    public synchronized void snapshot(Map<String, List<PooledQuest>> quests, Map<String, Integer> counts) {
+        for (Map.Entry<String, List<PooledQuest>> entry : accumulatedQuests.entrySet()) {
+            quests.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        }
+        counts.putAll(requestCounts);
+    }
+
     /**
      * Удаляет конкретный квест из накопления
      */
-    public boolean removeQuest(String playerClass, String questId) {
-        List<Quest> accumulated = accumulatedQuests.get(playerClass);
+    public synchronized boolean removeQuest(String playerClass, String questId) {
+        List<PooledQuest> accumulated = accumulatedQuests.get(playerClass);
         if (accumulated == null) {
             Origins.LOGGER.warn("🔄 [QuestAccumulation] Нет накопленных квестов для класса: " + playerClass);
             return false;
         }
-        
-        Origins.LOGGER.info("🔍 [QuestAccumulation] Попытка удалить квест " + questId + " из класса " + playerClass);
-        Origins.LOGGER.info("📋 [QuestAccumulation] Квестов до удаления: " + accumulated.size());
-        
-        // Логируем все квесты перед удалением
-        for (int i = 0; i < accumulated.size(); i++) {
-            Quest quest = accumulated.get(i);
-            Origins.LOGGER.info("  " + (i+1) + ". " + quest.getTitle() + " (ID: " + quest.getId() + ")");
-        }
-        
-        boolean removed = accumulated.removeIf(quest -> quest.getId().equals(questId));
-        
+
+        boolean removed = accumulated.removeIf(pooled -> pooled.quest().getId().equals(questId));
+
         if (removed) {
+            touch(playerClass);
+            QuestPoolState.markChanged();
             Origins.LOGGER.info("✅ [QuestAccumulation] Удален квест " + questId + " из накопления класса " + playerClass);
             Origins.LOGGER.info("📊 [QuestAccumulation] Осталось квестов для " + playerClass + ": " + accumulated.size());
-            
-            // Логируем оставшиеся квесты
-            for (int i = 0; i < accumulated.size(); i++) {
-                Quest quest = accumulated.get(i);
-                Origins.LOGGER.info("  Остался " + (i+1) + ". " + quest.getTitle() + " (ID: " + quest.getId() + ")");
-            }
         } else {
             Origins.LOGGER.warn("❌ [QuestAccumulation] Квест " + questId + " не найден в накоплении класса " + playerClass);
-            Origins.LOGGER.warn("📋 [QuestAccumulation] Доступные квесты:");
-            for (int i = 0; i < accumulated.size(); i++) {
-                Quest quest = accumulated.get(i);
-                Origins.LOGGER.warn("  " + (i+1) + ". " + quest.getTitle() + " (ID: " + quest.getId() + ")");
-            }
         }
-        
+
         return removed;
     }
-    
-    /**
-     * Проверяет, нужен ли новый запрос к API для указанного класса
-     * Возвращает true если:
-     * 1. Нет накопленных квестов И нет активных запросов
-     * 2. Завершен цикл из 3 запросов И доска пустая
-     */
-    public boolean needsNewApiRequest(String playerClass) {
-        List<Quest> accumulated = getAccumulatedQuests(playerClass);
-        int requestCount = getRequestCount(playerClass);
-        
-        // Если нет квестов и нет запросов - нужен первый запрос
-        if (accumulated.isEmpty() && requestCount == 0) {
-            Origins.LOGGER.info("🔄 [QuestAccumulation] Класс " + playerClass + " нуждается в первом запросе к API");
-            return true;
-        }
-        
-        // Если завершен цикл (3 запроса) и доска пустая - нужен новый цикл
-        if (requestCount >= MAX_REQUESTS && accumulated.isEmpty()) {
-            Origins.LOGGER.info("🔄 [QuestAccumulation] Класс " + playerClass + " завершил цикл и нуждается в новом запросе к API");
-            return true;
-        }
-        
-        return false;
+
+    /**
+     * Удаляет из пула квесты старше максимального возраста.
+     * Возвращает классы, пул которых изменился
+     */
+    public List<String> evictExpired() {
+        return evictExpired(System.currentTimeMillis());
     }
-    
+
+    synchronized List<String> evictExpired(long now) {
+        int maxAgeMinutes = getMaxAgeMinutes();
+        List<String> changedClasses = new ArrayList<>();
+        if (maxAgeMinutes <= 0) {
+            return changedClasses;
+        }
+
+        long oldestAllowed = now - maxAgeMinutes * 60_000L;
+        for (Map.Entry<String, List<PooledQuest>> entry : accumulatedQuests.entrySet()) {
+            if (entry.getValue().removeIf(pooled -> pooled.addedAt() < oldestAllowed)) {
+                changedClasses.add(entry.getKey());
+                touch(entry.getKey());
+            }
+        }
+        if (!changedClasses.isEmpty()) {
+            QuestPoolState.markChanged();
+            Origins.LOGGER.info("🗑️ [QuestAccumulation] Устаревшие квесты вытеснены для классов: " + changedClasses);
+        }
+        return changedClasses;
+    }
+
+    /**
+     * Проверяет, нужен ли новый запрос к API для указанного класса: пополнение начинается,
+     * когда в пуле меньше квестов, чем нижняя граница, и продолжается до верхней границы
+     */
+    public synchronized boolean needsNewApiRequest(String playerClass) {
+        int questCount = getQuestCount(playerClass);
+        if (questCount < getLowWatermark()) {
+            refillingClasses.add(playerClass);
+        } else if (questCount >= getHighWatermark()) {
+            refillingClasses.remove(playerClass);
+        }
+        return refillingClasses.contains(playerClass);
+    }
+
     /**
      * Проверяет, есть ли классы, которым нужны новые запросы к API
      */
     public List<String> getClassesNeedingApiRequests() {
         List<String> needingRequests = new ArrayList<>();
-        String[] classes = {"cook", "courier", "brewer", "blacksmith", "miner", "warrior"};
-        
-        for (String playerClass : classes) {
+
+        for (String playerClass : PLAYER_CLASSES) {
             if (needsNewApiRequest(playerClass)) {
                 needingRequests.add(playerClass);
             }
         }
-        
+
         return needingRequests;
     }
-    
+
     /**
      * Получает статистику накопления квестов
      */
     public Map<String, String> getAccumulationStats() {
         Map<String, String> stats = new HashMap<>();
-        
-        for (String playerClass : Arrays.asList("cook", "courier", "brewer", "blacksmith", "miner", "warrior")) {
-            int questCount = getAccumulatedQuests(playerClass).size();
-            int requestCount = getRequestCount(playerClass);
-            
-            stats.put(playerClass, questCount + " квестов (запрос " + requestCount + "/" + MAX_REQUESTS + ")");
-        }
-        
+
+        for (String playerClass : PLAYER_CLASSES) {
+            int questCount = getQuestCount(playerClass);
+
+            stats.put(playerClass, questCount + " квестов (границы " + getLowWatermark() + "-" + getHighWatermark() + ")");
+        }
+
         return stats;
     }
-}
\ No newline at end of file
+
+    private void touch(String playerClass) {
+        versions.merge(playerClass, 1L, Long::sum);
+    }
+
+    private void touchAll() {
+        Set<String> classes = new HashSet<>(versions.keySet());
+        classes.addAll(Arrays.asList(PLAYER_CLASSES));
+        classes.addAll(accumulatedQuests.keySet());
+        classes.forEach(this::touch);
+    }
+
+    public static int getLowWatermark() {
+        int low = Origins.config != null ? Origins.config.questPoolLowWatermark : DEFAULT_LOW_WATERMARK;
+        return Math.max(1, Math.min(low, getHighWatermark()));
+    }
+
+    public static int getHighWatermark() {
+        return Math.max(1, Origins.config != null ? Origins.config.questPoolHighWatermark : DEFAULT_HIGH_WATERMARK);
+    }
+
+    public static int getMaxAgeMinutes() {
+        return Origins.config != null ? Origins.config.questMaxAgeMinutes : DEFAULT_MAX_AGE_MINUTES;
+    }
+
+    /**
+     * Квест в пуле вместе со временем добавления (мс), по которому квесты вытесняются
+     */
+    public record PooledQuest(Quest quest, long addedAt) {
+    }
+}
@@ -1,74 +1,113 @@
 package io.github.apace100.origins.quest;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import io.github.apace100.origins.Origins;
+import io.github.apace100.origins.metrics.MetricType;
+import io.github.apace100.origins.metrics.OriginsMetrics;
 
-import java.io.IOException;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
- * Клиент для работы с FastAPI сервером генерации квестов
+ * Клиент для работы с FastAPI сервером генерации квестов.
+ * Запросы неблокирующие (HttpClient.sendAsync) и выполняются на небольшом собственном пуле потоков,
+ * поэтому медленный или зависший сервер не занимает потоки общего ForkJoinPool.
+ * Одновременные запросы для одного класса объединяются, а при недоступности API срабатывает
+ * предохранитель, и запросы сразу завершаются пустым результатом.
  */
 public class QuestApiClient {
     private static final String API_BASE_URL = "http://localhost:8000";
+    
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "Origins Quest API #" + THREAD_COUNTER.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
     private static final HttpClient httpClient = HttpClient.newBuilder()
-            .connectTimeout(Duration.ofSeconds(600)) // Увеличен таймаут до 10 минут
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(EXECUTOR)
             .build();
-    private static final Gson gson = new Gson();
+    
+    // Таймауты ответа: генерация квестов LLM занимает минуты, но ожидание не занимает потоков
+    private static final Duration SINGLE_CLASS_TIMEOUT = Duration.ofSeconds(300);
+    private static final Duration ALL_QUESTS_TIMEOUT = Duration.ofSeconds(600);
     
     // Кэш для всех квестов
-    private static Map<String, List<Quest>> allQuestsCache = new HashMap<>();
-    private static long lastAllQuestsFetch = 0;
+    private static volatile Map<String, List<Quest>> allQuestsCache = new HashMap<>();
+    private static volatile long lastAllQuestsFetch = 0;
     private static final long CACHE_DURATION = 30 * 60 * 1000; // 30 минут в миллисекундах
     
-    // Флаг для предотвращения множественных запросов
-    private static volatile boolean isLoadingAllQuests = false;
+    // Запросы в процессе выполнения: класс (или "all") -> ответ, общий для всех ожидающих
+    private static final Map<String, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+    private static final String ALL_QUESTS_KEY = "all";
+    
+    // Предохранитель: после FAILURE_THRESHOLD ошибок подряд или неудачной проверки доступности
+    // запросы не отправляются до окончания паузы или успешной проверки
+    private static final int FAILURE_THRESHOLD = 3;
+    private static final long CIRCUIT_OPEN_MILLIS = 60 * 1000;
+    private static final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private static volatile long circuitOpenUntil = 0;
 
     /**
      * Получает квесты для одного класса через новый API эндпоинт
      */
     public static CompletableFuture<List<Quest>> getQuestsForSingleClass(String playerClass, int questCount) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                String url = API_BASE_URL + "/quests/" + playerClass + "?quest_count=" + questCount;
-                Origins.LOGGER.info("🚀 SINGLE CLASS API REQUEST: " + url);
-                
-                HttpRequest request = HttpRequest.newBuilder()
-                        .uri(URI.create(url))
-                        .timeout(Duration.ofSeconds(300)) // Таймаут 5 минут для одного класса
-                        .GET()
-                        .build();
-                
-                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-                
-                Origins.LOGGER.info("📡 API RESPONSE for " + playerClass + ": Status " + response.statusCode());
-                
-                if (response.statusCode() == 200) {
-                    List<Quest> quests = parseQuestsFromJson(response.body());
-                    Origins.LOGGER.info("✅ API SUCCESS for " + playerClass + ": Получено " + quests.size() + " квестов!");
-                    return quests;
-                } else {
-                    Origins.LOGGER.error("❌ API ERROR for " + playerClass + ": Status " + response.statusCode());
-                    Origins.LOGGER.error("Response body: " + response.body());
+        if (isCircuitOpen()) {
+            Origins.LOGGER.info("⛔ Quest API circuit open, skipping request for " + playerClass);
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        return deduplicate(playerClass, () -> {
+            String url = API_BASE_URL + "/quests/" + playerClass + "?quest_count=" + questCount;
+            Origins.LOGGER.info("🚀 SINGLE CLASS API REQUEST: " + url);
+            
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(url))
+                    .timeout(SINGLE_CLASS_TIMEOUT)
+                    .GET()
+                    .build();
+            
+            return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    Origins.LOGGER.info("📡 API RESPONSE for " + playerClass + ": Status " + response.statusCode());
+                    
+                    if (response.statusCode() == 200) {
+                        recordSuccess();
+                        List<Quest> quests = parseQuestsFromJson(response.body());
+                        Origins.LOGGER.info("✅ API SUCCESS for " + playerClass + ": Получено " + quests.size() + " квестов!");
+                        return quests;
+                    } else {
+                        recordFailure();
+                        Origins.LOGGER.error("❌ API ERROR for " + playerClass + ": Status " + response.statusCode());
+                        Origins.LOGGER.error("Response body: " + preview(response.body()));
+                        return new ArrayList<Quest>();
+                    }
+                })
+                .exceptionally(throwable -> {
+                    recordFailure();
+                    Origins.LOGGER.error("🔥 API EXCEPTION for " + playerClass + ": " + throwable.getMessage());
                     return new ArrayList<>();
-                }
-                
-            } catch (IOException | InterruptedException e) {
-                Origins.LOGGER.error("🔥 API EXCEPTION for " + playerClass + ": " + e.getMessage());
-                return new ArrayList<>();
-            }
+                });
         });
     }
 
@@ -174,56 +213,45 @@ public class QuestApiClient {
      * Получает все квесты для всех классов одним запросом (СТАРАЯ ВЕРСИЯ - оставлена для совместимости)
      */
     public static CompletableFuture<Map<String, List<Quest>>> getAllQuests() {
-        return CompletableFuture.supplyAsync(() -> {
-            if (isLoadingAllQuests) {
-                Origins.LOGGER.info("⏳ Already loading all quests, waiting...");
-                while (isLoadingAllQuests) {
-                    try {
-                        Thread.sleep(1000);
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        return new HashMap<>();
-                    }
-                }
-                return allQuestsCache;
-            }
+        if (isCircuitOpen()) {
+            Origins.LOGGER.info("⛔ Quest API circuit open, returning cached quests");
+            return CompletableFuture.completedFuture(allQuestsCache);
+        }
+        return deduplicate(ALL_QUESTS_KEY, () -> {
+            String url = API_BASE_URL + "/quests/all";
+            Origins.LOGGER.info("🚀 OPTIMIZED API REQUEST: " + url);
             
-            isLoadingAllQuests = true;
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(url))
+                    .timeout(ALL_QUESTS_TIMEOUT)
+                    .GET()
+                    .build();
             
-            try {
-                String url = API_BASE_URL + "/quests/all";
-                Origins.LOGGER.info("🚀 OPTIMIZED API REQUEST: " + url);
-                
-                HttpRequest request = HttpRequest.newBuilder()
-                        .uri(URI.create(url))
-                        .timeout(Duration.ofSeconds(600)) // Таймаут 10 минут
-                        .GET()
-                        .build();
-                
-                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-                
-                Origins.LOGGER.info("📡 API RESPONSE: Status " + response.statusCode());
-                
-                if (response.statusCode() == 200) {
-                    Map<String, List<Quest>> allQuests = parseAllQuestsFromJson(response.body());
-                    Origins.LOGGER.info("✅ API SUCCESS: Получено квестов для всех классов!");
+            return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    Origins.LOGGER.info("📡 API RESPONSE: Status " + response.statusCode());
                     
-                    allQuestsCache = allQuests;
-                    lastAllQuestsFetch = System.currentTimeMillis();
-                    
-                    return allQuests;
-                } else {
-                    Origins.LOGGER.error("❌ API ERROR: Status " + response.statusCode());
-                    Origins.LOGGER.error("Response body: " + response.body());
+                    if (response.statusCode() == 200) {
+                        recordSuccess();
+                        Map<String, List<Quest>> allQuests = parseAllQuestsFromJson(response.body());
+                        Origins.LOGGER.info("✅ API SUCCESS: Получено квестов для всех классов!");
+                        
+                        allQuestsCache = allQuests;
+                        lastAllQuestsFetch = System.currentTimeMillis();
+                        
+                        return allQuests;
+                    } else {
+                        recordFailure();
+                        Origins.LOGGER.error("❌ API ERROR: Status " + response.statusCode());
+                        Origins.LOGGER.error("Response body: " + preview(response.body()));
+                        return new HashMap<String, List<Quest>>();
+                    }
+                })
+                .exceptionally(throwable -> {
+                    recordFailure();
+                    Origins.LOGGER.error("🔥 API EXCEPTION: Failed to fetch all quests: " + throwable.getMessage());
                     return new HashMap<>();
-                }
-                
-            } catch (IOException | InterruptedException e) {
-                Origins.LOGGER.error("🔥 API EXCEPTION: Failed to fetch all quests: " + e.getMessage());
-                return new HashMap<>();
-            } finally {
-                isLoadingAllQuests = false;
-            }
+                });
         });
     }
 
@@ -231,99 +259,100 @@ public class QuestApiClient {
      * Получает квесты для указанного класса (использует кэш или новый API)
      */
     public static CompletableFuture<List<Quest>> getQuestsForClass(String playerClass, int questCount) {
-        return CompletableFuture.supplyAsync(() -> {
-            if (allQuestsCache.containsKey(playerClass) && 
-                System.currentTimeMillis() - lastAllQuestsFetch < CACHE_DURATION) {
-                Origins.LOGGER.info("📦 CACHE HIT: Используем кэшированные квесты для " + playerClass);
-                return allQuestsCache.get(playerClass);
-            }
-            
-            Origins.LOGGER.info("🔄 CACHE MISS: Загружаем все квесты через оптимизированный API");
-            try {
-                Map<String, List<Quest>> allQuests = getAllQuests().get();
-                return allQuests.getOrDefault(playerClass, new ArrayList<>());
-            } catch (Exception e) {
-                Origins.LOGGER.error("❌ Failed to get quests for class " + playerClass + ": " + e.getMessage());
-                return new ArrayList<>();
+        Map<String, List<Quest>> cache = allQuestsCache;
+        if (cache.containsKey(playerClass) && 
+            System.currentTimeMillis() - lastAllQuestsFetch < CACHE_DURATION) {
+            Origins.LOGGER.info("📦 CACHE HIT: Используем кэшированные квесты для " + playerClass);
+            return CompletableFuture.completedFuture(cache.get(playerClass));
+        }
+        
+        Origins.LOGGER.info("🔄 CACHE MISS: Загружаем все квесты через оптимизированный API");
+        return getAllQuests()
+            .thenApply(allQuests -> allQuests.getOrDefault(playerClass, new ArrayList<>()));
+    }
+    
+    /**
+     * Возвращает уже выполняющийся запрос с тем же ключом или запускает новый
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> CompletableFuture<T> deduplicate(String key, Supplier<CompletableFuture<T>> requestFactory) {
+        CompletableFuture<T> created = new CompletableFuture<>();
+        CompletableFuture<?> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            Origins.LOGGER.info("⏳ Request for " + key + " already in flight, joining it");
+            return (CompletableFuture<T>) existing;
+        }
+        
+        long start = OriginsMetrics.start();
+        CompletableFuture<T> request;
+        try {
+            request = requestFactory.get();
+        } catch (RuntimeException e) {
+            request = CompletableFuture.failedFuture(e);
+        }
+        request.whenComplete((result, throwable) -> {
+            inFlight.remove(key, created);
+            OriginsMetrics.record(MetricType.API_CALL, start, () -> key + (throwable != null ? " ошибка: " + throwable.getMessage() : ""));
+            if (throwable != null) {
+                created.completeExceptionally(throwable);
+            } else {
+                created.complete(result);
             }
         });
+        return created;
     }
     
     /**
-     * Парсит JSON ответ с квестами для всех классов с улучшенной обработкой ошибок
+     * Парсит JSON ответ с квестами для всех классов с улучшенной обработкой ошибок.
+     * Тело читается потоково: в память целиком попадает только один квест за раз
      */
-    private static Map<String, List<Quest>> parseAllQuestsFromJson(String jsonResponse) {
-        Map<String, List<Quest>> allQuests = new HashMap<>();
+    private static Map<String, List<Quest>> parseAllQuestsFromJson(byte[] body) {
         String[] classes = {"cook", "courier", "brewer", "blacksmith", "miner", "warrior"};
+        Map<String, List<Quest>> allQuests = initializeEmptyQuests(classes);
         
-        Origins.LOGGER.info("🔍 [QuestApiClient] Начинаем парсинг JSON ответа длиной: " + jsonResponse.length() + " символов");
+        Origins.LOGGER.info("🔍 [QuestApiClient] Начинаем парсинг JSON ответа длиной: " + body.length + " байт");
         
         // Предварительная валидация JSON
-        if (jsonResponse == null || jsonResponse.trim().isEmpty()) {
+        if (body.length == 0) {
             Origins.LOGGER.error("❌ [QuestApiClient] Пустой JSON ответ");
-            return initializeEmptyQuests(classes);
+            return allQuests;
         }
         
-        try {
-            // Попытка парсинга основного JSON объекта
-            JsonObject responseObj;
-            try {
-                responseObj = JsonParser.parseString(jsonResponse).getAsJsonObject();
-                Origins.LOGGER.info("✅ [QuestApiClient] JSON успешно распарсен в объект");
-            } catch (Exception jsonParseError) {
-                Origins.LOGGER.error("🔥 [QuestApiClient] Критическая ошибка парсинга JSON: " + jsonParseError.getMessage());
-                Origins.LOGGER.error("🔥 [QuestApiClient] Проблемный JSON: " + jsonResponse.substring(0, Math.min(200, jsonResponse.length())));
-                return initializeEmptyQuests(classes);
-            }
-            
-            // Обрабатываем каждый класс отдельно
-            for (String className : classes) {
-                List<Quest> classQuests = new ArrayList<>();
-                Origins.LOGGER.info("🔍 [QuestApiClient] Обрабатываем класс: " + className);
+        try (JsonReader reader = newReader(body)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String className = reader.nextName();
+                List<Quest> classQuests = allQuests.get(className);
+                if (classQuests == null || reader.peek() != JsonToken.BEGIN_ARRAY) {
+                    reader.skipValue();
+                    continue;
+                }
                 
-                try {
-                    if (responseObj.has(className)) {
-                        JsonArray questsArray = responseObj.getAsJsonArray(className);
-                        Origins.LOGGER.info("📋 [QuestApiClient] Найден массив квестов для " + className + " размером: " + questsArray.size());
-                        
-                        // Обрабатываем каждый квест отдельно
-                        for (int i = 0; i < questsArray.size(); i++) {
-                            try {
-                                JsonObject questObj = questsArray.get(i).getAsJsonObject();
-                                Origins.LOGGER.info("🔍 [QuestApiClient] Парсим квест " + (i+1) + " для " + className);
-                                
-                                Quest quest = parseQuestFromJsonObjectSafely(questObj, className, i+1);
-                                if (quest != null) {
-                                    classQuests.add(quest);
-                                    Origins.LOGGER.info("✅ [QuestApiClient] Квест успешно создан: " + quest.getTitle());
-                                } else {
-                                    Origins.LOGGER.warn("❌ [QuestApiClient] Не удалось создать квест " + (i+1) + " для " + className + " - пропускаем");
-                                }
-                            } catch (Exception questError) {
-                                Origins.LOGGER.warn("❌ [QuestApiClient] Ошибка при обработке квеста " + (i+1) + " для " + className + ": " + questError.getMessage());
-                                // Продолжаем обработку остальных квестов
-                            }
-                        }
+                // Обрабатываем каждый квест отдельно
+                reader.beginArray();
+                int questIndex = 0;
+                while (reader.hasNext()) {
+                    questIndex++;
+                    JsonElement element = JsonParser.parseReader(reader);
+                    if (!element.isJsonObject()) {
+                        Origins.LOGGER.warn("❌ [QuestApiClient] Квест " + questIndex + " для " + className + " не является объектом - пропускаем");
+                        continue;
+                    }
+                    Quest quest = parseQuestFromJsonObjectSafely(element.getAsJsonObject(), className, questIndex);
+                    if (quest != null) {
+                        classQuests.add(quest);
                     } else {
-                        Origins.LOGGER.warn("❌ [QuestApiClient] Класс " + className + " не найден в JSON ответе");
+                        Origins.LOGGER.warn("❌ [QuestApiClient] Не удалось создать квест " + questIndex + " для " + className + " - пропускаем");
                     }
-                } catch (Exception classError) {
-                    Origins.LOGGER.error("❌ [QuestApiClient] Ошибка при обработке класса " + className + ": " + classError.getMessage());
-                    // Продолжаем обработку остальных классов
                 }
-                
-                allQuests.put(className, classQuests);
+                reader.endArray();
                 Origins.LOGGER.info("📊 [QuestApiClient] Итого для " + className + ": " + classQuests.size() + " квестов");
             }
-            
+            reader.endObject();
         } catch (Exception e) {
-            Origins.LOGGER.error("🔥 [QuestApiClient] Критическая ошибка при парсинге JSON", e);
-            Origins.LOGGER.error("🔥 [QuestApiClient] JSON содержимое: " + jsonResponse.substring(0, Math.min(500, jsonResponse.length())));
-            
             // Возвращаем частично обработанные данные вместо полного провала
-            if (allQuests.isEmpty()) {
-                return initializeEmptyQuests(classes);
-            }
+            Origins.LOGGER.error("🔥 [QuestApiClient] Критическая ошибка при парсинге JSON", e);
+            Origins.LOGGER.error("🔥 [QuestApiClient] JSON содержимое: " + preview(body));
         }
         
         int totalQuests = allQuests.values().stream().mapToInt(List::size).sum();
@@ -442,21 +471,29 @@ public class QuestApiClient {
     /**
      * Парсит JSON ответ от API в список квестов (старый метод для совместимости)
      */
-    private static List<Quest> parseQuestsFromJson(String jsonResponse) {
+    private static List<Quest> parseQuestsFromJson(byte[] body) {
         List<Quest> quests = new ArrayList<>();
         
-        try {
-            JsonObject responseObj = JsonParser.parseString(jsonResponse).getAsJsonObject();
-            JsonArray questsArray = responseObj.getAsJsonArray("quests");
-            
-            for (int i = 0; i < questsArray.size(); i++) {
-                JsonObject questObj = questsArray.get(i).getAsJsonObject();
-                Quest quest = parseQuestFromJsonObject(questObj);
-                if (quest != null) {
-                    quests.add(quest);
+        try (JsonReader reader = newReader(body)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (!"quests".equals(reader.nextName()) || reader.peek() != JsonToken.BEGIN_ARRAY) {
+                    reader.skipValue();
+                    continue;
                 }
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    JsonElement element = JsonParser.parseReader(reader);
+                    if (element.isJsonObject()) {
+                        Quest quest = parseQuestFromJsonObject(element.getAsJsonObject());
+                        if (quest != null) {
+                            quests.add(quest);
+                        }
+                    }
+                }
+                reader.endArray();
             }
-            
+            reader.endObject();
         } catch (Exception e) {
             Origins.LOGGER.error("Failed to parse quests from JSON response", e);
         }
@@ -464,6 +501,14 @@ public class QuestApiClient {
         return quests;
     }
     
+    private static JsonReader newReader(byte[] body) {
+        return new JsonReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+    }
+    
+    private static String preview(byte[] body) {
+        return new String(body, 0, Math.min(500, body.length), StandardCharsets.UTF_8);
+    }
+    
     /**
      * Парсит отдельный квест из JSON объекта
      */
@@ -542,25 +587,50 @@ public class QuestApiClient {
      * Проверяет доступность API
      */
     public static CompletableFuture<Boolean> isApiAvailable() {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                HttpRequest request = HttpRequest.newBuilder()
-                        .uri(URI.create(API_BASE_URL + "/"))
-                        .timeout(Duration.ofSeconds(10))
-                        .GET()
-                        .build();
-                
-                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-                
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(API_BASE_URL + "/"))
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+        
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+            .thenApply(response -> {
                 boolean isAvailable = response.statusCode() == 200;
                 Origins.LOGGER.info("🔍 API Health Check: " + (isAvailable ? "✅ AVAILABLE" : "❌ UNAVAILABLE") + " (Status: " + response.statusCode() + ")");
-                
                 return isAvailable;
-                
-            } catch (Exception e) {
-                Origins.LOGGER.warn("🔍 API Health Check: ❌ EXCEPTION - " + e.getMessage());
+            })
+            .exceptionally(throwable -> {
+                Origins.LOGGER.warn("🔍 API Health Check: ❌ EXCEPTION - " + throwable.getMessage());
                 return false;
-            }
-        });
+            });
+    }
+    
+    /**
+     * Результат проверки доступности API (QuestApiManager) управляет предохранителем:
+     * успешная проверка закрывает его, неудачная - открывает
+     */
+    public static void onAvailabilityChecked(boolean available) {
+        if (available) {
+            consecutiveFailures.set(0);
+            circuitOpenUntil = 0;
+        } else {
+            circuitOpenUntil = System.currentTimeMillis() + CIRCUIT_OPEN_MILLIS;
+        }
+    }
+    
+    public static boolean isCircuitOpen() {
+        return System.currentTimeMillis() < circuitOpenUntil;
+    }
+    
+    private static void recordSuccess() {
+        consecutiveFailures.set(0);
+    }
+    
+    private static void recordFailure() {
+        OriginsMetrics.recordError(MetricType.API_CALL);
+        if (consecutiveFailures.incrementAndGet() >= FAILURE_THRESHOLD) {
+            circuitOpenUntil = System.currentTimeMillis() + CIRCUIT_OPEN_MILLIS;
+            Origins.LOGGER.warn("⛔ Quest API circuit opened after " + consecutiveFailures.get() + " failed requests");
+        }
     }
-}
\ No newline at end of file
+}
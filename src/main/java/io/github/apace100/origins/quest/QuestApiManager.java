@@ -1,7 +1,11 @@
 package io.github.apace100.origins.quest;
 
 import io.github.apace100.origins.Origins;
+import io.github.apace100.origins.metrics.MetricType;
+import io.github.apace100.origins.metrics.OriginsMetrics;
+import net.minecraft.inventory.SimpleInventory;
 import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NbtCompound;
 import net.minecraft.server.world.ServerWorld;
 
 import java.util.*;
@@ -22,6 +26,12 @@ public class QuestApiManager {
     // Время последнего обновления для каждого класса
     private final Map<String, Long> lastUpdateTime = new ConcurrentHashMap<>();
     
+    // Готовые билеты для досок каждого класса вместе с версией пула, из которой они собраны
+    private final Map<String, BoardTickets> boardTickets = new ConcurrentHashMap<>();
+    
+    // Размер доски объявлений (3x7 слотов)
+    private static final int BOARD_SIZE = 21;
+    
     // Флаг доступности API
     private boolean apiAvailable = false;
     private long lastApiCheck = 0;
@@ -30,6 +40,7 @@ public class QuestApiManager {
     private boolean isLoadingQuests = false; // Флаг для предотвращения множественных загрузок квестов
     private long lastQuestLoadAttempt = 0; // Время последней попытки загрузки квестов
     private static final long MIN_LOAD_INTERVAL = 1200L; // Минимальный интервал между попытками загрузки (1 минута)
+    private static final long PIPELINE_INTERVAL_TICKS = 200L; // Проверка границ пула квестов каждые 10 секунд
     
     // Классы игроков
     private static final String[] PLAYER_CLASSES = {
@@ -52,44 +63,105 @@ public class QuestApiManager {
     }
     
     /**
-     * Обновляет конкретную доску объявлений квестами ТОЛЬКО из системы накопления
+     * Обновляет конкретную доску объявлений квестами ТОЛЬКО из системы накопления.
+     * Если версия пула класса не изменилась с прошлого обновления доски, ничего не делает,
+     * иначе заменяет только слоты, квест в которых отличается (ревизия билета при сравнении не учитывается).
+     * Возвращает true, если хотя бы один слот изменился
      */
-    public void updateBoard(ClassBountyBoardBlockEntity board) {
+    public boolean updateBoard(ClassBountyBoardBlockEntity board) {
         String boardClass = board.getBoardClass();
+        long version = QuestAccumulation.getInstance().getVersion(boardClass);
+        if (board.getDisplayedPoolVersion() == version) {
+            return false;
+        }
         
-        // Получаем накопленные квесты ТОЛЬКО из системы накопления
-        List<Quest> accumulatedQuests = QuestAccumulation.getInstance().getAccumulatedQuests(boardClass);
+        long start = OriginsMetrics.start();
+        List<ItemStack> tickets = getBoardTickets(boardClass, version);
+        SimpleInventory bounties = board.getBounties();
+        int changedSlots = 0;
+        for (int i = 0; i < bounties.size(); i++) {
+            ItemStack ticket = i < tickets.size() ? tickets.get(i) : ItemStack.EMPTY;
+            if (!isSameTicket(bounties.getStack(i), ticket)) {
+                bounties.setStack(i, ticket.copy());
+                changedSlots++;
+            }
+        }
+        board.setDisplayedPoolVersion(version);
         
-        // ВСЕГДА очищаем доску сначала
-        board.getBounties().clear();
+        int updatedSlots = changedSlots;
+        OriginsMetrics.record(MetricType.BOARD_REFRESH, start, () -> "class=" + boardClass + ", изменено слотов: " + updatedSlots +
+            ", квестов на доске: " + tickets.size() + ", версия пула " + version);
+        return changedSlots > 0;
+    }
+    
+    /**
+     * Совпадает ли билет в слоте доски с новым билетом. Каждая сборка билета записывает новую ревизию,
+     * поэтому при несовпадении стаки сравниваются без нее (например, билеты доски, загруженные из мира)
+     */
+    private static boolean isSameTicket(ItemStack current, ItemStack ticket) {
+        if (ItemStack.areEqual(current, ticket)) {
+            return true;
+        }
+        if (!ItemStack.areItemsEqual(current, ticket) || current.getCount() != ticket.getCount()
+            || current.getNbt() == null || ticket.getNbt() == null) {
+            return false;
+        }
+        return withoutRevision(current.getNbt()).equals(withoutRevision(ticket.getNbt()));
+    }
+    
+    private static NbtCompound withoutRevision(NbtCompound nbt) {
+        NbtCompound copy = nbt.copy();
+        copy.remove(QuestDecodeCache.REVISION_KEY);
+        return copy;
+    }
+    
+    /**
+     * Билеты квестов для досок класса. Собираются один раз на версию пула,
+     * доски получают копии стаков. Билеты квестов, оставшихся в пуле, берутся из прошлой сборки,
+     * чтобы при смене версии неизменные слоты досок совпадали и не перезаписывались
+     */
+    private List<ItemStack> getBoardTickets(String boardClass, long version) {
+        BoardTickets cached = boardTickets.get(boardClass);
+        if (cached != null && cached.version() == version) {
+            return cached.tickets();
+        }
         
-        if (!accumulatedQuests.isEmpty()) {
-            // Отображаем до 21 квеста (размер доски)
-            int questsToShow = Math.min(accumulatedQuests.size(), 21);
-            
-            Origins.LOGGER.info("🔄 Updating board for class: " + boardClass + " with " + questsToShow + " quests from accumulation");
-            
-            for (int i = 0; i < questsToShow; i++) {
-                Quest quest = accumulatedQuests.get(i);
-                ItemStack questTicket = QuestTicketItem.createQuestTicket(quest);
-                if (!questTicket.isEmpty()) {
-                    board.getBounties().setStack(i, questTicket);
-                    Origins.LOGGER.info("  Added quest to slot " + i + ": " + quest.getTitle() + " (ID: " + quest.getId() + ")");
-                }
+        Map<String, Integer> previousSlots = new HashMap<>();
+        if (cached != null) {
+            for (int i = 0; i < cached.quests().size(); i++) {
+                previousSlots.put(cached.quests().get(i).getId(), i);
             }
-            
-            board.markDirty();
-            
-            // Получаем статистику накопления
-            int requestCount = QuestAccumulation.getInstance().getRequestCount(boardClass);
-            int maxRequests = QuestAccumulation.getInstance().getMaxRequests();
-            
-            Origins.LOGGER.info("✅ Board updated for class: " + boardClass + " with " + questsToShow + " quests " +
-                "(накоплено: " + accumulatedQuests.size() + ", запрос " + requestCount + "/" + maxRequests + ")");
-        } else {
+        }
+        
+        List<Quest> accumulatedQuests = QuestAccumulation.getInstance().getAccumulatedQuests(boardClass);
+        int questsToShow = Math.min(accumulatedQuests.size(), BOARD_SIZE);
+        List<Quest> quests = new ArrayList<>(questsToShow);
+        List<ItemStack> tickets = new ArrayList<>(questsToShow);
+        int reused = 0;
+        for (int i = 0; i < questsToShow; i++) {
+            Quest quest = accumulatedQuests.get(i);
+            Integer previous = previousSlots.get(quest.getId());
+            // Тот же объект квеста в пуле - данные квеста не менялись
+            if (previous != null && cached.quests().get(previous) == quest) {
+                tickets.add(cached.tickets().get(previous));
+                reused++;
+            } else {
+                tickets.add(QuestTicketItem.createQuestTicket(quest));
+            }
+            quests.add(quest);
+        }
+        
+        if (tickets.isEmpty()) {
             // Доска остается пустой до получения квестов от API
-            Origins.LOGGER.info("📋 Board for class " + boardClass + " remains empty - no accumulated quests");
+            Origins.LOGGER.debug("📋 Board for class " + boardClass + " remains empty - no accumulated quests");
+        } else {
+            Origins.LOGGER.debug("🔄 Built " + (questsToShow - reused) + " quest tickets for class: " + boardClass
+                + ", reused " + reused + " (версия пула " + version + ")");
         }
+        
+        List<ItemStack> result = Collections.unmodifiableList(tickets);
+        boardTickets.put(boardClass, new BoardTickets(version, Collections.unmodifiableList(quests), result));
+        return result;
     }
     
     /**
@@ -107,48 +179,90 @@ public class QuestApiManager {
             return;
         }
         
-        // Проверяем, есть ли классы, которым нужны новые запросы к API
-        List<String> classesNeedingRequests = QuestAccumulation.getInstance().getClassesNeedingApiRequests();
+        // Пополняем пул квестов классов, опустившихся ниже нижней границы, до верхней
+        if (currentTime % PIPELINE_INTERVAL_TICKS == 0) {
+            refillPool(world);
+        }
+    }
+    
+    /**
+     * Поддерживает пул квестов между границами: вытесняет устаревшие квесты и запрашивает новые
+     * для классов, опустившихся ниже нижней границы, каждый цикл, пока они не заполнятся до верхней.
+     * Если таких классов несколько, они пополняются одним
+     * запросом /quests/all, иначе запрашивается только недостающее для одного класса
+     */
+    private void refillPool(ServerWorld world) {
+        QuestAccumulation accumulation = QuestAccumulation.getInstance();
+        accumulation.evictExpired();
         
-        if (!classesNeedingRequests.isEmpty()) {
-            Origins.LOGGER.info("🔄 Классы нуждающиеся в новых запросах к API: " + classesNeedingRequests);
-            
-            // Загружаем квесты для классов, которым они нужны
-            for (String playerClass : classesNeedingRequests) {
-                loadQuestsForSingleClass(playerClass, world);
-            }
+        List<String> lowClasses = accumulation.getClassesNeedingApiRequests();
+        if (lowClasses.isEmpty() || QuestApiClient.isCircuitOpen()) {
             return;
         }
         
-        // Проверяем время до следующего обновления (только если нет срочных запросов)
-        Long firstClassLastUpdate = lastUpdateTime.get(PLAYER_CLASSES[0]);
-        if (firstClassLastUpdate != null) {
-            long timeSinceLastUpdate = currentTime - firstClassLastUpdate;
-            long timeUntilNextUpdate = UPDATE_INTERVAL_TICKS - timeSinceLastUpdate;
-            
-            // Обратный отсчет до следующего запроса (каждые 5 минут)
-            if (currentTime % (5 * 60 * 20) == 0) { // Каждые 5 минут
-                int minutesLeft = (int) (timeUntilNextUpdate / (20 * 60));
-                if (minutesLeft > 0) {
-                    QuestApiChatLogger.logCountdownToNextRequest(world.getServer(), minutesLeft);
-                }
-            }
-            
-            // Уведомление за 1 минуту (1200 тиков) до обновления
-            if (timeUntilNextUpdate <= 1200 && timeUntilNextUpdate > 1180) {
-                QuestApiChatLogger.logQuestUpdateWarning(world.getServer(), 1);
-            }
-            
-            // Время для обновления
-            if (timeSinceLastUpdate >= UPDATE_INTERVAL_TICKS) {
-                Origins.LOGGER.info("🔄 Time to update all quests via optimized API...");
-                loadAllQuests(world);
-            }
+        Origins.LOGGER.info("🔄 Пополняются пулы классов: " + lowClasses);
+        if (lowClasses.size() > 1) {
+            loadQuestsBatch(lowClasses, world);
         } else {
-            // Первый запуск - загружаем квесты сразу
-            Origins.LOGGER.info("🚀 First time loading quests...");
-            loadAllQuests(world);
+            String playerClass = lowClasses.get(0);
+            int questCount = Math.min(accumulation.getDeficit(playerClass), QuestAccumulation.QUESTS_PER_REQUEST);
+            loadQuestsForSingleClass(playerClass, Math.max(1, questCount), world);
+        }
+    }
+    
+    /**
+     * Пополняет несколько классов одним запросом /quests/all, принимая не больше квестов, чем не хватает до верхней границы
+     */
+    private void loadQuestsBatch(List<String> lowClasses, ServerWorld world) {
+        long currentTime = world.getTime();
+        
+        if (isLoadingQuests) {
+            Origins.LOGGER.info("⏳ Already loading quests, skipping batch request...");
+            return;
         }
+        
+        if (currentTime - lastQuestLoadAttempt < MIN_LOAD_INTERVAL) {
+            return;
+        }
+        
+        isLoadingQuests = true;
+        lastQuestLoadAttempt = currentTime;
+        
+        Origins.LOGGER.info("🚀 Loading quests in one batch for classes: " + lowClasses);
+        
+        QuestApiClient.getAllQuests()
+            .thenAccept(allQuests -> {
+                try {
+                    long updateTime = world.getTime();
+                    int totalQuests = 0;
+                    
+                    for (String playerClass : PLAYER_CLASSES) {
+                        List<Quest> classQuests = allQuests.getOrDefault(playerClass, new ArrayList<>());
+                        int deficit = QuestAccumulation.getInstance().getDeficit(playerClass);
+                        if (classQuests.isEmpty() || deficit == 0) {
+                            continue;
+                        }
+                        
+                        List<Quest> accepted = new ArrayList<>(classQuests.subList(0, Math.min(deficit, classQuests.size())));
+                        QuestAccumulation.getInstance().addQuestsForClass(playerClass, accepted, world.getServer());
+                        lastUpdateTime.put(playerClass, updateTime);
+                        totalQuests += accepted.size();
+                    }
+                    
+                    if (totalQuests > 0) {
+                        QuestApiChatLogger.logQuestsAppeared(world.getServer(), totalQuests);
+                    } else {
+                        Origins.LOGGER.warn("❌ No quests received from batch request");
+                    }
+                } finally {
+                    isLoadingQuests = false;
+                }
+            })
+            .exceptionally(throwable -> {
+                isLoadingQuests = false;
+                Origins.LOGGER.error("🔥 Failed to load quests in batch", throwable);
+                return null;
+            });
     }
     
     /**
@@ -284,6 +398,21 @@ public class QuestApiManager {
         return questCache.getOrDefault(playerClass, new ArrayList<>());
     }
     
+    /**
+     * Копия времени последнего обновления классов для сохранения в мире
+     */
+    public Map<String, Long> getLastUpdateTimes() {
+        return new HashMap<>(lastUpdateTime);
+    }
+    
+    /**
+     * Восстанавливает время последнего обновления классов из сохранения мира
+     */
+    public void restoreLastUpdateTimes(Map<String, Long> updateTimes) {
+        lastUpdateTime.clear();
+        lastUpdateTime.putAll(updateTimes);
+    }
+    
     /**
      * Получает время до следующего обновления в тиках
      */
@@ -315,14 +444,14 @@ public class QuestApiManager {
             loadAllQuests(world);
         } else {
             Origins.LOGGER.info("Force updating quests for single class: " + playerClass);
-            loadQuestsForSingleClass(playerClass, world);
+            loadQuestsForSingleClass(playerClass, QuestAccumulation.QUESTS_PER_REQUEST, world);
         }
     }
     
     /**
      * Загружает квесты только для одного класса
      */
-    private void loadQuestsForSingleClass(String playerClass, ServerWorld world) {
+    private void loadQuestsForSingleClass(String playerClass, int questCount, ServerWorld world) {
         long currentTime = world.getTime();
         
         // Проверяем, не загружаем ли мы уже квесты
@@ -342,10 +471,10 @@ public class QuestApiManager {
         
         Origins.LOGGER.info("🚀 Loading quests for single class: " + playerClass);
         
-        QuestApiChatLogger.logApiRequest(world.getServer(), "CLASS " + playerClass.toUpperCase(), 5);
+        QuestApiChatLogger.logApiRequest(world.getServer(), "CLASS " + playerClass.toUpperCase(), questCount);
         
         // Используем прямой запрос для одного класса
-        QuestApiClient.getQuestsForSingleClass(playerClass, 5)
+        QuestApiClient.getQuestsForSingleClass(playerClass, questCount)
             .thenAccept(newQuests -> {
                 try {
                     if (!newQuests.isEmpty()) {
@@ -410,6 +539,7 @@ public class QuestApiManager {
         QuestApiClient.isApiAvailable()
             .thenAccept(available -> {
                 isCheckingApi = false;
+                QuestApiClient.onAvailabilityChecked(available);
                 
                 if (available != apiAvailable) {
                     apiAvailable = available;
@@ -417,7 +547,7 @@ public class QuestApiManager {
                         Origins.LOGGER.info("✅ Quest API is now AVAILABLE!");
                         QuestApiChatLogger.logApiConnected(world.getServer());
                         QuestApiChatLogger.logQuestUpdate(world.getServer());
-                        loadAllQuests(world);
+                        refillPool(world);
                     } else {
                         Origins.LOGGER.warn("❌ Quest API is NOT AVAILABLE");
                         QuestApiChatLogger.logApiUnavailable(world.getServer());
@@ -428,6 +558,7 @@ public class QuestApiManager {
             })
             .exceptionally(throwable -> {
                 isCheckingApi = false;
+                QuestApiClient.onAvailabilityChecked(false);
                 if (apiAvailable) {
                     Origins.LOGGER.warn("🔥 Quest API became unavailable due to exception: " + throwable.getMessage());
                     QuestApiChatLogger.logApiUnavailable(world.getServer());
@@ -510,4 +641,7 @@ public class QuestApiManager {
         // Этот метод будет вызван автоматически при следующем обращении к доске
         // через метод updateBoard в ClassBountyBoardBlockEntity
     }
-}
\ No newline at end of file
+    
+    private record BoardTickets(long version, List<Quest> quests, List<ItemStack> tickets) {
+    }
+}
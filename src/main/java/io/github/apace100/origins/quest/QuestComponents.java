@@ -0,0 +1,19 @@
+package io.github.apace100.origins.quest;
+
+import dev.onyxstudios.cca.api.v3.entity.EntityComponentFactoryRegistry;
+import dev.onyxstudios.cca.api.v3.entity.EntityComponentInitializer;
+import dev.onyxstudios.cca.api.v3.entity.RespawnCopyStrategy;
+
+/**
+ * Регистрация компонентов квестов
+ */
+public class QuestComponents implements EntityComponentInitializer {
+
+    @Override
+    public void registerEntityComponentFactories(EntityComponentFactoryRegistry registry) {
+        // Регистрируем компонент активных квестов для игроков
+        registry.registerForPlayers(ActiveQuestComponent.KEY,
+            ActiveQuestComponent::new,
+            RespawnCopyStrategy.ALWAYS_COPY);
+    }
+}
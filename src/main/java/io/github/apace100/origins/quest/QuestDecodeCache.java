@@ -0,0 +1,119 @@
+package io.github.apace100.origins.quest;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NbtCompound;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Кэш разобранных квестов из билетов.
+ * Каждое изменение данных квеста в NBT билета записывает новую ревизию (quest_revision),
+ * поэтому пара (ID квеста, ревизия) однозначно определяет содержимое квеста,
+ * в том числе для копий стека на клиенте.
+ * Квесты из кэша общие для всех вызывающих и не должны изменяться.
+ */
+public final class QuestDecodeCache {
+    public static final String REVISION_KEY = "quest_revision";
+
+    private static final int MAX_ENTRIES = 512;
+
+    // Начальное значение зависит от времени запуска, чтобы ревизии не повторялись после перезапуска
+    private static final AtomicLong NEXT_REVISION = new AtomicLong(System.currentTimeMillis() << 16);
+
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong UNSTAMPED = new AtomicLong();
+
+    private static final Map<Long, Quest> CACHE = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Quest> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private QuestDecodeCache() {}
+
+    /**
+     * Записывает в билет новую ревизию данных квеста
+     */
+    public static void stamp(ItemStack stack) {
+        if (stack.isEmpty()) {
+            return;
+        }
+        stack.getOrCreateNbt().putLong(REVISION_KEY, NEXT_REVISION.incrementAndGet());
+    }
+
+    /**
+     * Возвращает квест из кэша или разбирает его из NBT с помощью decoder
+     */
+    public static Quest get(ItemStack stack, Function<ItemStack, Quest> decoder) {
+        NbtCompound nbt = stack.getNbt();
+        long revision = nbt != null ? nbt.getLong(REVISION_KEY) : 0L;
+        if (revision == 0L) {
+            // Старые билеты без ревизии разбираются каждый раз
+            UNSTAMPED.incrementAndGet();
+            return decoder.apply(stack);
+        }
+
+        String questId = QuestItem.getQuestId(stack);
+        Quest cached;
+        synchronized (CACHE) {
+            cached = CACHE.get(revision);
+        }
+        if (cached != null && cached.getId().equals(questId)) {
+            HITS.incrementAndGet();
+            return cached;
+        }
+
+        MISSES.incrementAndGet();
+        Quest quest = decoder.apply(stack);
+        if (quest != null) {
+            synchronized (CACHE) {
+                CACHE.put(revision, quest);
+            }
+        }
+        return quest;
+    }
+
+    /**
+     * Очищает кэш и счетчики
+     */
+    public static void clear() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+        HITS.set(0);
+        MISSES.set(0);
+        UNSTAMPED.set(0);
+    }
+
+    public static long getHits() { return HITS.get(); }
+    public static long getMisses() { return MISSES.get(); }
+    public static long getUnstamped() { return UNSTAMPED.get(); }
+
+    /**
+     * Доля попаданий в кэш (0.0 - 1.0)
+     */
+    public static double getHitRate() {
+        long hits = HITS.get();
+        long total = hits + MISSES.get();
+        return total > 0 ? (double) hits / total : 0.0;
+    }
+
+    public static int size() {
+        synchronized (CACHE) {
+            return CACHE.size();
+        }
+    }
+
+    /**
+     * Краткая статистика для команд отладки
+     */
+    public static String getStatsSummary() {
+        return String.format("hits=%d, misses=%d, unstamped=%d, hitRate=%.1f%%, size=%d",
+            getHits(), getMisses(), getUnstamped(), getHitRate() * 100.0, size());
+    }
+}
@@ -23,14 +23,12 @@ public class QuestEventHandlers {
         // Регистрируем обработчик разрушения блоков
         PlayerBlockBreakEvents.AFTER.register(QuestEventHandlers::onBlockBreak);
         
-        // Регистрируем обработчик тиков игрока для периодического обновления
-        net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents.END_SERVER_TICK.register(server -> {
-            for (net.minecraft.server.network.ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
-                onPlayerTick(player);
-            }
-        });
+        // Периодическое обновление прогресса выполняет QuestScheduler
         
-            }
+        // Индекс целей квестов больше не нужен после выхода игрока
+        net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents.DISCONNECT.register((handler, server) ->
+            QuestObjectiveIndex.getInstance().remove(handler.getPlayer().getUuid()));
+    }
     
     /**
      * Обработчик разрушения блоков (для майнинга)
@@ -138,18 +136,13 @@ public class QuestEventHandlers {
     
     /**
      * Периодическое обновление прогресса квестов
-     * Вызывается каждую секунду для проверки целей типа "collect"
+     * Вызывается QuestScheduler раз в секунду для проверки целей типа "collect"
      */
     public static void onPlayerTick(PlayerEntity player) {
         if (player == null || player.getWorld().isClient || !(player instanceof ServerPlayerEntity)) {
             return;
         }
         
-        // Обновляем только каждые 20 тиков (1 секунда)
-        if (player.getWorld().getTime() % 20 != 0) {
-            return;
-        }
-        
         try {
             // Получаем все билеты квестов и обновляем их прогресс
             QuestInventoryManager inventoryManager = QuestInventoryManager.getInstance();
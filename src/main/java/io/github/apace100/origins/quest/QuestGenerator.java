@@ -23,6 +23,8 @@ import java.util.*;
 public class QuestGenerator {
     private static final Gson GSON = new Gson();
     private static final Map<String, List<Quest>> loadedQuests = new HashMap<>();
+    // Индекс загруженных квестов по ID
+    private static final Map<String, Quest> questsById = new HashMap<>();
     private static final Random random = new Random();
     
     /**
@@ -30,6 +32,7 @@ public class QuestGenerator {
      */
     public static void loadQuestsFromResources(ResourceManager resourceManager) {
         loadedQuests.clear();
+        questsById.clear();
         
         // Список файлов квестов для загрузки
         String[] questFiles = {
@@ -89,6 +92,7 @@ public class QuestGenerator {
                 for (Quest quest : quests) {
                     String playerClass = normalizePlayerClass(quest.getPlayerClass());
                     loadedQuests.computeIfAbsent(playerClass, k -> new ArrayList<>()).add(quest);
+                    questsById.putIfAbsent(quest.getId(), quest);
                 }
                 
                                 
@@ -275,20 +279,15 @@ public class QuestGenerator {
      */
     public static void clearLoadedQuests() {
         loadedQuests.clear();
+        questsById.clear();
     }
     
     /**
      * Получает квест по ID
      */
     public static Quest getQuestById(String questId) {
-        for (List<Quest> quests : loadedQuests.values()) {
-            for (Quest quest : quests) {
-                if (quest.getId().equals(questId)) {
-                    return quest.createFreshCopy();
-                }
-            }
-        }
-        return null;
+        Quest quest = questsById.get(questId);
+        return quest != null ? quest.createFreshCopy() : null;
     }
     
     /**
@@ -61,6 +61,7 @@ public class QuestItem {
         }
         
         stack.getOrCreateNbt().put(QUEST_NBT_KEY, questNbt);
+        QuestDecodeCache.stamp(stack);
         
         // Устанавливаем кастомное название
         stack.setCustomName(quest.getFormattedTitle());
@@ -69,9 +70,23 @@ public class QuestItem {
     }
     
     /**
-     * Извлекает квест из ItemStack
+     * Извлекает квест из ItemStack.
+     * Результат берется из {@link QuestDecodeCache} и не должен изменяться;
+     * для изменения прогресса используйте {@link #decodeQuestFromStack(ItemStack)}
      */
     public static Quest getQuestFromStack(ItemStack stack) {
+        if (stack.isEmpty() || !(stack.getItem() instanceof QuestTicketItem)) {
+            io.github.apace100.origins.Origins.LOGGER.warn("Попытка получить квест из пустого или неверного ItemStack: {}", stack);
+            return null;
+        }
+        
+        return QuestDecodeCache.get(stack, QuestItem::decodeQuestFromStack);
+    }
+    
+    /**
+     * Разбирает квест из NBT без кэша, возвращая новый изменяемый экземпляр
+     */
+    public static Quest decodeQuestFromStack(ItemStack stack) {
     if (stack.isEmpty() || !(stack.getItem() instanceof QuestTicketItem)) {
         io.github.apace100.origins.Origins.LOGGER.warn("Попытка получить квест из пустого или неверного ItemStack: {}", stack);
         return null;
@@ -197,6 +212,21 @@ public class QuestItem {
     }
 }
     
+    /**
+     * Получает ID квеста из ItemStack без полного разбора NBT
+     */
+    public static String getQuestId(ItemStack stack) {
+        NbtCompound nbt = stack.getNbt();
+        if (nbt == null) {
+            return "";
+        }
+        
+        if (nbt.contains(QUEST_NBT_KEY)) {
+            return nbt.getCompound(QUEST_NBT_KEY).getString(QUEST_ID_KEY);
+        }
+        return nbt.getString("quest_id");
+    }
+    
     /**
      * Проверяет, является ли ItemStack квестом
      */
@@ -554,6 +584,7 @@ public class QuestItem {
         }
         
         stack.getOrCreateNbt().put(QUEST_NBT_KEY, questNbt);
+        QuestDecodeCache.stamp(stack);
         stack.setCustomName(quest.getFormattedTitle());
         
         return stack;
@@ -1,6 +1,9 @@
 package io.github.apace100.origins.quest;
 
 import io.github.apace100.origins.Origins;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.util.math.random.Random;
@@ -11,12 +14,17 @@ import java.util.stream.Collectors;
 /**
  * Менеджер квестов, управляющий системой квестов Origins.
  * Обеспечивает загрузку, генерацию и управление квестами.
+ * Активные квесты хранятся по игрокам в картах по ID квеста; карту игрока держит его
+ * {@link ActiveQuestComponent}, менеджер лишь ссылается на нее. Сроки квестов лежат в min-куче,
+ * поэтому {@link #tick()} обрабатывает только квесты, срок которых наступил.
  */
 public class QuestManager {
     private static QuestManager instance;
     
-    private final Map<String, List<Quest>> questsByClass = new HashMap<>();
-    private final Map<UUID, List<ActiveQuest>> activeQuests = new HashMap<>();
+    // Карты активных квестов игроков на сервере (принадлежат их ActiveQuestComponent)
+    private final Map<UUID, Map<String, ActiveQuest>> activeQuests = new HashMap<>();
+    // Сроки квестов с ограничением времени; устаревшие записи пропускаются при извлечении
+    private final PriorityQueue<Deadline> deadlines = new PriorityQueue<>();
     private final Random random = Random.create();
     
     private QuestManager() {
@@ -30,6 +38,19 @@ public class QuestManager {
         return instance;
     }
     
+    /**
+     * Регистрирует обработку сроков квестов и выгрузку квестов вышедших игроков
+     */
+    public static void register() {
+        QuestManager manager = getInstance();
+        ServerTickEvents.END_SERVER_TICK.register(server -> manager.tick());
+        
+        // Квесты сохраняются из компонента игрока, поэтому выгрузка до сохранения данных безопасна
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) ->
+            manager.unloadPlayer(handler.getPlayer().getUuid()));
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> manager.clearAllQuests());
+    }
+    
     /**
      * Инициализация квестов из JSON файлов
      */
@@ -80,7 +101,7 @@ public class QuestManager {
         UUID playerId = player.getUuid();
         
         // Проверяем, не достиг ли игрок лимита активных квестов
-        List<ActiveQuest> playerQuests = activeQuests.get(playerId);
+        Map<String, ActiveQuest> playerQuests = activeQuests.get(playerId);
         if (playerQuests != null && playerQuests.size() >= getMaxActiveQuests()) {
             Origins.LOGGER.info("Игрок {} достиг лимита квестов: {}/{}", 
                 player.getName().getString(), playerQuests.size(), getMaxActiveQuests());
@@ -116,9 +137,9 @@ public class QuestManager {
         UUID playerId = player.getUuid();
         ActiveQuest activeQuest = new ActiveQuest(quest, System.currentTimeMillis());
         
-        // Получаем или создаем список активных квестов для игрока
-        List<ActiveQuest> playerQuests = activeQuests.computeIfAbsent(playerId, k -> new ArrayList<>());
-        playerQuests.add(activeQuest);
+        Map<String, ActiveQuest> playerQuests = getOrAttach(player);
+        playerQuests.put(quest.getId(), activeQuest);
+        scheduleDeadline(playerId, activeQuest);
         
         Origins.LOGGER.info("Игрок {} начал квест: {} (активных квестов: {})", 
             player.getName().getString(), quest.getTitle(), playerQuests.size());
@@ -145,13 +166,10 @@ public class QuestManager {
      * Находит квест по ID
      */
     private Quest findQuestById(String questId) {
-        // Сначала пробуем найти в загруженных квестах
-        for (List<Quest> quests : questsByClass.values()) {
-            for (Quest quest : quests) {
-                if (quest.getId().equals(questId)) {
-                    return quest;
-                }
-            }
+        // Сначала ищем в индексе загруженных из JSON квестов
+        Quest loaded = QuestGenerator.getQuestById(questId);
+        if (loaded != null) {
+            return loaded;
         }
         
         // Если не найден, пробуем сгенерировать через QuestGenerator
@@ -197,18 +215,9 @@ public class QuestManager {
      * Завершает квест для игрока
      */
     public void completeQuest(PlayerEntity player, Quest quest) {
-        UUID playerId = player.getUuid();
-        List<ActiveQuest> playerQuests = activeQuests.get(playerId);
-        
-        if (playerQuests != null) {
-            boolean removed = playerQuests.removeIf(activeQuest -> activeQuest.getQuest().equals(quest));
-            if (removed) {
-                                
-                // Если у игрока больше нет активных квестов, удаляем запись
-                if (playerQuests.isEmpty()) {
-                    activeQuests.remove(playerId);
-                }
-            }
+        ActiveQuest activeQuest = getActiveQuest(player, quest.getId());
+        if (activeQuest != null && activeQuest.getQuest().equals(quest)) {
+            removeActiveQuest(player.getUuid(), quest.getId());
         }
     }
     
@@ -216,77 +225,47 @@ public class QuestManager {
      * Завершает квест для игрока по ID
      */
     public void completeQuest(PlayerEntity player, String questId) {
-        UUID playerId = player.getUuid();
-        List<ActiveQuest> playerQuests = activeQuests.get(playerId);
-        
-        if (playerQuests != null) {
-            boolean removed = playerQuests.removeIf(activeQuest -> activeQuest.getQuest().getId().equals(questId));
-            if (removed) {
-                                
-                // Если у игрока больше нет активных квестов, удаляем запись
-                if (playerQuests.isEmpty()) {
-                    activeQuests.remove(playerId);
-                }
-            }
-        }
+        removeActiveQuest(player.getUuid(), questId);
     }
     
     /**
      * Отменяет все квесты для игрока
      */
     public void cancelAllQuests(PlayerEntity player) {
-        UUID playerId = player.getUuid();
-        List<ActiveQuest> playerQuests = activeQuests.remove(playerId);
-        
-        if (playerQuests != null && !playerQuests.isEmpty()) {
-                    }
+        Map<String, ActiveQuest> playerQuests = activeQuests.get(player.getUuid());
+        if (playerQuests != null) {
+            playerQuests.clear();
+        }
     }
     
     /**
      * Отменяет конкретный квест для игрока
      */
     public void cancelQuest(PlayerEntity player, String questId) {
-        UUID playerId = player.getUuid();
-        List<ActiveQuest> playerQuests = activeQuests.get(playerId);
-        
-        if (playerQuests != null) {
-            boolean removed = playerQuests.removeIf(activeQuest -> activeQuest.getQuest().getId().equals(questId));
-            if (removed) {
-                                
-                // Если у игрока больше нет активных квестов, удаляем запись
-                if (playerQuests.isEmpty()) {
-                    activeQuests.remove(playerId);
-                }
-            }
-        }
+        removeActiveQuest(player.getUuid(), questId);
     }
     
     /**
      * Получает все активные квесты игрока
      */
     public List<ActiveQuest> getActiveQuests(PlayerEntity player) {
-        List<ActiveQuest> playerQuests = activeQuests.get(player.getUuid());
-        return playerQuests != null ? new ArrayList<>(playerQuests) : new ArrayList<>();
+        Map<String, ActiveQuest> playerQuests = activeQuests.get(player.getUuid());
+        return playerQuests != null ? new ArrayList<>(playerQuests.values()) : new ArrayList<>();
     }
     
     /**
      * Получает активный квест игрока по ID
      */
     public ActiveQuest getActiveQuest(PlayerEntity player, String questId) {
-        List<ActiveQuest> playerQuests = activeQuests.get(player.getUuid());
-        if (playerQuests == null) return null;
-        
-        return playerQuests.stream()
-            .filter(activeQuest -> activeQuest.getQuest().getId().equals(questId))
-            .findFirst()
-            .orElse(null);
+        Map<String, ActiveQuest> playerQuests = activeQuests.get(player.getUuid());
+        return playerQuests != null ? playerQuests.get(questId) : null;
     }
     
     /**
      * Проверяет, есть ли у игрока активные квесты
      */
     public boolean hasActiveQuest(PlayerEntity player) {
-        List<ActiveQuest> playerQuests = activeQuests.get(player.getUuid());
+        Map<String, ActiveQuest> playerQuests = activeQuests.get(player.getUuid());
         return playerQuests != null && !playerQuests.isEmpty();
     }
     
@@ -294,72 +273,120 @@ public class QuestManager {
      * Проверяет, есть ли у игрока конкретный активный квест
      */
     public boolean hasActiveQuest(PlayerEntity player, String questId) {
-        List<ActiveQuest> playerQuests = activeQuests.get(player.getUuid());
-        if (playerQuests == null) return false;
-        
-        return playerQuests.stream()
-            .anyMatch(activeQuest -> activeQuest.getQuest().getId().equals(questId));
+        Map<String, ActiveQuest> playerQuests = activeQuests.get(player.getUuid());
+        return playerQuests != null && playerQuests.containsKey(questId);
     }
     
     /**
      * Получает количество активных квестов у игрока
      */
     public int getActiveQuestCount(PlayerEntity player) {
-        List<ActiveQuest> playerQuests = activeQuests.get(player.getUuid());
+        Map<String, ActiveQuest> playerQuests = activeQuests.get(player.getUuid());
         return playerQuests != null ? playerQuests.size() : 0;
     }
     
     /**
-     * Обновляет прогресс квестов (вызывается периодически)
+     * Удаляет квесты, срок которых истек. Обрабатываются только записи из кучи сроков,
+     * время которых наступило
      */
     public void tick() {
         long currentTime = System.currentTimeMillis();
         
-        // Проверяем истечение времени квестов
-        activeQuests.entrySet().removeIf(entry -> {
-            List<ActiveQuest> playerQuests = entry.getValue();
-            
-            // Удаляем истекшие квесты из списка игрока
-            playerQuests.removeIf(activeQuest -> {
-                Quest quest = activeQuest.getQuest();
-                
-                if (quest.getTimeLimit() > 0) {
-                    long elapsedMinutes = (currentTime - activeQuest.getStartTime()) / (1000 * 60);
-                    if (elapsedMinutes >= quest.getTimeLimit()) {
-                                                return true;
-                    }
-                }
-                
-                return false;
-            });
+        while (!deadlines.isEmpty() && deadlines.peek().expiresAt() <= currentTime) {
+            Deadline deadline = deadlines.poll();
+            Map<String, ActiveQuest> playerQuests = activeQuests.get(deadline.playerId());
+            if (playerQuests == null) {
+                continue; // Игрок вышел, срок будет запланирован заново при загрузке
+            }
             
-            // Если у игрока больше нет активных квестов, удаляем запись
-            return playerQuests.isEmpty();
-        });
+            // Квест мог быть завершен или принят заново с другим сроком
+            ActiveQuest activeQuest = playerQuests.get(deadline.questId());
+            if (activeQuest != null && activeQuest.getExpiresAt() == deadline.expiresAt()) {
+                playerQuests.remove(deadline.questId());
+                Origins.LOGGER.debug("Квест {} игрока {} истек", deadline.questId(), deadline.playerId());
+            }
+        }
+    }
+    
+    /**
+     * Подключает карту активных квестов игрока из его компонента и планирует их сроки.
+     * Карта не копируется: изменения через менеджер сразу попадают в данные игрока
+     */
+    void attachPlayer(UUID playerId, Map<String, ActiveQuest> quests) {
+        activeQuests.put(playerId, quests);
+        for (ActiveQuest activeQuest : quests.values()) {
+            scheduleDeadline(playerId, activeQuest);
+        }
+    }
+    
+    /**
+     * Забывает карту квестов вышедшего игрока. Сами квесты остаются в его компоненте
+     * и сохраняются вместе с данными игрока
+     */
+    void unloadPlayer(UUID playerId) {
+        activeQuests.remove(playerId);
+    }
+    
+    /**
+     * Карта квестов игрока; если она еще не подключена (новый игрок без сохраненных квестов),
+     * подключается карта из его компонента
+     */
+    private Map<String, ActiveQuest> getOrAttach(PlayerEntity player) {
+        Map<String, ActiveQuest> playerQuests = activeQuests.get(player.getUuid());
+        if (playerQuests == null) {
+            playerQuests = ActiveQuestComponent.KEY.get(player).getQuests();
+            attachPlayer(player.getUuid(), playerQuests);
+        }
+        return playerQuests;
+    }
+    
+    private void removeActiveQuest(UUID playerId, String questId) {
+        Map<String, ActiveQuest> playerQuests = activeQuests.get(playerId);
+        if (playerQuests != null) {
+            playerQuests.remove(questId);
+        }
+    }
+    
+    private void scheduleDeadline(UUID playerId, ActiveQuest activeQuest) {
+        long expiresAt = activeQuest.getExpiresAt();
+        if (expiresAt > 0) {
+            deadlines.add(new Deadline(expiresAt, playerId, activeQuest.getQuest().getId()));
+        }
     }
     
     /**
      * Получает все активные квесты (для совместимости)
      */
     public Map<UUID, List<ActiveQuest>> getAllActiveQuests() {
-        return new HashMap<>(activeQuests);
+        Map<UUID, List<ActiveQuest>> result = new HashMap<>();
+        for (Map.Entry<UUID, Map<String, ActiveQuest>> entry : activeQuests.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                result.put(entry.getKey(), new ArrayList<>(entry.getValue().values()));
+            }
+        }
+        return result;
     }
     
     /**
      * Очищает все активные квесты (для отладки)
      */
     public void clearAllQuests() {
+        activeQuests.values().forEach(Map::clear);
         activeQuests.clear();
-            }
+        deadlines.clear();
+    }
     
     /**
      * Получает статистику по квестам
      */
     public QuestStats getStats() {
-        return new QuestStats(
-                activeQuests.size(),
-                questsByClass.values().stream().mapToInt(List::size).sum()
-        );
+        int playersWithQuests = 0;
+        for (Map<String, ActiveQuest> playerQuests : activeQuests.values()) {
+            if (!playerQuests.isEmpty()) {
+                playersWithQuests++;
+            }
+        }
+        return new QuestStats(playersWithQuests, QuestGenerator.getTotalQuestCount());
     }
     
     /**
@@ -368,9 +395,7 @@ public class QuestManager {
     public boolean canAcceptAdditionalQuest(PlayerEntity player) {
         if (player == null) return false;
         
-        List<ActiveQuest> playerQuests = activeQuests.get(player.getUuid());
-        int currentCount = playerQuests != null ? playerQuests.size() : 0;
-        return currentCount < getMaxActiveQuests();
+        return getActiveQuestCount(player) < getMaxActiveQuests();
     }
     
     /**
@@ -379,9 +404,7 @@ public class QuestManager {
     public int getAvailableQuestSlots(PlayerEntity player) {
         if (player == null) return 0;
         
-        List<ActiveQuest> playerQuests = activeQuests.get(player.getUuid());
-        int currentCount = playerQuests != null ? playerQuests.size() : 0;
-        return Math.max(0, getMaxActiveQuests() - currentCount);
+        return Math.max(0, getMaxActiveQuests() - getActiveQuestCount(player));
     }
     
     /**
@@ -390,11 +413,7 @@ public class QuestManager {
     public boolean hasSpecificActiveQuest(PlayerEntity player, String questId) {
         if (player == null || questId == null) return false;
         
-        List<ActiveQuest> playerQuests = activeQuests.get(player.getUuid());
-        if (playerQuests == null) return false;
-        
-        return playerQuests.stream()
-            .anyMatch(activeQuest -> activeQuest.getQuest().getId().equals(questId));
+        return hasActiveQuest(player, questId);
     }
     
     /**
@@ -415,7 +434,7 @@ public class QuestManager {
         try {
                         
             UUID playerId = player.getUuid();
-            List<ActiveQuest> managerQuests = activeQuests.get(playerId);
+            Map<String, ActiveQuest> managerQuests = activeQuests.get(playerId);
             
             // Получаем билеты из инвентаря
             io.github.apace100.origins.quest.QuestInventoryManager inventoryManager = 
@@ -425,9 +444,7 @@ public class QuestManager {
             // Создаем множества ID для сравнения
             java.util.Set<String> managerQuestIds = new java.util.HashSet<>();
             if (managerQuests != null) {
-                for (ActiveQuest activeQuest : managerQuests) {
-                    managerQuestIds.add(activeQuest.getQuest().getId());
-                }
+                managerQuestIds.addAll(managerQuests.keySet());
             }
             
             java.util.Set<String> inventoryQuestIds = new java.util.HashSet<>();
@@ -441,17 +458,7 @@ public class QuestManager {
             
             // Удаляем квесты из менеджера, которых нет в инвентаре
             if (managerQuests != null) {
-                managerQuests.removeIf(activeQuest -> {
-                    String questId = activeQuest.getQuest().getId();
-                    if (!inventoryQuestIds.contains(questId)) {
-                                                return true;
-                    }
-                    return false;
-                });
-                
-                if (managerQuests.isEmpty()) {
-                    activeQuests.remove(playerId);
-                }
+                managerQuests.keySet().retainAll(inventoryQuestIds);
             }
             
             // ВРЕМЕННО ОТКЛЮЧЕНО: Удаляем билеты из инвентаря, которых нет в менеджере
@@ -473,6 +480,16 @@ public class QuestManager {
         }
     }
     
+    /**
+     * Срок квеста игрока в куче сроков
+     */
+    private record Deadline(long expiresAt, UUID playerId, String questId) implements Comparable<Deadline> {
+        @Override
+        public int compareTo(Deadline other) {
+            return Long.compare(expiresAt, other.expiresAt);
+        }
+    }
+    
     /**
      * Класс для хранения статистики квестов
      */
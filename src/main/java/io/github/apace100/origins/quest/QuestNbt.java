@@ -0,0 +1,135 @@
+package io.github.apace100.origins.quest;
+
+import io.github.apace100.origins.Origins;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Сохранение квестов в NBT для пула досок ({@link QuestPoolState}) и активных квестов
+ * игроков ({@link ActiveQuestComponent}). Прогресс цели сохраняется вместе с квестом
+ */
+final class QuestNbt {
+
+    private QuestNbt() {}
+
+    static NbtCompound writeQuest(Quest quest) {
+        NbtCompound questNbt = new NbtCompound();
+        questNbt.putString("id", quest.getId());
+        questNbt.putString("playerClass", quest.getPlayerClass());
+        questNbt.putInt("level", quest.getLevel());
+        questNbt.putString("title", quest.getTitle());
+        questNbt.putString("description", quest.getDescription() != null ? quest.getDescription() : "");
+        questNbt.putInt("timeLimit", quest.getTimeLimit());
+
+        QuestObjective objective = quest.getObjective();
+        NbtCompound objectiveNbt = new NbtCompound();
+        objectiveNbt.putString("type", objective.getType().name());
+        objectiveNbt.putString("target", objective.getTarget());
+        objectiveNbt.putInt("amount", objective.getAmount());
+        if (objective.getProgress() > 0) {
+            objectiveNbt.putInt("progress", objective.getProgress());
+        }
+        questNbt.put("objective", objectiveNbt);
+
+        QuestReward reward = quest.getReward();
+        NbtCompound rewardNbt = new NbtCompound();
+        rewardNbt.putString("type", reward.getType().name());
+        rewardNbt.putInt("tier", reward.getTier());
+        rewardNbt.putInt("experience", reward.getExperience());
+        NbtList itemsList = new NbtList();
+        for (QuestReward.RewardItem item : reward.getItems()) {
+            NbtCompound itemNbt = new NbtCompound();
+            itemNbt.putString("item", item.getItemId());
+            itemNbt.putInt("amount", item.getAmount());
+            itemsList.add(itemNbt);
+        }
+        rewardNbt.put("items", itemsList);
+        questNbt.put("reward", rewardNbt);
+        return questNbt;
+    }
+
+    static Quest readQuest(NbtCompound questNbt) {
+        try {
+            NbtCompound objectiveNbt = questNbt.getCompound("objective");
+            QuestObjective objective = new QuestObjective(
+                QuestObjective.ObjectiveType.valueOf(objectiveNbt.getString("type")),
+                objectiveNbt.getString("target"),
+                objectiveNbt.getInt("amount")
+            );
+            if (objectiveNbt.contains("progress")) {
+                objective.setProgress(objectiveNbt.getInt("progress"));
+            }
+
+            NbtCompound rewardNbt = questNbt.getCompound("reward");
+            List<QuestReward.RewardItem> items = new ArrayList<>();
+            NbtList itemsList = rewardNbt.getList("items", NbtElement.COMPOUND_TYPE);
+            for (int i = 0; i < itemsList.size(); i++) {
+                NbtCompound itemNbt = itemsList.getCompound(i);
+                items.add(new QuestReward.RewardItem(itemNbt.getString("item"), itemNbt.getInt("amount")));
+            }
+            QuestReward reward = new QuestReward(
+                QuestReward.RewardType.valueOf(rewardNbt.getString("type")),
+                rewardNbt.getInt("tier"),
+                rewardNbt.getInt("experience"),
+                items
+            );
+
+            return new Quest(
+                questNbt.getString("id"),
+                questNbt.getString("playerClass"),
+                questNbt.getInt("level"),
+                questNbt.getString("title"),
+                questNbt.getString("description"),
+                objective,
+                questNbt.getInt("timeLimit"),
+                reward
+            );
+        } catch (Exception e) {
+            Origins.LOGGER.error("Ошибка при загрузке квеста из NBT: " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Записывает активные квесты игрока вместе со временем начала и прогрессом
+     */
+    static NbtList writeActiveQuests(Collection<ActiveQuest> activeQuests) {
+        NbtList questsList = new NbtList();
+        for (ActiveQuest activeQuest : activeQuests) {
+            Quest quest = activeQuest.getQuest();
+            if (quest.getObjective() == null || quest.getReward() == null) {
+                continue;
+            }
+            NbtCompound activeNbt = new NbtCompound();
+            activeNbt.put("quest", writeQuest(quest));
+            activeNbt.putLong("startTime", activeQuest.getStartTime());
+            activeNbt.putInt("progress", activeQuest.getProgress());
+            questsList.add(activeNbt);
+        }
+        return questsList;
+    }
+
+    /**
+     * Читает активные квесты игрока в порядке принятия; поврежденные записи пропускаются
+     */
+    static Map<String, ActiveQuest> readActiveQuests(NbtList questsList) {
+        Map<String, ActiveQuest> quests = new LinkedHashMap<>();
+        for (int i = 0; i < questsList.size(); i++) {
+            NbtCompound activeNbt = questsList.getCompound(i);
+            Quest quest = readQuest(activeNbt.getCompound("quest"));
+            if (quest != null) {
+                ActiveQuest activeQuest = new ActiveQuest(quest, activeNbt.getLong("startTime"));
+                activeQuest.setProgress(activeNbt.getInt("progress"));
+                quests.put(quest.getId(), activeQuest);
+            }
+        }
+        return quests;
+    }
+}
@@ -0,0 +1,227 @@
+package io.github.apace100.origins.quest;
+
+import io.github.apace100.origins.Origins;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.ItemStack;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+/**
+ * Индекс активных целей квестов по игрокам.
+ * Ключ индекса - (тип цели, ID цели), значение - слоты инвентаря с подходящими билетами.
+ * Индекс строится лениво при первом действии после изменения набора билетов
+ * (принятие, подбор, выброс, сдача), поэтому действия без совпадений обходятся
+ * без обхода инвентаря и разбора NBT. Если билет в слоте из индекса не найден (переместился путем,
+ * который не сбросил индекс), индекс перестраивается один раз и квест ищется заново.
+ */
+public class QuestObjectiveIndex {
+    private static QuestObjectiveIndex instance;
+
+    // Синонимы действий, которые засчитываются для соответствующего типа цели
+    private static final Map<String, QuestObjective.ObjectiveType> ACTION_TYPES = new HashMap<>();
+
+    static {
+        ACTION_TYPES.put("collect", QuestObjective.ObjectiveType.COLLECT);
+        ACTION_TYPES.put("pickup", QuestObjective.ObjectiveType.COLLECT);
+        ACTION_TYPES.put("kill", QuestObjective.ObjectiveType.KILL);
+        ACTION_TYPES.put("slay", QuestObjective.ObjectiveType.KILL);
+        ACTION_TYPES.put("craft", QuestObjective.ObjectiveType.CRAFT);
+        ACTION_TYPES.put("create", QuestObjective.ObjectiveType.CRAFT);
+    }
+
+    private final Map<UUID, PlayerIndex> indexes = new ConcurrentHashMap<>();
+
+    private QuestObjectiveIndex() {}
+
+    public static QuestObjectiveIndex getInstance() {
+        if (instance == null) {
+            instance = new QuestObjectiveIndex();
+        }
+        return instance;
+    }
+
+    /**
+     * Возвращает записи билетов, цель которых соответствует действию.
+     * Если совпадений нет, возвращает пустой список без выделения памяти.
+     */
+    public List<Entry> findMatches(PlayerEntity player, String action, String target) {
+        if (player == null || action == null || target == null) {
+            return Collections.emptyList();
+        }
+
+        QuestObjective.ObjectiveType type = resolveActionType(action);
+        if (type == null) {
+            return Collections.emptyList();
+        }
+
+        return getOrBuild(player).find(type, target);
+    }
+
+    /**
+     * Находит билет для записи индекса. Если слот больше не содержит этот квест,
+     * индекс перестраивается и билет ищется по ID квеста; если билета нет, возвращается пустой стек.
+     */
+    public ItemStack resolveTicket(PlayerEntity player, Entry entry) {
+        ItemStack stack = getTicket(player, entry.slot, entry.questId);
+        if (!stack.isEmpty()) {
+            return stack;
+        }
+
+        Origins.LOGGER.debug("Индекс целей квестов устарел для игрока {}, слот {}", player.getUuid(), entry.slot);
+        invalidate(player);
+        Entry moved = getOrBuild(player).findQuest(entry.questId);
+        return moved != null ? getTicket(player, moved.slot, entry.questId) : ItemStack.EMPTY;
+    }
+
+    private static ItemStack getTicket(PlayerEntity player, int slot, String questId) {
+        if (slot >= 0 && slot < player.getInventory().size()) {
+            ItemStack stack = player.getInventory().getStack(slot);
+            if (QuestTicketItem.isQuestTicket(stack) && questId.equals(QuestItem.getQuestId(stack))) {
+                return stack;
+            }
+        }
+        return ItemStack.EMPTY;
+    }
+
+    /**
+     * Помечает индекс игрока как устаревший. Он будет перестроен при следующем действии.
+     */
+    public void invalidate(PlayerEntity player) {
+        if (player != null) {
+            indexes.remove(player.getUuid());
+        }
+    }
+
+    /**
+     * Удаляет индекс игрока (при выходе с сервера)
+     */
+    public void remove(UUID playerId) {
+        indexes.remove(playerId);
+    }
+
+    /**
+     * Определяет тип цели для названия действия
+     */
+    public static QuestObjective.ObjectiveType resolveActionType(String action) {
+        QuestObjective.ObjectiveType type = ACTION_TYPES.get(action);
+        if (type == null) {
+            // toLowerCase возвращает ту же строку, если она уже в нижнем регистре
+            type = ACTION_TYPES.get(action.toLowerCase(Locale.ROOT));
+        }
+        return type;
+    }
+
+    private PlayerIndex getOrBuild(PlayerEntity player) {
+        PlayerIndex index = indexes.get(player.getUuid());
+        if (index == null) {
+            index = build(player);
+            indexes.put(player.getUuid(), index);
+        }
+        return index;
+    }
+
+    private static PlayerIndex build(PlayerEntity player) {
+        return build(player.getInventory().size(), slot -> {
+            ItemStack stack = player.getInventory().getStack(slot);
+            return QuestTicketItem.isQuestTicket(stack) ? QuestItem.getQuestFromStack(stack) : null;
+        });
+    }
+
+    /**
+     * Строит индекс по квестам билетов в слотах (null - в слоте нет билета)
+     */
+    static PlayerIndex build(int slots, IntFunction<Quest> questAtSlot) {
+        PlayerIndex index = new PlayerIndex();
+
+        for (int slot = 0; slot < slots; slot++) {
+            Quest quest = questAtSlot.apply(slot);
+            if (quest == null || quest.getObjective() == null || quest.getObjective().isCompleted()) {
+                continue;
+            }
+
+            QuestObjective objective = quest.getObjective();
+            Entry entry = new Entry(quest.getId(), slot);
+            index.byQuest.putIfAbsent(quest.getId(), entry);
+            Map<String, List<Entry>> byTarget = index.byType.computeIfAbsent(objective.getType(), t -> new HashMap<>());
+
+            // Регистрируем цель и с префиксом minecraft:, и без него
+            String cleanTarget = objective.getTarget().replace("minecraft:", "");
+            addEntry(byTarget, objective.getTarget(), entry);
+            addEntry(byTarget, cleanTarget, entry);
+            addEntry(byTarget, "minecraft:" + cleanTarget, entry);
+        }
+
+        return index;
+    }
+
+    private static void addEntry(Map<String, List<Entry>> byTarget, String target, Entry entry) {
+        List<Entry> entries = byTarget.computeIfAbsent(target, t -> new ArrayList<>(1));
+        if (!entries.contains(entry)) {
+            entries.add(entry);
+        }
+    }
+
+    /**
+     * Проверяет, меняет ли запись в слот набор билетов игрока
+     */
+    public static boolean affectsTickets(ItemStack previous, ItemStack next) {
+        return QuestTicketItem.isQuestTicket(previous) || QuestTicketItem.isQuestTicket(next);
+    }
+
+    static final class PlayerIndex {
+        private final Map<QuestObjective.ObjectiveType, Map<String, List<Entry>>> byType =
+            new EnumMap<>(QuestObjective.ObjectiveType.class);
+        // Первый слот с билетом квеста
+        private final Map<String, Entry> byQuest = new HashMap<>();
+
+        List<Entry> find(QuestObjective.ObjectiveType type, String target) {
+            Map<String, List<Entry>> byTarget = byType.get(type);
+            if (byTarget == null) {
+                return Collections.emptyList();
+            }
+            List<Entry> entries = byTarget.get(target);
+            return entries != null ? entries : Collections.emptyList();
+        }
+
+        Entry findQuest(String questId) {
+            return byQuest.get(questId);
+        }
+    }
+
+    /**
+     * Запись индекса: ID квеста и слот инвентаря с его билетом
+     */
+    public static final class Entry {
+        private final String questId;
+        private final int slot;
+
+        private Entry(String questId, int slot) {
+            this.questId = questId;
+            this.slot = slot;
+        }
+
+        public String getQuestId() { return questId; }
+        public int getSlot() { return slot; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Entry other)) return false;
+            return slot == other.slot && questId.equals(other.questId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * questId.hashCode() + slot;
+        }
+    }
+}
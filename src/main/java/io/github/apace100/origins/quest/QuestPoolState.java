@@ -0,0 +1,134 @@
+package io.github.apace100.origins.quest;
+
+import io.github.apace100.origins.Origins;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtList;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.world.PersistentState;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Сохраняет пул квестов досок объявлений (накопленные квесты, счетчики запросов и время
+ * последнего обновления) в данных мира. При запуске сервера пул восстанавливается, поэтому
+ * доски заполнены сразу, а API пополняет их в фоне.
+ * Сам пул живет в {@link QuestAccumulation} и {@link QuestApiManager}, состояние только
+ * переносит его в NBT и обратно.
+ */
+public class QuestPoolState extends PersistentState {
+
+    private static final String KEY = "origins:quest_pool";
+
+    // Состояние текущего сервера, null когда сервер не запущен
+    private static volatile QuestPoolState current;
+
+    // Данные, прочитанные из NBT, до передачи в QuestAccumulation
+    private final Map<String, List<QuestAccumulation.PooledQuest>> loadedQuests = new HashMap<>();
+    private final Map<String, Integer> loadedRequestCounts = new HashMap<>();
+    private final Map<String, Long> loadedUpdateTimes = new HashMap<>();
+
+    /**
+     * Загружает сохраненный пул в QuestAccumulation и QuestApiManager (вызывается при SERVER_STARTED)
+     */
+    public static void load(MinecraftServer server) {
+        ServerWorld overworld = server.getOverworld();
+        if (overworld == null) {
+            return;
+        }
+        QuestPoolState state = overworld.getPersistentStateManager().getOrCreate(
+            QuestPoolState::fromNbt,
+            QuestPoolState::new,
+            KEY
+        );
+        QuestAccumulation.getInstance().restore(state.loadedQuests, state.loadedRequestCounts);
+        QuestApiManager.getInstance().restoreLastUpdateTimes(state.loadedUpdateTimes);
+
+        int totalQuests = state.loadedQuests.values().stream().mapToInt(List::size).sum();
+        Origins.LOGGER.info("📦 [QuestPoolState] Восстановлено " + totalQuests + " квестов для " + state.loadedQuests.size() + " классов");
+
+        state.loadedQuests.clear();
+        state.loadedRequestCounts.clear();
+        state.loadedUpdateTimes.clear();
+        current = state;
+    }
+
+    /**
+     * Отключает сохранение после остановки сервера
+     */
+    public static void unload() {
+        current = null;
+    }
+
+    /**
+     * Помечает пул измененным, чтобы он сохранился вместе с миром.
+     * Может вызываться из потоков API клиента
+     */
+    public static void markChanged() {
+        QuestPoolState state = current;
+        if (state != null) {
+            state.markDirty();
+        }
+    }
+
+    public static QuestPoolState fromNbt(NbtCompound nbt) {
+        QuestPoolState state = new QuestPoolState();
+        NbtCompound classesNbt = nbt.getCompound("classes");
+        for (String playerClass : classesNbt.getKeys()) {
+            NbtCompound classNbt = classesNbt.getCompound(playerClass);
+
+            List<QuestAccumulation.PooledQuest> quests = new ArrayList<>();
+            NbtList questsList = classNbt.getList("quests", NbtElement.COMPOUND_TYPE);
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < questsList.size(); i++) {
+                NbtCompound questNbt = questsList.getCompound(i);
+                Quest quest = QuestNbt.readQuest(questNbt);
+                if (quest != null) {
+                    long addedAt = questNbt.contains("addedAt") ? questNbt.getLong("addedAt") : now;
+                    quests.add(new QuestAccumulation.PooledQuest(quest, addedAt));
+                }
+            }
+            state.loadedQuests.put(playerClass, quests);
+            state.loadedRequestCounts.put(playerClass, classNbt.getInt("requestCount"));
+            if (classNbt.contains("lastUpdate")) {
+                state.loadedUpdateTimes.put(playerClass, classNbt.getLong("lastUpdate"));
+            }
+        }
+        return state;
+    }
+
+    @Override
+    public NbtCompound writeNbt(NbtCompound nbt) {
+        Map<String, List<QuestAccumulation.PooledQuest>> quests = new HashMap<>();
+        Map<String, Integer> requestCounts = new HashMap<>();
+        QuestAccumulation.getInstance().snapshot(quests, requestCounts);
+        Map<String, Long> updateTimes = QuestApiManager.getInstance().getLastUpdateTimes();
+
+        NbtCompound classesNbt = new NbtCompound();
+        for (Map.Entry<String, List<QuestAccumulation.PooledQuest>> entry : quests.entrySet()) {
+            NbtCompound classNbt = new NbtCompound();
+            NbtList questsList = new NbtList();
+            for (QuestAccumulation.PooledQuest pooled : entry.getValue()) {
+                Quest quest = pooled.quest();
+                if (quest.getObjective() != null && quest.getReward() != null) {
+                    NbtCompound questNbt = QuestNbt.writeQuest(quest);
+                    questNbt.putLong("addedAt", pooled.addedAt());
+                    questsList.add(questNbt);
+                }
+            }
+            classNbt.put("quests", questsList);
+            classNbt.putInt("requestCount", requestCounts.getOrDefault(entry.getKey(), 0));
+            Long lastUpdate = updateTimes.get(entry.getKey());
+            if (lastUpdate != null) {
+                classNbt.putLong("lastUpdate", lastUpdate);
+            }
+            classesNbt.put(entry.getKey(), classNbt);
+        }
+        nbt.put("classes", classesNbt);
+        return nbt;
+    }
+}
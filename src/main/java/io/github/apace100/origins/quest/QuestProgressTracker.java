@@ -1,11 +1,14 @@
 package io.github.apace100.origins.quest;
 
 import io.github.apace100.origins.Origins;
+import io.github.apace100.origins.metrics.MetricType;
+import io.github.apace100.origins.metrics.OriginsMetrics;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.item.ItemStack;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.registry.Registries;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -28,33 +31,44 @@ public class QuestProgressTracker {
      * Отслеживает действие игрока и обновляет прогресс квестов
      */
     public void trackPlayerAction(PlayerEntity player, String action, String target, int amount) {
-        Origins.LOGGER.info("Tracking action: player={}, action={}, target={}, amount={}", 
-            player.getName().getString(), action, target, amount);
+        if (player == null || action == null || target == null) {
+            return;
+        }
         
+        long start = OriginsMetrics.start();
         try {
-            // Получаем все билеты квестов в инвентаре игрока
-            QuestInventoryManager inventoryManager = QuestInventoryManager.getInstance();
-            List<ItemStack> questTickets = inventoryManager.findQuestTickets(player);
+            // Ищем билеты с подходящей целью через индекс, без обхода инвентаря
+            QuestObjectiveIndex index = QuestObjectiveIndex.getInstance();
+            List<QuestObjectiveIndex.Entry> matches = index.findMatches(player, action, target);
             
-                        inventoryManager.debugInventory(player);
-            
-            if (questTickets.isEmpty()) {
-                                return; // Нет активных квестов
+            if (matches.isEmpty()) {
+                OriginsMetrics.record(MetricType.QUEST_TRACK, start);
+                return; // Нет подходящих активных квестов
             }
             
-            // Обновляем прогресс для каждого билета
-            for (ItemStack ticket : questTickets) {
-                                
-                // Получаем квест из билета
-                Quest quest = QuestItem.getQuestFromStack(ticket);
-                if (quest != null) {
-                                        updateTicketProgress(player, ticket, action, target, amount);
+            // Копируем совпадения: обновление прогресса может сбросить индекс
+            List<QuestObjectiveIndex.Entry> entries = new ArrayList<>(matches);
+            boolean objectiveCompleted = false;
+            for (QuestObjectiveIndex.Entry entry : entries) {
+                ItemStack ticket = index.resolveTicket(player, entry);
+                if (!ticket.isEmpty()) {
+                    updateTicketProgress(player, ticket, action, target, amount);
+                    objectiveCompleted |= QuestTicketItem.isQuestCompleted(ticket);
                 } else {
-                    Origins.LOGGER.warn("Не удалось получить квест из билета: {}", ticket);
+                    Origins.LOGGER.warn("Билет квеста {} не найден в слоте {}", entry.getQuestId(), entry.getSlot());
                 }
             }
             
+            // Выполненные цели больше не должны попадать в индекс
+            if (objectiveCompleted) {
+                index.invalidate(player);
+            }
+            
+            OriginsMetrics.record(MetricType.QUEST_TRACK, start, () -> "player=" + player.getName().getString()
+                + ", action=" + action + ", target=" + target + ", amount=" + amount + ", tickets=" + entries.size());
+            
         } catch (Exception e) {
+            OriginsMetrics.recordError(MetricType.QUEST_TRACK);
             Origins.LOGGER.error("Ошибка при отслеживании действия игрока {}: {}", 
                 player.getName().getString(), e.getMessage());
             e.printStackTrace();
@@ -70,7 +84,7 @@ public class QuestProgressTracker {
         }
         
         try {
-            Quest quest = QuestItem.getQuestFromStack(ticketStack);
+            Quest quest = QuestItem.decodeQuestFromStack(ticketStack);
             if (quest == null) {
                 return;
             }
@@ -104,7 +118,7 @@ public class QuestProgressTracker {
         }
         
         try {
-            Quest quest = QuestItem.getQuestFromStack(ticket);
+            Quest quest = QuestItem.decodeQuestFromStack(ticket);
             if (quest == null) {
                 Origins.LOGGER.error("Невалидный квест для билета: {}", ticket);
                 return;
@@ -161,7 +175,7 @@ public class QuestProgressTracker {
             return false;
         }
         
-        Origins.LOGGER.info("Проверяем соответствие: action={}, target={}, objectiveType={}, objectiveTarget={}", 
+        Origins.LOGGER.debug("Проверяем соответствие: action={}, target={}, objectiveType={}, objectiveTarget={}", 
             action, target, objective.getType().getName(), objective.getTarget());
         
         // Проверяем тип действия
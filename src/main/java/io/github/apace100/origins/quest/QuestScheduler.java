@@ -0,0 +1,194 @@
+package io.github.apace100.origins.quest;
+
+import io.github.apace100.origins.Origins;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.util.HashSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Единый серверный планировщик квестов.
+ * Заменяет три отдельных опроса билетов (миксин тика игрока, END_SERVER_TICK
+ * в QuestEventHandlers и QuestTicketTimeUpdater):
+ * - периодическое обновление прогресса выполняется раз в секунду для каждого игрока,
+ *   но игроки распределены по тикам по хэшу UUID, чтобы нагрузка не приходилась на один тик;
+ * - сроки принятых билетов хранятся в min-куче, поэтому истечение квеста стоит O(log n)
+ *   вместо обхода инвентарей всех игроков.
+ */
+public class QuestScheduler {
+    private static QuestScheduler instance;
+
+    // Количество тиков, по которым распределяются игроки (1 секунда)
+    private static final int TICK_SLOTS = 20;
+
+    // Максимум истекших билетов, обрабатываемых за один тик
+    private static final int MAX_EXPIRATIONS_PER_TICK = 32;
+
+    private final PriorityQueue<Deadline> deadlines = new PriorityQueue<>();
+    private final Set<Deadline> scheduled = new HashSet<>();
+    private final Set<UUID> playersToRescan = new HashSet<>();
+
+    private QuestScheduler() {}
+
+    public static QuestScheduler getInstance() {
+        if (instance == null) {
+            instance = new QuestScheduler();
+        }
+        return instance;
+    }
+
+    public static void register() {
+        QuestScheduler scheduler = getInstance();
+        ServerTickEvents.END_SERVER_TICK.register(scheduler::onServerTick);
+
+        // При входе игрока собираем сроки его билетов
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) ->
+            scheduler.markTicketsChanged(handler.getPlayer()));
+    }
+
+    /**
+     * Помечает, что набор билетов игрока изменился.
+     * Сроки билетов будут пересобраны в его ближайший слот.
+     */
+    public void markTicketsChanged(PlayerEntity player) {
+        if (player != null && !player.getWorld().isClient) {
+            playersToRescan.add(player.getUuid());
+        }
+    }
+
+    /**
+     * Добавляет срок принятого билета в очередь
+     */
+    public void scheduleExpiry(PlayerEntity player, ItemStack ticket) {
+        if (player == null || !QuestTicketItem.isAccepted(ticket)) {
+            return;
+        }
+
+        Quest quest = QuestItem.getQuestFromStack(ticket);
+        long acceptTime = QuestTicketItem.getAcceptTime(ticket);
+        if (quest == null || quest.getTimeLimit() <= 0 || acceptTime <= 0) {
+            return;
+        }
+
+        long expiresAt = acceptTime + quest.getTimeLimit() * 60_000L;
+        Deadline deadline = new Deadline(expiresAt, player.getUuid(), quest.getId(), acceptTime);
+        if (scheduled.add(deadline)) {
+            deadlines.add(deadline);
+        }
+    }
+
+    /**
+     * Количество отслеживаемых сроков (для отладки)
+     */
+    public int getPendingDeadlines() {
+        return deadlines.size();
+    }
+
+    private void onServerTick(MinecraftServer server) {
+        int slot = server.getTicks() % TICK_SLOTS;
+
+        for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
+            if (getSlot(player.getUuid()) != slot) {
+                continue;
+            }
+
+            if (playersToRescan.remove(player.getUuid())) {
+                rescanPlayer(player);
+            }
+
+            QuestEventHandlers.onPlayerTick(player);
+        }
+
+        processDeadlines(server);
+    }
+
+    private static int getSlot(UUID playerId) {
+        return Math.floorMod(playerId.hashCode(), TICK_SLOTS);
+    }
+
+    private void rescanPlayer(ServerPlayerEntity player) {
+        for (int i = 0; i < player.getInventory().size(); i++) {
+            ItemStack stack = player.getInventory().getStack(i);
+            if (QuestTicketItem.isQuestTicket(stack)) {
+                scheduleExpiry(player, stack);
+            }
+        }
+    }
+
+    private void processDeadlines(MinecraftServer server) {
+        long now = System.currentTimeMillis();
+        int processed = 0;
+
+        while (!deadlines.isEmpty() && deadlines.peek().expiresAt <= now && processed < MAX_EXPIRATIONS_PER_TICK) {
+            Deadline deadline = deadlines.poll();
+            scheduled.remove(deadline);
+            processed++;
+
+            ServerPlayerEntity player = server.getPlayerManager().getPlayer(deadline.playerId);
+            if (player == null) {
+                // Игрок вышел - срок будет пересобран при следующем входе
+                continue;
+            }
+
+            ItemStack ticket = findTicket(player, deadline);
+            if (!ticket.isEmpty() && QuestTicketItem.isAccepted(ticket)) {
+                QuestTicketItem.markAsFailed(ticket);
+                Origins.LOGGER.info("Квест {} игрока {} провален из-за истечения времени",
+                    deadline.questId, player.getName().getString());
+            }
+        }
+    }
+
+    private static ItemStack findTicket(PlayerEntity player, Deadline deadline) {
+        for (int i = 0; i < player.getInventory().size(); i++) {
+            ItemStack stack = player.getInventory().getStack(i);
+            if (QuestTicketItem.isQuestTicket(stack)
+                && deadline.questId.equals(QuestItem.getQuestId(stack))
+                && QuestTicketItem.getAcceptTime(stack) == deadline.acceptTime) {
+                return stack;
+            }
+        }
+        return ItemStack.EMPTY;
+    }
+
+    /**
+     * Срок выполнения принятого билета
+     */
+    private static final class Deadline implements Comparable<Deadline> {
+        private final long expiresAt;
+        private final UUID playerId;
+        private final String questId;
+        private final long acceptTime;
+
+        private Deadline(long expiresAt, UUID playerId, String questId, long acceptTime) {
+            this.expiresAt = expiresAt;
+            this.playerId = playerId;
+            this.questId = questId;
+            this.acceptTime = acceptTime;
+        }
+
+        @Override
+        public int compareTo(Deadline other) {
+            return Long.compare(expiresAt, other.expiresAt);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Deadline other)) return false;
+            return acceptTime == other.acceptTime && playerId.equals(other.playerId) && questId.equals(other.questId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * playerId.hashCode() + questId.hashCode()) + Long.hashCode(acceptTime);
+        }
+    }
+}
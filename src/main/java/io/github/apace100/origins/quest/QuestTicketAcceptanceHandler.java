@@ -94,6 +94,8 @@ public class QuestTicketAcceptanceHandler {
             ItemStack addedTicket = inventoryManager.getActiveQuestTicket(player, quest.getId());
             if (!addedTicket.isEmpty()) {
                 QuestTicketItem.markAsAccepted(addedTicket, System.currentTimeMillis());
+                QuestObjectiveIndex.getInstance().invalidate(player);
+                QuestScheduler.getInstance().scheduleExpiry(player, addedTicket);
                             } else {
                 Origins.LOGGER.warn("Не удалось найти добавленный билет квеста {}", quest.getId());
             }
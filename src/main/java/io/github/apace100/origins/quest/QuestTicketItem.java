@@ -460,6 +460,8 @@ public class QuestTicketItem extends Item {
             rewardNbt.putInt("experience", firstReward.getExperience());
             nbt.put("reward", rewardNbt);
         }
+        
+        QuestDecodeCache.stamp(stack);
     }
     
     /**
@@ -733,6 +735,7 @@ public class QuestTicketItem extends Item {
             
             // Проверяем, готов ли квест к завершению
             checkAndUpdateCompletionStatus(stack);
+            QuestDecodeCache.stamp(stack);
             
         } catch (Exception e) {
             io.github.apace100.origins.Origins.LOGGER.error("Ошибка при обновлении прогресса билета: " + e.getMessage(), e);
@@ -842,6 +845,7 @@ public class QuestTicketItem extends Item {
             if (progressUpdated) {
                 // Проверяем, завершены ли все цели
                 checkAndUpdateCompletionStatus(stack);
+                QuestDecodeCache.stamp(stack);
                 
                 // Обновляем отображаемое имя билета
                 Quest quest = QuestItem.getQuestFromStack(stack);
@@ -960,6 +964,7 @@ public class QuestTicketItem extends Item {
         net.minecraft.nbt.NbtCompound nbt = stack.getOrCreateNbt();
         nbt.putString("quest_state", QuestTicketState.FAILED.getName());
         nbt.putBoolean("completion_ready", false);
+        QuestDecodeCache.stamp(stack);
         
         // Обновляем отображаемое название
         Quest quest = QuestItem.getQuestFromStack(stack);
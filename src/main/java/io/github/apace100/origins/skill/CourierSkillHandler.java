@@ -305,50 +305,17 @@ public class CourierSkillHandler {
     }
     
     /**
-     * Обрабатывает навык "Магнитные карманы"
+     * Обрабатывает навык "Магнитные карманы".
+     * Сам подбор выполняет {@link ItemMagnetService} одним проходом для всех курьеров мира
      */
     public static void handleMagneticPockets(ServerPlayerEntity player, int skillLevel) {
         if (skillLevel <= 0) return;
         
         // Увеличиваем радиус подбора предметов
         double radius = 1.5 + (skillLevel * 0.5); // Базовый радиус 1.5 + 0.5 за уровень
+        double pullStrength = 0.05 + (skillLevel * 0.02); // Сила притяжения зависит от уровня
         
-        // Ищем предметы в радиусе
-        var items = player.getWorld().getEntitiesByClass(net.minecraft.entity.ItemEntity.class, 
-            player.getBoundingBox().expand(radius), 
-            item -> !item.cannotPickup() && item.isAlive());
-        
-        int collectedCount = 0;
-        
-        for (net.minecraft.entity.ItemEntity item : items) {
-            // Проверяем, что предмет находится в пределах радиуса
-            double distance = player.getPos().distanceTo(item.getPos());
-            if (distance <= radius) {
-                // Притягиваем предмет к игроку с учетом уровня
-                net.minecraft.util.math.Vec3d direction = player.getPos().subtract(item.getPos()).normalize();
-                double pullStrength = 0.05 + (skillLevel * 0.02); // Сила притяжения зависит от уровня
-                item.setVelocity(direction.multiply(pullStrength));
-                
-                // Проверяем возможность подбора предмета
-                if (distance < 1.0) {
-                    // Предмет достаточно близко для подбора
-                    if (player.getInventory().insertStack(item.getStack())) {
-                        // Успешно добавили предмет в инвентарь
-                        item.discard();
-                        collectedCount++;
-                    }
-                }
-            }
-        }
-        
-        // Отправляем сообщение о количестве собранных предметов
-        if (collectedCount > 0) {
-            player.sendMessage(
-                Text.literal("Собрано предметов: " + collectedCount)
-                    .formatted(Formatting.GREEN), 
-                true // action bar
-            );
-        }
+        ItemMagnetService.attract(player, radius, pullStrength, 1.0);
     }
     
     /**
@@ -359,43 +326,9 @@ public class CourierSkillHandler {
         
         // Увеличиваем радиус подбора предметов
         double radius = 1.5 + (skillLevel * 0.7); // Базовый радиус 1.5 + 0.7 за уровень
+        double pullStrength = 0.08 + (skillLevel * 0.03); // Сила притяжения зависит от уровня
         
-        // Ищем предметы в радиусе
-        var items = player.getWorld().getEntitiesByClass(net.minecraft.entity.ItemEntity.class, 
-            player.getBoundingBox().expand(radius), 
-            item -> !item.cannotPickup() && item.isAlive());
-        
-        int collectedCount = 0;
-        
-        for (net.minecraft.entity.ItemEntity item : items) {
-            // Проверяем, что предмет находится в пределах радиуса
-            double distance = player.getPos().distanceTo(item.getPos());
-            if (distance <= radius) {
-                // Притягиваем предмет к игроку с учетом уровня
-                net.minecraft.util.math.Vec3d direction = player.getPos().subtract(item.getPos()).normalize();
-                double pullStrength = 0.08 + (skillLevel * 0.03); // Сила притяжения зависит от уровня
-                item.setVelocity(direction.multiply(pullStrength));
-                
-                // Проверяем возможность подбора предмета
-                if (distance < 1.2) {
-                    // Предмет достаточно близко для подбора
-                    if (player.getInventory().insertStack(item.getStack())) {
-                        // Успешно добавили предмет в инвентарь
-                        item.discard();
-                        collectedCount++;
-                    }
-                }
-            }
-        }
-        
-        // Отправляем сообщение о количестве собранных предметов
-        if (collectedCount > 0) {
-            player.sendMessage(
-                Text.literal("Собрано предметов: " + collectedCount)
-                    .formatted(Formatting.GREEN), 
-                true // action bar
-            );
-        }
+        ItemMagnetService.attract(player, radius, pullStrength, 1.2);
     }
     
     /**
@@ -0,0 +1,282 @@
+package io.github.apace100.origins.skill;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.entity.ItemEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * Притягивание предметов для навыка курьера "Магнитные карманы".
+ * Навык только регистрирует магнит игрока; раз в {@link #PASS_INTERVAL_TICKS} тиков все магниты
+ * мира обрабатываются одним проходом: предметы выбираются по секциям чанков один раз на секцию,
+ * каждый предмет притягивается к ближайшему курьеру, а одинаковые предметы объединяются перед
+ * добавлением в инвентарь. Сообщение о подборе отправляется не чаще {@link #FEEDBACK_INTERVAL_TICKS}.
+ */
+public class ItemMagnetService {
+
+    private static final int PASS_INTERVAL_TICKS = 20;
+    // Магнит действует, пока навык продолжает его обновлять
+    private static final int MAGNET_LIFETIME_TICKS = PASS_INTERVAL_TICKS * 2;
+    private static final int FEEDBACK_INTERVAL_TICKS = 60;
+
+    // Магниты по мирам (только серверный поток)
+    private static final Map<ServerWorld, Map<ServerPlayerEntity, Magnet>> magnets = new IdentityHashMap<>();
+
+    private static boolean registered = false;
+
+    /**
+     * Регистрирует обработку магнитов в тике мира
+     */
+    public static void register() {
+        if (registered) {
+            return;
+        }
+        ServerTickEvents.END_WORLD_TICK.register(ItemMagnetService::onWorldTick);
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> magnets.clear());
+        registered = true;
+    }
+
+    /**
+     * Включает или обновляет магнит игрока
+     *
+     * @param radius радиус притяжения от позиции игрока
+     * @param pullStrength скорость, с которой предмет движется к игроку
+     * @param pickupDistance расстояние, с которого предмет сразу попадает в инвентарь
+     */
+    public static void attract(ServerPlayerEntity player, double radius, double pullStrength, double pickupDistance) {
+        ServerWorld world = player.getServerWorld();
+        Magnet magnet = magnets.computeIfAbsent(world, w -> new IdentityHashMap<>())
+            .computeIfAbsent(player, p -> new Magnet(player));
+        magnet.radius = radius;
+        magnet.pullStrength = pullStrength;
+        magnet.pickupDistance = pickupDistance;
+        magnet.expiresAt = world.getTime() + MAGNET_LIFETIME_TICKS;
+    }
+
+    private static void onWorldTick(ServerWorld world) {
+        if (world.getTime() % PASS_INTERVAL_TICKS != 0) {
+            return;
+        }
+        Map<ServerPlayerEntity, Magnet> worldMagnets = magnets.get(world);
+        if (worldMagnets == null || worldMagnets.isEmpty()) {
+            return;
+        }
+
+        List<Magnet> active = new ArrayList<>(worldMagnets.size());
+        Iterator<Magnet> iterator = worldMagnets.values().iterator();
+        while (iterator.hasNext()) {
+            Magnet magnet = iterator.next();
+            ServerPlayerEntity player = magnet.player;
+            if (world.getTime() > magnet.expiresAt || player.isRemoved() || player.getWorld() != world) {
+                iterator.remove();
+            } else if (player.isAlive() && !player.isSpectator()) {
+                active.add(magnet);
+            }
+        }
+        if (!active.isEmpty()) {
+            runPass(world, active);
+        }
+    }
+
+    private static void runPass(ServerWorld world, List<Magnet> active) {
+        // Предметы по секциям чанков: каждая секция запрашивается один раз для всех курьеров
+        Map<Long, List<ItemEntity>> buckets = new HashMap<>();
+        for (Magnet magnet : active) {
+            magnet.forEachSection(sectionKey -> buckets.computeIfAbsent(sectionKey, key -> collectSection(world, key)));
+        }
+
+        // Каждый предмет достается ближайшему курьеру
+        Map<ItemEntity, Magnet> owners = new IdentityHashMap<>();
+        Map<ItemEntity, Double> ownerDistances = new IdentityHashMap<>();
+        for (Magnet magnet : active) {
+            Vec3d center = magnet.player.getPos();
+            double radiusSquared = magnet.radius * magnet.radius;
+            magnet.forEachSection(sectionKey -> {
+                for (ItemEntity item : buckets.get(sectionKey)) {
+                    double distanceSquared = center.squaredDistanceTo(item.getPos());
+                    if (distanceSquared <= radiusSquared) {
+                        Double best = ownerDistances.get(item);
+                        if (best == null || distanceSquared < best) {
+                            owners.put(item, magnet);
+                            ownerDistances.put(item, distanceSquared);
+                        }
+                    }
+                }
+            });
+        }
+
+        Map<Magnet, List<ItemEntity>> pickups = new IdentityHashMap<>();
+        for (Map.Entry<ItemEntity, Magnet> entry : owners.entrySet()) {
+            ItemEntity item = entry.getKey();
+            Magnet magnet = entry.getValue();
+            double distanceSquared = ownerDistances.get(item);
+
+            if (distanceSquared < magnet.pickupDistance * magnet.pickupDistance) {
+                pickups.computeIfAbsent(magnet, m -> new ArrayList<>()).add(item);
+            } else {
+                Vec3d offset = magnet.player.getPos().subtract(item.getPos());
+                item.setVelocity(offset.multiply(magnet.pullStrength / Math.sqrt(distanceSquared)));
+            }
+        }
+
+        for (Map.Entry<Magnet, List<ItemEntity>> entry : pickups.entrySet()) {
+            entry.getKey().pendingCollected += pickUp(entry.getKey().player, entry.getValue());
+        }
+
+        long time = world.getTime();
+        for (Magnet magnet : active) {
+            magnet.sendFeedback(time);
+        }
+    }
+
+    private static List<ItemEntity> collectSection(ServerWorld world, long sectionKey) {
+        int sectionX = ChunkSectionPos.unpackX(sectionKey);
+        int sectionY = ChunkSectionPos.unpackY(sectionKey);
+        int sectionZ = ChunkSectionPos.unpackZ(sectionKey);
+        Box box = new Box(
+            ChunkSectionPos.getBlockCoord(sectionX), ChunkSectionPos.getBlockCoord(sectionY), ChunkSectionPos.getBlockCoord(sectionZ),
+            ChunkSectionPos.getBlockCoord(sectionX + 1), ChunkSectionPos.getBlockCoord(sectionY + 1), ChunkSectionPos.getBlockCoord(sectionZ + 1)
+        );
+        // Предмет относится только к секции, в которой находится его позиция
+        return world.getEntitiesByClass(ItemEntity.class, box,
+            item -> !item.cannotPickup() && item.isAlive()
+                && sectionOf(item.getBlockPos()) == sectionKey);
+    }
+
+    private static long sectionOf(BlockPos pos) {
+        return ChunkSectionPos.asLong(
+            ChunkSectionPos.getSectionCoord(pos.getX()),
+            ChunkSectionPos.getSectionCoord(pos.getY()),
+            ChunkSectionPos.getSectionCoord(pos.getZ())
+        );
+    }
+
+    /**
+     * Объединяет одинаковые предметы и добавляет их в инвентарь.
+     * Возвращает количество собранных предметов (сущностей)
+     */
+    private static int pickUp(ServerPlayerEntity player, List<ItemEntity> items) {
+        List<List<ItemEntity>> groups = new ArrayList<>();
+        for (ItemEntity item : items) {
+            List<ItemEntity> group = null;
+            for (List<ItemEntity> candidate : groups) {
+                if (ItemStack.canCombine(candidate.get(0).getStack(), item.getStack())) {
+                    group = candidate;
+                    break;
+                }
+            }
+            if (group == null) {
+                group = new ArrayList<>();
+                groups.add(group);
+            }
+            group.add(item);
+        }
+
+        int collected = 0;
+        for (List<ItemEntity> group : groups) {
+            ItemStack prototype = group.get(0).getStack();
+            int total = 0;
+            for (ItemEntity item : group) {
+                total += item.getStack().getCount();
+            }
+
+            int inserted = total - insertMerged(player, prototype, total);
+            for (ItemEntity item : group) {
+                if (inserted <= 0) {
+                    break;
+                }
+                int count = item.getStack().getCount();
+                if (inserted >= count) {
+                    item.discard();
+                    inserted -= count;
+                    collected++;
+                } else {
+                    item.setStack(item.getStack().copyWithCount(count - inserted));
+                    inserted = 0;
+                }
+            }
+        }
+        return collected;
+    }
+
+    /**
+     * Добавляет total предметов по образцу стопками не больше максимального размера.
+     * Возвращает количество, которое не поместилось
+     */
+    private static int insertMerged(ServerPlayerEntity player, ItemStack prototype, int total) {
+        int remaining = total;
+        while (remaining > 0) {
+            ItemStack part = prototype.copyWithCount(Math.min(remaining, prototype.getMaxCount()));
+            int partCount = part.getCount();
+            player.getInventory().insertStack(part);
+            remaining -= partCount - part.getCount();
+            if (!part.isEmpty()) {
+                break;
+            }
+        }
+        return remaining;
+    }
+
+    private static final class Magnet {
+        private final ServerPlayerEntity player;
+        private double radius;
+        private double pullStrength;
+        private double pickupDistance;
+        private long expiresAt;
+
+        // Собранные предметы, о которых еще не сообщили игроку
+        private int pendingCollected;
+        private long lastFeedbackTime = -FEEDBACK_INTERVAL_TICKS;
+
+        private Magnet(ServerPlayerEntity player) {
+            this.player = player;
+        }
+
+        private void forEachSection(LongConsumer consumer) {
+            Vec3d pos = player.getPos();
+            int minX = ChunkSectionPos.getSectionCoord(MathHelper.floor(pos.x - radius));
+            int minY = ChunkSectionPos.getSectionCoord(MathHelper.floor(pos.y - radius));
+            int minZ = ChunkSectionPos.getSectionCoord(MathHelper.floor(pos.z - radius));
+            int maxX = ChunkSectionPos.getSectionCoord(MathHelper.floor(pos.x + radius));
+            int maxY = ChunkSectionPos.getSectionCoord(MathHelper.floor(pos.y + radius));
+            int maxZ = ChunkSectionPos.getSectionCoord(MathHelper.floor(pos.z + radius));
+            for (int x = minX; x <= maxX; x++) {
+                for (int y = minY; y <= maxY; y++) {
+                    for (int z = minZ; z <= maxZ; z++) {
+                        consumer.accept(ChunkSectionPos.asLong(x, y, z));
+                    }
+                }
+            }
+        }
+
+        private void sendFeedback(long time) {
+            if (pendingCollected <= 0 || time - lastFeedbackTime < FEEDBACK_INTERVAL_TICKS) {
+                return;
+            }
+            player.sendMessage(
+                Text.literal("Собрано предметов: " + pendingCollected)
+                    .formatted(Formatting.GREEN),
+                true // action bar
+            );
+            pendingCollected = 0;
+            lastFeedbackTime = time;
+        }
+    }
+}
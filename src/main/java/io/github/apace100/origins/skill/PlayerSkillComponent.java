@@ -11,12 +11,16 @@ import io.github.apace100.origins.origin.OriginLayers;
 import io.github.apace100.origins.registry.ModComponents;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.nbt.NbtCompound;
+import net.minecraft.network.PacketByteBuf;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
+import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -27,6 +31,23 @@ public class PlayerSkillComponent implements AutoSyncedComponent, ServerTickingC
     public static final ComponentKey<PlayerSkillComponent> KEY =
         ComponentRegistry.getOrCreate(Origins.identifier("player_skills"), PlayerSkillComponent.class);
     
+    // Биты частей компонента для частичной синхронизации
+    private static final int SYNC_SKILLS = 1;
+    private static final int SYNC_ACTIVE_SKILLS = 1 << 1;
+    private static final int SYNC_COOLDOWNS = 1 << 2;
+    private static final int SYNC_STATES = 1 << 3;
+    private static final int SYNC_ENERGY = 1 << 4;
+    private static final int SYNC_ALL = SYNC_SKILLS | SYNC_ACTIVE_SKILLS | SYNC_COOLDOWNS | SYNC_STATES | SYNC_ENERGY;
+    
+    private static final Identifier ORIGIN_LAYER_ID = Origins.identifier("origin");
+    
+    // Пассивные навыки с периодическим эффектом. Остальные пассивные навыки применяются в миксинах
+    // в момент действия (еда, урон, движение) и в план не попадают
+    private static final Map<String, PassiveSkillEffect> PASSIVE_EFFECTS = Map.of(
+        "magnetic_pockets", CourierSkillHandler::handleMagneticPockets
+    );
+    private static final PassiveEntry[] NO_PASSIVES = new PassiveEntry[0];
+    
     private final PlayerEntity player;
     // Вместо одного skillLevels, делаем Map<professionId, Map<skillId, Integer>>
     private final Map<String, Map<String, Integer>> professionSkillLevels = new HashMap<>();
@@ -50,6 +71,15 @@ public class PlayerSkillComponent implements AutoSyncedComponent, ServerTickingC
     private int energyRegenRate = 1; // Восстановление энергии за тик (20 тиков = 1 секунда)
     private int energyRegenDelay = 0; // Задержка перед восстановлением энергии после использования навыка
     
+    // План пассивных эффектов для текущего класса, null - нужно пересобрать
+    private PassiveEntry[] passivePlan = null;
+    private Origin passivePlanOrigin = null;
+    
+    // Текущий класс, сбрасывается при смене происхождения (OriginChangedCallback)
+    private Origin currentOrigin = null;
+    private String currentClass = null;
+    private boolean currentClassResolved = false;
+    
     public PlayerSkillComponent(PlayerEntity player) {
         this.player = player;
     }
@@ -69,13 +99,7 @@ public class PlayerSkillComponent implements AutoSyncedComponent, ServerTickingC
             Origins.LOGGER.info("Не удалось изучить навык: не найдено дерево навыков для класса {}", currentClass);
             return;
         }
-        SkillTreeHandler.Skill skill = null;
-        for (SkillTreeHandler.Skill s : skillTree.getAllSkills()) {
-            if (s.getId().equals(skillId)) {
-                skill = s;
-                break;
-            }
-        }
+        SkillTreeHandler.Skill skill = skillTree.getSkill(skillId);
         if (skill == null) {
             Origins.LOGGER.info("Не удалось изучить навык: навык {} не найден в дереве", skillId);
             return;
@@ -95,6 +119,7 @@ public class PlayerSkillComponent implements AutoSyncedComponent, ServerTickingC
         int currentLevel = skillLevels.getOrDefault(skillId, 0);
         if (currentLevel < skill.getMaxLevel()) {
             skillLevels.put(skillId, currentLevel + 1);
+            invalidatePassivePlan();
             professionProgress.spendSkillPoint();
             Origins.LOGGER.info("Навык {} изучен: новый уровень {}/{}", skillId, currentLevel + 1, skill.getMaxLevel());
             // Синхронизируем всегда
@@ -144,14 +169,7 @@ public class PlayerSkillComponent implements AutoSyncedComponent, ServerTickingC
             
             SkillTreeHandler.SkillTree skillTree = SkillTreeHandler.getSkillTree(currentClass);
             if (skillTree != null) {
-                SkillTreeHandler.Skill parentSkill = null;
-                for (SkillTreeHandler.Skill s : skillTree.getAllSkills()) {
-                    Origins.LOGGER.info("Сравниваем {} с {}", s.getId(), skill.getParentId());
-                    if (s.getId().equals(skill.getParentId())) {
-                        parentSkill = s;
-                        break;
-                    }
-                }
+                SkillTreeHandler.Skill parentSkill = skillTree.getSkill(skill.getParentId());
                 if (parentSkill != null) {
                     Origins.LOGGER.info("Найден родительский навык: {} (макс. уровень: {})", 
                         parentSkill.getId(), parentSkill.getMaxLevel());
@@ -219,14 +237,39 @@ public class PlayerSkillComponent implements AutoSyncedComponent, ServerTickingC
      * Получает текущий класс игрока
      */
     public String getCurrentClass() {
+        resolveCurrentClass();
+        return currentClass;
+    }
+
+    /**
+     * Сбрасывает кэш текущего класса
+     */
+    public void invalidateCurrentClass() {
+        currentClassResolved = false;
+        currentOrigin = null;
+        currentClass = null;
+    }
+
+    /**
+     * Получает текущее происхождение игрока в слое классов
+     */
+    private Origin getCurrentOrigin() {
+        resolveCurrentClass();
+        return currentOrigin;
+    }
+
+    private void resolveCurrentClass() {
+        if (currentClassResolved) {
+            return;
+        }
         try {
             // Используем API Origins для получения текущего происхождения
             OriginComponent originComponent = io.github.apace100.origins.registry.ModComponents.ORIGIN.get(player);
-            Origin origin = originComponent.getOrigin(OriginLayers.getLayer(Origins.identifier("origin")));
-            return origin != null ? origin.getIdentifier().toString() : null;
+            currentOrigin = originComponent.getOrigin(OriginLayers.getLayer(ORIGIN_LAYER_ID));
+            currentClass = currentOrigin != null ? currentOrigin.getIdentifier().toString() : null;
+            currentClassResolved = true;
         } catch (Exception e) {
             Origins.LOGGER.error("Ошибка при получении текущего класса: " + e.getMessage());
-            return null;
         }
     }
 
@@ -261,6 +304,7 @@ public class PlayerSkillComponent implements AutoSyncedComponent, ServerTickingC
         if (currentClass != null) {
             professionSkillLevels.remove(currentClass);
             activeSkills.remove(currentClass);
+            invalidatePassivePlan();
         }
         if (player instanceof ServerPlayerEntity serverPlayer) {
             KEY.sync(serverPlayer);
@@ -279,9 +323,7 @@ public class PlayerSkillComponent implements AutoSyncedComponent, ServerTickingC
         String currentClass = getCurrentClass();
         if (currentClass != null) {
             activeSkills.put(currentClass, skillId);
-            if (player instanceof ServerPlayerEntity serverPlayer) {
-                KEY.sync(serverPlayer);
-            }
+            syncParts(SYNC_ACTIVE_SKILLS);
         }
     }
     
@@ -307,9 +349,7 @@ public class PlayerSkillComponent implements AutoSyncedComponent, ServerTickingC
     public void setSkillCooldown(String skillId, long cooldownTicks) {
         long currentTime = player.getWorld().getTime();
         skillCooldowns.put(skillId, currentTime + cooldownTicks);
-        if (player instanceof ServerPlayerEntity serverPlayer) {
-            KEY.sync(serverPlayer);
-        }
+        syncParts(SYNC_COOLDOWNS);
     }
     
     /**
@@ -338,9 +378,9 @@ public class PlayerSkillComponent implements AutoSyncedComponent, ServerTickingC
      * Устанавливает состояние навыка
      */
     public void setSkillState(String skillId, boolean state) {
-        skillStates.put(skillId, state);
-        if (player instanceof ServerPlayerEntity serverPlayer) {
-            KEY.sync(serverPlayer);
+        Boolean previous = skillStates.put(skillId, state);
+        if (previous == null || previous != state) {
+            syncParts(SYNC_STATES);
         }
     }
     
@@ -372,9 +412,7 @@ public class PlayerSkillComponent implements AutoSyncedComponent, ServerTickingC
      */
     public void setCurrentEnergy(int energy) {
         this.currentEnergy = Math.max(0, Math.min(energy, maxEnergy));
-        if (player instanceof ServerPlayerEntity serverPlayer) {
-            KEY.sync(serverPlayer);
-        }
+        syncParts(SYNC_ENERGY);
     }
     
     /**
@@ -383,9 +421,7 @@ public class PlayerSkillComponent implements AutoSyncedComponent, ServerTickingC
     public void setMaxEnergy(int maxEnergy) {
         this.maxEnergy = Math.max(1, maxEnergy);
         this.currentEnergy = Math.min(this.currentEnergy, this.maxEnergy);
-        if (player instanceof ServerPlayerEntity serverPlayer) {
-            KEY.sync(serverPlayer);
-        }
+        syncParts(SYNC_ENERGY);
     }
     
     /**
@@ -402,9 +438,7 @@ public class PlayerSkillComponent implements AutoSyncedComponent, ServerTickingC
         if (currentEnergy >= amount) {
             currentEnergy -= amount;
             energyRegenDelay = 60; // 3 секунды задержки перед восстановлением
-            if (player instanceof ServerPlayerEntity serverPlayer) {
-                KEY.sync(serverPlayer);
-            }
+            syncParts(SYNC_ENERGY);
             return true;
         }
         return false;
@@ -414,9 +448,10 @@ public class PlayerSkillComponent implements AutoSyncedComponent, ServerTickingC
      * Восстанавливает энергию
      */
     public void restoreEnergy(int amount) {
+        int previousEnergy = currentEnergy;
         currentEnergy = Math.min(currentEnergy + amount, maxEnergy);
-        if (player instanceof ServerPlayerEntity serverPlayer) {
-            KEY.sync(serverPlayer);
+        if (currentEnergy != previousEnergy) {
+            syncParts(SYNC_ENERGY);
         }
     }
     
@@ -433,9 +468,7 @@ public class PlayerSkillComponent implements AutoSyncedComponent, ServerTickingC
 
     public void setEnergyRegenRate(int regenRate) {
         this.energyRegenRate = Math.max(1, regenRate);
-        if (player instanceof ServerPlayerEntity serverPlayer) {
-            KEY.sync(serverPlayer);
-        }
+        syncParts(SYNC_ENERGY);
     }
     
     // ========== СИСТЕМА ОТЛОЖЕННОЙ УСТАНОВКИ ЛОВУШКИ ==========
@@ -478,162 +511,65 @@ public class PlayerSkillComponent implements AutoSyncedComponent, ServerTickingC
     }
 
     /**
-     * Применяет эффекты пассивных навыков
+     * Применяет эффекты пассивных навыков по заранее собранному плану
      */
     public void applyPassiveSkillEffects() {
-        String currentClass = getCurrentClass();
-        if (currentClass == null) return;
+        if (!(player instanceof ServerPlayerEntity serverPlayer)) return;
 
-        SkillTreeHandler.SkillTree skillTree = SkillTreeHandler.getSkillTree(currentClass);
-        if (skillTree == null) return;
+        PassiveEntry[] plan = getPassivePlan();
+        for (PassiveEntry entry : plan) {
+            entry.effect().apply(serverPlayer, entry.level());
+        }
+    }
 
-        // Проходим по всем изученным навыкам
-        for (Map.Entry<String, Integer> entry : getSkillLevels().entrySet()) {
-            String skillId = entry.getKey();
-            int skillLevel = entry.getValue();
-            
-            if (skillLevel > 0) {
-                // Находим навык
-                SkillTreeHandler.Skill skill = null;
-                for (SkillTreeHandler.Skill s : skillTree.getAllSkills()) {
-                    if (s.getId().equals(skillId)) {
-                        skill = s;
-                        break;
-                    }
-                }
-                
-                if (skill != null && skill.getType() == SkillTreeHandler.SkillType.PASSIVE) {
-                    // Применяем эффекты пассивного навыка
-                    applySkillEffect(skill, skillLevel);
-                }
-            }
+    /**
+     * Возвращает план пассивных эффектов, пересобирая его после изменения навыков или класса
+     */
+    private PassiveEntry[] getPassivePlan() {
+        Origin origin = getCurrentOrigin();
+        if (passivePlan == null || origin != passivePlanOrigin) {
+            passivePlan = compilePassivePlan(origin);
+            passivePlanOrigin = origin;
         }
-        
-        // Применяем специфические эффекты для курьера
-        if ("origins:courier".equals(currentClass) && player instanceof ServerPlayerEntity serverPlayer) {
-            // Применяем эффекты магнитных карманов
-            int magneticPocketsLevel = getSkillLevel("magnetic_pockets");
-            if (magneticPocketsLevel > 0) {
-                CourierSkillHandler.handleMagneticPockets(serverPlayer, magneticPocketsLevel);
-            }
-            
-            // Применяем эффекты базовой скорости
-            int speedBasicLevel = getSkillLevel("speed_basic");
-            if (speedBasicLevel > 0) {
-                // Скорость будет применяться через миксины
-                // Здесь мы просто регистрируем, что скилл активен
-            }
-            
-            // Применяем эффекты снижения голода
-            int hungerReductionLevel = getSkillLevel("hunger_reduction");
-            if (hungerReductionLevel > 0) {
-                // Снижение голода будет применяться через миксины
-                // Здесь мы просто регистрируем, что скилл активен
-            }
-            
-            // Применяем эффекты сумки для еды
-            int inventorySlotsBasicLevel = getSkillLevel("inventory_slots_basic");
-            if (inventorySlotsBasicLevel > 0) {
-                // Дополнительные слоты инвентаря будут применяться через миксины
-                // Здесь мы просто регистрируем, что скилл активен
+        return passivePlan;
+    }
+
+    private PassiveEntry[] compilePassivePlan(Origin origin) {
+        if (origin == null) return NO_PASSIVES;
+
+        String currentClass = origin.getIdentifier().toString();
+        SkillTreeHandler.SkillTree skillTree = SkillTreeHandler.getSkillTree(currentClass);
+        Map<String, Integer> skillLevels = professionSkillLevels.get(currentClass);
+        if (skillTree == null || skillLevels == null) return NO_PASSIVES;
+
+        List<PassiveEntry> plan = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : skillLevels.entrySet()) {
+            if (entry.getValue() <= 0) continue;
+            SkillTreeHandler.Skill skill = skillTree.getSkill(entry.getKey());
+            PassiveSkillEffect effect = PASSIVE_EFFECTS.get(entry.getKey());
+            if (skill != null && skill.getType() == SkillTreeHandler.SkillType.PASSIVE && effect != null) {
+                plan.add(new PassiveEntry(effect, entry.getValue()));
             }
         }
+        return plan.isEmpty() ? NO_PASSIVES : plan.toArray(new PassiveEntry[0]);
     }
 
     /**
-     * Применяет эффект конкретного навыка
+     * Сбрасывает план пассивных эффектов после изменения навыков
      */
-    private void applySkillEffect(SkillTreeHandler.Skill skill, int level) {
-        // Здесь будет логика применения эффектов навыков
-        // Пока что заглушка - в будущем можно расширить
-        switch (skill.getId()) {
-            case "blacksmith_hammer_mastery":
-                // Увеличение скорости крафта
-                break;
-            case "blacksmith_quality_boost":
-                // Увеличение качества предметов
-                break;
-            case "cook_speed_boost":
-                // Увеличение скорости готовки
-                break;
-            case "brewer_efficiency":
-                // Увеличение эффективности варки
-                break;
-                
-            // Пассивные скиллы повара
-            case "fresh_product":
-                // Еда восстанавливает на 2% сытости больше за уровень
-                // Эффект будет применяться в миксинах при потреблении еды
-                break;
-            case "hearty_meal":
-                // Эффект сытости длится в 2 раза дольше
-                // Эффект будет применяться в миксинах при потреблении еды
-                break;
-            case "chef_master":
-                // Приготовленная еда даёт случайные позитивные эффекты
-                // Эффект будет применяться в миксинах при потреблении еды
-                break;
-            case "flambe":
-                // При убийстве подожжённого врага происходит взрыв
-                // Эффект будет применяться в миксинах при убийстве врагов
-                break;
-            case "fire_immunity":
-                // Иммунитет к огню и лаве
-                // Эффект будет применяться в миксинах при получении урона
-                break;
-            case "ready":
-                // Приготовление еды даёт бафф 'Вдохновение' (+10% урона)
-                // Эффект будет применяться в миксинах при потреблении еды
-                break;
-            case "quick_snack":
-                // Можно есть на бегу без замедления
-                // Эффект будет применяться в миксинах при потреблении еды
-                break;
-                
-            // Пассивные скиллы курьера
-            case "speed_basic":
-                // Увеличение базовой скорости передвижения
-                // Эффект будет применяться в миксинах при движении
-                break;
-            case "carry_capacity_basic":
-                // Увеличение вместимости инвентаря
-                // Эффект будет применяться в миксинах при работе с инвентарем
-                break;
-            case "hunger_reduction":
-                // Снижение расхода голода
-                // Эффект будет применяться в миксинах при движении и действиях
-                break;
-            case "inventory_slots_basic":
-                // Дополнительные слоты инвентаря
-                // Эффект будет применяться в миксинах при работе с инвентарем
-                break;
-            case "magnetic_pockets":
-                // Увеличение радиуса подбора предметов
-                // Эффект будет применяться в миксинах при движении
-                break;
-            case "sprint_boost":
-                // Увеличение скорости при спринте
-                // Эффект будет применяться в миксинах при спринте
-                break;
-            case "speed_surge":
-                // Временное увеличение скорости и восстановление голода
-                // Эффект будет применяться в миксинах при активации
-                break;
-            case "carry_surge":
-                // Выброс огненного заряда
-                // Эффект будет применяться в миксинах при активации
-                break;
-            case "inventory_surge":
-                // Создание сумки с едой
-                // Эффект будет применяться в миксинах при активации
-                break;
-            case "shulker_carry":
-                // Создание карты деревень
-                // Эффект будет применяться в миксинах при активации
-                break;
-                
-            // Добавить другие навыки по мере необходимости
-        }
+    private void invalidatePassivePlan() {
+        passivePlan = null;
+    }
+
+    /**
+     * Пассивный эффект, который применяется каждую секунду
+     */
+    @FunctionalInterface
+    private interface PassiveSkillEffect {
+        void apply(ServerPlayerEntity player, int level);
+    }
+
+    private record PassiveEntry(PassiveSkillEffect effect, int level) {
     }
     
     /**
@@ -654,12 +590,9 @@ public class PlayerSkillComponent implements AutoSyncedComponent, ServerTickingC
             return;
         }
         
-        SkillTreeHandler.Skill skill = null;
-        for (SkillTreeHandler.Skill s : skillTree.getAllSkills()) {
-            if (s.getId().equals(skillId) && s.getType() == SkillTreeHandler.SkillType.ACTIVE) {
-                skill = s;
-                break;
-            }
+        SkillTreeHandler.Skill skill = skillTree.getSkill(skillId);
+        if (skill != null && skill.getType() != SkillTreeHandler.SkillType.ACTIVE) {
+            skill = null;
         }
         
         if (skill == null) {
@@ -918,9 +851,114 @@ public class PlayerSkillComponent implements AutoSyncedComponent, ServerTickingC
         }
     }
 
+    /**
+     * Отправляет клиенту только указанные части компонента.
+     * Полное дерево навыков уходит через {@link #writeSyncPacket} (вход игрока, изучение и сброс навыков)
+     */
+    private void syncParts(int parts) {
+        if (player instanceof ServerPlayerEntity serverPlayer) {
+            KEY.sync(serverPlayer, (buf, recipient) -> writeSyncData(buf, parts));
+        }
+    }
+
+    @Override
+    public void writeSyncPacket(PacketByteBuf buf, ServerPlayerEntity recipient) {
+        writeSyncData(buf, SYNC_ALL);
+    }
+
+    /**
+     * Формат: байт с битами частей, затем каждая отмеченная часть по порядку битов
+     */
+    private void writeSyncData(PacketByteBuf buf, int parts) {
+        buf.writeByte(parts);
+        if ((parts & SYNC_SKILLS) != 0) {
+            buf.writeVarInt(professionSkillLevels.size());
+            for (Map.Entry<String, Map<String, Integer>> entry : professionSkillLevels.entrySet()) {
+                buf.writeString(entry.getKey());
+                buf.writeVarInt(entry.getValue().size());
+                for (Map.Entry<String, Integer> skillEntry : entry.getValue().entrySet()) {
+                    buf.writeString(skillEntry.getKey());
+                    buf.writeVarInt(skillEntry.getValue());
+                }
+            }
+        }
+        if ((parts & SYNC_ACTIVE_SKILLS) != 0) {
+            buf.writeVarInt(activeSkills.size());
+            for (Map.Entry<String, String> entry : activeSkills.entrySet()) {
+                buf.writeString(entry.getKey());
+                buf.writeString(entry.getValue());
+            }
+        }
+        if ((parts & SYNC_COOLDOWNS) != 0) {
+            buf.writeVarInt(skillCooldowns.size());
+            for (Map.Entry<String, Long> entry : skillCooldowns.entrySet()) {
+                buf.writeString(entry.getKey());
+                buf.writeVarLong(entry.getValue());
+            }
+        }
+        if ((parts & SYNC_STATES) != 0) {
+            buf.writeVarInt(skillStates.size());
+            for (Map.Entry<String, Boolean> entry : skillStates.entrySet()) {
+                buf.writeString(entry.getKey());
+                buf.writeBoolean(entry.getValue());
+            }
+        }
+        if ((parts & SYNC_ENERGY) != 0) {
+            buf.writeVarInt(currentEnergy);
+            buf.writeVarInt(maxEnergy);
+            buf.writeVarInt(energyRegenRate);
+        }
+    }
+
+    @Override
+    public void applySyncPacket(PacketByteBuf buf) {
+        int parts = buf.readByte();
+        if ((parts & SYNC_SKILLS) != 0) {
+            professionSkillLevels.clear();
+            int professions = buf.readVarInt();
+            for (int i = 0; i < professions; i++) {
+                String profession = buf.readString();
+                int count = buf.readVarInt();
+                Map<String, Integer> skillLevels = new HashMap<>();
+                for (int j = 0; j < count; j++) {
+                    skillLevels.put(buf.readString(), buf.readVarInt());
+                }
+                professionSkillLevels.put(profession, skillLevels);
+            }
+            invalidatePassivePlan();
+        }
+        if ((parts & SYNC_ACTIVE_SKILLS) != 0) {
+            activeSkills.clear();
+            int count = buf.readVarInt();
+            for (int i = 0; i < count; i++) {
+                activeSkills.put(buf.readString(), buf.readString());
+            }
+        }
+        if ((parts & SYNC_COOLDOWNS) != 0) {
+            skillCooldowns.clear();
+            int count = buf.readVarInt();
+            for (int i = 0; i < count; i++) {
+                skillCooldowns.put(buf.readString(), buf.readVarLong());
+            }
+        }
+        if ((parts & SYNC_STATES) != 0) {
+            skillStates.clear();
+            int count = buf.readVarInt();
+            for (int i = 0; i < count; i++) {
+                skillStates.put(buf.readString(), buf.readBoolean());
+            }
+        }
+        if ((parts & SYNC_ENERGY) != 0) {
+            currentEnergy = buf.readVarInt();
+            maxEnergy = buf.readVarInt();
+            energyRegenRate = buf.readVarInt();
+        }
+    }
+
     @Override
     public void readFromNbt(NbtCompound tag) {
         professionSkillLevels.clear();
+        invalidatePassivePlan();
         activeSkills.clear();
         skillCooldowns.clear();
         skillStates.clear();
@@ -2,6 +2,7 @@ package io.github.apace100.origins.skill;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -235,9 +236,16 @@ public class SkillTreeHandler {
 
     public static class SkillTree {
         private final List<List<Skill>> branches = new ArrayList<>();
+        // Все навыки дерева в порядке веток и индекс по ID, заполняются при добавлении ветки
+        private final List<Skill> allSkills = new ArrayList<>();
+        private final Map<String, Skill> skillsById = new HashMap<>();
 
         public void addBranch(List<Skill> branch) {
             this.branches.add(branch);
+            for (Skill skill : branch) {
+                allSkills.add(skill);
+                skillsById.putIfAbsent(skill.getId(), skill);
+            }
         }
 
         public List<List<Skill>> getBranches() {
@@ -245,11 +253,14 @@ public class SkillTreeHandler {
         }
 
         public List<Skill> getAllSkills() {
-            List<Skill> allSkills = new ArrayList<>();
-            for (List<Skill> branch : branches) {
-                allSkills.addAll(branch);
-            }
-            return allSkills;
+            return Collections.unmodifiableList(allSkills);
+        }
+
+        /**
+         * Находит навык дерева по ID, null если его нет
+         */
+        public Skill getSkill(String skillId) {
+            return skillsById.get(skillId);
         }
     }
 }
\ No newline at end of file
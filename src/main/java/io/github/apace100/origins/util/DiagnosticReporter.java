@@ -4,6 +4,7 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonObject;
 import io.github.apace100.origins.Origins;
+import net.fabricmc.api.EnvType;
 import net.fabricmc.loader.api.FabricLoader;
 
 import java.io.IOException;
@@ -220,8 +221,11 @@ public class DiagnosticReporter {
             // Note: JSON validation would need a specific file to validate
             // For now, we'll skip it in the report generation
             
-            textureValidation = TextureValidator.validateAllTextures();
-            keybindingValidation = KeybindingDiagnostic.runDiagnostic();
+            // Textures and keybindings exist only on the client
+            if (FabricLoader.getInstance().getEnvironmentType() == EnvType.CLIENT) {
+                textureValidation = TextureValidator.validateAllTextures();
+                keybindingValidation = KeybindingDiagnostic.runDiagnostic();
+            }
             compatibilityCheck = ModCompatibilityChecker.runCompatibilityCheck();
         } catch (Exception e) {
             Origins.LOGGER.error("Error during diagnostic report generation: " + e.getMessage(), e);
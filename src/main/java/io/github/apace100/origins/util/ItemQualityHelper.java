@@ -2,17 +2,30 @@ package io.github.apace100.origins.util;
 
 import io.github.apace100.origins.power.BlacksmithQualityCraftingPower;
 import net.minecraft.item.*;
+import net.minecraft.nbt.AbstractNbtNumber;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Утилитарный класс для работы с качеством предметов
  */
 public class ItemQualityHelper {
     
+    // Окрашенные названия предметов для каждого качества (индекс - порядковый номер качества)
+    @SuppressWarnings("unchecked")
+    private static final Map<Item, ColoredName>[] COLORED_NAMES = new Map[BlacksmithQualityCraftingPower.ItemQuality.values().length];
+    
+    static {
+        for (int i = 0; i < COLORED_NAMES.length; i++) {
+            COLORED_NAMES[i] = new ConcurrentHashMap<>();
+        }
+    }
+    
     /**
      * Применяет модификаторы качества к характеристикам предмета
      */
@@ -28,7 +41,7 @@ public class ItemQualityHelper {
             quality.getModifiersForItem(stack);
         
         // Применяем модификатор прочности
-        applyDurabilityModifier(stack, modifiers.durabilityModifier);
+        applyDurabilityModifier(stack, modifiers.durabilityModifier());
     }
     
     /**
@@ -51,13 +64,9 @@ public class ItemQualityHelper {
      * Получает модифицированную максимальную прочность предмета
      */
     public static int getModifiedMaxDamage(ItemStack stack) {
-        if (!stack.hasNbt()) {
-            return stack.getMaxDamage();
-        }
-        
         NbtCompound nbt = stack.getNbt();
-        if (nbt.contains("ModifiedMaxDamage")) {
-            return nbt.getInt("ModifiedMaxDamage");
+        if (nbt != null && nbt.get("ModifiedMaxDamage") instanceof AbstractNbtNumber modifiedMaxDamage) {
+            return modifiedMaxDamage.intValue();
         }
         
         return stack.getMaxDamage();
@@ -67,48 +76,39 @@ public class ItemQualityHelper {
      * Получает модификатор урона для оружия
      */
     public static float getDamageModifier(ItemStack stack) {
-        BlacksmithQualityCraftingPower.ItemQuality quality = 
-            BlacksmithQualityCraftingPower.getItemQuality(stack);
-        
-        if (stack.getItem() instanceof SwordItem || stack.getItem() instanceof AxeItem) {
-            BlacksmithQualityCraftingPower.QualityModifiers modifiers = 
-                quality.getModifiersForItem(stack);
-            return modifiers.primaryStatModifier;
-        }
-        
-        return 0.0f;
+        return BlacksmithQualityCraftingPower.getModifiers(stack).damageModifier();
     }
     
     /**
      * Получает модификатор скорости добычи для инструментов
      */
     public static float getMiningSpeedModifier(ItemStack stack) {
-        BlacksmithQualityCraftingPower.ItemQuality quality = 
-            BlacksmithQualityCraftingPower.getItemQuality(stack);
-        
-        if (stack.getItem() instanceof MiningToolItem) {
-            BlacksmithQualityCraftingPower.QualityModifiers modifiers = 
-                quality.getModifiersForItem(stack);
-            return modifiers.primaryStatModifier;
-        }
-        
-        return 0.0f;
+        return BlacksmithQualityCraftingPower.getModifiers(stack).miningSpeedModifier();
     }
     
     /**
      * Получает модификатор защиты для брони
      */
     public static float getArmorProtectionModifier(ItemStack stack) {
-        BlacksmithQualityCraftingPower.ItemQuality quality = 
-            BlacksmithQualityCraftingPower.getItemQuality(stack);
-        
-        if (stack.getItem() instanceof ArmorItem) {
-            BlacksmithQualityCraftingPower.QualityModifiers modifiers = 
-                quality.getModifiersForItem(stack);
-            return modifiers.primaryStatModifier;
+        return BlacksmithQualityCraftingPower.getModifiers(stack).armorModifier();
+    }
+    
+    /**
+     * Возвращает название предмета, окрашенное в цвет качества.
+     * Результат кэшируется для пары (предмет, качество) и переиспользуется, пока исходное название не меняется
+     */
+    public static Text getColoredName(ItemStack stack, BlacksmithQualityCraftingPower.ItemQuality quality, Text originalName) {
+        Map<Item, ColoredName> cache = COLORED_NAMES[quality.ordinal()];
+        ColoredName cached = cache.get(stack.getItem());
+        if (cached != null && cached.original().equals(originalName)) {
+            return cached.colored();
         }
         
-        return 0.0f;
+        Text coloredName = Text.empty()
+            .append(originalName)
+            .formatted(quality.getColor());
+        cache.put(stack.getItem(), new ColoredName(originalName, coloredName));
+        return coloredName;
     }
     
     /**
@@ -130,16 +130,16 @@ public class ItemQualityHelper {
         BlacksmithQualityCraftingPower.QualityModifiers modifiers = 
             quality.getModifiersForItem(stack);
         
-        if (modifiers.durabilityModifier != 0.0f) {
+        if (modifiers.durabilityModifier() != 0.0f) {
             String durabilityText = String.format("Прочность: %+.0f%%", 
-                modifiers.durabilityModifier * 100);
+                modifiers.durabilityModifier() * 100);
             tooltip.add(Text.literal(durabilityText).formatted(Formatting.BLUE));
         }
         
-        if (modifiers.primaryStatModifier != 0.0f) {
+        if (modifiers.primaryStatModifier() != 0.0f) {
             String statName = getStatNameForItem(stack);
             String statText = String.format("%s: %+.0f%%", 
-                statName, modifiers.primaryStatModifier * 100);
+                statName, modifiers.primaryStatModifier() * 100);
             tooltip.add(Text.literal(statText).formatted(Formatting.BLUE));
         }
         
@@ -198,4 +198,7 @@ public class ItemQualityHelper {
                item instanceof SwordItem || 
                item instanceof ArmorItem;
     }
+    
+    private record ColoredName(Text original, Text colored) {
+    }
 }
\ No newline at end of file
@@ -1,34 +1,58 @@
 package io.github.apace100.origins.util;
 
 import io.github.apace100.origins.Origins;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.client.MinecraftClient;
 import net.minecraft.server.MinecraftServer;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
 
 /**
- * Ongoing validation service for continuous monitoring of Origins mod health
- * Performs periodic checks and maintenance tasks to ensure system stability
+ * Ongoing validation service for continuous monitoring of Origins mod health.
+ * Checks run incrementally: every tick a few queued checks are executed until the per-tick
+ * time budget is spent. Server-safe checks run on the server thread; checks that touch client
+ * state (textures, keybindings) are registered by {@link #initializeClient()} and run on the
+ * client thread, so a dedicated server never loads them. Results are cached until a data pack
+ * reload (or a forced validation) invalidates them, so a healthy server does no periodic work.
  */
 public class OngoingValidationService {
-    
-    private static final ScheduledExecutorService SCHEDULER = Executors.newScheduledThreadPool(2);
-    private static final AtomicLong LAST_VALIDATION_TIME = new AtomicLong(0);
-    private static final AtomicLong VALIDATION_COUNT = new AtomicLong(0);
-    
-    // Validation intervals (in seconds)
-    private static final int STARTUP_VALIDATION_DELAY = 30; // 30 seconds after startup
-    private static final int PERIODIC_VALIDATION_INTERVAL = 300; // 5 minutes
-    private static final int TEXTURE_CHECK_INTERVAL = 600; // 10 minutes
-    private static final int KEYBINDING_CHECK_INTERVAL = 900; // 15 minutes
-    
+
+    // Delay before the first validation after server start
+    private static final int STARTUP_VALIDATION_DELAY_TICKS = 30 * 20;
+
+    // Default per-tick budget if the config is not loaded yet
+    private static final int DEFAULT_TICK_BUDGET_MICROS = 500;
+
+    // Server thread checks
+    private static final List<Check> CHECKS = new ArrayList<>();
+    private static final ArrayDeque<Check> QUEUE = new ArrayDeque<>();
+
+    // Client thread checks; empty on a dedicated server
+    private static final List<Check> CLIENT_CHECKS = new ArrayList<>();
+    private static final ArrayDeque<Check> CLIENT_QUEUE = new ArrayDeque<>();
+    // Set by the server thread, consumed by the client thread
+    private static final AtomicBoolean CLIENT_VALIDATION_REQUESTED = new AtomicBoolean();
+
+    private static volatile long validationCount = 0;
+    private static volatile long lastValidationTime = 0;
+    private static long startValidationAtTick = -1;
+
     private static boolean initialized = false;
     private static boolean serverRunning = false;
-    
+
+    static {
+        CHECKS.add(new Check("Mod compatibility", ModCompatibilityChecker::isEnvironmentSuitable));
+    }
+
     /**
      * Initializes the ongoing validation service
      */
@@ -36,53 +60,73 @@ public class OngoingValidationService {
         if (initialized) {
             return;
         }
-        
-                
+
         // Register server lifecycle events
         ServerLifecycleEvents.SERVER_STARTED.register(OngoingValidationService::onServerStarted);
         ServerLifecycleEvents.SERVER_STOPPING.register(OngoingValidationService::onServerStopping);
-        
-        // Register tick events for periodic checks
+
+        // Cached results are only valid for the loaded resources
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resourceManager, success) -> {
+            if (success) {
+                invalidate("Data pack reload");
+            }
+        });
+
+        // Validation slices run on the server thread
         ServerTickEvents.END_SERVER_TICK.register(OngoingValidationService::onServerTick);
-        
-        // Schedule initial validation
-        scheduleInitialValidation();
-        
-        // Schedule periodic validations
-        schedulePeriodicValidations();
-        
+
         initialized = true;
-            }
-    
+    }
+
+    /**
+     * Registers the checks that need client state and runs them on the client thread
+     */
+    @Environment(EnvType.CLIENT)
+    public static void initializeClient() {
+        CLIENT_CHECKS.add(new Check("Texture initialization", () -> {
+            TextureTest.testTextureInitialization();
+            return true;
+        }));
+        CLIENT_CHECKS.add(new Check("Texture health", TextureTest::validateTextureHealth));
+        CLIENT_CHECKS.add(new Check("Texture report", OngoingValidationService::runTextureValidation));
+        CLIENT_CHECKS.add(new Check("Keybinding conflicts", () -> {
+            KeybindingTest.testConflictDetection();
+            return true;
+        }));
+        CLIENT_CHECKS.add(new Check("Keybinding health", KeybindingTest::validateKeybindingHealth));
+        CLIENT_CHECKS.add(new Check("Keybinding report", OngoingValidationService::runKeybindingValidation));
+        CLIENT_CHECKS.add(new Check("Diagnostic report", OngoingValidationService::runDiagnosticReport));
+
+        // Validate once the client is in a world, then again whenever the server invalidates results
+        CLIENT_VALIDATION_REQUESTED.set(true);
+        ClientTickEvents.END_CLIENT_TICK.register(OngoingValidationService::onClientTick);
+    }
+
     /**
      * Called when server starts
      */
     private static void onServerStarted(MinecraftServer server) {
         serverRunning = true;
-                
+
         // Log diagnostic event
         DiagnosticReporter.logEvent("VALIDATION", "INFO", "Server started - validation service active");
-        
+
         // Schedule startup validation
-        SCHEDULER.schedule(() -> {
-            try {
-                runStartupValidation();
-            } catch (Exception e) {
-                Origins.LOGGER.error("Error during startup validation: " + e.getMessage(), e);
-                DiagnosticReporter.logEvent("VALIDATION", "ERROR", "Startup validation failed: " + e.getMessage());
-            }
-        }, STARTUP_VALIDATION_DELAY, TimeUnit.SECONDS);
+        startValidationAtTick = server.getTicks() + STARTUP_VALIDATION_DELAY_TICKS;
     }
-    
+
     /**
      * Called when server is stopping
      */
     private static void onServerStopping(MinecraftServer server) {
         serverRunning = false;
-                
+        QUEUE.clear();
+        CLIENT_VALIDATION_REQUESTED.set(false);
+        startValidationAtTick = -1;
+
         // Log diagnostic event
         DiagnosticReporter.logEvent("VALIDATION", "INFO", "Server stopping - validation service disabled");
-        
+
         // Run final validation
         try {
             runShutdownValidation();
@@ -90,295 +134,198 @@ public class OngoingValidationService {
             Origins.LOGGER.error("Error during shutdown validation: " + e.getMessage(), e);
         }
     }
-    
+
     /**
-     * Called on each server tick for lightweight checks
+     * Called on each server tick: runs queued checks within the tick budget
      */
     private static void onServerTick(MinecraftServer server) {
-        // Perform very lightweight checks every tick
-        // This is called 20 times per second, so keep it minimal
-        
-        long currentTime = System.currentTimeMillis();
-        long lastValidation = LAST_VALIDATION_TIME.get();
-        
-        // Check if it's been too long since last validation (emergency check)
-        if (currentTime - lastValidation > 1800000) { // 30 minutes
-            Origins.LOGGER.warn("Emergency validation triggered - too long since last check");
-            SCHEDULER.submit(() -> {
-                try {
-                    runEmergencyValidation();
-                } catch (Exception e) {
-                    Origins.LOGGER.error("Emergency validation failed: " + e.getMessage(), e);
-                }
-            });
+        if (startValidationAtTick >= 0 && server.getTicks() >= startValidationAtTick) {
+            startValidationAtTick = -1;
+            invalidate("Startup validation");
         }
+        runQueued(QUEUE, CHECKS);
     }
-    
+
     /**
-     * Schedules initial validation after mod loading
+     * Called on each client tick: queues client checks when requested and runs them within the tick budget
      */
-    private static void scheduleInitialValidation() {
-        SCHEDULER.schedule(() -> {
-            try {
-                runInitialValidation();
-            } catch (Exception e) {
-                Origins.LOGGER.error("Error during initial validation: " + e.getMessage(), e);
-                DiagnosticReporter.logEvent("VALIDATION", "ERROR", "Initial validation failed: " + e.getMessage());
+    @Environment(EnvType.CLIENT)
+    private static void onClientTick(MinecraftClient client) {
+        if (client.world == null) {
+            return;
+        }
+        if (CLIENT_VALIDATION_REQUESTED.getAndSet(false)) {
+            TextureValidator.clearCache();
+            CLIENT_QUEUE.clear();
+            for (Check check : CLIENT_CHECKS) {
+                check.healthy = null;
+                CLIENT_QUEUE.add(check);
             }
-        }, 10, TimeUnit.SECONDS); // 10 seconds after mod loading
+        }
+        runQueued(CLIENT_QUEUE, CLIENT_CHECKS);
     }
-    
-    /**
-     * Schedules periodic validation tasks
-     */
-    private static void schedulePeriodicValidations() {
-        // Main periodic validation
-        SCHEDULER.scheduleAtFixedRate(() -> {
-            if (serverRunning) {
-                try {
-                    runPeriodicValidation();
-                } catch (Exception e) {
-                    Origins.LOGGER.error("Error during periodic validation: " + e.getMessage(), e);
-                    DiagnosticReporter.logEvent("VALIDATION", "ERROR", "Periodic validation failed: " + e.getMessage());
-                }
-            }
-        }, PERIODIC_VALIDATION_INTERVAL, PERIODIC_VALIDATION_INTERVAL, TimeUnit.SECONDS);
-        
-        // Texture validation
-        SCHEDULER.scheduleAtFixedRate(() -> {
-            if (serverRunning) {
-                try {
-                    runTextureValidation();
-                } catch (Exception e) {
-                    Origins.LOGGER.error("Error during texture validation: " + e.getMessage(), e);
-                    DiagnosticReporter.logEvent("VALIDATION", "ERROR", "Texture validation failed: " + e.getMessage());
-                }
-            }
-        }, TEXTURE_CHECK_INTERVAL, TEXTURE_CHECK_INTERVAL, TimeUnit.SECONDS);
-        
-        // Keybinding validation
-        SCHEDULER.scheduleAtFixedRate(() -> {
-            if (serverRunning) {
-                try {
-                    runKeybindingValidation();
-                } catch (Exception e) {
-                    Origins.LOGGER.error("Error during keybinding validation: " + e.getMessage(), e);
-                    DiagnosticReporter.logEvent("VALIDATION", "ERROR", "Keybinding validation failed: " + e.getMessage());
-                }
-            }
-        }, KEYBINDING_CHECK_INTERVAL, KEYBINDING_CHECK_INTERVAL, TimeUnit.SECONDS);
+
+    private static void runQueued(ArrayDeque<Check> queue, List<Check> checks) {
+        if (queue.isEmpty()) {
+            return;
+        }
+
+        // At least one check runs per tick, so a check longer than the budget still completes
+        long deadline = System.nanoTime() + getTickBudgetMicros() * 1000L;
+        do {
+            runCheck(queue.poll());
+        } while (!queue.isEmpty() && System.nanoTime() < deadline);
+
+        if (queue.isEmpty()) {
+            finishValidation(checks);
+        }
     }
-    
+
     /**
-     * Runs initial validation after mod loading
+     * Drops cached results and queues all checks again
      */
-    private static void runInitialValidation() {
-                LAST_VALIDATION_TIME.set(System.currentTimeMillis());
-        VALIDATION_COUNT.incrementAndGet();
-        
-        // Log system information
-        DiagnosticReporter.logEvent("VALIDATION", "INFO", "Initial validation started");
-        
-        // Validate critical systems
-        boolean textureHealth = TextureTest.validateTextureHealth();
-        boolean keybindingHealth = KeybindingTest.validateKeybindingHealth();
-        boolean compatibilityHealth = ModCompatibilityChecker.isEnvironmentSuitable();
-        
-        // Log results
-        DiagnosticReporter.logEvent("VALIDATION", "INFO", 
-            String.format("Initial validation completed - Textures: %s, Keybindings: %s, Compatibility: %s",
-                textureHealth ? "OK" : "ISSUES", 
-                keybindingHealth ? "OK" : "ISSUES",
-                compatibilityHealth ? "OK" : "ISSUES"));
-        
-        if (!textureHealth || !keybindingHealth || !compatibilityHealth) {
-            Origins.LOGGER.warn("Initial validation detected issues - check diagnostic logs");
-        } else {
-                    }
+    private static void invalidate(String reason) {
+        if (!serverRunning) {
+            return;
+        }
+
+        QUEUE.clear();
+        for (Check check : CHECKS) {
+            check.healthy = null;
+            QUEUE.add(check);
+        }
+        CLIENT_VALIDATION_REQUESTED.set(true);
+
+        DiagnosticReporter.logEvent("VALIDATION", "INFO", reason + " - validation queued");
     }
-    
-    /**
-     * Runs startup validation after server starts
-     */
-    private static void runStartupValidation() {
-                LAST_VALIDATION_TIME.set(System.currentTimeMillis());
-        VALIDATION_COUNT.incrementAndGet();
-        
-        DiagnosticReporter.logEvent("VALIDATION", "INFO", "Startup validation started");
-        
-        // Run comprehensive checks
+
+    private static void runCheck(Check check) {
+        long start = System.nanoTime();
+        boolean healthy;
         try {
-            // Test texture initialization
-            TextureTest.testTextureInitialization();
-            
-            // Test keybinding conflicts
-            KeybindingTest.testConflictDetection();
-            
-            // Generate diagnostic report
-            DiagnosticReporter.DiagnosticReport report = DiagnosticReporter.generateReport();
-            
-            if (report.hasCriticalIssues()) {
-                Origins.LOGGER.error("Startup validation detected critical issues!");
-                DiagnosticReporter.logEvent("VALIDATION", "ERROR", "Critical issues detected during startup");
-            } else if (report.hasIssues()) {
-                Origins.LOGGER.warn("Startup validation detected minor issues");
-                DiagnosticReporter.logEvent("VALIDATION", "WARN", "Minor issues detected during startup");
-            } else {
-                                DiagnosticReporter.logEvent("VALIDATION", "INFO", "Startup validation successful");
-            }
-            
-        } catch (Exception e) {
-            Origins.LOGGER.error("Startup validation failed: " + e.getMessage(), e);
-            DiagnosticReporter.logEvent("VALIDATION", "ERROR", "Startup validation exception: " + e.getMessage());
+            healthy = check.action.getAsBoolean();
+        } catch (Exception | LinkageError e) {
+            // LinkageError: a check that needs classes missing on this side must not crash the tick
+            healthy = false;
+            Origins.LOGGER.error("Validation check '" + check.name + "' failed: " + e.getMessage(), e);
+            DiagnosticReporter.logEvent("VALIDATION", "ERROR", check.name + " exception: " + e.getMessage());
         }
+        check.lastDurationNanos = System.nanoTime() - start;
+        check.lastRunTime = System.currentTimeMillis();
+        check.healthy = healthy;
     }
-    
+
     /**
-     * Runs periodic validation checks
+     * Summarizes the results once all queued checks have run
      */
-    private static void runPeriodicValidation() {
-                LAST_VALIDATION_TIME.set(System.currentTimeMillis());
-        VALIDATION_COUNT.incrementAndGet();
-        
-        // Lightweight health checks
-        boolean systemHealthy = true;
-        
-        try {
-            // Check texture system
-            if (!TextureTest.validateTextureHealth()) {
-                Origins.LOGGER.warn("Periodic validation: Texture system issues detected");
-                systemHealthy = false;
-            }
-            
-            // Check keybinding system
-            if (!KeybindingTest.validateKeybindingHealth()) {
-                Origins.LOGGER.warn("Periodic validation: Keybinding system issues detected");
-                systemHealthy = false;
-            }
-            
-            // Check mod compatibility
-            if (!ModCompatibilityChecker.isEnvironmentSuitable()) {
-                Origins.LOGGER.warn("Periodic validation: Mod compatibility issues detected");
-                systemHealthy = false;
-            }
-            
-            if (systemHealthy) {
-                                DiagnosticReporter.logEvent("VALIDATION", "DEBUG", "Periodic validation successful");
-            } else {
-                Origins.LOGGER.warn("Periodic validation: Issues detected");
-                DiagnosticReporter.logEvent("VALIDATION", "WARN", "Periodic validation detected issues");
+    private static void finishValidation(List<Check> checks) {
+        lastValidationTime = System.currentTimeMillis();
+        validationCount++;
+
+        List<String> failed = new ArrayList<>();
+        for (Check check : checks) {
+            if (Boolean.FALSE.equals(check.healthy)) {
+                failed.add(check.name);
             }
-            
-        } catch (Exception e) {
-            Origins.LOGGER.error("Periodic validation failed: " + e.getMessage(), e);
-            DiagnosticReporter.logEvent("VALIDATION", "ERROR", "Periodic validation exception: " + e.getMessage());
+        }
+
+        if (failed.isEmpty()) {
+            DiagnosticReporter.logEvent("VALIDATION", "DEBUG", "Validation successful");
+        } else {
+            Origins.LOGGER.warn("Validation detected issues: " + String.join(", ", failed));
+            DiagnosticReporter.logEvent("VALIDATION", "WARN", "Validation detected issues: " + String.join(", ", failed));
         }
     }
-    
+
     /**
      * Runs texture-specific validation
      */
-    private static void runTextureValidation() {
-                
-        try {
-            TextureValidator.ValidationReport report = TextureValidator.validateAllTextures();
-            
-            if (report.hasIssues()) {
-                Origins.LOGGER.warn("Texture validation: {} invalid textures detected", 
-                                  report.invalidTextures.size());
-                DiagnosticReporter.logEvent("VALIDATION", "WARN", 
-                    "Texture validation found " + report.invalidTextures.size() + " invalid textures");
-                
-                // Attempt to generate missing textures
-                TextureValidator.generateMissingTextures();
-            } else {
-                                DiagnosticReporter.logEvent("VALIDATION", "DEBUG", "Texture validation successful");
-            }
-            
-        } catch (Exception e) {
-            Origins.LOGGER.error("Texture validation failed: " + e.getMessage(), e);
-            DiagnosticReporter.logEvent("VALIDATION", "ERROR", "Texture validation exception: " + e.getMessage());
+    private static boolean runTextureValidation() {
+        TextureValidator.ValidationReport report = TextureValidator.validateAllTextures();
+
+        if (report.hasIssues()) {
+            Origins.LOGGER.warn("Texture validation: {} invalid textures detected",
+                              report.invalidTextures.size());
+            DiagnosticReporter.logEvent("VALIDATION", "WARN",
+                "Texture validation found " + report.invalidTextures.size() + " invalid textures");
+
+            // Attempt to generate missing textures
+            TextureValidator.generateMissingTextures();
+            return false;
         }
+        return true;
     }
-    
+
     /**
      * Runs keybinding-specific validation
      */
-    private static void runKeybindingValidation() {
-                
-        try {
-            KeybindingDiagnostic.DiagnosticReport report = KeybindingDiagnostic.runDiagnostic();
-            
-            if (report.hasIssues()) {
-                Origins.LOGGER.warn("Keybinding validation: {} conflicts, {} issues detected", 
-                                  report.conflicts.size(), report.issues.size());
-                DiagnosticReporter.logEvent("VALIDATION", "WARN", 
-                    String.format("Keybinding validation found %d conflicts and %d issues", 
-                        report.conflicts.size(), report.issues.size()));
-                
-                // Attempt to repair issues
-                KeybindingDiagnostic.repairKeybindings(report);
-            } else {
-                                DiagnosticReporter.logEvent("VALIDATION", "DEBUG", "Keybinding validation successful");
-            }
-            
-        } catch (Exception e) {
-            Origins.LOGGER.error("Keybinding validation failed: " + e.getMessage(), e);
-            DiagnosticReporter.logEvent("VALIDATION", "ERROR", "Keybinding validation exception: " + e.getMessage());
+    private static boolean runKeybindingValidation() {
+        KeybindingDiagnostic.DiagnosticReport report = KeybindingDiagnostic.runDiagnostic();
+
+        if (report.hasIssues()) {
+            Origins.LOGGER.warn("Keybinding validation: {} conflicts, {} issues detected",
+                              report.conflicts.size(), report.issues.size());
+            DiagnosticReporter.logEvent("VALIDATION", "WARN",
+                String.format("Keybinding validation found %d conflicts and %d issues",
+                    report.conflicts.size(), report.issues.size()));
+
+            // Attempt to repair issues
+            KeybindingDiagnostic.repairKeybindings(report);
+            return false;
         }
+        return true;
     }
-    
+
     /**
-     * Runs emergency validation when issues are suspected
+     * Generates a diagnostic report and checks it for critical issues
      */
-    private static void runEmergencyValidation() {
-        Origins.LOGGER.warn("Running emergency validation...");
-        LAST_VALIDATION_TIME.set(System.currentTimeMillis());
-        
-        DiagnosticReporter.logEvent("VALIDATION", "WARN", "Emergency validation triggered");
-        
-        try {
-            // Run all validation checks immediately
-            runPeriodicValidation();
-            runTextureValidation();
-            runKeybindingValidation();
-            
-            // Generate emergency diagnostic report
-            DiagnosticReporter.DiagnosticReport report = DiagnosticReporter.generateReport();
-            DiagnosticReporter.saveReportToFile(report);
-            
-            Origins.LOGGER.warn("Emergency validation completed - diagnostic report generated");
-            DiagnosticReporter.logEvent("VALIDATION", "WARN", "Emergency validation completed");
-            
-        } catch (Exception e) {
-            Origins.LOGGER.error("Emergency validation failed: " + e.getMessage(), e);
-            DiagnosticReporter.logEvent("VALIDATION", "ERROR", "Emergency validation exception: " + e.getMessage());
+    private static boolean runDiagnosticReport() {
+        DiagnosticReporter.DiagnosticReport report = DiagnosticReporter.generateReport();
+
+        if (report.hasCriticalIssues()) {
+            Origins.LOGGER.error("Validation detected critical issues!");
+            DiagnosticReporter.logEvent("VALIDATION", "ERROR", "Critical issues detected");
+            return false;
         }
+        return !report.hasIssues();
     }
-    
+
     /**
      * Runs shutdown validation before server stops
      */
     private static void runShutdownValidation() {
-                
         DiagnosticReporter.logEvent("VALIDATION", "INFO", "Shutdown validation started");
-        
+
         try {
             // Generate final diagnostic report
             DiagnosticReporter.DiagnosticReport report = DiagnosticReporter.generateReport();
             DiagnosticReporter.saveReportToFile(report);
             DiagnosticReporter.saveReportAsText(report);
-            
+
             // Log validation statistics
-                        DiagnosticReporter.logEvent("VALIDATION", "INFO", 
-                "Shutdown validation completed - " + VALIDATION_COUNT.get() + " total validations performed");
-            
-        } catch (Exception e) {
+            DiagnosticReporter.logEvent("VALIDATION", "INFO",
+                "Shutdown validation completed - " + validationCount + " total validations performed");
+
+        } catch (Exception | LinkageError e) {
             Origins.LOGGER.error("Shutdown validation failed: " + e.getMessage(), e);
             DiagnosticReporter.logEvent("VALIDATION", "ERROR", "Shutdown validation exception: " + e.getMessage());
         }
     }
-    
+
+    /**
+     * Gets the last run time, duration and result of every check
+     */
+    public static List<CheckStatus> getCheckStatuses() {
+        List<CheckStatus> statuses = new ArrayList<>(CHECKS.size() + CLIENT_CHECKS.size());
+        for (Check check : CHECKS) {
+            statuses.add(new CheckStatus(check.name, check.healthy, check.lastRunTime, check.lastDurationNanos / 1000));
+        }
+        for (Check check : CLIENT_CHECKS) {
+            statuses.add(new CheckStatus(check.name, check.healthy, check.lastRunTime, check.lastDurationNanos / 1000));
+        }
+        return Collections.unmodifiableList(statuses);
+    }
+
     /**
      * Gets validation service status
      */
@@ -387,54 +334,72 @@ public class OngoingValidationService {
         status.append("Ongoing Validation Service Status:\n");
         status.append("- Initialized: ").append(initialized).append("\n");
         status.append("- Server Running: ").append(serverRunning).append("\n");
-        status.append("- Total Validations: ").append(VALIDATION_COUNT.get()).append("\n");
-        status.append("- Last Validation: ");
-        
-        long lastValidation = LAST_VALIDATION_TIME.get();
-        if (lastValidation > 0) {
-            long timeSince = System.currentTimeMillis() - lastValidation;
-            status.append(timeSince / 1000).append(" seconds ago\n");
-        } else {
-            status.append("Never\n");
+        status.append("- Total Validations: ").append(validationCount).append("\n");
+        status.append("- Pending Checks: ").append(QUEUE.size()).append("\n");
+        status.append("- Tick Budget: ").append(getTickBudgetMicros()).append(" us\n");
+        status.append("- Last Validation: ").append(formatTimeSince(lastValidationTime)).append("\n");
+
+        for (CheckStatus check : getCheckStatuses()) {
+            status.append("  ").append(check.name()).append(": ");
+            if (check.healthy() == null) {
+                status.append("pending");
+            } else {
+                status.append(check.healthy() ? "OK" : "ISSUES");
+            }
+            status.append(", last run ").append(formatTimeSince(check.lastRunTime()));
+            status.append(", took ").append(check.durationMicros()).append(" us\n");
         }
-        
+
         return status.toString();
     }
-    
+
     /**
      * Forces an immediate validation check
      */
     public static void forceValidation() {
-                
-        SCHEDULER.submit(() -> {
-            try {
-                runPeriodicValidation();
-                runTextureValidation();
-                runKeybindingValidation();
-                
-                                DiagnosticReporter.logEvent("VALIDATION", "INFO", "Forced validation completed");
-                
-            } catch (Exception e) {
-                Origins.LOGGER.error("Forced validation failed: " + e.getMessage(), e);
-                DiagnosticReporter.logEvent("VALIDATION", "ERROR", "Forced validation exception: " + e.getMessage());
-            }
-        });
+        invalidate("Forced validation");
     }
-    
+
     /**
      * Shuts down the validation service
      */
     public static void shutdown() {
-                
-        try {
-            SCHEDULER.shutdown();
-            if (!SCHEDULER.awaitTermination(10, TimeUnit.SECONDS)) {
-                SCHEDULER.shutdownNow();
-            }
-                    } catch (InterruptedException e) {
-            SCHEDULER.shutdownNow();
-            Thread.currentThread().interrupt();
-            Origins.LOGGER.warn("Validation service shutdown interrupted");
+        QUEUE.clear();
+        startValidationAtTick = -1;
+    }
+
+    private static long getTickBudgetMicros() {
+        return Math.max(1, Origins.config != null ? Origins.config.validationTickBudgetMicros : DEFAULT_TICK_BUDGET_MICROS);
+    }
+
+    private static String formatTimeSince(long time) {
+        if (time <= 0) {
+            return "Never";
+        }
+        return (System.currentTimeMillis() - time) / 1000 + " seconds ago";
+    }
+
+    /**
+     * Result of the last run of a check
+     */
+    public record CheckStatus(String name, Boolean healthy, long lastRunTime, long durationMicros) {
+    }
+
+    /**
+     * A single validation slice with its cached result
+     */
+    private static class Check {
+        private final String name;
+        private final BooleanSupplier action;
+
+        // null until the check has run for the current resources; client check results are read by server commands
+        private volatile Boolean healthy;
+        private volatile long lastRunTime;
+        private volatile long lastDurationNanos;
+
+        private Check(String name, BooleanSupplier action) {
+            this.name = name;
+            this.action = action;
         }
     }
-}
\ No newline at end of file
+}
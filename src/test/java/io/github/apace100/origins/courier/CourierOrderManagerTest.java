@@ -0,0 +1,54 @@
+package io.github.apace100.origins.courier;
+
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtList;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для постраничных запросов CourierOrderManager
+ */
+public class CourierOrderManagerTest {
+
+    @Test
+    void testQueryOrders_CourierWithNoOpenOrders() {
+        // Arrange
+        CourierOrderManager manager = new CourierOrderManager();
+
+        // Act
+        CourierOrderManager.OrderPage page = manager.queryOrders(UUID.randomUUID(), true,
+            EnumSet.allOf(Order.Status.class), 0, CourierOrderManager.MAX_PAGE_SIZE);
+
+        // Assert
+        assertTrue(page.orders.isEmpty());
+        assertEquals(0, page.total);
+    }
+
+    @Test
+    void testQueryOrders_AcceptedOrdersWithEmptyOpenIndex() {
+        // Arrange: курьер принял единственный заказ, открытых заказов нет
+        UUID courierUuid = UUID.randomUUID();
+        Order order = new Order(UUID.randomUUID(), "Заказчик", UUID.randomUUID());
+        order.setAcceptedBy("Курьер", courierUuid);
+        order.setStatus(Order.Status.ACCEPTED);
+
+        NbtList ordersList = new NbtList();
+        ordersList.add(order.toNbt());
+        NbtCompound nbt = new NbtCompound();
+        nbt.put("orders", ordersList);
+        CourierOrderManager manager = CourierOrderManager.fromNbt(nbt);
+
+        // Act
+        CourierOrderManager.OrderPage page = manager.queryOrders(courierUuid, true,
+            EnumSet.of(Order.Status.OPEN, Order.Status.ACCEPTED), 0, CourierOrderManager.MAX_PAGE_SIZE);
+
+        // Assert
+        assertEquals(1, page.total);
+        assertEquals(1, page.orders.size());
+        assertEquals(order.getId(), page.orders.get(0).getId());
+    }
+}
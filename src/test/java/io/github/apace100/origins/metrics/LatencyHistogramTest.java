@@ -0,0 +1,59 @@
+package io.github.apace100.origins.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для гистограммы задержек LatencyHistogram
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    void testIndexOf_BucketsAreContinuous() {
+        // Act & Assert
+        for (long value = 0; value < 1 << 16; value++) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(value <= LatencyHistogram.upperBoundOf(index), "Значение должно попадать в свою корзину: " + value);
+            if (index > 0) {
+                assertTrue(value > LatencyHistogram.upperBoundOf(index - 1), "Корзины не должны пересекаться: " + value);
+            }
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBoundOf(LatencyHistogram.indexOf(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void testGetPercentile_RelativeErrorWithinOneEighth() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value * 1000);
+        }
+
+        // Act
+        long p50 = histogram.getPercentile(50);
+        long p99 = histogram.getPercentile(99);
+
+        // Assert
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(10_000_000, histogram.getMax());
+        assertEquals(5_000_500, histogram.getMean(), 0.001);
+        assertTrue(p50 >= 5_000_000 && p50 <= 5_000_000 * 9 / 8, "p50 = " + p50);
+        assertTrue(p99 >= 9_900_000 && p99 <= 9_900_000 * 9 / 8, "p99 = " + p99);
+    }
+
+    @Test
+    void testReset_ClearsAllValues() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(42);
+
+        // Act
+        histogram.reset();
+
+        // Assert
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getPercentile(99));
+    }
+}
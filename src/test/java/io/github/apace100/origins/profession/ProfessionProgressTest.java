@@ -0,0 +1,68 @@
+package io.github.apace100.origins.profession;
+
+import net.minecraft.util.Identifier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для отслеживания изменений ProfessionProgress
+ */
+public class ProfessionProgressTest {
+
+    private ProfessionProgress progress;
+    private AtomicInteger notifications;
+
+    @BeforeEach
+    void setUp() {
+        progress = new ProfessionProgress(new Identifier("origins", "miner"));
+        notifications = new AtomicInteger();
+        progress.setChangeListener(notifications::incrementAndGet);
+    }
+
+    @Test
+    void testAddExperience_BumpsRevisionAndNotifies() {
+        // Arrange
+        int revision = progress.getRevision();
+
+        // Act
+        progress.addExperience(10);
+        progress.addExperience(15);
+
+        // Assert
+        assertEquals(revision + 2, progress.getRevision());
+        assertEquals(2, notifications.get());
+        assertEquals(25, progress.getExperience());
+    }
+
+    @Test
+    void testNoOpChanges_KeepRevision() {
+        // Arrange
+        int revision = progress.getRevision();
+
+        // Act
+        progress.addExperience(0);
+        progress.spendSkillPoint(); // очков навыков еще нет
+
+        // Assert
+        assertEquals(revision, progress.getRevision());
+        assertEquals(0, notifications.get());
+    }
+
+    @Test
+    void testSkillPoints_BumpRevision() {
+        // Arrange
+        progress.addSkillPoints(2);
+        int revision = progress.getRevision();
+
+        // Act
+        progress.spendSkillPoint();
+
+        // Assert
+        assertEquals(revision + 1, progress.getRevision());
+        assertEquals(1, progress.getSkillPoints());
+    }
+}
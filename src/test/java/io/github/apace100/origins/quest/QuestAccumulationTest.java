@@ -0,0 +1,143 @@
+package io.github.apace100.origins.quest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для пула квестов QuestAccumulation
+ */
+public class QuestAccumulationTest {
+
+    private QuestAccumulation accumulation;
+
+    @BeforeEach
+    void setUp() {
+        accumulation = QuestAccumulation.getInstance();
+        accumulation.clearAllAccumulatedQuests();
+    }
+
+    @Test
+    void testNeedsNewApiRequest_BelowLowWatermark_ReturnsTrue() {
+        // Arrange
+        accumulation.addQuestsForClass("cook", createQuests("cook", 0, QuestAccumulation.getLowWatermark() - 1));
+
+        // Act & Assert
+        assertTrue(accumulation.needsNewApiRequest("cook"), "Класс ниже нижней границы должен запрашивать квесты");
+    }
+
+    @Test
+    void testNeedsNewApiRequest_AtLowWatermark_ReturnsFalse() {
+        // Arrange
+        accumulation.addQuestsForClass("cook", createQuests("cook", 0, QuestAccumulation.getLowWatermark()));
+
+        // Act & Assert
+        assertFalse(accumulation.needsNewApiRequest("cook"));
+    }
+
+    @Test
+    void testNeedsNewApiRequest_RefillsFromBelowLowUpToHighWatermark() {
+        // Arrange: класс опустился ниже нижней границы
+        int low = QuestAccumulation.getLowWatermark();
+        int high = QuestAccumulation.getHighWatermark();
+        accumulation.addQuestsForClass("cook", createQuests("cook", 0, low - 1));
+        assertTrue(accumulation.needsNewApiRequest("cook"));
+
+        // Act & Assert: пополняем порциями, пока не достигнута верхняя граница
+        int added = low - 1;
+        while (added < high) {
+            assertTrue(accumulation.getClassesNeedingApiRequests().contains("cook"),
+                "Класс должен пополняться до верхней границы, сейчас квестов: " + added);
+            int batch = Math.min(accumulation.getDeficit("cook"), QuestAccumulation.QUESTS_PER_REQUEST);
+            accumulation.addQuestsForClass("cook", createQuests("cook", added, batch));
+            added += batch;
+        }
+
+        assertEquals(high, accumulation.getQuestCount("cook"));
+        assertEquals(0, accumulation.getDeficit("cook"));
+        assertFalse(accumulation.needsNewApiRequest("cook"), "Заполненный пул не должен запрашивать квесты");
+    }
+
+    @Test
+    void testAddQuests_AboveHighWatermark_EvictsOldestQuests() {
+        // Arrange
+        int high = QuestAccumulation.getHighWatermark();
+        accumulation.addQuestsForClass("miner", createQuests("miner", 0, high));
+
+        // Act
+        accumulation.addQuestsForClass("miner", createQuests("miner", high, 3));
+
+        // Assert
+        List<Quest> quests = accumulation.getAccumulatedQuests("miner");
+        assertEquals(high, quests.size(), "Пул не должен превышать верхнюю границу");
+        assertEquals("miner_3", quests.get(0).getId(), "Вытесняться должны самые старые квесты");
+        assertEquals("miner_" + (high + 2), quests.get(quests.size() - 1).getId());
+    }
+
+    @Test
+    void testAddQuests_WithDuplicateIds_KeepsSingleCopy() {
+        // Arrange
+        accumulation.addQuestsForClass("brewer", createQuests("brewer", 0, 2));
+
+        // Act
+        accumulation.addQuestsForClass("brewer", createQuests("brewer", 1, 2));
+
+        // Assert
+        assertEquals(3, accumulation.getQuestCount("brewer"));
+    }
+
+    @Test
+    void testEvictExpired_RemovesOnlyOldQuests() {
+        // Arrange
+        accumulation.addQuestsForClass("warrior", createQuests("warrior", 0, 2));
+        long afterMaxAge = System.currentTimeMillis() + QuestAccumulation.getMaxAgeMinutes() * 60_000L + 1;
+
+        // Act
+        List<String> changed = accumulation.evictExpired(afterMaxAge);
+
+        // Assert
+        assertEquals(List.of("warrior"), changed);
+        assertEquals(0, accumulation.getQuestCount("warrior"));
+    }
+
+    @Test
+    void testGetDeficit_ReturnsMissingQuestsToHighWatermark() {
+        // Arrange
+        accumulation.addQuestsForClass("courier", createQuests("courier", 0, 4));
+
+        // Act & Assert
+        assertEquals(QuestAccumulation.getHighWatermark() - 4, accumulation.getDeficit("courier"));
+    }
+
+    @Test
+    void testGetVersion_ChangesOnlyWhenPoolChanges() {
+        // Arrange
+        accumulation.addQuestsForClass("cook", createQuests("cook", 0, 3));
+        long version = accumulation.getVersion("cook");
+        long otherVersion = accumulation.getVersion("miner");
+
+        // Act
+        accumulation.getAccumulatedQuests("cook");
+        long unchangedVersion = accumulation.getVersion("cook");
+        accumulation.removeQuest("cook", "cook_1");
+
+        // Assert
+        assertEquals(version, unchangedVersion, "Чтение пула не должно менять версию");
+        assertNotEquals(version, accumulation.getVersion("cook"));
+        assertEquals(otherVersion, accumulation.getVersion("miner"), "Версии других классов не меняются");
+    }
+
+    private static List<Quest> createQuests(String playerClass, int firstIndex, int count) {
+        List<Quest> quests = new ArrayList<>();
+        for (int i = firstIndex; i < firstIndex + count; i++) {
+            quests.add(new Quest(playerClass + "_" + i, playerClass, 1, "Квест " + i, "",
+                new QuestObjective(QuestObjective.ObjectiveType.COLLECT, "minecraft:dirt", 1), 30,
+                new QuestReward(QuestReward.RewardType.SKILL_POINT_TOKEN, 1, 500)));
+        }
+        return quests;
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.apace100.origins.quest;
+
+import net.minecraft.nbt.NbtList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для хранения активных квестов в QuestManager
+ */
+public class QuestManagerTest {
+
+    private QuestManager questManager;
+
+    @BeforeEach
+    void setUp() {
+        questManager = QuestManager.getInstance();
+        questManager.clearAllQuests();
+    }
+
+    @Test
+    void testTick_RemovesOnlyExpiredQuests() {
+        // Arrange
+        UUID playerId = UUID.randomUUID();
+        long now = System.currentTimeMillis();
+        Map<String, ActiveQuest> quests = new LinkedHashMap<>();
+        quests.put("cook_old", new ActiveQuest(createQuest("cook_old", 30), now - 31 * 60_000L));
+        quests.put("cook_new", new ActiveQuest(createQuest("cook_new", 30), now));
+        quests.put("cook_unlimited", new ActiveQuest(createQuest("cook_unlimited", 0), now - 1_000 * 60_000L));
+        questManager.attachPlayer(playerId, quests);
+
+        // Act
+        questManager.tick();
+
+        // Assert
+        List<ActiveQuest> remaining = questManager.getAllActiveQuests().get(playerId);
+        assertEquals(2, remaining.size());
+        assertEquals("cook_new", remaining.get(0).getQuest().getId(), "Порядок принятия квестов сохраняется");
+        assertEquals("cook_unlimited", remaining.get(1).getQuest().getId(), "Квесты без ограничения времени не истекают");
+    }
+
+    @Test
+    void testTick_SkipsUnloadedPlayers() {
+        // Arrange
+        UUID playerId = UUID.randomUUID();
+        Map<String, ActiveQuest> quests = new LinkedHashMap<>();
+        quests.put("miner_old", new ActiveQuest(createQuest("miner_old", 10), System.currentTimeMillis() - 11 * 60_000L));
+        questManager.attachPlayer(playerId, quests);
+        questManager.unloadPlayer(playerId);
+
+        // Act
+        questManager.tick();
+
+        // Assert
+        assertFalse(questManager.getAllActiveQuests().containsKey(playerId));
+    }
+
+    @Test
+    void testUnloadPlayer_QuestsStillSavedAfterDisconnect() {
+        // Arrange: карта квестов принадлежит компоненту игрока, менеджер ссылается на нее
+        UUID playerId = UUID.randomUUID();
+        Map<String, ActiveQuest> componentQuests = new LinkedHashMap<>();
+        ActiveQuest activeQuest = new ActiveQuest(createQuest("cook_bread", 30), System.currentTimeMillis());
+        activeQuest.setProgress(3);
+        componentQuests.put("cook_bread", activeQuest);
+        questManager.attachPlayer(playerId, componentQuests);
+
+        // Act: выход игрока выгружает его из менеджера до сохранения данных
+        questManager.unloadPlayer(playerId);
+        NbtList saved = QuestNbt.writeActiveQuests(componentQuests.values());
+
+        // Assert
+        assertFalse(questManager.getAllActiveQuests().containsKey(playerId));
+        Map<String, ActiveQuest> restored = QuestNbt.readActiveQuests(saved);
+        assertEquals(1, restored.size(), "Квест сохраняется после выхода игрока");
+        assertEquals(3, restored.get("cook_bread").getProgress());
+        assertEquals(activeQuest.getStartTime(), restored.get("cook_bread").getStartTime());
+    }
+
+    private static Quest createQuest(String id, int timeLimit) {
+        return new Quest(id, "cook", 1, "Квест " + id, "",
+            new QuestObjective(QuestObjective.ObjectiveType.COLLECT, "minecraft:bread", 5), timeLimit,
+            new QuestReward(QuestReward.RewardType.SKILL_POINT_TOKEN, 1, 500));
+    }
+}
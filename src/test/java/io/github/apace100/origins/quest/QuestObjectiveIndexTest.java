@@ -0,0 +1,104 @@
+package io.github.apace100.origins.quest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit тесты для QuestObjectiveIndex
+ */
+public class QuestObjectiveIndexTest {
+
+    @Test
+    void testResolveActionType_WithAliases_ReturnsObjectiveType() {
+        // Arrange & Act & Assert
+        assertEquals(QuestObjective.ObjectiveType.COLLECT, QuestObjectiveIndex.resolveActionType("pickup"));
+        assertEquals(QuestObjective.ObjectiveType.KILL, QuestObjectiveIndex.resolveActionType("slay"));
+        assertEquals(QuestObjective.ObjectiveType.CRAFT, QuestObjectiveIndex.resolveActionType("create"));
+    }
+
+    @Test
+    void testResolveActionType_WithUpperCase_IgnoresCase() {
+        // Arrange & Act
+        QuestObjective.ObjectiveType result = QuestObjectiveIndex.resolveActionType("CRAFT");
+
+        // Assert
+        assertEquals(QuestObjective.ObjectiveType.CRAFT, result, "Тип действия должен определяться без учета регистра");
+    }
+
+    @Test
+    void testResolveActionType_WithUnknownAction_ReturnsNull() {
+        // Arrange & Act
+        QuestObjective.ObjectiveType result = QuestObjectiveIndex.resolveActionType("mine");
+
+        // Assert
+        assertNull(result, "Неизвестное действие не должно соответствовать ни одному типу цели");
+    }
+
+    @Test
+    void testFindMatches_WithNullPlayer_ReturnsEmpty() {
+        // Arrange & Act & Assert
+        assertTrue(QuestObjectiveIndex.getInstance().findMatches(null, "craft", "minecraft:bread").isEmpty(),
+            "Для null игрока не должно быть совпадений");
+    }
+
+    @Test
+    void testBuild_IndexesTargetWithAndWithoutPrefix() {
+        // Arrange
+        Quest[] slots = new Quest[5];
+        slots[3] = createQuest("cook_bread", QuestObjective.ObjectiveType.CRAFT, "minecraft:bread");
+
+        // Act
+        QuestObjectiveIndex.PlayerIndex index = QuestObjectiveIndex.build(slots.length, slot -> slots[slot]);
+
+        // Assert
+        List<QuestObjectiveIndex.Entry> matches = index.find(QuestObjective.ObjectiveType.CRAFT, "bread");
+        assertEquals(1, matches.size());
+        assertEquals(3, matches.get(0).getSlot());
+        assertEquals(matches, index.find(QuestObjective.ObjectiveType.CRAFT, "minecraft:bread"));
+        assertTrue(index.find(QuestObjective.ObjectiveType.COLLECT, "bread").isEmpty(), "Другой тип цели не совпадает");
+    }
+
+    @Test
+    void testBuild_SkipsCompletedObjectives() {
+        // Arrange
+        Quest quest = createQuest("warrior_zombie", QuestObjective.ObjectiveType.KILL, "minecraft:zombie");
+        quest.getObjective().setProgress(quest.getObjective().getAmount());
+        Quest[] slots = {quest};
+
+        // Act
+        QuestObjectiveIndex.PlayerIndex index = QuestObjectiveIndex.build(slots.length, slot -> slots[slot]);
+
+        // Assert
+        assertTrue(index.find(QuestObjective.ObjectiveType.KILL, "zombie").isEmpty());
+        assertNull(index.findQuest("warrior_zombie"));
+    }
+
+    @Test
+    void testFindQuest_AfterTicketMoved_ReturnsNewSlot() {
+        // Arrange: билет перемещен из слота 0 в слот 40 (вторая рука) без сброса индекса
+        Quest quest = createQuest("miner_iron", QuestObjective.ObjectiveType.COLLECT, "minecraft:raw_iron");
+        Quest[] before = new Quest[41];
+        before[0] = quest;
+        Quest[] after = new Quest[41];
+        after[40] = quest;
+        QuestObjectiveIndex.Entry stale = QuestObjectiveIndex.build(before.length, slot -> before[slot])
+            .find(QuestObjective.ObjectiveType.COLLECT, "raw_iron").get(0);
+
+        // Act: перестроение при промахе ищет квест по ID
+        QuestObjectiveIndex.Entry moved = QuestObjectiveIndex.build(after.length, slot -> after[slot])
+            .findQuest(stale.getQuestId());
+
+        // Assert
+        assertNotNull(moved);
+        assertEquals(40, moved.getSlot());
+    }
+
+    private static Quest createQuest(String id, QuestObjective.ObjectiveType type, String target) {
+        return new Quest(id, "cook", 1, "Квест " + id, "",
+            new QuestObjective(type, target, 5), 30,
+            new QuestReward(QuestReward.RewardType.SKILL_POINT_TOKEN, 1, 500));
+    }
+}